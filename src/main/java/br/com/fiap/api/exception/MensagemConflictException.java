@@ -0,0 +1,12 @@
+package br.com.fiap.api.exception;
+
+/**
+ * Exceção lançada quando a mensagem foi alterada por outra requisição desde a versão informada.
+ */
+public class MensagemConflictException extends RuntimeException {
+
+    public MensagemConflictException(String message) {
+        super(message);
+    }
+
+}
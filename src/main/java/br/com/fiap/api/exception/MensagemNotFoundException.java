@@ -0,0 +1,12 @@
+package br.com.fiap.api.exception;
+
+/**
+ * Exceção lançada quando a mensagem informada não existe ou não corresponde ao id da requisição.
+ */
+public class MensagemNotFoundException extends RuntimeException {
+
+    public MensagemNotFoundException(String message) {
+        super(message);
+    }
+
+}
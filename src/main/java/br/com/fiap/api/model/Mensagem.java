@@ -0,0 +1,70 @@
+package br.com.fiap.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Classe para representar a Entidade Mensagem.
+ * <p>
+ * O id é atribuído pela aplicação, ordenado pelo momento da criação (UuidOrdenadoPorTempo). Por ser
+ * Persistable, uma mensagem nova é inserida diretamente, sem o SELECT que o Spring Data faria para
+ * decidir entre inserir e atualizar uma entidade com id.
+ * <p>
+ * As alterações são feitas por um UPDATE condicionado à versão, sem ler a mensagem antes.
+ */
+@Entity
+@Table(name = "mensagem", indexes = {@Index(columnList = "dataCriacao"), @Index(columnList = "usuario, id")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Mensagem implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    private String usuario;
+
+    private String conteudo;
+
+    private LocalDateTime dataCriacao;
+
+    private int gostei;
+
+    /**
+     * Versão da mensagem, incrementada a cada alteração; enviada como ETag e conferida no If-Match.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persistida;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+
+        return !persistida;
+
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarComoPersistida() {
+
+        this.persistida = true;
+
+    }
+
+}
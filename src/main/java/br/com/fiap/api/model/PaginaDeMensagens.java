@@ -0,0 +1,11 @@
+package br.com.fiap.api.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Página da listagem por cursor: as mensagens, da mais recente para a mais antiga, e o id a ser
+ * informado para obter a página seguinte, ou null, caso não haja mais mensagens.
+ */
+public record PaginaDeMensagens(List<Mensagem> content, UUID proximoCursor) {
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.api.repository;
+
+import br.com.fiap.api.model.Mensagem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.*;
+
+public interface MensagemRepository extends JpaRepository<Mensagem, UUID> {
+
+    @Query("SELECT m FROM Mensagem m ORDER BY m.dataCriacao DESC")
+    Page<Mensagem> listarMensagens(Pageable pageable);
+
+    /**
+     * Primeira página da listagem por cursor. Como o id é ordenado pelo momento da criação, a ordem
+     * decrescente de id é a das mensagens mais recentes, lida diretamente do índice da chave primária.
+     */
+    @Query("SELECT m FROM Mensagem m ORDER BY m.id DESC")
+    List<Mensagem> listarMensagensRecentes(Pageable pageable);
+
+    /**
+     * Páginas seguintes da listagem por cursor: as mensagens anteriores ao último id recebido, sem
+     * OFFSET e sem contagem.
+     */
+    @Query("SELECT m FROM Mensagem m WHERE m.id < :cursor ORDER BY m.id DESC")
+    List<Mensagem> listarMensagensAntesDe(UUID cursor, Pageable pageable);
+
+    /**
+     * Mensagens de um usuário, da mais antiga para a mais recente, lidas do banco em blocos de
+     * FETCH_SIZE. As mensagens são criadas pelo construtor, fora do contexto de persistência, para que
+     * a leitura não acumule entidades gerenciadas. O Stream deve ser consumido e fechado dentro de uma
+     * transação.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + FETCH_SIZE),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new br.com.fiap.api.model.Mensagem(m.id, m.usuario, m.conteudo, m.dataCriacao, m.gostei, " +
+            "m.versao, FALSE) FROM Mensagem m WHERE m.usuario = :usuario ORDER BY m.id")
+    Stream<Mensagem> consultarMensagensDoUsuario(String usuario);
+
+    /**
+     * Altera o conteúdo e incrementa a versão somente se a mensagem estiver na versão informada; uma
+     * alteração concorrente já incrementou a versão, e nenhuma linha é alterada.
+     *
+     * @return Quantidade de mensagens alteradas (0 ou 1).
+     */
+    @Modifying
+    @Query("UPDATE Mensagem m SET m.conteudo = :conteudo, m.versao = m.versao + 1 " +
+            "WHERE m.id = :id AND m.versao = :versao")
+    int alterarConteudoNaVersao(UUID id, String conteudo, Long versao);
+
+    /**
+     * Altera o conteúdo sem conferir a versão, para os clientes que não a informam.
+     *
+     * @return Quantidade de mensagens alteradas (0 ou 1).
+     */
+    @Modifying
+    @Query("UPDATE Mensagem m SET m.conteudo = :conteudo, m.versao = m.versao + 1 WHERE m.id = :id")
+    int alterarConteudo(UUID id, String conteudo);
+
+    int FETCH_SIZE = 500;
+
+}
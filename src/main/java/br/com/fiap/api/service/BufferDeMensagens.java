@@ -0,0 +1,332 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.repository.MensagemRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffer de escrita das mensagens registradas.
+ * <p>
+ * Habilitado, o registro de uma mensagem apenas a coloca num buffer circular limitado e responde
+ * em seguida; uma thread grava as mensagens em lotes, com inserções em batch numa única transação,
+ * quando o lote enche ou quando o intervalo termina desde a primeira mensagem do lote. Com o buffer
+ * cheio, a mensagem é gravada na própria requisição.
+ * <p>
+ * As mensagens recusadas pelo banco voltam a ser gravadas pela thread, com espera crescente entre as
+ * tentativas; enquanto houver mensagens recusadas, os novos lotes aguardam no buffer.
+ * <p>
+ * Com o diário habilitado, cada mensagem é sincronizada num arquivo local antes da resposta, e as
+ * mensagens que não chegaram ao banco antes de uma queda são gravadas na inicialização seguinte.
+ * Sem o diário, as mensagens do buffer se perdem numa queda do processo.
+ */
+@Service
+public class BufferDeMensagens {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BufferDeMensagens.class);
+
+    @Autowired
+    MensagemRepository mensagemRepository;
+    @Autowired(required = false)
+    TransmissorDeMensagens transmissorDeMensagens;
+
+    @Value("${reservas.mensagens.buffer.habilitado:false}")
+    boolean habilitado = false;
+
+    @Value("${reservas.mensagens.buffer.capacidade:10000}")
+    int capacidade = 10000;
+
+    @Value("${reservas.mensagens.buffer.tamanho-lote:500}")
+    int tamanhoLote = 500;
+
+    @Value("${reservas.mensagens.buffer.intervalo-ms:5}")
+    long intervaloMs = 5;
+
+    @Value("${reservas.mensagens.buffer.nova-tentativa-ms:100}")
+    long novaTentativaMs = 100;
+
+    @Value("${reservas.mensagens.buffer.nova-tentativa-maxima-ms:30000}")
+    long novaTentativaMaximaMs = 30000;
+
+    @Value("${reservas.mensagens.diario.habilitado:false}")
+    boolean diarioHabilitado = false;
+
+    @Value("${reservas.mensagens.diario.arquivo:mensagens.diario}")
+    String arquivoDiario = "mensagens.diario";
+
+    private final AtomicLong gravadas = new AtomicLong();
+
+    /**
+     * Mensagens recusadas pelo banco, aguardando uma nova tentativa.
+     */
+    private final Queue<Mensagem> recusadas = new ConcurrentLinkedQueue<>();
+
+    private BlockingQueue<Mensagem> fila;
+    private DiarioDeMensagens diario;
+    private Thread gravador;
+
+    private long esperaMs;
+    private long proximaTentativa;
+
+    private volatile boolean ativo;
+
+    @PostConstruct
+    void iniciar() throws IOException {
+
+        if (!habilitado) {
+            return;
+        }
+
+        fila = new ArrayBlockingQueue<>(capacidade);
+
+        if (diarioHabilitado) {
+            diario = new DiarioDeMensagens(Path.of(arquivoDiario));
+            recuperarDiario();
+        }
+
+        ativo = true;
+        gravador = new Thread(this::gravar, "buffer-mensagens");
+        gravador.setDaemon(true);
+        gravador.start();
+
+    }
+
+    /**
+     * Grava as mensagens restantes no buffer antes do encerramento.
+     */
+    @PreDestroy
+    void encerrar() throws IOException, InterruptedException {
+
+        if (gravador == null) {
+            return;
+        }
+
+        ativo = false;
+        gravador.join(TimeUnit.SECONDS.toMillis(30));
+
+        if (diario != null) {
+            diario.close();
+        }
+
+    }
+
+    /**
+     * @return true, caso as mensagens sejam gravadas em lotes pelo buffer.
+     */
+    public boolean isHabilitado() {
+
+        return habilitado;
+
+    }
+
+    /**
+     * Método para aceitar uma mensagem validada e com id atribuído. Com o diário habilitado, retorna
+     * após a mensagem ser sincronizada no disco.
+     *
+     * @param mensagem Mensagem a ser gravada.
+     */
+    public void adicionar(Mensagem mensagem) {
+
+        if (diario != null) {
+            diario.registrar(mensagem);
+        }
+
+        if (!fila.offer(mensagem)) {
+            persistir(List.of(mensagem));
+        }
+
+    }
+
+    /**
+     * @return Quantidade de mensagens aguardando gravação no buffer, incluindo as recusadas pelo banco.
+     */
+    public int pendentes() {
+
+        return fila == null ? 0 : fila.size() + recusadas.size();
+
+    }
+
+    private void gravar() {
+
+        List<Mensagem> lote = new ArrayList<>(tamanhoLote);
+
+        while (ativo || !fila.isEmpty()) {
+            try {
+                if (!recusadas.isEmpty()) {
+                    // No encerramento, as mensagens ainda não gravadas continuam no diário
+                    if (!ativo) {
+                        break;
+                    }
+                    regravarRecusadas();
+                    continue;
+                }
+
+                Mensagem primeira = fila.poll(intervaloMs, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                lote.add(primeira);
+
+                // O lote é gravado quando enche ou quando o intervalo termina desde a primeira mensagem
+                long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+                long restante;
+                while (lote.size() < tamanhoLote && (restante = prazo - System.nanoTime()) > 0) {
+                    fila.drainTo(lote, tamanhoLote - lote.size());
+                    if (lote.size() < tamanhoLote) {
+                        Mensagem proxima = fila.poll(restante, TimeUnit.NANOSECONDS);
+                        if (proxima == null) {
+                            break;
+                        }
+                        lote.add(proxima);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ativo = false;
+            }
+
+            if (!lote.isEmpty()) {
+                if (persistir(lote) > 0) {
+                    agendarNovaTentativa(novaTentativaMs);
+                }
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+
+        if (pendentes() > 0) {
+            LOGGER.error("{} mensagens não foram gravadas no banco antes do encerramento{}", pendentes(),
+                    diario == null ? "" : " e serão recuperadas do diário na próxima inicialização");
+        }
+
+    }
+
+    /**
+     * Grava novamente um lote de mensagens recusadas quando a espera termina. A espera dobra a cada
+     * tentativa com recusas, até o limite, e volta ao início quando o lote é gravado.
+     */
+    private void regravarRecusadas() throws InterruptedException {
+
+        long restante = proximaTentativa - System.nanoTime();
+
+        if (restante > 0) {
+            // A espera é dividida para que o encerramento não aguarde a tentativa seguinte
+            TimeUnit.NANOSECONDS.sleep(Math.min(restante, TimeUnit.MILLISECONDS.toNanos(100)));
+            return;
+        }
+
+        List<Mensagem> lote = new ArrayList<>(tamanhoLote);
+        Mensagem mensagem;
+
+        while (lote.size() < tamanhoLote && (mensagem = recusadas.poll()) != null) {
+            lote.add(mensagem);
+        }
+
+        if (persistir(lote) > 0) {
+            agendarNovaTentativa(Math.min(esperaMs * 2, novaTentativaMaximaMs));
+        } else {
+            agendarNovaTentativa(novaTentativaMs);
+        }
+
+    }
+
+    private void agendarNovaTentativa(long esperaMs) {
+
+        this.esperaMs = Math.max(esperaMs, 1);
+        this.proximaTentativa = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.esperaMs);
+
+    }
+
+    /**
+     * Método para gravar um lote numa única transação. Caso o lote falhe, as mensagens são gravadas
+     * uma a uma, para que uma mensagem recusada não impeça as demais. Apenas as mensagens gravadas
+     * são confirmadas no diário; as recusadas aguardam uma nova tentativa.
+     *
+     * @param lote Mensagens a serem gravadas.
+     * @return Quantidade de mensagens recusadas.
+     */
+    int persistir(List<Mensagem> lote) {
+
+        int gravadasNoLote = 0;
+
+        try {
+            mensagemRepository.saveAll(lote);
+            gravadasNoLote = lote.size();
+            lote.forEach(this::transmitir);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Falha ao gravar lote de {} mensagens; gravando individualmente", lote.size(), e);
+            for (Mensagem mensagem : lote) {
+                try {
+                    mensagemRepository.save(mensagem);
+                    gravadasNoLote++;
+                    transmitir(mensagem);
+                } catch (RuntimeException falha) {
+                    recusadas.add(mensagem);
+                    LOGGER.error("Mensagem {} recusada; uma nova tentativa será feita", mensagem.getId(), falha);
+                }
+            }
+        }
+
+        gravadas.addAndGet(gravadasNoLote);
+
+        if (diario != null && gravadasNoLote > 0) {
+            diario.confirmar(gravadasNoLote);
+        }
+
+        return lote.size() - gravadasNoLote;
+
+    }
+
+    private void transmitir(Mensagem mensagem) {
+
+        if (transmissorDeMensagens != null) {
+            transmissorDeMensagens.publicar(mensagem);
+        }
+
+    }
+
+    /**
+     * Grava as mensagens do diário que não chegaram ao banco antes do último encerramento.
+     */
+    private void recuperarDiario() throws IOException {
+
+        List<Mensagem> mensagens = diario.recuperar();
+
+        if (!mensagens.isEmpty()) {
+            Set<UUID> gravadasAntes = new HashSet<>();
+            mensagemRepository.findAllById(mensagens.stream().map(Mensagem::getId).toList())
+                    .forEach(mensagem -> gravadasAntes.add(mensagem.getId()));
+
+            List<Mensagem> faltantes = mensagens.stream()
+                    .filter(mensagem -> !gravadasAntes.contains(mensagem.getId()))
+                    .toList();
+
+            // Uma falha aqui interrompe a inicialização e mantém o diário para a próxima tentativa
+            mensagemRepository.saveAll(faltantes);
+
+            LOGGER.info("{} mensagens recuperadas do diário", faltantes.size());
+        }
+
+        diario.esvaziar();
+
+    }
+
+}
@@ -0,0 +1,184 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.model.Mensagem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diário em arquivo das mensagens aceitas e ainda não gravadas no banco, uma mensagem JSON por linha.
+ * <p>
+ * registrar só retorna depois que a linha foi sincronizada no disco (fsync). As requisições que
+ * chegam juntas compartilham a mesma sincronização: quem sincroniza leva ao disco tudo o que foi
+ * escrito até ali, e as demais apenas confirmam que a sua linha já foi incluída. Quando todas as
+ * mensagens registradas foram confirmadas no banco, o arquivo é esvaziado.
+ */
+class DiarioDeMensagens implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiarioDeMensagens.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private final Path arquivo;
+    private final FileChannel canal;
+
+    private final Object escrita = new Object();
+    private final Object sincronizacao = new Object();
+
+    /**
+     * Bytes escritos e sincronizados desde a abertura; não voltam a zero quando o arquivo é esvaziado.
+     */
+    private long escritos;
+    private volatile long sincronizados;
+
+    /**
+     * Mensagens registradas e ainda não confirmadas no banco.
+     */
+    private long pendentes;
+
+    DiarioDeMensagens(Path arquivo) throws IOException {
+
+        this.arquivo = arquivo;
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.canal.position(canal.size());
+
+    }
+
+    /**
+     * Método para registrar uma mensagem no diário, aguardando a sincronização com o disco.
+     *
+     * @param mensagem Mensagem com id atribuído.
+     */
+    void registrar(Mensagem mensagem) {
+
+        long posicao;
+
+        try {
+            byte[] linha = (OBJECT_MAPPER.writeValueAsString(mensagem) + "\n").getBytes(StandardCharsets.UTF_8);
+
+            synchronized (escrita) {
+                ByteBuffer buffer = ByteBuffer.wrap(linha);
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                escritos += linha.length;
+                pendentes++;
+                posicao = escritos;
+            }
+
+            sincronizarAte(posicao);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao registrar a mensagem no diário " + arquivo, e);
+        }
+
+    }
+
+    /**
+     * Método para confirmar mensagens gravadas no banco; sem pendentes, o arquivo é esvaziado.
+     *
+     * @param quantidade Quantidade de mensagens gravadas.
+     */
+    void confirmar(int quantidade) {
+
+        synchronized (escrita) {
+            pendentes -= quantidade;
+            if (pendentes == 0) {
+                try {
+                    canal.truncate(0);
+                } catch (IOException e) {
+                    LOGGER.warn("Falha ao esvaziar o diário de mensagens {}", arquivo, e);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Método para ler as mensagens deixadas no diário por uma execução anterior. Uma última linha
+     * incompleta, de uma escrita interrompida, é ignorada.
+     *
+     * @return Lista com as mensagens do diário, na ordem de registro.
+     */
+    List<Mensagem> recuperar() throws IOException {
+
+        List<Mensagem> mensagens = new ArrayList<>();
+
+        synchronized (escrita) {
+            canal.position(0);
+            BufferedReader leitor = new BufferedReader(Channels.newReader(canal, StandardCharsets.UTF_8));
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                try {
+                    mensagens.add(OBJECT_MAPPER.readValue(linha, Mensagem.class));
+                } catch (IOException e) {
+                    LOGGER.warn("Linha inválida ignorada no diário de mensagens {}", arquivo);
+                }
+            }
+            canal.position(canal.size());
+        }
+
+        return mensagens;
+
+    }
+
+    /**
+     * Método para esvaziar o diário após a recuperação das mensagens.
+     */
+    void esvaziar() throws IOException {
+
+        synchronized (escrita) {
+            canal.truncate(0);
+            canal.force(true);
+            pendentes = 0;
+        }
+
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        canal.close();
+
+    }
+
+    private void sincronizarAte(long posicao) throws IOException {
+
+        if (sincronizados >= posicao) {
+            return;
+        }
+
+        synchronized (sincronizacao) {
+            if (sincronizados >= posicao) {
+                return;
+            }
+
+            long ate;
+            synchronized (escrita) {
+                ate = escritos;
+            }
+
+            canal.force(false);
+            sincronizados = ate;
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.model.PaginaDeMensagens;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface MensagemService {
+
+    Mensagem registrarMensagem(Mensagem mensagem);
+
+    Mensagem buscarMensagem(UUID id);
+
+    Mensagem alterarMensagem(UUID id, Mensagem mensagemAtualizada);
+
+    long alterarConteudo(UUID id, Mensagem mensagemAtualizada, long versao);
+
+    boolean removerMensagem(UUID id);
+
+    Page<Mensagem> listarMensagens(Pageable pageable);
+
+    PaginaDeMensagens listarMensagensPorCursor(UUID cursor, int tamanho);
+
+    long exportarMensagensDoUsuario(String usuario, Consumer<Mensagem> consumidor);
+
+}
@@ -0,0 +1,253 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.exception.MensagemConflictException;
+import br.com.fiap.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.model.PaginaDeMensagens;
+import br.com.fiap.api.repository.MensagemRepository;
+import br.com.fiap.api.utils.UuidOrdenadoPorTempo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Classe responsável pelo registro, consulta, alteração e remoção das mensagens.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MensagemServiceImpl implements MensagemService {
+
+    private static final String MENSAGEM_NAO_ENCONTRADA = "Mensagem não encontrada";
+
+    static final int TAMANHO_MAXIMO_PAGINA = 100;
+    static final int TAMANHO_MAXIMO_CONTEUDO = 255;
+
+    private final MensagemRepository mensagemRepository;
+
+    @Autowired(required = false)
+    BufferDeMensagens bufferDeMensagens;
+
+    @Autowired(required = false)
+    TransmissorDeMensagens transmissorDeMensagens;
+
+    /**
+     * Método para registrar uma nova mensagem, com id ordenado pelo momento da criação. Com o
+     * BufferDeMensagens habilitado, a mensagem é gravada em lote logo depois do retorno e fica visível
+     * nas consultas após alguns milissegundos.
+     *
+     * @param mensagem Objeto com o usuário e o conteúdo da mensagem.
+     * @return Mensagem registrada.
+     * @throws IllegalArgumentException Caso o usuário ou o conteúdo não sejam informados, ou o conteúdo
+     *                                  exceda TAMANHO_MAXIMO_CONTEUDO.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mensagem registrarMensagem(Mensagem mensagem) {
+
+        validar(mensagem);
+
+        mensagem.setId(UuidOrdenadoPorTempo.gerar());
+        mensagem.setDataCriacao(LocalDateTime.now());
+
+        if (bufferDeMensagens != null && bufferDeMensagens.isHabilitado()) {
+            bufferDeMensagens.adicionar(mensagem);
+            return mensagem;
+        }
+
+        Mensagem mensagemRegistrada = mensagemRepository.save(mensagem);
+
+        if (transmissorDeMensagens != null) {
+            transmissorDeMensagens.publicar(mensagemRegistrada);
+        }
+
+        return mensagemRegistrada;
+
+    }
+
+    private static void validar(Mensagem mensagem) {
+
+        if (mensagem.getUsuario() == null || mensagem.getUsuario().isBlank()) {
+            throw new IllegalArgumentException("O usuário da mensagem deve ser informado");
+        }
+
+        validarConteudo(mensagem.getConteudo());
+
+    }
+
+    private static void validarAlteracao(UUID id, Mensagem mensagemAtualizada) {
+
+        if (mensagemAtualizada.getId() != null && !mensagemAtualizada.getId().equals(id)) {
+            throw new MensagemNotFoundException("mensagem atualizada não apresenta o ID correto");
+        }
+
+        validarConteudo(mensagemAtualizada.getConteudo());
+
+    }
+
+    private static void validarConteudo(String conteudo) {
+
+        if (conteudo == null || conteudo.isBlank()) {
+            throw new IllegalArgumentException("O conteúdo da mensagem deve ser informado");
+        }
+
+        if (conteudo.length() > TAMANHO_MAXIMO_CONTEUDO) {
+            throw new IllegalArgumentException("O conteúdo da mensagem deve ter até " + TAMANHO_MAXIMO_CONTEUDO
+                    + " caracteres");
+        }
+
+    }
+
+    @Override
+    public Mensagem buscarMensagem(UUID id) {
+
+        return mensagemRepository.findById(id)
+                .orElseThrow(() -> new MensagemNotFoundException(MENSAGEM_NAO_ENCONTRADA));
+
+    }
+
+    /**
+     * Método para alterar o conteúdo de uma mensagem. Com a versão informada, a alteração só é feita
+     * se a mensagem não tiver sido alterada desde essa versão.
+     *
+     * @param id                 ID da mensagem.
+     * @param mensagemAtualizada Objeto com o novo conteúdo e, opcionalmente, a versão alterada; o id,
+     *                           caso informado, deve ser o da mensagem.
+     * @return Mensagem alterada, lida após a alteração.
+     * @throws MensagemNotFoundException Caso a mensagem não exista ou o id informado seja outro.
+     * @throws MensagemConflictException Caso a mensagem esteja em outra versão.
+     */
+    @Override
+    @Transactional
+    public Mensagem alterarMensagem(UUID id, Mensagem mensagemAtualizada) {
+
+        if (mensagemAtualizada.getVersao() != null) {
+            alterarConteudo(id, mensagemAtualizada, mensagemAtualizada.getVersao());
+        } else {
+            validarAlteracao(id, mensagemAtualizada);
+            if (mensagemRepository.alterarConteudo(id, mensagemAtualizada.getConteudo()) == 0) {
+                throw new MensagemNotFoundException(MENSAGEM_NAO_ENCONTRADA);
+            }
+        }
+
+        return buscarMensagem(id);
+
+    }
+
+    /**
+     * Método para alterar o conteúdo de uma mensagem numa versão, com um único UPDATE e sem ler a
+     * mensagem; a leitura só é feita quando nenhuma linha é alterada, para diferenciar a mensagem
+     * inexistente da alterada por outra requisição.
+     *
+     * @param id                 ID da mensagem.
+     * @param mensagemAtualizada Objeto com o novo conteúdo; o id, caso informado, deve ser o da mensagem.
+     * @param versao             Versão conhecida pelo cliente.
+     * @return Nova versão da mensagem.
+     * @throws MensagemNotFoundException Caso a mensagem não exista ou o id informado seja outro.
+     * @throws MensagemConflictException Caso a mensagem esteja em outra versão.
+     */
+    @Override
+    @Transactional
+    public long alterarConteudo(UUID id, Mensagem mensagemAtualizada, long versao) {
+
+        validarAlteracao(id, mensagemAtualizada);
+
+        if (mensagemRepository.alterarConteudoNaVersao(id, mensagemAtualizada.getConteudo(), versao) == 0) {
+            if (!mensagemRepository.existsById(id)) {
+                throw new MensagemNotFoundException(MENSAGEM_NAO_ENCONTRADA);
+            }
+            throw new MensagemConflictException("A mensagem foi alterada por outra requisição");
+        }
+
+        return versao + 1;
+
+    }
+
+    @Override
+    @Transactional
+    public boolean removerMensagem(UUID id) {
+
+        buscarMensagem(id);
+        mensagemRepository.deleteById(id);
+
+        return true;
+
+    }
+
+    @Override
+    public Page<Mensagem> listarMensagens(Pageable pageable) {
+
+        return mensagemRepository.listarMensagens(pageable);
+
+    }
+
+    /**
+     * Método para listar as mensagens por cursor, da mais recente para a mais antiga.
+     *
+     * @param cursor  Id da última mensagem recebida, ou null para a primeira página.
+     * @param tamanho Quantidade de mensagens da página, limitada a TAMANHO_MAXIMO_PAGINA.
+     * @return Página com as mensagens e o cursor da página seguinte.
+     * @throws IllegalArgumentException Caso o tamanho não seja positivo.
+     */
+    @Override
+    public PaginaDeMensagens listarMensagensPorCursor(UUID cursor, int tamanho) {
+
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero");
+        }
+
+        int limite = Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+
+        // Uma mensagem além do limite indica se há página seguinte, sem contar as mensagens
+        Pageable pageable = PageRequest.of(0, limite + 1);
+
+        List<Mensagem> mensagens = cursor == null
+                ? mensagemRepository.listarMensagensRecentes(pageable)
+                : mensagemRepository.listarMensagensAntesDe(cursor, pageable);
+
+        if (mensagens.size() <= limite) {
+            return new PaginaDeMensagens(mensagens, null);
+        }
+
+        List<Mensagem> pagina = mensagens.subList(0, limite);
+
+        return new PaginaDeMensagens(List.copyOf(pagina), pagina.get(limite - 1).getId());
+
+    }
+
+    /**
+     * Método para percorrer todas as mensagens de um usuário, em ordem de criação, sem carregá-las
+     * de uma vez em memória.
+     *
+     * @param usuario    Usuário das mensagens.
+     * @param consumidor Função que recebe cada mensagem lida.
+     * @return Quantidade de mensagens exportadas.
+     */
+    @Override
+    public long exportarMensagensDoUsuario(String usuario, Consumer<Mensagem> consumidor) {
+
+        long exportadas = 0;
+
+        try (Stream<Mensagem> mensagens = mensagemRepository.consultarMensagensDoUsuario(usuario)) {
+            for (Iterator<Mensagem> iterator = mensagens.iterator(); iterator.hasNext(); exportadas++) {
+                consumidor.accept(iterator.next());
+            }
+        }
+
+        return exportadas;
+
+    }
+
+}
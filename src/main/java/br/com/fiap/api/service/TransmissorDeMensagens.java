@@ -0,0 +1,37 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.gerenciadorDeReservas.usecases.transmissao.TransmissorDeEventos;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Classe responsável por transmitir as novas mensagens, publicadas após a gravação no banco.
+ */
+@Service
+public class TransmissorDeMensagens extends TransmissorDeEventos<String> {
+
+    private static final String TODAS = "mensagens";
+
+    public TransmissorDeMensagens() {
+
+        super("mensagem");
+
+    }
+
+    /**
+     * @return SseEmitter que recebe as novas mensagens.
+     */
+    public SseEmitter assinarMensagens() {
+
+        return assinar(TODAS);
+
+    }
+
+    public void publicar(Mensagem mensagem) {
+
+        publicar(TODAS, mensagem);
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package br.com.fiap.api.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de UUIDs ordenados pelo momento da criação, no layout da versão 7 (RFC 9562).
+ * <p>
+ * Os 48 bits mais significativos guardam o epoch em milissegundos e os 12 bits seguintes, um
+ * contador dentro do mesmo milissegundo; o restante é aleatório. Como cada id é maior que o
+ * anterior, as inserções acrescentam entradas ao fim do índice da chave primária, em vez de
+ * espalhá-las por páginas aleatórias da árvore, como os UUIDs da versão 4.
+ */
+public final class UuidOrdenadoPorTempo {
+
+    private static final int BITS_CONTADOR = 12;
+    private static final long MASCARA_CONTADOR = (1L << BITS_CONTADOR) - 1;
+    private static final long VERSAO = 0x7000L;
+    private static final long VARIANTE = 0x8000_0000_0000_0000L;
+    private static final long MASCARA_ALEATORIA = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /**
+     * Último (milissegundo << 12 | contador) gerado. Com mais de 4096 ids no mesmo milissegundo, o
+     * contador transborda para o milissegundo seguinte, e a ordem é mantida.
+     */
+    private static final AtomicLong ULTIMO = new AtomicLong();
+
+    private UuidOrdenadoPorTempo() {
+    }
+
+    /**
+     * @return UUID maior que todos os gerados anteriormente nesta JVM.
+     */
+    public static UUID gerar() {
+
+        long agora = System.currentTimeMillis() << BITS_CONTADOR;
+        long atual = ULTIMO.updateAndGet(anterior -> Math.max(anterior + 1, agora));
+
+        long maisSignificativos = (atual >>> BITS_CONTADOR) << 16 | VERSAO | (atual & MASCARA_CONTADOR);
+        long menosSignificativos = VARIANTE | (ThreadLocalRandom.current().nextLong() & MASCARA_ALEATORIA);
+
+        return new UUID(maisSignificativos, menosSignificativos);
+
+    }
+
+}
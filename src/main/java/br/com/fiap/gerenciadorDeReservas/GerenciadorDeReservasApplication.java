@@ -2,8 +2,14 @@ package br.com.fiap.gerenciadorDeReservas;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = "br.com.fiap")
+@EntityScan(basePackages = "br.com.fiap")
+@EnableJpaRepositories(basePackages = "br.com.fiap")
+@EnableScheduling
 public class GerenciadorDeReservasApplication {
 
 	public static void main(String[] args) {
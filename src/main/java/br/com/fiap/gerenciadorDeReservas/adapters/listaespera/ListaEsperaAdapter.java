@@ -0,0 +1,127 @@
+package br.com.fiap.gerenciadorDeReservas.adapters.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ClienteEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ListaEsperaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosCriacaoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosEntradaListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosRetornoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ClienteRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.GradeDeHorarios;
+import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.ConsultarFuncionamentoUseCase;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Classe para efetuar tratamento dos dados vindo das APIs
+ * e dos dados retornados
+ */
+@Service
+public class ListaEsperaAdapter {
+
+    @Autowired
+    ClienteRepository clienteRepository;
+    @Autowired
+    RestauranteRepository restauranteRepository;
+    @Autowired
+    ConsultarFuncionamentoUseCase consultarFuncionamentoUseCase;
+
+    /**
+     * Método para efetuar a conversão dos dados da API para criação de uma ListaEsperaEntity.
+     *
+     * @param dadosCriacaoListaEsperaDTO Objeto com os dados para conversão.
+     * @return ListaEsperaEntity Objeto com os dados tratados.
+     * @throws IllegalAccessException Exception lançada, caso o restaurante não funcione no horário pedido.
+     */
+    public ListaEsperaEntity converterParaEntity(DadosCriacaoListaEsperaDTO dadosCriacaoListaEsperaDTO) throws IllegalAccessException {
+
+        ClienteEntity clienteEntity = clienteRepository.findById(dadosCriacaoListaEsperaDTO.cliente_id()).orElseThrow(
+                () -> new EntityNotFoundException(("O cliente_id fornecido é inválido")));
+
+        RestauranteEntity restauranteEntity = restauranteRepository.findById(dadosCriacaoListaEsperaDTO.restaurante_id())
+                .orElseThrow(() -> new EntityNotFoundException(("O restaurante_id fornecido é inválido")));
+
+        LocalDate dia = dadosCriacaoListaEsperaDTO.dataReserva().toLocalDate();
+
+        if (!GradeDeHorarios.alinhado(dadosCriacaoListaEsperaDTO.dataReserva(), restauranteEntity.getGranularidadeMinutos())
+                || !consultarFuncionamentoUseCase.consultarCalendario(restauranteEntity.getId(), dia, dia)
+                .abertoEm(dadosCriacaoListaEsperaDTO.dataReserva())) {
+            throw new IllegalAccessException("Horário fora do funcionamento do restaurante");
+        }
+
+        return new ListaEsperaEntity(
+                dadosCriacaoListaEsperaDTO.dataReserva(),
+                dadosCriacaoListaEsperaDTO.quantidadePessoas(),
+                dadosCriacaoListaEsperaDTO.duracaoMinutos(),
+                LocalDateTime.now(),
+                clienteEntity,
+                restauranteEntity
+        );
+
+    }
+
+    /**
+     * Método para converter uma ListaEsperaEntity promovida na ReservaEntity definitiva, com a duração
+     * pedida na entrada da lista de espera.
+     *
+     * @param listaEsperaEntity Objeto com os dados a serem convertidos.
+     * @return ReservaEntity Objeto com os dados tratados.
+     */
+    public ReservaEntity converterParaReservaEntity(ListaEsperaEntity listaEsperaEntity) {
+
+        return new ReservaEntity(
+                StatusReservaEnum.ABERTA,
+                listaEsperaEntity.getDataReserva(),
+                listaEsperaEntity.getQuantidadePessoas(),
+                listaEsperaEntity.getDuracaoMinutos() == null
+                        ? ReservaEntity.DURACAO_PADRAO_MINUTOS : listaEsperaEntity.getDuracaoMinutos(),
+                listaEsperaEntity.getClienteEntity(),
+                listaEsperaEntity.getRestauranteEntity()
+        );
+
+    }
+
+    /**
+     * Método para converter uma ListaEsperaEntity para um objeto DadosRetornoListaEsperaDTO.
+     *
+     * @param listaEsperaEntity Objeto com os dados a serem convertidos.
+     * @return DadosRetornoListaEsperaDTO Objeto com os dados tratados.
+     */
+    public DadosRetornoListaEsperaDTO converterParaDadosRetornoDTO(ListaEsperaEntity listaEsperaEntity) {
+
+        return new DadosRetornoListaEsperaDTO(
+                listaEsperaEntity.getId(),
+                listaEsperaEntity.getRestauranteEntity().getNome(),
+                listaEsperaEntity.getDataReserva(),
+                listaEsperaEntity.getQuantidadePessoas()
+        );
+
+    }
+
+    /**
+     * Método para converter uma ListaEsperaEntity para a entrada mantida na FilaDeEspera.
+     *
+     * @param listaEsperaEntity Objeto com os dados a serem convertidos.
+     * @return DadosEntradaListaEsperaDTO Objeto com os dados tratados.
+     */
+    public DadosEntradaListaEsperaDTO converterParaDadosEntradaDTO(ListaEsperaEntity listaEsperaEntity) {
+
+        return new DadosEntradaListaEsperaDTO(
+                listaEsperaEntity.getId(),
+                listaEsperaEntity.getRestauranteEntity().getId(),
+                listaEsperaEntity.getDataReserva(),
+                listaEsperaEntity.getQuantidadePessoas(),
+                listaEsperaEntity.getDuracaoMinutos(),
+                listaEsperaEntity.getSolicitadaEm()
+        );
+
+    }
+
+}
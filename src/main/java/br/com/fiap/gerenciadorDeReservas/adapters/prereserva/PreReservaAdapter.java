@@ -0,0 +1,114 @@
+package br.com.fiap.gerenciadorDeReservas.adapters.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.adapters.reserva.ReservaAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.PreReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosPreReservaAgendadaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosRetornoPreReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para efetuar tratamento dos dados vindo das APIs
+ * e dos dados retornados
+ */
+@Service
+public class PreReservaAdapter {
+
+    @Autowired
+    ReservaAdapter reservaAdapter;
+
+    /**
+     * Método para efetuar a conversão dos dados da API para criação de uma PreReservaEntity.
+     * A validação do horário e a ocupação dos lugares são as mesmas da criação de uma reserva.
+     *
+     * @param dadosCriacaoReservaDTO Objeto com os dados para conversão.
+     * @param expiraEm               Momento em que a pré-reserva expira.
+     * @return PreReservaEntity Objeto com os dados tratados.
+     * @throws IllegalAccessException Exception lançada, em caso de horário não disponivel.
+     */
+    public PreReservaEntity converterParaEntity(DadosCriacaoReservaDTO dadosCriacaoReservaDTO,
+                                                LocalDateTime expiraEm) throws IllegalAccessException {
+
+        ReservaEntity reservaEntity = reservaAdapter.converterParaEntity(dadosCriacaoReservaDTO);
+
+        PreReservaEntity preReservaEntity = new PreReservaEntity(
+                reservaEntity.getDataReserva(),
+                expiraEm,
+                reservaEntity.getQuantidadePessoas(),
+                reservaEntity.getDuracaoMinutos(),
+                reservaEntity.getClienteEntity(),
+                reservaEntity.getRestauranteEntity()
+        );
+
+        preReservaEntity.alocarMesas(reservaEntity.getMesas());
+
+        return preReservaEntity;
+
+    }
+
+    /**
+     * Método para converter uma PreReservaEntity confirmada na ReservaEntity definitiva, com as mesas
+     * já alocadas para a pré-reserva.
+     *
+     * @param preReservaEntity Objeto com os dados a serem convertidos.
+     * @return ReservaEntity Objeto com os dados tratados.
+     */
+    public ReservaEntity converterParaReservaEntity(PreReservaEntity preReservaEntity) {
+
+        ReservaEntity reservaEntity = new ReservaEntity(
+                StatusReservaEnum.ABERTA,
+                preReservaEntity.getDataReserva(),
+                preReservaEntity.getQuantidadePessoas(),
+                preReservaEntity.getDuracaoMinutos(),
+                preReservaEntity.getClienteEntity(),
+                preReservaEntity.getRestauranteEntity()
+        );
+
+        reservaEntity.alocarMesas(preReservaEntity.getMesas());
+
+        return reservaEntity;
+
+    }
+
+    /**
+     * Método para converter uma PreReservaEntity para um objeto DadosRetornoPreReservaDTO.
+     *
+     * @param preReservaEntity Objeto com os dados a serem convertidos.
+     * @return DadosRetornoPreReservaDTO Objeto com os dados tratados.
+     */
+    public DadosRetornoPreReservaDTO converterParaDadosRetornoDTO(PreReservaEntity preReservaEntity) {
+
+        return new DadosRetornoPreReservaDTO(
+                preReservaEntity.getId(),
+                preReservaEntity.getRestauranteEntity().getNome(),
+                preReservaEntity.getDataReserva(),
+                preReservaEntity.getExpiraEm()
+        );
+
+    }
+
+    /**
+     * Método para converter uma PreReservaEntity para um objeto DadosPreReservaAgendadaDTO.
+     *
+     * @param preReservaEntity Objeto com os dados a serem convertidos.
+     * @return DadosPreReservaAgendadaDTO Objeto com os dados tratados.
+     */
+    public DadosPreReservaAgendadaDTO converterParaDadosAgendamentoDTO(PreReservaEntity preReservaEntity) {
+
+        return new DadosPreReservaAgendadaDTO(
+                preReservaEntity.getId(),
+                preReservaEntity.getRestauranteEntity().getId(),
+                preReservaEntity.getDataReserva(),
+                preReservaEntity.getFimReserva(),
+                preReservaEntity.getLugaresOcupados(),
+                preReservaEntity.getExpiraEm()
+        );
+
+    }
+
+}
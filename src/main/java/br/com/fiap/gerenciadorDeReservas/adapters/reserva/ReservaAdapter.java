@@ -2,14 +2,18 @@ package br.com.fiap.gerenciadorDeReservas.adapters.reserva;
 
 import br.com.fiap.gerenciadorDeReservas.adapters.endereco.EnderecoAdapter;
 import br.com.fiap.gerenciadorDeReservas.entities.ClienteEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosMesaAlocadaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosConsultaReservasDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.repositories.ClienteRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.EventoAdmissaoDeReserva;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.ValidadorDeReservas;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +21,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Classe para efetuar tratamento dos dados vindo das APIs
@@ -33,9 +38,12 @@ public class ReservaAdapter {
     EnderecoAdapter enderecoAdapter;
     @Autowired
     ValidadorDeReservas agendamentoValidoUseCase;
+    @Autowired
+    RegistroDeMetricas registroDeMetricas;
 
     /**
-     * Método para efetuar a conversão dos dados da API para criação  de uma ReservaEntity.
+     * Método para efetuar a conversão dos dados da API para criação  de uma ReservaEntity. A conversão
+     * emite um EventoAdmissaoDeReserva, com a duração das consultas e da alocação dos lugares.
      *
      * @param dadosCriacaoReservaDTO Objeto com os dados para conversão.
      * @return ReservaEntity Objeto com os dados tratodos.
@@ -43,8 +51,25 @@ public class ReservaAdapter {
      */
     public ReservaEntity converterParaEntity(DadosCriacaoReservaDTO dadosCriacaoReservaDTO) throws IllegalAccessException {
 
+        EventoAdmissaoDeReserva evento = new EventoAdmissaoDeReserva();
+        evento.begin();
+
+        try {
+            return converterParaEntity(dadosCriacaoReservaDTO, evento);
+        } finally {
+            evento.concluir(dadosCriacaoReservaDTO.restaurante_id(), dadosCriacaoReservaDTO.dataReserva(),
+                    dadosCriacaoReservaDTO.quantidadePessoas());
+        }
+
+    }
+
+    private ReservaEntity converterParaEntity(DadosCriacaoReservaDTO dadosCriacaoReservaDTO,
+                                              EventoAdmissaoDeReserva evento) throws IllegalAccessException {
+
         StatusReservaEnum statusReservaEnum = StatusReservaEnum.ABERTA;
 
+        long inicioConsultas = evento.agora();
+
         ClienteEntity clienteEntity = clienteRepository.findById(dadosCriacaoReservaDTO.cliente_id()).orElseThrow(
                 () -> new EntityNotFoundException(("O cliente_id fornecido é inválido")));
 
@@ -52,17 +77,30 @@ public class ReservaAdapter {
         RestauranteEntity restauranteEntity = restauranteRepository.findById(dadosCriacaoReservaDTO.restaurante_id())
                 .orElseThrow(() -> new EntityNotFoundException(("O restaurante_id fornecido é inválido")));
 
+        evento.consultas(inicioConsultas);
+
         ReservaEntity reservaEntity = new ReservaEntity(
                 statusReservaEnum,
                 dadosCriacaoReservaDTO.dataReserva(),
+                dadosCriacaoReservaDTO.quantidadePessoas(),
+                dadosCriacaoReservaDTO.duracaoMinutos(),
                 clienteEntity,
                 restauranteEntity
         );
 
-        if (agendamentoValidoUseCase.isDataAgendamentoValido(dadosCriacaoReservaDTO.dataReserva(), restauranteEntity)) {
-            reservaEntity.setDataReserva(dadosCriacaoReservaDTO.dataReserva());
+        long inicioAlocacao = evento.agora();
+        Optional<List<MesaEntity>> mesas = agendamentoValidoUseCase.alocarAgendamento(
+                reservaEntity.getDataReserva(), reservaEntity.getFimReserva(), restauranteEntity,
+                dadosCriacaoReservaDTO.quantidadePessoas());
+        evento.alocacao(inicioAlocacao);
+
+        if (mesas.isPresent()) {
+            reservaEntity.alocarMesas(mesas.get());
+            evento.resultado(EventoAdmissaoDeReserva.ACEITA);
 
         } else {
+            evento.resultado(EventoAdmissaoDeReserva.REJEITADA);
+            registroDeMetricas.incrementar(RegistroDeMetricas.RESERVAS_REJEITADAS, "criar");
             throw new IllegalAccessException("Data indisponivel para reserva");
         }
 
@@ -81,7 +119,10 @@ public class ReservaAdapter {
         return new DadosRetornoCriacaoReservaDTO(
                 reservaEntity.getRestauranteEntity().getNome(),
                 enderecoAdapter.converterParaDTO(reservaEntity.getRestauranteEntity().getEnderecoEntity()),
-                reservaEntity.getDataReserva()
+                reservaEntity.getDataReserva(),
+                reservaEntity.getMesas().stream()
+                        .map(mesa -> new DadosMesaAlocadaDTO(mesa.getId(), mesa.getLugares()))
+                        .toList()
         );
 
     }
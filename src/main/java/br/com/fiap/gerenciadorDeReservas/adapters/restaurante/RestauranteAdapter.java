@@ -1,14 +1,28 @@
 package br.com.fiap.gerenciadorDeReservas.adapters.restaurante;
 
 import br.com.fiap.gerenciadorDeReservas.adapters.endereco.EnderecoAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.ExcecaoFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
-import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosCriacaoMesaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosCriacaoRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosExcecaoFuncionamentoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosHorarioFuncionamentoDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.GradeDeHorarios;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * Classe para efetuar tratamento dos dados vindo das APIs
@@ -21,30 +35,136 @@ public class RestauranteAdapter {
     EnderecoAdapter enderecoAdapter;
 
     /**
-     * Metodo para converter os dados vindo da API para um RestauranteEntity
+     * Metodo para converter os dados vindo da API para um RestauranteEntity. Caso mesas sejam
+     * informadas, a capacidade passa a ser a soma dos seus lugares.
      *
      * @param dadosCriacaoRestauranteDTO Objeto DadosCriacaoRestauranteDTO a ser convertido
      * @return Obejto RestauranteEntity resultante da conversão
+     * @throws IllegalArgumentException Caso a granularidade seja inválida.
      */
     public RestauranteEntity converterParaEntity(DadosCriacaoRestauranteDTO dadosCriacaoRestauranteDTO) {
 
+        int granularidadeMinutos = GradeDeHorarios.validarGranularidade(dadosCriacaoRestauranteDTO.granularidadeMinutos());
+
         RestauranteEntity restauranteEntity = new RestauranteEntity(
                 dadosCriacaoRestauranteDTO.nome(),
                 dadosCriacaoRestauranteDTO.tipoCulinaria(),
                 dadosCriacaoRestauranteDTO.horarioDeAbertura(),
                 dadosCriacaoRestauranteDTO.horarioDeFechamento(),
-                dadosCriacaoRestauranteDTO.capacidade()
+                calcularCapacidade(dadosCriacaoRestauranteDTO),
+                granularidadeMinutos
         );
 
         restauranteEntity.setEnderecoEntity(enderecoAdapter.conveterParaEntity(dadosCriacaoRestauranteDTO.endereco(),
                 restauranteEntity));
 
-        restauranteEntity.setDiasDeOperacao();
-
         return restauranteEntity;
 
     }
 
+    /**
+     * Método para converter os horários de funcionamento informados na criação em entities
+     * HorarioFuncionamentoEntity. Sem horários semanais, o restaurante funciona todos os dias
+     * da abertura ao fechamento.
+     *
+     * @param dadosCriacaoRestauranteDTO Objeto DadosCriacaoRestauranteDTO com os horários.
+     * @param restauranteEntity          Restaurante dono dos horários.
+     * @return Lista de HorarioFuncionamentoEntity.
+     * @throws IllegalArgumentException Caso uma abertura não coincida com a granularidade ou dois intervalos
+     *                                  do mesmo dia se sobreponham.
+     */
+    public List<HorarioFuncionamentoEntity> converterParaHorariosDeFuncionamento(
+            DadosCriacaoRestauranteDTO dadosCriacaoRestauranteDTO, RestauranteEntity restauranteEntity) {
+
+        List<HorarioFuncionamentoEntity> horarios;
+
+        if (dadosCriacaoRestauranteDTO.horariosDeFuncionamento() == null
+                || dadosCriacaoRestauranteDTO.horariosDeFuncionamento().isEmpty()) {
+            horarios = Arrays.stream(DayOfWeek.values())
+                    .map(dia -> new HorarioFuncionamentoEntity(restauranteEntity, dia,
+                            dadosCriacaoRestauranteDTO.horarioDeAbertura(), dadosCriacaoRestauranteDTO.horarioDeFechamento()))
+                    .toList();
+        } else {
+            horarios = dadosCriacaoRestauranteDTO.horariosDeFuncionamento().stream()
+                    .map(horario -> new HorarioFuncionamentoEntity(restauranteEntity, horario.diaDaSemana(),
+                            horario.abertura(), horario.fechamento()))
+                    .toList();
+        }
+
+        horarios.forEach(horario -> validarAbertura(horario.getAbertura(), restauranteEntity));
+
+        horarios.stream()
+                .collect(Collectors.groupingBy(HorarioFuncionamentoEntity::getDiaDaSemana))
+                .forEach((dia, intervalos) -> validarSobreposicao(intervalos.stream()
+                        .map(intervalo -> new LocalTime[]{intervalo.getAbertura(), intervalo.getFechamento()})
+                        .toList()));
+
+        return horarios;
+
+    }
+
+    /**
+     * Método para converter as exceções de funcionamento informadas na criação em entities
+     * ExcecaoFuncionamentoEntity.
+     *
+     * @param dadosCriacaoRestauranteDTO Objeto DadosCriacaoRestauranteDTO com as exceções.
+     * @param restauranteEntity          Restaurante dono das exceções.
+     * @return Lista de ExcecaoFuncionamentoEntity, vazia caso nenhuma exceção tenha sido informada.
+     * @throws IllegalArgumentException Caso uma exceção informe apenas a abertura ou o fechamento, ou a
+     *                                  abertura não coincida com a granularidade.
+     */
+    public List<ExcecaoFuncionamentoEntity> converterParaExcecoesDeFuncionamento(
+            DadosCriacaoRestauranteDTO dadosCriacaoRestauranteDTO, RestauranteEntity restauranteEntity) {
+
+        if (dadosCriacaoRestauranteDTO.excecoesDeFuncionamento() == null) {
+            return List.of();
+        }
+
+        List<ExcecaoFuncionamentoEntity> excecoes = dadosCriacaoRestauranteDTO.excecoesDeFuncionamento().stream()
+                .map(excecao -> new ExcecaoFuncionamentoEntity(restauranteEntity, excecao.data(),
+                        excecao.abertura(), excecao.fechamento(), excecao.motivo()))
+                .toList();
+
+        for (ExcecaoFuncionamentoEntity excecao : excecoes) {
+            if ((excecao.getAbertura() == null) != (excecao.getFechamento() == null)) {
+                throw new IllegalArgumentException("A exceção de funcionamento deve informar a abertura e o " +
+                        "fechamento, ou nenhum dos dois para fechar o restaurante na data");
+            }
+            validarAbertura(excecao.getAbertura(), restauranteEntity);
+        }
+
+        excecoes.stream()
+                .filter(excecao -> !excecao.isFechado())
+                .collect(Collectors.groupingBy(ExcecaoFuncionamentoEntity::getData))
+                .forEach((data, intervalos) -> validarSobreposicao(intervalos.stream()
+                        .map(intervalo -> new LocalTime[]{intervalo.getAbertura(), intervalo.getFechamento()})
+                        .toList()));
+
+        return excecoes;
+
+    }
+
+    /**
+     * Método para converter as mesas informadas na criação em entities MesaEntity do restaurante.
+     *
+     * @param dadosCriacaoRestauranteDTO Objeto DadosCriacaoRestauranteDTO com as mesas.
+     * @param restauranteEntity          Restaurante dono das mesas.
+     * @return Lista de MesaEntity, vazia caso nenhuma mesa tenha sido informada.
+     */
+    public List<MesaEntity> converterParaMesas(DadosCriacaoRestauranteDTO dadosCriacaoRestauranteDTO,
+                                               RestauranteEntity restauranteEntity) {
+
+        if (dadosCriacaoRestauranteDTO.mesas() == null) {
+            return List.of();
+        }
+
+        return dadosCriacaoRestauranteDTO.mesas().stream()
+                .flatMap(mesa -> Collections.nCopies(mesa.quantidade(), mesa.lugares()).stream())
+                .map(lugares -> new MesaEntity(lugares, restauranteEntity))
+                .toList();
+
+    }
+
     /**
      * Método para efetuar a conversão, de um RestauranteEntity, para um
      * DadosCriacaoRestauranteDTO.
@@ -54,42 +174,87 @@ public class RestauranteAdapter {
      */
     public DadosCriacaoRestauranteDTO converterParaDTO(RestauranteEntity restauranteEntity) {
 
+        return converterParaDTO(restauranteEntity, List.of(), List.of(), List.of());
+
+    }
+
+    /**
+     * Método para efetuar a conversão, de um RestauranteEntity, das suas mesas e dos seus horários de
+     * funcionamento, para um DadosCriacaoRestauranteDTO, com as mesas agrupadas por quantidade de lugares.
+     *
+     * @param restauranteEntity Objeto RestauranteEntity a ser convertido.
+     * @param mesas             Mesas do restaurante.
+     * @param horarios          Horários semanais do restaurante.
+     * @param excecoes          Exceções de funcionamento do restaurante.
+     * @return Objeto DadosCriacaoRestauranteDTO resultante da conversão.
+     */
+    public DadosCriacaoRestauranteDTO converterParaDTO(RestauranteEntity restauranteEntity, List<MesaEntity> mesas,
+                                                       List<HorarioFuncionamentoEntity> horarios,
+                                                       List<ExcecaoFuncionamentoEntity> excecoes) {
+
+        Map<Integer, Long> mesasPorLugares = mesas.stream()
+                .collect(Collectors.groupingBy(MesaEntity::getLugares, TreeMap::new, Collectors.counting()));
+
         return new DadosCriacaoRestauranteDTO(
                 restauranteEntity.getNome(),
                 enderecoAdapter.converterParaDTO(restauranteEntity.getEnderecoEntity()),
                 restauranteEntity.getTipoCulinaria(),
                 restauranteEntity.getHorarioDeAbertura(),
                 restauranteEntity.getHorarioDeFechamento(),
-                restauranteEntity.getCapacidade()
+                restauranteEntity.getCapacidade(),
+                mesasPorLugares.isEmpty() ? null : mesasPorLugares.entrySet().stream()
+                        .map(mesa -> new DadosCriacaoMesaDTO(mesa.getKey(), mesa.getValue().intValue()))
+                        .toList(),
+                restauranteEntity.getGranularidadeMinutos(),
+                horarios.isEmpty() ? null : horarios.stream()
+                        .map(horario -> new DadosHorarioFuncionamentoDTO(horario.getDiaDaSemana(),
+                                horario.getAbertura(), horario.getFechamento()))
+                        .toList(),
+                excecoes.isEmpty() ? null : excecoes.stream()
+                        .map(excecao -> new DadosExcecaoFuncionamentoDTO(excecao.getData(),
+                                excecao.getAbertura(), excecao.getFechamento(), excecao.getMotivo()))
+                        .toList()
         );
 
     }
 
+    private static void validarAbertura(LocalTime abertura, RestauranteEntity restauranteEntity) {
+
+        if (abertura != null && !GradeDeHorarios.alinhado(LocalDate.EPOCH.atTime(abertura),
+                restauranteEntity.getGranularidadeMinutos())) {
+            throw new IllegalArgumentException("O horário de abertura deve coincidir com a granularidade dos horários");
+        }
+
+    }
 
     /**
-     * Método para converter um RestauranteEntity para objeto do tipo
-     * DadosConsultaRestauranteDTO.
-     *
-     * @param restauranteEntity Lista de objetos RestauranteEntity a serem convertidos.
-     * @return Lista de objetos DadosConsultaRestauranteDTO resultante da conversão.
+     * Intervalos de um mesmo dia não podem se sobrepor; um intervalo que termina no dia seguinte
+     * só pode ser o último do dia.
      */
-    public List<DadosConsultaRestauranteDTO> converterEntityParaDadosConsultaRestauranteDTO(
-            List<RestauranteEntity> restauranteEntity) {
-
-        List<DadosConsultaRestauranteDTO> dadosRestaurantes = new ArrayList<>();
-
-        for (RestauranteEntity restaurante : restauranteEntity) {
-            DadosConsultaRestauranteDTO dadosRestaurante = new DadosConsultaRestauranteDTO(
-                    restaurante.getNome(),
-                    enderecoAdapter.converterParaDTO(restaurante.getEnderecoEntity()),
-                    restaurante.getTipoCulinaria(),
-                    restaurante.getHorarioDeAbertura(),
-                    restaurante.getHorarioDeFechamento()
-            );
-            dadosRestaurantes.add(dadosRestaurante);
+    private static void validarSobreposicao(List<LocalTime[]> intervalos) {
+
+        List<LocalTime[]> ordenados = intervalos.stream()
+                .sorted(Comparator.comparing((LocalTime[] intervalo) -> intervalo[0]))
+                .toList();
+
+        for (int i = 1; i < ordenados.size(); i++) {
+            LocalTime[] anterior = ordenados.get(i - 1);
+            if (!anterior[1].isAfter(anterior[0]) || anterior[1].isAfter(ordenados.get(i)[0])) {
+                throw new IllegalArgumentException("Os horários de funcionamento de um mesmo dia não podem se sobrepor");
+            }
+        }
+
+    }
+
+    private Integer calcularCapacidade(DadosCriacaoRestauranteDTO dadosCriacaoRestauranteDTO) {
+
+        if (dadosCriacaoRestauranteDTO.mesas() == null || dadosCriacaoRestauranteDTO.mesas().isEmpty()) {
+            return dadosCriacaoRestauranteDTO.capacidade();
         }
 
-        return dadosRestaurantes;
+        return dadosCriacaoRestauranteDTO.mesas().stream()
+                .mapToInt(mesa -> mesa.lugares() * mesa.quantidade())
+                .sum();
 
     }
 
@@ -1,16 +1,29 @@
 package br.com.fiap.gerenciadorDeReservas.controllers.cliente;
 
+import br.com.fiap.api.exception.MensagemConflictException;
 import br.com.fiap.api.exception.MensagemNotFoundException;
 import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.model.PaginaDeMensagens;
 import br.com.fiap.api.service.MensagemService;
+import br.com.fiap.api.service.TransmissorDeMensagens;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.UUID;
 
 @RestController
@@ -18,8 +31,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MensagemController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String PREFER = "Prefer";
+    private static final String RETORNO_MINIMO = "return=minimal";
+
+    // Uma linha por mensagem: o escritor não fecha a saída ao terminar cada valor
+    private static final ObjectWriter ESCRITOR_NDJSON = Jackson2ObjectMapperBuilder.json().build()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .writer();
+
     private final MensagemService mensagemService;
 
+    @Autowired
+    private TransmissorDeMensagens transmissorDeMensagens;
+
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
@@ -34,7 +59,7 @@ public class MensagemController {
         var uuid = UUID.fromString(id);
         try {
             var mensagemEncontrada = mensagemService.buscarMensagem(uuid);
-            return new ResponseEntity<>(mensagemEncontrada, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(etag(mensagemEncontrada)).body(mensagemEncontrada);
         } catch (MensagemNotFoundException mensagemNotFoundException) {
             return new ResponseEntity<>("ID inválido", HttpStatus.BAD_REQUEST);
         }
@@ -49,7 +74,46 @@ public class MensagemController {
     ) {
         var pageable = PageRequest.of(page, size);
         var mensagens = mensagemService.listarMensagens(pageable);
-        return new ResponseEntity<>(mensagens, HttpStatus.OK);
+        // A página é respondida com a paginação da requisição, já que uma página sem paginação não é serializável
+        return new ResponseEntity<>(new PageImpl<>(mensagens.getContent(), pageable, mensagens.getTotalElements()),
+                HttpStatus.OK);
+    }
+
+    @GetMapping(
+            value = "/cursor",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<PaginaDeMensagens> listarMensagensPorCursor(
+            @RequestParam(required = false) UUID cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(mensagemService.listarMensagensPorCursor(cursor, size));
+    }
+
+    @GetMapping(
+            value = "/exportar",
+            produces = APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> exportarMensagens(@RequestParam String usuario) {
+        StreamingResponseBody corpo = saida -> mensagemService.exportarMensagensDoUsuario(usuario, mensagem -> {
+            try {
+                ESCRITOR_NDJSON.writeValue(saida, mensagem);
+                saida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(corpo);
+    }
+
+    @GetMapping(
+            value = "/transmissao",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public SseEmitter transmitirMensagens() {
+        return transmissorDeMensagens.assinarMensagens();
     }
 
     @PutMapping(
@@ -57,15 +121,33 @@ public class MensagemController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<?> alterarMensagem(@PathVariable String id, @RequestBody Mensagem mensagem) {
+    public ResponseEntity<?> alterarMensagem(
+            @PathVariable String id,
+            @RequestBody Mensagem mensagem,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer
+    ) {
         var uuid = UUID.fromString(id);
+        var versao = versaoDoIfMatch(ifMatch);
         try {
+            // Com a versão e sem pedir a representação, a alteração é um único UPDATE, sem leitura
+            if (versao != null && RETORNO_MINIMO.equalsIgnoreCase(prefer)) {
+                var novaVersao = mensagemService.alterarConteudo(uuid, mensagem, versao);
+                return ResponseEntity.noContent().eTag(Long.toString(novaVersao)).build();
+            }
+            if (versao != null) {
+                mensagem.setVersao(versao);
+            }
             var mensagemAtualizada = mensagemService.alterarMensagem(uuid, mensagem);
-            return new ResponseEntity<>(mensagemAtualizada, HttpStatus.ACCEPTED);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).eTag(etag(mensagemAtualizada)).body(mensagemAtualizada);
         } catch (MensagemNotFoundException mensagemNotFoundException) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(mensagemNotFoundException.getMessage());
+        } catch (MensagemConflictException mensagemConflictException) {
+            return ResponseEntity
+                    .status(versao != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .body(mensagemConflictException.getMessage());
         }
     }
 
@@ -82,4 +164,23 @@ public class MensagemController {
         }
     }
 
+    private static String etag(Mensagem mensagem) {
+        return mensagem.getVersao() == null ? null : Long.toString(mensagem.getVersao());
+    }
+
+    /**
+     * @return Versão informada no If-Match ou null, caso o header não seja informado ou seja "*".
+     * @throws IllegalArgumentException Caso o header não seja uma única ETag de versão.
+     */
+    private static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var valor = ifMatch.trim();
+        if (!valor.matches("\"\\d+\"")) {
+            throw new IllegalArgumentException("O header If-Match deve conter a ETag da mensagem");
+        }
+        return Long.valueOf(valor.substring(1, valor.length() - 1));
+    }
+
 }
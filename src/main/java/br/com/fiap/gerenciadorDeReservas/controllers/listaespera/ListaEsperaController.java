@@ -0,0 +1,32 @@
+package br.com.fiap.gerenciadorDeReservas.controllers.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosCriacaoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosRetornoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.listaespera.EntrarListaEsperaUseCase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Classe Controller das operações da Lista de Espera
+ */
+@RestController
+@RequestMapping("/lista-espera")
+public class ListaEsperaController {
+
+    @Autowired
+    EntrarListaEsperaUseCase entrarListaEsperaUseCase;
+
+    @PostMapping("/entrar-lista-espera")
+    public ResponseEntity<DadosRetornoListaEsperaDTO> entrarListaEspera(
+            @RequestBody @Validated DadosCriacaoListaEsperaDTO dadosCriacaoListaEsperaDTO) throws IllegalAccessException {
+
+        return ResponseEntity.ok(entrarListaEsperaUseCase.entrarListaEspera(dadosCriacaoListaEsperaDTO));
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.gerenciadorDeReservas.controllers.metricas;
+
+import br.com.fiap.gerenciadorDeReservas.records.metricas.DadosMetricasDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Classe Controller das métricas da aplicação
+ */
+@RestController
+@RequestMapping("/metricas")
+public class MetricasController {
+
+    @Autowired
+    RegistroDeMetricas registroDeMetricas;
+
+    @GetMapping
+    public ResponseEntity<DadosMetricasDTO> consultarMetricas() {
+
+        return ResponseEntity.ok(registroDeMetricas.consultarMetricas());
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.gerenciadorDeReservas.controllers.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosMetricasNotificacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.notificacao.NotificadorDeReservas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Classe Controller das operações das Notificações
+ */
+@RestController
+@RequestMapping("/notificacoes")
+public class NotificacaoController {
+
+    @Autowired
+    NotificadorDeReservas notificadorDeReservas;
+
+    @GetMapping("/metricas")
+    public ResponseEntity<DadosMetricasNotificacaoDTO> consultarMetricas() {
+
+        return ResponseEntity.ok(notificadorDeReservas.consultarMetricas());
+
+    }
+
+}
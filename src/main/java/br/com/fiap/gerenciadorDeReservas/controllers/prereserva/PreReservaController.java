@@ -0,0 +1,52 @@
+package br.com.fiap.gerenciadorDeReservas.controllers.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosRetornoPreReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.prereserva.ConfirmarPreReservaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.prereserva.CriarPreReservaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.prereserva.LiberarPreReservaUseCase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Classe Controller das operações de Pré-Reserva
+ */
+@RestController
+@RequestMapping("/pre-reservas")
+public class PreReservaController {
+
+    @Autowired
+    CriarPreReservaUseCase criarPreReservaUseCase;
+    @Autowired
+    ConfirmarPreReservaUseCase confirmarPreReservaUseCase;
+    @Autowired
+    LiberarPreReservaUseCase liberarPreReservaUseCase;
+
+    @PostMapping("/criar-pre-reserva")
+    public ResponseEntity<DadosRetornoPreReservaDTO> criarPreReserva(
+            @RequestBody @Validated DadosCriacaoReservaDTO dadosCriacaoReservaDTO) throws IllegalAccessException {
+
+        return ResponseEntity.ok(criarPreReservaUseCase.criarPreReserva(dadosCriacaoReservaDTO));
+
+    }
+
+    @PutMapping("/confirmar-pre-reserva/{preReserva_id}")
+    public ResponseEntity<DadosRetornoCriacaoReservaDTO> confirmarPreReserva(@PathVariable Long preReserva_id) {
+
+        return ResponseEntity.ok(confirmarPreReservaUseCase.confirmarPreReserva(preReserva_id));
+
+    }
+
+    @PutMapping("/liberar-pre-reserva/{preReserva_id}")
+    public ResponseEntity<Void> liberarPreReserva(@PathVariable Long preReserva_id) {
+
+        liberarPreReservaUseCase.liberarPreReserva(preReserva_id);
+
+        return ResponseEntity.noContent().build();
+
+    }
+
+}
@@ -2,10 +2,15 @@ package br.com.fiap.gerenciadorDeReservas.controllers.reserva;
 
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosConsultaReservasDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReagendamentoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoReagendamentoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.CriarReservaIdempotenteUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.CriarReservaUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.FecharReservaUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.ListarReservasPorRestauranteUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.ReagendarReservaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.admissao.AdmissaoDeReservas;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -23,9 +28,15 @@ public class ReservaController {
     @Autowired
     CriarReservaUseCase criarReservaUseCase;
     @Autowired
+    CriarReservaIdempotenteUseCase criarReservaIdempotenteUseCase;
+    @Autowired
     FecharReservaUseCase fecharReservaUseCase;
     @Autowired
     ListarReservasPorRestauranteUseCase listarReservasPorRestauranteUseCase;
+    @Autowired
+    ReagendarReservaUseCase reagendarReservaUseCase;
+    @Autowired
+    AdmissaoDeReservas admissaoDeReservas;
 
     @GetMapping("/listar-reservas/{restaurante_id}")
     public ResponseEntity<List<DadosConsultaReservasDTO>> consultarReservasPorRestaurante(@PathVariable Long restaurante_id) {
@@ -37,9 +48,17 @@ public class ReservaController {
 
     @PostMapping("/criar-reserva")
     public ResponseEntity<DadosRetornoCriacaoReservaDTO> criarReserva(
+            @RequestHeader(value = "Idempotency-Key", required = false) String chaveIdempotencia,
             @RequestBody @Validated DadosCriacaoReservaDTO dadosCriacaoReservaDTO) throws IllegalAccessException {
 
-        return ResponseEntity.ok(criarReservaUseCase.criarReserva(dadosCriacaoReservaDTO));
+        if (chaveIdempotencia == null || chaveIdempotencia.isBlank()) {
+            if (admissaoDeReservas.isHabilitada()) {
+                return ResponseEntity.ok(admissaoDeReservas.criarReserva(dadosCriacaoReservaDTO));
+            }
+            return ResponseEntity.ok(criarReservaUseCase.criarReserva(dadosCriacaoReservaDTO));
+        }
+
+        return ResponseEntity.ok(criarReservaIdempotenteUseCase.criarReserva(chaveIdempotencia, dadosCriacaoReservaDTO));
 
     }
 
@@ -52,5 +71,14 @@ public class ReservaController {
 
     }
 
+    @PutMapping("/reagendar-reserva/{reserva_id}")
+    public ResponseEntity<DadosRetornoReagendamentoReservaDTO> reagendarReserva(
+            @PathVariable Long reserva_id,
+            @RequestBody @Validated DadosReagendamentoReservaDTO dadosReagendamentoReservaDTO) {
+
+        return ResponseEntity.ok(reagendarReservaUseCase.reagendarReserva(reserva_id, dadosReagendamentoReservaDTO));
+
+    }
+
 
 }
@@ -1,16 +1,27 @@
 package br.com.fiap.gerenciadorDeReservas.controllers.restaurante;
 
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosDisponibilidadeRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosFaixasDeCapacidadeDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosCriacaoRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.BuscarDisponibilidadeUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.TransmissorDeDisponibilidade;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.BuscarRestaurantePorCidadeUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.BuscarRestaurantePorCulinariaUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.BuscarRestaurantePorNomeUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.ConfigurarFaixasDeCapacidadeUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.CriarRestauranteUseCase;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -28,13 +39,21 @@ public class RestauranteController {
     BuscarRestaurantePorCidadeUseCase buscarRestaurantePorCidadeUseCase;
     @Autowired
     BuscarRestaurantePorCulinariaUseCase buscarRestaurantePorCulinariaUseCase;
+    @Autowired
+    BuscarDisponibilidadeUseCase buscarDisponibilidadeUseCase;
+    @Autowired
+    ConfigurarFaixasDeCapacidadeUseCase configurarFaixasDeCapacidadeUseCase;
+    @Autowired
+    TransmissorDeDisponibilidade transmissorDeDisponibilidade;
 
     @GetMapping
     public ResponseEntity<List<DadosConsultaRestauranteDTO>> buscarRestaurantesPorNome(
-            @RequestParam String nomeRestaurante) {
+            @RequestParam String nomeRestaurante,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime abertoEm,
+            @RequestParam(defaultValue = "false") boolean abertoAgora) {
 
         List<DadosConsultaRestauranteDTO> dadosRestaurantes = buscarRestaurantePorNomeUseCase
-                .buscarRestaurantesPorNome(nomeRestaurante);
+                .buscarRestaurantesPorNome(nomeRestaurante, momentoDeFuncionamento(abertoEm, abertoAgora));
 
 
         return ResponseEntity.ok(dadosRestaurantes);
@@ -43,10 +62,12 @@ public class RestauranteController {
 
     @GetMapping("/cidade")
     public ResponseEntity<List<DadosConsultaRestauranteDTO>> buscarRestaurantesPorCidade(
-            @RequestParam String cidadeRestaurante) {
+            @RequestParam String cidadeRestaurante,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime abertoEm,
+            @RequestParam(defaultValue = "false") boolean abertoAgora) {
 
         List<DadosConsultaRestauranteDTO> dadosRestaurantes = buscarRestaurantePorCidadeUseCase
-                .buscarRestaurantesPorCidade(cidadeRestaurante);
+                .buscarRestaurantesPorCidade(cidadeRestaurante, momentoDeFuncionamento(abertoEm, abertoAgora));
 
 
         return ResponseEntity.ok(dadosRestaurantes);
@@ -55,16 +76,47 @@ public class RestauranteController {
 
     @GetMapping("/culinaria")
     public ResponseEntity<List<DadosConsultaRestauranteDTO>> buscarRestaurantesPorCulinaria(
-            @RequestParam String culinariaRestaurante) {
+            @RequestParam String culinariaRestaurante,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime abertoEm,
+            @RequestParam(defaultValue = "false") boolean abertoAgora) {
 
         List<DadosConsultaRestauranteDTO> dadosRestaurantes = buscarRestaurantePorCulinariaUseCase
-                .buscarRestaurantesPorCulinaria(culinariaRestaurante);
+                .buscarRestaurantesPorCulinaria(culinariaRestaurante, momentoDeFuncionamento(abertoEm, abertoAgora));
 
 
         return ResponseEntity.ok(dadosRestaurantes);
 
     }
 
+    @GetMapping("/disponibilidade")
+    public ResponseEntity<List<DadosDisponibilidadeRestauranteDTO>> buscarDisponibilidade(
+            @RequestParam(required = false) String cidade,
+            @RequestParam(required = false) TipoCulinariaEnum culinaria,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(defaultValue = "1") int quantidadePessoas,
+            @RequestParam(required = false) Integer duracaoMinutos,
+            @RequestParam(defaultValue = "5") int quantidadeHorarios) {
+
+        LocalDateTime inicioBusca = inicio == null ? LocalDateTime.now() : inicio;
+        LocalDateTime fimBusca = fim == null ? inicioBusca.toLocalDate().atTime(LocalTime.MAX) : fim;
+
+        List<DadosDisponibilidadeRestauranteDTO> dadosDisponibilidade = buscarDisponibilidadeUseCase
+                .buscarDisponibilidade(cidade, culinaria, inicioBusca, fimBusca, quantidadePessoas, duracaoMinutos,
+                        quantidadeHorarios);
+
+
+        return ResponseEntity.ok(dadosDisponibilidade);
+
+    }
+
+    @GetMapping(value = "/{restaurante_id}/disponibilidade/transmissao", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transmitirDisponibilidade(@PathVariable Long restaurante_id) {
+
+        return transmissorDeDisponibilidade.assinarRestaurante(restaurante_id);
+
+    }
+
     @PostMapping("/criar-restaurante")
     public ResponseEntity<DadosCriacaoRestauranteDTO> criarRestaurante(
             @RequestBody @Validated DadosCriacaoRestauranteDTO dadosCriacaoRestauranteDTO) {
@@ -73,4 +125,19 @@ public class RestauranteController {
 
     }
 
+    @PutMapping("/{restaurante_id}/faixas-de-capacidade")
+    public ResponseEntity<DadosFaixasDeCapacidadeDTO> configurarFaixasDeCapacidade(
+            @PathVariable Long restaurante_id,
+            @RequestParam(required = false) Integer faixas) {
+
+        return ResponseEntity.ok(configurarFaixasDeCapacidadeUseCase.configurarFaixas(restaurante_id, faixas));
+
+    }
+
+    private static LocalDateTime momentoDeFuncionamento(LocalDateTime abertoEm, boolean abertoAgora) {
+
+        return abertoAgora ? LocalDateTime.now() : abertoEm;
+
+    }
+
 }
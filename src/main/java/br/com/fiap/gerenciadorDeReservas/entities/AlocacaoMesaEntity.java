@@ -0,0 +1,59 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar a Entidade AlocacaoMesa: uma mesa ocupada no intervalo [horario, horarioFinal)
+ * por uma reserva ou pré-reserva. Os intervalos de uma mesa não se sobrepõem.
+ */
+@Entity
+@Data
+@Table(name = "tb_alocacao_mesa", uniqueConstraints = @UniqueConstraint(columnNames = {"mesa_id", "horario"}))
+public class AlocacaoMesaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mesa_id")
+    private MesaEntity mesaEntity;
+
+    private LocalDateTime horario;
+    private LocalDateTime horarioFinal;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reserva_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ReservaEntity reservaEntity;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pre_reserva_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PreReservaEntity preReservaEntity;
+
+    // **************
+    // Construtores
+    // **************
+
+    public AlocacaoMesaEntity() {
+    }
+
+    public AlocacaoMesaEntity(MesaEntity mesaEntity, LocalDateTime horario, LocalDateTime horarioFinal,
+                              ReservaEntity reservaEntity, PreReservaEntity preReservaEntity) {
+
+        this.mesaEntity = mesaEntity;
+        this.horario = horario;
+        this.horarioFinal = horarioFinal;
+        this.reservaEntity = reservaEntity;
+        this.preReservaEntity = preReservaEntity;
+
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar a Entidade ChaveIdempotencia: a resposta gravada para uma
+ * requisição identificada pelo header Idempotency-Key.
+ */
+@Entity
+@Data
+@Table(name = "tb_chave_idempotencia")
+public class ChaveIdempotenciaEntity {
+
+    @Id
+    private String chave;
+
+    private String impressaoRequisicao;
+
+    @Column(length = 4000)
+    private String resposta;
+
+    private LocalDateTime expiraEm;
+
+    // **************
+    // Construtores
+    // **************
+
+    public ChaveIdempotenciaEntity() {
+    }
+
+    public ChaveIdempotenciaEntity(String chave, String impressaoRequisicao, String resposta, LocalDateTime expiraEm) {
+
+        this.chave = chave;
+        this.impressaoRequisicao = impressaoRequisicao;
+        this.resposta = resposta;
+        this.expiraEm = expiraEm;
+
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar a Entidade DisponibilidadeHorario: os lugares ainda livres
+ * em um horário de funcionamento de um restaurante. O horário é identificado pelo número
+ * do seu slot na GradeDeHorarios.
+ */
+@Entity
+@Data
+@Table(name = "tb_disponibilidade_horario",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"restaurante_id", "slot"}))
+public class DisponibilidadeHorarioEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurante_id")
+    private RestauranteEntity restauranteEntity;
+
+    private Integer slot;
+    private LocalDateTime horario;
+    private Integer lugaresDisponiveis;
+
+    // **************
+    // Construtores
+    // **************
+
+    public DisponibilidadeHorarioEntity() {
+    }
+
+    public DisponibilidadeHorarioEntity(RestauranteEntity restauranteEntity, Integer slot, LocalDateTime horario,
+                                        Integer lugaresDisponiveis) {
+
+        this.restauranteEntity = restauranteEntity;
+        this.slot = slot;
+        this.horario = horario;
+        this.lugaresDisponiveis = lugaresDisponiveis;
+
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar a Entidade EventoOutbox: um evento gravado na mesma transação da
+ * alteração que o originou e publicado aos assinantes pelo RelayDoOutbox.
+ */
+@Entity
+@Data
+@Table(name = "tb_evento_outbox", indexes = @Index(columnList = "processadoEm, falhouEm, id"))
+public class EventoOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private TipoEventoEnum tipoEventoEnum;
+
+    private Long agregadoId;
+
+    @Column(length = 4000)
+    private String conteudo;
+
+    private LocalDateTime criadoEm;
+
+    /**
+     * Momento da publicação aos assinantes; nulo enquanto o evento estiver pendente.
+     */
+    private LocalDateTime processadoEm;
+
+    /**
+     * Momento em que o evento esgotou as tentativas de publicação; nulo enquanto não falhar.
+     */
+    private LocalDateTime falhouEm;
+
+    private Integer tentativas = 0;
+
+    @Column(length = 1000)
+    private String erro;
+
+    // **************
+    // Construtores
+    // **************
+
+    public EventoOutboxEntity() {
+    }
+
+    public EventoOutboxEntity(TipoEventoEnum tipoEventoEnum, Long agregadoId, String conteudo, LocalDateTime criadoEm) {
+
+        this.tipoEventoEnum = tipoEventoEnum;
+        this.agregadoId = agregadoId;
+        this.conteudo = conteudo;
+        this.criadoEm = criadoEm;
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Classe para representar a Entidade ExcecaoFuncionamento: uma data em que o restaurante não segue
+ * os horários semanais. Sem abertura e fechamento, o restaurante fica fechado na data (feriados);
+ * caso contrário, os intervalos da data substituem os do dia da semana.
+ */
+@Entity
+@Data
+@Table(name = "tb_excecao_funcionamento", indexes = @Index(columnList = "restaurante_id, data"))
+public class ExcecaoFuncionamentoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurante_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RestauranteEntity restauranteEntity;
+
+    private LocalDate data;
+    private LocalTime abertura;
+    private LocalTime fechamento;
+    private String motivo;
+
+    // **************
+    // Construtores
+    // **************
+
+    public ExcecaoFuncionamentoEntity() {
+    }
+
+    public ExcecaoFuncionamentoEntity(RestauranteEntity restauranteEntity, LocalDate data, LocalTime abertura,
+                                      LocalTime fechamento, String motivo) {
+
+        this.restauranteEntity = restauranteEntity;
+        this.data = data;
+        this.abertura = abertura;
+        this.fechamento = fechamento;
+        this.motivo = motivo;
+
+    }
+
+    /**
+     * @return true, caso o restaurante fique fechado durante toda a data.
+     */
+    public boolean isFechado() {
+
+        return abertura == null || fechamento == null;
+
+    }
+}
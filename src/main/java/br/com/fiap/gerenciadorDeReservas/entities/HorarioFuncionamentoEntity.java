@@ -0,0 +1,77 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * Classe para representar a Entidade HorarioFuncionamento: um intervalo de funcionamento semanal
+ * de um restaurante. Um fechamento igual ou anterior à abertura termina no dia seguinte.
+ * <p>
+ * O intervalo também é gravado em minutos da semana, contados a partir de segunda-feira 00:00, para
+ * que as buscas filtrem os restaurantes abertos num momento com uma comparação de inteiros indexada.
+ * Intervalos de domingo que terminam na segunda-feira têm fim maior que MINUTOS_NA_SEMANA.
+ */
+@Entity
+@Data
+@Table(name = "tb_horario_funcionamento", indexes = {
+        @Index(columnList = "restaurante_id"),
+        @Index(columnList = "restaurante_id, inicioNaSemana, fimNaSemana")})
+public class HorarioFuncionamentoEntity {
+
+    public static final int MINUTOS_POR_DIA = 24 * 60;
+    public static final int MINUTOS_NA_SEMANA = 7 * MINUTOS_POR_DIA;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurante_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RestauranteEntity restauranteEntity;
+
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek diaDaSemana;
+
+    private LocalTime abertura;
+    private LocalTime fechamento;
+    private Integer inicioNaSemana;
+    private Integer fimNaSemana;
+
+    // **************
+    // Construtores
+    // **************
+
+    public HorarioFuncionamentoEntity() {
+    }
+
+    public HorarioFuncionamentoEntity(RestauranteEntity restauranteEntity, DayOfWeek diaDaSemana,
+                                      LocalTime abertura, LocalTime fechamento) {
+
+        this.restauranteEntity = restauranteEntity;
+        this.diaDaSemana = diaDaSemana;
+        this.abertura = abertura;
+        this.fechamento = fechamento;
+        this.inicioNaSemana = minutoDaSemana(diaDaSemana, abertura);
+
+        int duracao = (int) Duration.between(abertura, fechamento).toMinutes();
+        this.fimNaSemana = this.inicioNaSemana + (duracao > 0 ? duracao : duracao + MINUTOS_POR_DIA);
+
+    }
+
+    /**
+     * @return Minutos entre segunda-feira 00:00 e o horário do dia da semana informado.
+     */
+    public static int minutoDaSemana(DayOfWeek diaDaSemana, LocalTime horario) {
+
+        return (diaDaSemana.getValue() - 1) * MINUTOS_POR_DIA + horario.toSecondOfDay() / 60;
+
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar a Entidade ListaEspera: um pedido de reserva para um horário
+ * lotado, promovido a reserva quando uma vaga é liberada.
+ */
+@Entity
+@Data
+@Table(name = "tb_lista_espera", indexes = @Index(columnList = "restaurante_id, dataReserva"))
+public class ListaEsperaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDateTime dataReserva;
+    private Integer quantidadePessoas;
+
+    /**
+     * Duração da reserva criada na promoção, nula nas entradas gravadas antes da duração.
+     */
+    private Integer duracaoMinutos;
+
+    private LocalDateTime solicitadaEm;
+
+    @ManyToOne
+    @JoinColumn(name = "cliente_id")
+    private ClienteEntity clienteEntity;
+
+    @ManyToOne
+    @JoinColumn(name = "restaurante_id")
+    private RestauranteEntity restauranteEntity;
+
+    // **************
+    // Construtores
+    // **************
+
+    public ListaEsperaEntity() {
+    }
+
+    public ListaEsperaEntity(LocalDateTime dataReserva, Integer quantidadePessoas, Integer duracaoMinutos,
+                             LocalDateTime solicitadaEm, ClienteEntity clienteEntity,
+                             RestauranteEntity restauranteEntity) {
+
+        this.dataReserva = dataReserva;
+        this.quantidadePessoas = quantidadePessoas;
+        this.duracaoMinutos = duracaoMinutos;
+        this.solicitadaEm = solicitadaEm;
+        this.clienteEntity = clienteEntity;
+        this.restauranteEntity = restauranteEntity;
+
+    }
+}
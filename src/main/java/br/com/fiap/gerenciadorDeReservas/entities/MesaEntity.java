@@ -0,0 +1,41 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Classe para representar a Entidade Mesa: uma mesa física de um restaurante.
+ */
+@Entity
+@Data
+@Table(name = "tb_mesa", indexes = @Index(columnList = "restaurante_id"))
+public class MesaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Integer lugares;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurante_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RestauranteEntity restauranteEntity;
+
+    // **************
+    // Construtores
+    // **************
+
+    public MesaEntity() {
+    }
+
+    public MesaEntity(Integer lugares, RestauranteEntity restauranteEntity) {
+
+        this.lugares = lugares;
+        this.restauranteEntity = restauranteEntity;
+
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.fiap.gerenciadorDeReservas.entities;
+
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.AlocadorDeMesas;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe para representar a Entidade PreReserva: uma vaga separada por tempo limitado,
+ * enquanto o cliente confirma a reserva.
+ */
+@Entity
+@Data
+@Table(name = "tb_pre_reserva")
+public class PreReservaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDateTime dataReserva;
+    private LocalDateTime expiraEm;
+    private Integer quantidadePessoas;
+    private Integer duracaoMinutos;
+
+    @ManyToOne
+    @JoinColumn(name = "cliente_id")
+    private ClienteEntity clienteEntity;
+
+    @ManyToOne
+    @JoinColumn(name = "restaurante_id")
+    private RestauranteEntity restauranteEntity;
+
+    @OneToMany(mappedBy = "preReservaEntity", cascade = CascadeType.PERSIST)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<AlocacaoMesaEntity> alocacoes = new ArrayList<>();
+
+    // **************
+    // Construtores
+    // **************
+
+    public PreReservaEntity() {
+    }
+
+    public PreReservaEntity(LocalDateTime dataReserva, LocalDateTime expiraEm, Integer quantidadePessoas,
+                            Integer duracaoMinutos, ClienteEntity clienteEntity, RestauranteEntity restauranteEntity) {
+
+        this.dataReserva = dataReserva;
+        this.expiraEm = expiraEm;
+        this.quantidadePessoas = quantidadePessoas;
+        this.duracaoMinutos = duracaoMinutos;
+        this.clienteEntity = clienteEntity;
+        this.restauranteEntity = restauranteEntity;
+
+    }
+
+    /**
+     * @return Momento em que as mesas e os lugares separados pela pré-reserva seriam liberados.
+     */
+    public LocalDateTime getFimReserva() {
+
+        return ReservaEntity.calcularFimReserva(dataReserva, duracaoMinutos);
+
+    }
+
+    /**
+     * Método para alocar as mesas durante toda a pré-reserva; as alocações são gravadas junto com ela.
+     *
+     * @param mesas Mesas escolhidas para o grupo.
+     */
+    public void alocarMesas(List<MesaEntity> mesas) {
+
+        mesas.forEach(mesa -> alocacoes.add(new AlocacaoMesaEntity(mesa, dataReserva, getFimReserva(), null, this)));
+
+    }
+
+    /**
+     * @return Mesas alocadas para a pré-reserva.
+     */
+    public List<MesaEntity> getMesas() {
+
+        return alocacoes.stream().map(AlocacaoMesaEntity::getMesaEntity).toList();
+
+    }
+
+    /**
+     * @return Quantidade de lugares separados pela pré-reserva.
+     */
+    public int getLugaresOcupados() {
+
+        return AlocadorDeMesas.lugaresOcupados(getMesas(), quantidadePessoas);
+
+    }
+}
@@ -1,24 +1,50 @@
 package br.com.fiap.gerenciadorDeReservas.entities;
 
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.AlocadorDeMesas;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Classe para representar a Entidade Reserva.
  */
 @Entity
 @Data
-@Table(name = "tb_reserva")
+@Table(name = "tb_reserva", indexes = {
+        @Index(columnList = "restaurante_id, dataReserva"),
+        @Index(columnList = "dataReserva, id")
+})
 public class ReservaEntity {
 
+    /**
+     * Duração das reservas criadas sem duração informada, como as promovidas da lista de espera.
+     */
+    public static final int DURACAO_PADRAO_MINUTOS = 90;
+
+    /**
+     * Reservas gravadas antes da duração ocupavam apenas o horário reservado.
+     */
+    private static final int DURACAO_LEGADA_MINUTOS = 60;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private LocalDateTime dataReserva;
+    private Integer quantidadePessoas;
+    private Integer duracaoMinutos;
+
+    /**
+     * Momento do último lembrete enviado, reivindicado antes do envio para que cada lembrete seja enviado
+     * por uma única instância; volta a ser nulo quando a reserva é reagendada.
+     */
+    private LocalDateTime ultimoLembrete;
 
     @Enumerated(EnumType.STRING)
     private StatusReservaEnum statusReservaEnum;
@@ -31,6 +57,11 @@ public class ReservaEntity {
     @JoinColumn(name = "restaurante_id")
     private RestauranteEntity restauranteEntity;
 
+    @OneToMany(mappedBy = "reservaEntity", cascade = CascadeType.PERSIST)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<AlocacaoMesaEntity> alocacoes = new ArrayList<>();
+
     // **************
     // Construtores
     // **************
@@ -40,10 +71,78 @@ public class ReservaEntity {
 
     public ReservaEntity(StatusReservaEnum statusReservaEnum, LocalDateTime dataReserva, ClienteEntity clienteEntity, RestauranteEntity restauranteEntity) {
 
+        this(statusReservaEnum, dataReserva, 1, clienteEntity, restauranteEntity);
+
+    }
+
+    public ReservaEntity(StatusReservaEnum statusReservaEnum, LocalDateTime dataReserva, Integer quantidadePessoas,
+                         ClienteEntity clienteEntity, RestauranteEntity restauranteEntity) {
+
+        this(statusReservaEnum, dataReserva, quantidadePessoas, DURACAO_PADRAO_MINUTOS, clienteEntity, restauranteEntity);
+
+    }
+
+    public ReservaEntity(StatusReservaEnum statusReservaEnum, LocalDateTime dataReserva, Integer quantidadePessoas,
+                         Integer duracaoMinutos, ClienteEntity clienteEntity, RestauranteEntity restauranteEntity) {
+
         this.statusReservaEnum = statusReservaEnum;
         this.dataReserva = dataReserva;
+        this.quantidadePessoas = quantidadePessoas;
+        this.duracaoMinutos = duracaoMinutos;
         this.clienteEntity = clienteEntity;
         this.restauranteEntity = restauranteEntity;
 
     }
+
+    /**
+     * Método para calcular o fim de uma reserva a partir do início e da duração.
+     *
+     * @param dataReserva    Início da reserva.
+     * @param duracaoMinutos Duração da reserva, nula nas reservas gravadas antes da duração.
+     * @return Momento em que as mesas e os lugares são liberados.
+     */
+    public static LocalDateTime calcularFimReserva(LocalDateTime dataReserva, Integer duracaoMinutos) {
+
+        return dataReserva.plusMinutes(duracaoMinutos == null ? DURACAO_LEGADA_MINUTOS : duracaoMinutos);
+
+    }
+
+    /**
+     * @return Momento em que as mesas e os lugares da reserva são liberados.
+     */
+    public LocalDateTime getFimReserva() {
+
+        return calcularFimReserva(dataReserva, duracaoMinutos);
+
+    }
+
+    /**
+     * Método para alocar as mesas durante toda a reserva; as alocações são gravadas junto com a reserva.
+     *
+     * @param mesas Mesas escolhidas para o grupo.
+     */
+    public void alocarMesas(List<MesaEntity> mesas) {
+
+        mesas.forEach(mesa -> alocacoes.add(new AlocacaoMesaEntity(mesa, dataReserva, getFimReserva(), this, null)));
+
+    }
+
+    /**
+     * @return Mesas alocadas para a reserva.
+     */
+    public List<MesaEntity> getMesas() {
+
+        return alocacoes.stream().map(AlocacaoMesaEntity::getMesaEntity).toList();
+
+    }
+
+    /**
+     * @return Quantidade de lugares ocupados pela reserva: a soma das mesas alocadas ou, sem mesas,
+     * o tamanho do grupo (reservas anteriores ao tamanho do grupo ocupam um).
+     */
+    public int getLugaresOcupados() {
+
+        return AlocadorDeMesas.lugaresOcupados(getMesas(), quantidadePessoas);
+
+    }
 }
@@ -4,9 +4,7 @@ import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
 import jakarta.persistence.*;
 import lombok.Data;
 
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,6 +15,8 @@ import java.util.List;
 @Table(name = "tb_restaurante")
 public class RestauranteEntity {
 
+    public static final int GRANULARIDADE_PADRAO_MINUTOS = 60;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,7 +32,19 @@ public class RestauranteEntity {
     private Integer capacidade;
     private LocalTime horarioDeAbertura;
     private LocalTime horarioDeFechamento;
-    private List<LocalDateTime> diasDeOperacao = new ArrayList<>();
+    private Integer granularidadeMinutos = GRANULARIDADE_PADRAO_MINUTOS;
+
+    /**
+     * Quantidade de faixas em que os lugares de cada horário são divididos na CapacidadeEmFaixas;
+     * nulo em restaurantes sem faixas.
+     */
+    private Integer faixasDeCapacidade;
+
+    /**
+     * Total das avaliações do restaurante, atualizado pelo AssinanteDeMediaDeAvaliacoes.
+     */
+    private Integer quantidadeAvaliacoes = 0;
+    private Double somaNotas = 0.0;
 
     @OneToMany(mappedBy = "restauranteEntity", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
     private List<AvaliacaoEntity> avaliacoes;
@@ -49,36 +61,18 @@ public class RestauranteEntity {
 
     public RestauranteEntity(String nome, TipoCulinariaEnum tipoCulinaria,
                              LocalTime horarioDeAbertura, LocalTime horarioDeFechamento, Integer capacidade) {
+        this(nome, tipoCulinaria, horarioDeAbertura, horarioDeFechamento, capacidade, GRANULARIDADE_PADRAO_MINUTOS);
+    }
+
+    public RestauranteEntity(String nome, TipoCulinariaEnum tipoCulinaria, LocalTime horarioDeAbertura,
+                             LocalTime horarioDeFechamento, Integer capacidade, Integer granularidadeMinutos) {
         this.nome = nome;
         this.tipoCulinaria = tipoCulinaria;
         this.horarioDeAbertura = horarioDeAbertura;
         this.horarioDeFechamento = horarioDeFechamento;
         this.capacidade = capacidade;
+        this.granularidadeMinutos = granularidadeMinutos;
 
     }
 
-    /**
-     * Cria uma lista de data e hora, para os proximos três meses
-     * respeitando o horário de abertura e fechamento do restaurante.
-     */
-    public void setDiasDeOperacao() {
-
-        LocalDateTime dataAtual = LocalDateTime.now().with(horarioDeAbertura);
-        LocalDateTime dataFinal = dataAtual.plusMonths(3).withHour(horarioDeFechamento.getHour());
-
-        while (dataAtual.isBefore(dataFinal)) {
-
-            diasDeOperacao.add(dataAtual);
-
-            dataAtual = dataAtual.plusHours(1);
-
-            if (dataAtual.toLocalTime().equals(LocalTime.MIDNIGHT)) {
-                dataAtual = dataAtual.with(horarioDeAbertura);
-            }
-
-        }
-
-    }
-
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package br.com.fiap.gerenciadorDeReservas.entities.enuns;
+
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoAvaliacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+
+public enum TipoEventoEnum {
+    RESERVA_CRIADA(DadosEventoReservaDTO.class),
+    RESERVA_CANCELADA(DadosEventoReservaDTO.class),
+    RESERVA_REAGENDADA(DadosEventoReservaDTO.class),
+    AVALIACAO_CRIADA(DadosEventoAvaliacaoDTO.class);
+
+    private final Class<?> classeDoConteudo;
+
+    TipoEventoEnum(Class<?> classeDoConteudo) {
+        this.classeDoConteudo = classeDoConteudo;
+    }
+
+    public Class<?> getClasseDoConteudo() {
+        return classeDoConteudo;
+    }
+
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.gerenciadorDeReservas.entities.enuns;
+
+public enum TipoNotificacaoEnum {
+    CONFIRMACAO,
+    CANCELAMENTO,
+    LEMBRETE;
+
+}
@@ -1,5 +1,7 @@
 package br.com.fiap.gerenciadorDeReservas.exceptions;
 
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,14 +14,21 @@ import java.time.LocalDateTime;
 /**
  * Após envio de dados inválidos pelos DTOs, durante uma chamda de API,
  * essa será a classe responsável pelo retorno tratado do erro em questão.
- * Classe tratará apenas dos erros de Validação dos DTOs.
+ * Classe tratará dos erros de Validação dos DTOs e dos parâmetros inválidos
+ * recusados pelos casos de uso, além dos conflitos com operações concorrentes.
+ * Cada erro tratado é contado no RegistroDeMetricas.
  */
 @RestControllerAdvice
 public class CustomExceptionHandler {
 
+    @Autowired
+    RegistroDeMetricas registroDeMetricas;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
 
+        registroDeMetricas.incrementar(RegistroDeMetricas.ERROS_DE_VALIDACAO, "campo");
+
         FieldError fieldError = ex.getFieldError();
         assert fieldError != null;
         String campo = fieldError.getField();
@@ -32,4 +41,28 @@ public class CustomExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<CustomErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+
+        registroDeMetricas.incrementar(RegistroDeMetricas.ERROS_DE_VALIDACAO, "argumento");
+
+        int status = HttpStatus.BAD_REQUEST.value();
+
+        CustomErrorResponse errorResponse = new CustomErrorResponse(LocalDateTime.now(), null, ex.getMessage(), status);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(ReservaConflictException.class)
+    public ResponseEntity<CustomErrorResponse> handleReservaConflictException(ReservaConflictException ex) {
+
+        registroDeMetricas.incrementar(RegistroDeMetricas.CONFLITOS, "reserva");
+
+        int status = HttpStatus.CONFLICT.value();
+
+        CustomErrorResponse errorResponse = new CustomErrorResponse(LocalDateTime.now(), null, ex.getMessage(), status);
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
 }
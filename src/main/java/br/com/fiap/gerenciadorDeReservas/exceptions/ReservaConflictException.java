@@ -0,0 +1,13 @@
+package br.com.fiap.gerenciadorDeReservas.exceptions;
+
+/**
+ * Exceção lançada quando a reserva foi alterada por outra operação concorrente e a requisição, válida,
+ * não pôde ser aplicada.
+ */
+public class ReservaConflictException extends RuntimeException {
+
+    public ReservaConflictException(String message) {
+        super(message);
+    }
+
+}
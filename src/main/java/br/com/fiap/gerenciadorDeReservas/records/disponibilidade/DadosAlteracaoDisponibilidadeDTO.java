@@ -0,0 +1,16 @@
+package br.com.fiap.gerenciadorDeReservas.records.disponibilidade;
+
+import java.util.List;
+
+/**
+ * Classe para representar os lugares livres atualizados dos horários de um restaurante,
+ * transmitidos aos assinantes da sua disponibilidade.
+ *
+ * @param restaurante_id
+ * @param horarios
+ */
+public record DadosAlteracaoDisponibilidadeDTO(
+        Long restaurante_id,
+        List<DadosHorarioDisponivelDTO> horarios
+) {
+}
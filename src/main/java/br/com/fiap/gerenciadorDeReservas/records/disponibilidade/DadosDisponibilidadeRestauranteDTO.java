@@ -0,0 +1,24 @@
+package br.com.fiap.gerenciadorDeReservas.records.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+
+import java.util.List;
+
+/**
+ * Classe para representar os dados retornados ao consultar a disponibilidade
+ * de horários dos restaurantes.
+ *
+ * @param restaurante_id
+ * @param nomeRestaurante
+ * @param cidade
+ * @param culinaria
+ * @param horariosDisponiveis
+ */
+public record DadosDisponibilidadeRestauranteDTO(
+        Long restaurante_id,
+        String nomeRestaurante,
+        String cidade,
+        TipoCulinariaEnum culinaria,
+        List<DadosHorarioDisponivelDTO> horariosDisponiveis
+) {
+}
@@ -0,0 +1,13 @@
+package br.com.fiap.gerenciadorDeReservas.records.disponibilidade;
+
+/**
+ * Classe para representar um restaurante com os lugares divididos em faixas de capacidade.
+ *
+ * @param restaurante_id
+ * @param faixasDeCapacidade
+ */
+public record DadosFaixasDeCapacidadeDTO(
+        Long restaurante_id,
+        Integer faixasDeCapacidade
+) {
+}
@@ -0,0 +1,16 @@
+package br.com.fiap.gerenciadorDeReservas.records.disponibilidade;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar um horário disponível retornado na consulta
+ * de disponibilidade.
+ *
+ * @param horario
+ * @param lugaresDisponiveis
+ */
+public record DadosHorarioDisponivelDTO(
+        LocalDateTime horario,
+        Integer lugaresDisponiveis
+) {
+}
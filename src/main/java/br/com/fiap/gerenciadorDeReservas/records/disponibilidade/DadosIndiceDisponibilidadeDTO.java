@@ -0,0 +1,22 @@
+package br.com.fiap.gerenciadorDeReservas.records.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+
+/**
+ * Classe para representar os dados de um restaurante carregados no
+ * índice de disponibilidade.
+ *
+ * @param restaurante_id
+ * @param nomeRestaurante
+ * @param cidade
+ * @param culinaria
+ * @param granularidadeMinutos
+ */
+public record DadosIndiceDisponibilidadeDTO(
+        Long restaurante_id,
+        String nomeRestaurante,
+        String cidade,
+        TipoCulinariaEnum culinaria,
+        Integer granularidadeMinutos
+) {
+}
@@ -0,0 +1,18 @@
+package br.com.fiap.gerenciadorDeReservas.records.disponibilidade;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar os lugares livres em um horário de um restaurante,
+ * carregados no índice de disponibilidade.
+ *
+ * @param restaurante_id
+ * @param horario
+ * @param lugaresDisponiveis
+ */
+public record DadosLugaresHorarioDTO(
+        Long restaurante_id,
+        LocalDateTime horario,
+        Integer lugaresDisponiveis
+) {
+}
@@ -0,0 +1,43 @@
+package br.com.fiap.gerenciadorDeReservas.records.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar os dados do pedido de entrada na lista de espera de um horário.
+ *
+ * @param dataReserva       Horário pedido.
+ * @param cliente_id        ID do cliente.
+ * @param restaurante_id    ID do restaurante.
+ * @param quantidadePessoas Tamanho do grupo.
+ * @param duracaoMinutos    Duração da reserva a ser criada na promoção; a duração padrão, quando omitida.
+ */
+public record DadosCriacaoListaEsperaDTO(
+        @NotNull(message = "Data do agendamento obrigatória!")
+        LocalDateTime dataReserva,
+        @NotNull(message = "ID cliente obrigatório")
+        Long cliente_id,
+        @NotNull(message = "ID restaurante obrigatório")
+        Long restaurante_id,
+        @NotNull(message = "Quantidade de pessoas obrigatória")
+        @Min(value = 1, message = "Quantidade de pessoas deve ser maior que zero")
+        Integer quantidadePessoas,
+        @Min(value = 15, message = "A reserva deve durar ao menos 15 minutos")
+        Integer duracaoMinutos
+) {
+
+    public DadosCriacaoListaEsperaDTO {
+        if (duracaoMinutos == null) {
+            duracaoMinutos = ReservaEntity.DURACAO_PADRAO_MINUTOS;
+        }
+    }
+
+    public DadosCriacaoListaEsperaDTO(LocalDateTime dataReserva, Long cliente_id, Long restaurante_id,
+                                      Integer quantidadePessoas) {
+        this(dataReserva, cliente_id, restaurante_id, quantidadePessoas, null);
+    }
+
+}
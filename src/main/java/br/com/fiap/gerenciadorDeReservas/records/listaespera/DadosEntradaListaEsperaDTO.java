@@ -0,0 +1,41 @@
+package br.com.fiap.gerenciadorDeReservas.records.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Classe para representar uma entrada da lista de espera mantida em memória.
+ *
+ * @param listaEspera_id
+ * @param restaurante_id
+ * @param dataReserva
+ * @param quantidadePessoas
+ * @param duracaoMinutos    Duração da reserva promovida; a duração padrão nas entradas gravadas antes da duração.
+ * @param solicitadaEm
+ */
+public record DadosEntradaListaEsperaDTO(
+        Long listaEspera_id,
+        Long restaurante_id,
+        LocalDateTime dataReserva,
+        Integer quantidadePessoas,
+        Integer duracaoMinutos,
+        LocalDateTime solicitadaEm
+) {
+
+    public DadosEntradaListaEsperaDTO {
+        if (duracaoMinutos == null) {
+            duracaoMinutos = ReservaEntity.DURACAO_PADRAO_MINUTOS;
+        }
+    }
+
+    /**
+     * Ordem de promoção: quem pediu primeiro e, no empate, o grupo menor.
+     */
+    public static final Comparator<DadosEntradaListaEsperaDTO> ORDEM_DE_PROMOCAO = Comparator
+            .comparing(DadosEntradaListaEsperaDTO::solicitadaEm)
+            .thenComparing(DadosEntradaListaEsperaDTO::quantidadePessoas)
+            .thenComparing(DadosEntradaListaEsperaDTO::listaEspera_id);
+
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.gerenciadorDeReservas.records.listaespera;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar os dados retornados ao entrar na lista de espera.
+ *
+ * @param listaEspera_id
+ * @param nomeRestaurante
+ * @param dataReserva
+ * @param quantidadePessoas
+ */
+public record DadosRetornoListaEsperaDTO(
+        Long listaEspera_id,
+        String nomeRestaurante,
+        LocalDateTime dataReserva,
+        Integer quantidadePessoas
+) {
+}
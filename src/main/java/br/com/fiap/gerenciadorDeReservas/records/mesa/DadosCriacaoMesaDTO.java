@@ -0,0 +1,21 @@
+package br.com.fiap.gerenciadorDeReservas.records.mesa;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Classe DTO para representar um grupo de mesas iguais declarado na criação
+ * de um Restaurante.
+ *
+ * @param lugares
+ * @param quantidade
+ */
+public record DadosCriacaoMesaDTO(
+        @NotNull(message = "A quantidade de lugares da mesa é obrigatória")
+        @Min(value = 1, message = "A mesa deve ter ao menos um lugar")
+        Integer lugares,
+        @NotNull(message = "A quantidade de mesas é obrigatória")
+        @Min(value = 1, message = "A quantidade de mesas deve ser ao menos 1")
+        Integer quantidade
+) {
+}
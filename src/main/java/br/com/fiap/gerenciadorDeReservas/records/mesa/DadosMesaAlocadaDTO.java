@@ -0,0 +1,13 @@
+package br.com.fiap.gerenciadorDeReservas.records.mesa;
+
+/**
+ * Classe para representar uma mesa alocada para uma reserva.
+ *
+ * @param mesa_id
+ * @param lugares
+ */
+public record DadosMesaAlocadaDTO(
+        Long mesa_id,
+        Integer lugares
+) {
+}
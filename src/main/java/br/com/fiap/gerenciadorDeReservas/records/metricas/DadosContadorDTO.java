@@ -0,0 +1,15 @@
+package br.com.fiap.gerenciadorDeReservas.records.metricas;
+
+/**
+ * Classe para representar o valor de um contador.
+ *
+ * @param nome       Nome do contador.
+ * @param tag        Valor que distingue as ocorrências do contador.
+ * @param quantidade Quantidade de ocorrências.
+ */
+public record DadosContadorDTO(
+        String nome,
+        String tag,
+        long quantidade
+) {
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.gerenciadorDeReservas.records.metricas;
+
+import java.util.List;
+
+/**
+ * Classe para representar as métricas da aplicação.
+ *
+ * @param temporizadores Durações dos casos de uso e dos repositórios.
+ * @param contadores     Contadores de eventos da aplicação.
+ */
+public record DadosMetricasDTO(
+        List<DadosTemporizadorDTO> temporizadores,
+        List<DadosContadorDTO> contadores
+) {
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.gerenciadorDeReservas.records.metricas;
+
+/**
+ * Classe para representar as durações de uma operação com um resultado.
+ *
+ * @param operacao   Classe e método medidos.
+ * @param resultado  "sucesso" ou o nome da exceção lançada.
+ * @param quantidade Quantidade de execuções.
+ * @param totalMs    Soma das durações, em milissegundos.
+ * @param maximoMs   Maior duração, em milissegundos.
+ * @param p50Ms      Mediana das durações, em milissegundos.
+ * @param p95Ms      Percentil 95 das durações, em milissegundos.
+ * @param p99Ms      Percentil 99 das durações, em milissegundos.
+ */
+public record DadosTemporizadorDTO(
+        String operacao,
+        String resultado,
+        long quantidade,
+        double totalMs,
+        double maximoMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms
+) {
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.gerenciadorDeReservas.records.notificacao;
+
+/**
+ * Classe para representar a situação da fila de e-mails das reservas.
+ *
+ * @param habilitada         Indica se há um servidor SMTP configurado.
+ * @param pendentes          E-mails aguardando na fila.
+ * @param capacidadeFila     Quantidade máxima de e-mails na fila.
+ * @param aguardandoReenvio  E-mails aguardando o intervalo até a próxima tentativa.
+ * @param enviados           E-mails entregues ao servidor SMTP.
+ * @param reenvios           Tentativas repetidas após uma falha.
+ * @param falhas             E-mails abandonados após todas as tentativas.
+ * @param descartados        E-mails recusados com a fila cheia.
+ */
+public record DadosMetricasNotificacaoDTO(
+        boolean habilitada,
+        int pendentes,
+        int capacidadeFila,
+        long aguardandoReenvio,
+        long enviados,
+        long reenvios,
+        long falhas,
+        long descartados
+) {
+}
@@ -0,0 +1,27 @@
+package br.com.fiap.gerenciadorDeReservas.records.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoNotificacaoEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar o e-mail de uma reserva, copiado da transação que a gravou.
+ *
+ * @param tipoNotificacaoEnum
+ * @param reserva_id
+ * @param email
+ * @param nomeCliente
+ * @param nomeRestaurante
+ * @param dataReserva
+ * @param quantidadePessoas
+ */
+public record DadosNotificacaoReservaDTO(
+        TipoNotificacaoEnum tipoNotificacaoEnum,
+        Long reserva_id,
+        String email,
+        String nomeCliente,
+        String nomeRestaurante,
+        LocalDateTime dataReserva,
+        Integer quantidadePessoas
+) {
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.gerenciadorDeReservas.records.outbox;
+
+/**
+ * Classe para representar o conteúdo do evento de criação de uma avaliação.
+ *
+ * @param avaliacao_id
+ * @param restaurante_id
+ * @param nota
+ */
+public record DadosEventoAvaliacaoDTO(
+        Long avaliacao_id,
+        Long restaurante_id,
+        Double nota
+) {
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.gerenciadorDeReservas.records.outbox;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+
+/**
+ * Classe para representar um evento do outbox entregue aos assinantes.
+ *
+ * @param evento_id
+ * @param tipoEventoEnum
+ * @param agregado_id    ID da reserva ou da avaliação que originou o evento.
+ * @param conteudo       Conteúdo do evento, da classe indicada pelo TipoEventoEnum.
+ */
+public record DadosEventoOutboxDTO(
+        Long evento_id,
+        TipoEventoEnum tipoEventoEnum,
+        Long agregado_id,
+        Object conteudo
+) {
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.gerenciadorDeReservas.records.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar o conteúdo dos eventos de criação e cancelamento de uma reserva.
+ *
+ * @param reserva_id
+ * @param restaurante_id
+ * @param email
+ * @param nomeCliente
+ * @param nomeRestaurante
+ * @param dataReserva
+ * @param quantidadePessoas
+ */
+public record DadosEventoReservaDTO(
+        Long reserva_id,
+        Long restaurante_id,
+        String email,
+        String nomeCliente,
+        String nomeRestaurante,
+        LocalDateTime dataReserva,
+        Integer quantidadePessoas
+) {
+}
@@ -0,0 +1,35 @@
+package br.com.fiap.gerenciadorDeReservas.records.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar uma pré-reserva agendada para expirar.
+ *
+ * @param preReserva_id
+ * @param restaurante_id
+ * @param dataReserva
+ * @param fimReserva
+ * @param lugaresOcupados
+ * @param expiraEm
+ */
+public record DadosPreReservaAgendadaDTO(
+        Long preReserva_id,
+        Long restaurante_id,
+        LocalDateTime dataReserva,
+        LocalDateTime fimReserva,
+        Integer lugaresOcupados,
+        LocalDateTime expiraEm
+) {
+
+    /**
+     * Construtor usado na consulta das pré-reservas gravadas, que calcula o fim a partir da duração.
+     */
+    public DadosPreReservaAgendadaDTO(Long preReserva_id, Long restaurante_id, LocalDateTime dataReserva,
+                                      Integer duracaoMinutos, Integer lugaresOcupados, LocalDateTime expiraEm) {
+        this(preReserva_id, restaurante_id, dataReserva, ReservaEntity.calcularFimReserva(dataReserva, duracaoMinutos),
+                lugaresOcupados, expiraEm);
+    }
+
+}
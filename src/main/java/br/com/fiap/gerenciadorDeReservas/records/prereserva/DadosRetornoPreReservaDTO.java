@@ -0,0 +1,19 @@
+package br.com.fiap.gerenciadorDeReservas.records.prereserva;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar os dados retornados ao criar uma pré-reserva.
+ *
+ * @param preReserva_id
+ * @param nomeRestaurante
+ * @param dataReserva
+ * @param expiraEm
+ */
+public record DadosRetornoPreReservaDTO(
+        Long preReserva_id,
+        String nomeRestaurante,
+        LocalDateTime dataReserva,
+        LocalDateTime expiraEm
+) {
+}
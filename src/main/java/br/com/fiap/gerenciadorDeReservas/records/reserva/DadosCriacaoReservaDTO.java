@@ -1,5 +1,7 @@
 package br.com.fiap.gerenciadorDeReservas.records.reserva;
 
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
@@ -10,6 +12,29 @@ public record DadosCriacaoReservaDTO(
         @NotNull(message = "ID cliente obrigatório")
         Long cliente_id,
         @NotNull(message = "ID restaurante obrigatório")
-        Long restaurante_id
+        Long restaurante_id,
+        @Min(value = 1, message = "A reserva deve ser para ao menos uma pessoa")
+        Integer quantidadePessoas,
+        @Min(value = 15, message = "A reserva deve durar ao menos 15 minutos")
+        Integer duracaoMinutos
 ) {
+
+    public DadosCriacaoReservaDTO {
+        if (quantidadePessoas == null) {
+            quantidadePessoas = 1;
+        }
+        if (duracaoMinutos == null) {
+            duracaoMinutos = ReservaEntity.DURACAO_PADRAO_MINUTOS;
+        }
+    }
+
+    public DadosCriacaoReservaDTO(LocalDateTime dataReserva, Long cliente_id, Long restaurante_id) {
+        this(dataReserva, cliente_id, restaurante_id, 1);
+    }
+
+    public DadosCriacaoReservaDTO(LocalDateTime dataReserva, Long cliente_id, Long restaurante_id,
+                                  Integer quantidadePessoas) {
+        this(dataReserva, cliente_id, restaurante_id, quantidadePessoas, null);
+    }
+
 }
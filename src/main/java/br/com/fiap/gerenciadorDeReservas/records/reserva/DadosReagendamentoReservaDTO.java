@@ -0,0 +1,20 @@
+package br.com.fiap.gerenciadorDeReservas.records.reserva;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe DTO com o novo horário de uma reserva. Sem duração informada, a reserva mantém a atual.
+ *
+ * @param dataReserva
+ * @param duracaoMinutos
+ */
+public record DadosReagendamentoReservaDTO(
+        @NotNull(message = "Nova data do agendamento obrigatória!")
+        LocalDateTime dataReserva,
+        @Min(value = 15, message = "A reserva deve durar ao menos 15 minutos")
+        Integer duracaoMinutos
+) {
+}
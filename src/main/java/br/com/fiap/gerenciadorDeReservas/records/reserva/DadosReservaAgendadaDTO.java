@@ -0,0 +1,36 @@
+package br.com.fiap.gerenciadorDeReservas.records.reserva;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar o horário e os lugares de uma reserva, sem o cliente e o restaurante.
+ *
+ * @param reserva_id
+ * @param restaurante_id
+ * @param dataReserva
+ * @param duracaoMinutos
+ * @param quantidadePessoas
+ * @param lugaresOcupados
+ * @param statusReservaEnum
+ */
+public record DadosReservaAgendadaDTO(
+        Long reserva_id,
+        Long restaurante_id,
+        LocalDateTime dataReserva,
+        Integer duracaoMinutos,
+        Integer quantidadePessoas,
+        Integer lugaresOcupados,
+        StatusReservaEnum statusReservaEnum
+) {
+
+    /**
+     * @return Momento em que as mesas e os lugares da reserva são liberados.
+     */
+    public LocalDateTime fimReserva() {
+        return ReservaEntity.calcularFimReserva(dataReserva, duracaoMinutos);
+    }
+
+}
@@ -2,14 +2,23 @@ package br.com.fiap.gerenciadorDeReservas.records.reserva;
 
 import br.com.fiap.gerenciadorDeReservas.entities.EnderecoEntity;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosMesaAlocadaDTO;
 import jakarta.validation.constraints.NotBlank;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public record DadosRetornoCriacaoReservaDTO(
         String nomeRestauramte,
         DadosCriacaoEnderecoDTO enderecoRestaurante,
-        LocalDateTime dataAgendamento
+        LocalDateTime dataAgendamento,
+        List<DadosMesaAlocadaDTO> mesas
 
 ) {
+
+    public DadosRetornoCriacaoReservaDTO(String nomeRestauramte, DadosCriacaoEnderecoDTO enderecoRestaurante,
+                                         LocalDateTime dataAgendamento) {
+        this(nomeRestauramte, enderecoRestaurante, dataAgendamento, List.of());
+    }
+
 }
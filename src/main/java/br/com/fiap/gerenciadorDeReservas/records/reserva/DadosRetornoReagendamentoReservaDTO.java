@@ -0,0 +1,22 @@
+package br.com.fiap.gerenciadorDeReservas.records.reserva;
+
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosMesaAlocadaDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Classe DTO com o novo horário e as mesas de uma reserva reagendada.
+ *
+ * @param reserva_id
+ * @param dataReserva
+ * @param fimReserva
+ * @param mesas
+ */
+public record DadosRetornoReagendamentoReservaDTO(
+        Long reserva_id,
+        LocalDateTime dataReserva,
+        LocalDateTime fimReserva,
+        List<DadosMesaAlocadaDTO> mesas
+) {
+}
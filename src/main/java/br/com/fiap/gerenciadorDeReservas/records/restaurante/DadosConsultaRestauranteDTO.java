@@ -14,6 +14,44 @@ public record DadosConsultaRestauranteDTO(
         DadosCriacaoEnderecoDTO enderecoRestaurante,
         TipoCulinariaEnum culinaria,
         LocalTime horarioDeAbertura,
-        LocalTime horarioDeFechamento
+        LocalTime horarioDeFechamento,
+        Double mediaAvaliacoes
 ) {
+
+    public DadosConsultaRestauranteDTO(String nomeRestaurante, DadosCriacaoEnderecoDTO enderecoRestaurante,
+                                       TipoCulinariaEnum culinaria, LocalTime horarioDeAbertura,
+                                       LocalTime horarioDeFechamento) {
+
+        this(nomeRestaurante, enderecoRestaurante, culinaria, horarioDeAbertura, horarioDeFechamento, null);
+
+    }
+
+    /**
+     * Construtor com os campos do endereço planificados, utilizado pelas consultas
+     * de projeção do RestauranteRepository (o JPQL não aceita construtores aninhados).
+     */
+    public DadosConsultaRestauranteDTO(
+            String nomeRestaurante,
+            String cep,
+            String logradouro,
+            String numero,
+            String complemento,
+            String bairro,
+            String cidade,
+            String uf,
+            TipoCulinariaEnum culinaria,
+            LocalTime horarioDeAbertura,
+            LocalTime horarioDeFechamento,
+            Double mediaAvaliacoes) {
+
+        this(
+                nomeRestaurante,
+                new DadosCriacaoEnderecoDTO(cep, logradouro, numero, complemento, bairro, cidade, uf),
+                culinaria,
+                horarioDeAbertura,
+                horarioDeFechamento,
+                mediaAvaliacoes
+        );
+    }
+
 }
@@ -2,11 +2,13 @@ package br.com.fiap.gerenciadorDeReservas.records.restaurante;
 
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosCriacaoMesaDTO;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalTime;
+import java.util.List;
 
 /**
  * Classe DTO para representar os dados vindo da API para criação
@@ -17,7 +19,12 @@ import java.time.LocalTime;
  * @param tipoCulinaria
  * @param horarioDeAbertura
  * @param horarioDeFechamento
- * @param capacidade
+ * @param capacidade          Quantidade de lugares por horário; com mesas cadastradas, é a soma das mesas.
+ * @param mesas               Mesas do restaurante (opcional).
+ * @param granularidadeMinutos Intervalo entre os horários de reserva: 15, 30 ou 60 minutos (padrão).
+ * @param horariosDeFuncionamento Intervalos semanais (opcional); sem eles, o restaurante funciona todos os
+ *                                dias da abertura ao fechamento.
+ * @param excecoesDeFuncionamento Feriados e datas com horários diferentes (opcional).
  */
 public record DadosCriacaoRestauranteDTO(
         @NotBlank(message = "O nome do Restaurante é obrigatório")
@@ -31,6 +38,25 @@ public record DadosCriacaoRestauranteDTO(
         @NotNull(message = "O horário de fechamento do Restaurante é obrigatório")
         LocalTime horarioDeFechamento,
         @NotNull(message = "A capacidade do Restaurante é obrigatória")
-        Integer capacidade
+        Integer capacidade,
+        @Valid
+        List<DadosCriacaoMesaDTO> mesas,
+        Integer granularidadeMinutos,
+        @Valid
+        List<DadosHorarioFuncionamentoDTO> horariosDeFuncionamento,
+        @Valid
+        List<DadosExcecaoFuncionamentoDTO> excecoesDeFuncionamento
 ) {
+
+    public DadosCriacaoRestauranteDTO(String nome, DadosCriacaoEnderecoDTO endereco, TipoCulinariaEnum tipoCulinaria,
+                                      LocalTime horarioDeAbertura, LocalTime horarioDeFechamento, Integer capacidade) {
+        this(nome, endereco, tipoCulinaria, horarioDeAbertura, horarioDeFechamento, capacidade, null);
+    }
+
+    public DadosCriacaoRestauranteDTO(String nome, DadosCriacaoEnderecoDTO endereco, TipoCulinariaEnum tipoCulinaria,
+                                      LocalTime horarioDeAbertura, LocalTime horarioDeFechamento, Integer capacidade,
+                                      List<DadosCriacaoMesaDTO> mesas) {
+        this(nome, endereco, tipoCulinaria, horarioDeAbertura, horarioDeFechamento, capacidade, mesas, null, null, null);
+    }
+
 }
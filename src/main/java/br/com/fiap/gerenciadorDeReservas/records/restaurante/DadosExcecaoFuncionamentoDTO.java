@@ -0,0 +1,24 @@
+package br.com.fiap.gerenciadorDeReservas.records.restaurante;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Classe DTO para representar uma data em que o Restaurante não segue os horários semanais.
+ * Sem abertura e fechamento, o restaurante fica fechado na data.
+ *
+ * @param data
+ * @param abertura
+ * @param fechamento
+ * @param motivo
+ */
+public record DadosExcecaoFuncionamentoDTO(
+        @NotNull(message = "A data da exceção de funcionamento é obrigatória")
+        LocalDate data,
+        LocalTime abertura,
+        LocalTime fechamento,
+        String motivo
+) {
+}
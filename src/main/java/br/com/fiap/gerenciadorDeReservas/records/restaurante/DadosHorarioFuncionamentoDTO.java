@@ -0,0 +1,24 @@
+package br.com.fiap.gerenciadorDeReservas.records.restaurante;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Classe DTO para representar um intervalo de funcionamento semanal de um Restaurante. Um
+ * fechamento igual ou anterior à abertura termina no dia seguinte.
+ *
+ * @param diaDaSemana
+ * @param abertura
+ * @param fechamento
+ */
+public record DadosHorarioFuncionamentoDTO(
+        @NotNull(message = "O dia da semana do horário de funcionamento é obrigatório")
+        DayOfWeek diaDaSemana,
+        @NotNull(message = "A abertura do horário de funcionamento é obrigatória")
+        LocalTime abertura,
+        @NotNull(message = "O fechamento do horário de funcionamento é obrigatório")
+        LocalTime fechamento
+) {
+}
@@ -0,0 +1,36 @@
+package br.com.fiap.gerenciadorDeReservas.records.restaurante;
+
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Classe DTO com os parâmetros do filtro de restaurantes abertos num momento, já convertidos para
+ * as colunas consultadas: a data e a véspera, para as exceções, e o minuto da semana, para os
+ * intervalos semanais.
+ *
+ * @param data           Data do momento consultado.
+ * @param dataAnterior   Véspera, cujos intervalos podem terminar depois da meia-noite.
+ * @param hora           Hora do momento consultado.
+ * @param minutoDaSemana Minuto da semana do momento consultado.
+ * @param inicioDoDia    Minuto da semana em que começa a data consultada.
+ */
+public record DadosMomentoFuncionamentoDTO(
+        LocalDate data,
+        LocalDate dataAnterior,
+        LocalTime hora,
+        int minutoDaSemana,
+        int inicioDoDia
+) {
+
+    public DadosMomentoFuncionamentoDTO(LocalDateTime momento) {
+        this(momento.toLocalDate(),
+                momento.toLocalDate().minusDays(1),
+                momento.toLocalTime(),
+                HorarioFuncionamentoEntity.minutoDaSemana(momento.getDayOfWeek(), momento.toLocalTime()),
+                HorarioFuncionamentoEntity.minutoDaSemana(momento.getDayOfWeek(), LocalTime.MIDNIGHT));
+    }
+
+}
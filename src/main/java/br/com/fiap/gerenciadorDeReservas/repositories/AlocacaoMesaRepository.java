@@ -0,0 +1,20 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.AlocacaoMesaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+
+public interface AlocacaoMesaRepository extends JpaRepository<AlocacaoMesaEntity, Long> {
+
+    @Modifying
+    @Query("DELETE FROM AlocacaoMesaEntity a WHERE a.reservaEntity.id = :reserva_id")
+    int excluirAlocacoesDaReserva(Long reserva_id);
+
+    @Modifying
+    @Query("DELETE FROM AlocacaoMesaEntity a WHERE a.preReservaEntity.id IN :preReservas_id")
+    int excluirAlocacoesDasPreReservas(Collection<Long> preReservas_id);
+
+}
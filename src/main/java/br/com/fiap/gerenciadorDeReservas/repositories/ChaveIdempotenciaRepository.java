@@ -0,0 +1,29 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ChaveIdempotenciaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotenciaEntity, String> {
+
+    /**
+     * Insere a chave sempre com INSERT (nunca merge), para que duas requisições concorrentes com a
+     * mesma chave falhem na chave primária em vez de uma sobrescrever a resposta da outra.
+     */
+    @Modifying
+    @Query("INSERT INTO ChaveIdempotenciaEntity (chave, impressaoRequisicao, resposta, expiraEm) " +
+            "VALUES (:chave, :impressaoRequisicao, :resposta, :expiraEm)")
+    void inserirChave(String chave, String impressaoRequisicao, String resposta, LocalDateTime expiraEm);
+
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotenciaEntity c WHERE c.chave = :chave AND c.expiraEm < :agora")
+    int excluirChaveExpirada(String chave, LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotenciaEntity c WHERE c.expiraEm < :agora")
+    int excluirExpiradas(LocalDateTime agora);
+
+}
@@ -0,0 +1,37 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.DisponibilidadeHorarioEntity;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DisponibilidadeHorarioRepository extends JpaRepository<DisponibilidadeHorarioEntity, Long> {
+
+    /**
+     * Bloqueia, até o fim da transação, os horários do restaurante nos slots [slotInicial, slotFinal). As
+     * linhas são bloqueadas em ordem cronológica, então reservas concorrentes com intervalos sobrepostos
+     * esperam umas pelas outras sem risco de deadlock e nunca ultrapassam a capacidade.
+     *
+     * @return Lista com os horários do intervalo, em ordem cronológica.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DisponibilidadeHorarioEntity d WHERE d.restauranteEntity.id = :restaurante_id " +
+            "AND d.slot >= :slotInicial AND d.slot < :slotFinal ORDER BY d.slot")
+    List<DisponibilidadeHorarioEntity> bloquearHorarios(Long restaurante_id, int slotInicial, int slotFinal);
+
+    @Query("SELECT new br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO(" +
+            "d.restauranteEntity.id, d.horario, d.lugaresDisponiveis) " +
+            "FROM DisponibilidadeHorarioEntity d WHERE d.slot >= :slotInicial")
+    List<DadosLugaresHorarioDTO> consultarLugaresAPartirDe(int slotInicial);
+
+    @Query("SELECT new br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO(" +
+            "d.restauranteEntity.id, d.horario, d.lugaresDisponiveis) " +
+            "FROM DisponibilidadeHorarioEntity d WHERE d.restauranteEntity.id = :restaurante_id " +
+            "AND d.slot >= :slotInicial")
+    List<DadosLugaresHorarioDTO> consultarLugaresDoRestauranteAPartirDe(Long restaurante_id, int slotInicial);
+
+}
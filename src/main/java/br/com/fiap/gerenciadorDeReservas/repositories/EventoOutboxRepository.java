@@ -0,0 +1,58 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.EventoOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutboxEntity, Long> {
+
+    /**
+     * Tempo de espera pelo bloqueio que o Hibernate traduz para SKIP LOCKED nos bancos que o
+     * suportam (PostgreSQL, MySQL 8, Oracle); no H2, o bloqueio é um FOR UPDATE comum.
+     */
+    String SKIP_LOCKED = "-2";
+
+    /**
+     * Bloqueia os eventos pendentes mais antigos, pulando os já bloqueados por outro relay, para que
+     * várias instâncias publiquem lotes diferentes ao mesmo tempo sem esperar umas pelas outras. Os
+     * eventos que esgotaram as tentativas não são mais publicados.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT e FROM EventoOutboxEntity e WHERE e.processadoEm IS NULL AND e.falhouEm IS NULL ORDER BY e.id")
+    List<EventoOutboxEntity> bloquearPendentes(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT e FROM EventoOutboxEntity e WHERE e.id = :evento_id AND e.processadoEm IS NULL " +
+            "AND e.falhouEm IS NULL")
+    Optional<EventoOutboxEntity> bloquearPendente(Long evento_id);
+
+    @Modifying
+    @Query("UPDATE EventoOutboxEntity e SET e.processadoEm = :processadoEm WHERE e.id IN :eventos_id")
+    int marcarProcessados(List<Long> eventos_id, LocalDateTime processadoEm);
+
+    /**
+     * Registra uma falha na publicação de um evento; na última tentativa, o evento é marcado como
+     * falho e deixa de ser publicado, sem ser confundido com um evento entregue.
+     */
+    @Modifying
+    @Query("UPDATE EventoOutboxEntity e SET e.tentativas = e.tentativas + 1, e.erro = :erro, " +
+            "e.falhouEm = CASE WHEN e.tentativas + 1 >= :tentativas THEN :agora ELSE e.falhouEm END " +
+            "WHERE e.id = :evento_id AND e.processadoEm IS NULL AND e.falhouEm IS NULL")
+    int registrarFalha(Long evento_id, String erro, int tentativas, LocalDateTime agora);
+
+    /**
+     * Exclui os eventos entregues antes do limite; os eventos falhos são mantidos para análise.
+     */
+    @Modifying
+    @Query("DELETE FROM EventoOutboxEntity e WHERE e.processadoEm < :limite")
+    int excluirProcessadosAntesDe(LocalDateTime limite);
+
+}
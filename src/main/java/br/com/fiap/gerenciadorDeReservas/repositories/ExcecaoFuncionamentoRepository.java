@@ -0,0 +1,16 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ExcecaoFuncionamentoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExcecaoFuncionamentoRepository extends JpaRepository<ExcecaoFuncionamentoEntity, Long> {
+
+    @Query("SELECT e FROM ExcecaoFuncionamentoEntity e WHERE e.restauranteEntity.id = :restaurante_id " +
+            "AND e.data BETWEEN :de AND :ate")
+    List<ExcecaoFuncionamentoEntity> consultarExcecoes(Long restaurante_id, LocalDate de, LocalDate ate);
+
+}
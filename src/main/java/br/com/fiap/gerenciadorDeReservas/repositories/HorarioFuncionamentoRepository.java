@@ -0,0 +1,14 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface HorarioFuncionamentoRepository extends JpaRepository<HorarioFuncionamentoEntity, Long> {
+
+    @Query("SELECT h FROM HorarioFuncionamentoEntity h WHERE h.restauranteEntity.id = :restaurante_id")
+    List<HorarioFuncionamentoEntity> consultarHorarios(Long restaurante_id);
+
+}
@@ -0,0 +1,27 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ListaEsperaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosEntradaListaEsperaDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ListaEsperaRepository extends JpaRepository<ListaEsperaEntity, Long> {
+
+    /**
+     * Exclui a entrada da lista de espera. O retorno indica se ela foi consumida por esta chamada,
+     * evitando que a mesma entrada seja promovida duas vezes.
+     */
+    @Modifying
+    @Query("DELETE FROM ListaEsperaEntity l WHERE l.id = :listaEspera_id")
+    int excluirEntrada(Long listaEspera_id);
+
+    @Query("SELECT new br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosEntradaListaEsperaDTO(" +
+            "l.id, l.restauranteEntity.id, l.dataReserva, l.quantidadePessoas, l.duracaoMinutos, l.solicitadaEm) " +
+            "FROM ListaEsperaEntity l WHERE l.dataReserva >= :dataInicial")
+    List<DadosEntradaListaEsperaDTO> consultarEntradasAPartirDe(LocalDateTime dataInicial);
+
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MesaRepository extends JpaRepository<MesaEntity, Long> {
+
+    /**
+     * Mesas do restaurante sem nenhuma alocação que se sobreponha ao intervalo [inicio, fim).
+     */
+    @Query("SELECT m FROM MesaEntity m WHERE m.restauranteEntity.id = :restaurante_id " +
+            "AND NOT EXISTS (SELECT a.id FROM AlocacaoMesaEntity a WHERE a.mesaEntity = m " +
+            "AND a.horario < :fim AND a.horarioFinal > :inicio) " +
+            "ORDER BY m.lugares, m.id")
+    List<MesaEntity> consultarMesasLivres(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim);
+
+    @Query("SELECT COUNT(m) > 0 FROM MesaEntity m WHERE m.restauranteEntity.id = :restaurante_id")
+    boolean possuiMesas(Long restaurante_id);
+
+}
@@ -0,0 +1,43 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.entities.PreReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosPreReservaAgendadaDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PreReservaRepository extends JpaRepository<PreReservaEntity, Long> {
+
+    /**
+     * Exclui a pré-reserva somente se ainda não expirou. O retorno indica se ela foi consumida
+     * por esta chamada, evitando que a confirmação e a expiração devolvam a mesma vaga.
+     */
+    @Modifying
+    @Query("DELETE FROM PreReservaEntity p WHERE p.id = :preReserva_id AND p.expiraEm > :agora")
+    int excluirPreReservaValida(Long preReserva_id, LocalDateTime agora);
+
+    @Modifying
+    @Query("DELETE FROM PreReservaEntity p WHERE p.id = :preReserva_id")
+    int excluirPreReserva(Long preReserva_id);
+
+    /**
+     * Exclui um lote de pré-reservas expiradas de um restaurante.
+     *
+     * @return Quantidade de pré-reservas efetivamente excluídas (as já confirmadas ou liberadas não contam).
+     */
+    @Modifying
+    @Query("DELETE FROM PreReservaEntity p WHERE p.id IN :preReservas_id AND p.restauranteEntity.id = :restaurante_id")
+    int excluirPreReservas(Collection<Long> preReservas_id, Long restaurante_id);
+
+    @Query("SELECT new br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosPreReservaAgendadaDTO(" +
+            "p.id, p.restauranteEntity.id, p.dataReserva, p.duracaoMinutos, " +
+            "CAST(COALESCE((SELECT SUM(a.mesaEntity.lugares) FROM AlocacaoMesaEntity a WHERE a.preReservaEntity = p), " +
+            "p.quantidadePessoas, 1) AS Integer), p.expiraEm) " +
+            "FROM PreReservaEntity p")
+    List<DadosPreReservaAgendadaDTO> consultarPreReservasAgendadas();
+
+}
@@ -2,18 +2,103 @@ package br.com.fiap.gerenciadorDeReservas.repositories;
 
 import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReservaAgendadaDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ReservaRepository extends JpaRepository<ReservaEntity, Long> {
 
+    /**
+     * Projeção com o conteúdo dos eventos de reserva, sem carregar o cliente e o restaurante.
+     */
+    String SELECT_DADOS_EVENTO = "SELECT new br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO(" +
+            "r.id, res.id, c.email, c.nome, res.nome, r.dataReserva, r.quantidadePessoas) " +
+            "FROM ReservaEntity r JOIN r.restauranteEntity res ";
+
     @Modifying
     @Query("UPDATE ReservaEntity r SET r.statusReservaEnum = :novoStatusReservaEnum WHERE r.id = :reserva_id")
     void atualizarStatusReserva(Long reserva_id, StatusReservaEnum novoStatusReservaEnum);
 
+    /**
+     * Cancela uma reserva aberta somente se ela ainda estiver no horário e com a duração consultados. O
+     * retorno indica se a reserva foi cancelada por esta chamada, então apenas um entre dois
+     * cancelamentos, ou entre um cancelamento e um reagendamento concorrentes, devolve os lugares do horário.
+     */
+    @Modifying
+    @Query("UPDATE ReservaEntity r " +
+            "SET r.statusReservaEnum = br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum.CANCELADA " +
+            "WHERE r.id = :reserva_id AND r.dataReserva = :dataReserva " +
+            "AND r.duracaoMinutos IS NOT DISTINCT FROM :duracaoMinutos " +
+            "AND r.statusReservaEnum = br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum.ABERTA")
+    int cancelarReservaAberta(Long reserva_id, LocalDateTime dataReserva, Integer duracaoMinutos);
+
+    /**
+     * Horário e lugares de uma reserva, sem carregar o cliente e o restaurante.
+     */
+    @Query("SELECT new br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReservaAgendadaDTO(" +
+            "r.id, r.restauranteEntity.id, r.dataReserva, r.duracaoMinutos, r.quantidadePessoas, " +
+            "CAST(COALESCE((SELECT SUM(a.mesaEntity.lugares) FROM AlocacaoMesaEntity a WHERE a.reservaEntity = r), " +
+            "r.quantidadePessoas, 1) AS Integer), r.statusReservaEnum) " +
+            "FROM ReservaEntity r WHERE r.id = :reserva_id")
+    Optional<DadosReservaAgendadaDTO> consultarReservaAgendada(Long reserva_id);
+
+    /**
+     * Move uma reserva aberta para um novo horário somente se ela ainda estiver no horário e com a duração
+     * consultados; as reservas anteriores à duração têm a duração nula. O retorno indica se a reserva foi
+     * alterada por esta chamada, evitando que dois reagendamentos ou um reagendamento e um cancelamento
+     * concorrentes devolvam os mesmos lugares.
+     */
+    @Modifying
+    @Query("UPDATE ReservaEntity r SET r.dataReserva = :novaDataReserva, r.duracaoMinutos = :novaDuracaoMinutos, " +
+            "r.ultimoLembrete = NULL " +
+            "WHERE r.id = :reserva_id AND r.dataReserva = :dataReserva " +
+            "AND r.duracaoMinutos IS NOT DISTINCT FROM :duracaoMinutos " +
+            "AND r.statusReservaEnum = br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum.ABERTA")
+    int reagendarReserva(Long reserva_id, LocalDateTime dataReserva, Integer duracaoMinutos,
+                         LocalDateTime novaDataReserva, Integer novaDuracaoMinutos);
+
+    /**
+     * Reivindica o envio de um lembrete de uma reserva aberta, ainda no horário do lembrete. Os lembretes
+     * de uma reserva vencem em ordem, então o lembrete só é reivindicado se nenhum outro igual ou
+     * posterior já foi; o retorno indica se esta chamada o reivindicou.
+     */
+    @Modifying
+    @Query("UPDATE ReservaEntity r SET r.ultimoLembrete = :momento " +
+            "WHERE r.id = :reserva_id AND r.dataReserva = :dataReserva " +
+            "AND r.statusReservaEnum = br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum.ABERTA " +
+            "AND (r.ultimoLembrete IS NULL OR r.ultimoLembrete < :momento)")
+    int reivindicarLembrete(Long reserva_id, LocalDateTime dataReserva, LocalDateTime momento);
+
+    @Query(SELECT_DADOS_EVENTO + "LEFT JOIN r.clienteEntity c WHERE r.id = :reserva_id")
+    Optional<DadosEventoReservaDTO> consultarDadosDoEvento(Long reserva_id);
+
+    /**
+     * Página de reservas abertas de clientes cadastrados, em ordem de (dataReserva, id), a partir da
+     * última reserva da página anterior. A paginação pela chave percorre o índice (dataReserva, id)
+     * sem OFFSET, então o custo de cada página não cresce com as anteriores.
+     */
+    @Query(SELECT_DADOS_EVENTO + "JOIN r.clienteEntity c " +
+            "WHERE (r.dataReserva > :dataReserva OR (r.dataReserva = :dataReserva AND r.id > :reserva_id)) " +
+            "AND r.dataReserva < :antesDe " +
+            "AND r.statusReservaEnum = br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum.ABERTA " +
+            "ORDER BY r.dataReserva, r.id")
+    List<DadosEventoReservaDTO> consultarReservasAbertasAPartirDe(LocalDateTime dataReserva, Long reserva_id,
+                                                                  LocalDateTime antesDe, Pageable pageable);
+
     List<ReservaEntity> findByRestauranteEntityId(Long restauranteId);
 
+    /**
+     * Busca as reservas de um restaurante a partir de uma data. O limite inferior em dataReserva permite
+     * ao PostgreSQL descartar as partições mensais anteriores sem lê-las.
+     */
+    List<ReservaEntity> findByRestauranteEntityIdAndDataReservaGreaterThanEqual(Long restauranteId,
+                                                                               LocalDateTime dataInicial);
+
 }
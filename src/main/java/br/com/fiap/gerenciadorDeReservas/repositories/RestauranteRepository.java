@@ -1,6 +1,11 @@
 package br.com.fiap.gerenciadorDeReservas.repositories;
 
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosFaixasDeCapacidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosIndiceDisponibilidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosMomentoFuncionamentoDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,15 +14,117 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface RestauranteRepository extends JpaRepository<RestauranteEntity, Long> {
-    List<RestauranteEntity> findByNomeContainingIgnoreCase(String nomeRestaurante);
 
-    List<RestauranteEntity> findByEnderecoEntity_CidadeContainingIgnoreCase(String cidadeRestaurante);
+    /**
+     * Projeção usada pelas buscas de restaurante: seleciona apenas as colunas exibidas,
+     * com um único join no endereço, sem carregar avaliações, reservas ou dias de operação.
+     * A média das avaliações vem do total mantido no próprio restaurante.
+     */
+    String SELECT_DADOS_CONSULTA = "SELECT new br.com.fiap.gerenciadorDeReservas.records.restaurante" +
+            ".DadosConsultaRestauranteDTO(r.nome, e.cep, e.logradouro, e.numero, e.complemento, e.bairro, " +
+            "e.cidade, e.uf, r.tipoCulinaria, r.horarioDeAbertura, r.horarioDeFechamento, " +
+            "CASE WHEN r.quantidadeAvaliacoes > 0 THEN r.somaNotas / r.quantidadeAvaliacoes END) " +
+            "FROM RestauranteEntity r LEFT JOIN r.enderecoEntity e ";
 
-    @Query("SELECT r FROM RestauranteEntity r WHERE LOWER(r.tipoCulinaria) LIKE %:tipoCulinaria%")
-    List<RestauranteEntity> findByTipoCulinariaContainingIgnoreCase(@Param("tipoCulinaria") String tipoCulinaria);
+    String FILTRO_NOME = "LOWER(r.nome) LIKE LOWER(CONCAT('%', :nomeRestaurante, '%')) ";
+    String FILTRO_CIDADE = "LOWER(e.cidade) LIKE LOWER(CONCAT('%', :cidadeRestaurante, '%')) ";
+    String FILTRO_CULINARIA = "LOWER(CAST(r.tipoCulinaria AS String)) LIKE LOWER(CONCAT('%', :tipoCulinaria, '%')) ";
+
+    /**
+     * Filtro dos restaurantes abertos num momento, parametrizado por um DadosMomentoFuncionamentoDTO.
+     * <p>
+     * Os intervalos semanais são comparados pelo minuto da semana, no índice (restaurante_id,
+     * inicioNaSemana, fimNaSemana): um intervalo iniciado na data vale se a data não tiver exceção,
+     * e um iniciado na véspera (inclusive o de domingo que termina na segunda-feira, com fim maior
+     * que uma semana) vale se a véspera não tiver. As exceções abertas da data e da véspera são
+     * comparadas pela hora. O filtro compõe com os demais na mesma consulta.
+     */
+    String FILTRO_ABERTO_EM = "(EXISTS (SELECT h.id FROM HorarioFuncionamentoEntity h " +
+            "WHERE h.restauranteEntity = r AND (" +
+            "(h.inicioNaSemana BETWEEN :#{#momento.inicioDoDia()} AND :#{#momento.minutoDaSemana()} " +
+            "AND h.fimNaSemana > :#{#momento.minutoDaSemana()} " +
+            "AND NOT EXISTS (SELECT x.id FROM ExcecaoFuncionamentoEntity x " +
+            "WHERE x.restauranteEntity = r AND x.data = :#{#momento.data()})) " +
+            "OR (((h.inicioNaSemana < :#{#momento.inicioDoDia()} AND h.fimNaSemana > :#{#momento.minutoDaSemana()}) " +
+            "OR h.fimNaSemana > :#{#momento.minutoDaSemana()} + " + HorarioFuncionamentoEntity.MINUTOS_NA_SEMANA + ") " +
+            "AND NOT EXISTS (SELECT x.id FROM ExcecaoFuncionamentoEntity x " +
+            "WHERE x.restauranteEntity = r AND x.data = :#{#momento.dataAnterior()})))) " +
+            "OR EXISTS (SELECT x.id FROM ExcecaoFuncionamentoEntity x WHERE x.restauranteEntity = r AND (" +
+            "(x.data = :#{#momento.data()} AND x.abertura <= :#{#momento.hora()} " +
+            "AND (x.fechamento > :#{#momento.hora()} OR x.fechamento <= x.abertura)) " +
+            "OR (x.data = :#{#momento.dataAnterior()} AND x.fechamento <= x.abertura " +
+            "AND x.fechamento > :#{#momento.hora()}))))";
+
+    @Query(SELECT_DADOS_CONSULTA + "WHERE " + FILTRO_NOME)
+    List<DadosConsultaRestauranteDTO> consultarPorNome(@Param("nomeRestaurante") String nomeRestaurante);
+
+    @Query(SELECT_DADOS_CONSULTA + "WHERE " + FILTRO_NOME + "AND " + FILTRO_ABERTO_EM)
+    List<DadosConsultaRestauranteDTO> consultarPorNomeAbertos(@Param("nomeRestaurante") String nomeRestaurante,
+                                                              @Param("momento") DadosMomentoFuncionamentoDTO momento);
+
+    @Query(SELECT_DADOS_CONSULTA + "WHERE " + FILTRO_CIDADE)
+    List<DadosConsultaRestauranteDTO> consultarPorCidade(@Param("cidadeRestaurante") String cidadeRestaurante);
+
+    @Query(SELECT_DADOS_CONSULTA + "WHERE " + FILTRO_CIDADE + "AND " + FILTRO_ABERTO_EM)
+    List<DadosConsultaRestauranteDTO> consultarPorCidadeAbertos(@Param("cidadeRestaurante") String cidadeRestaurante,
+                                                                @Param("momento") DadosMomentoFuncionamentoDTO momento);
+
+    @Query(SELECT_DADOS_CONSULTA + "WHERE " + FILTRO_CULINARIA)
+    List<DadosConsultaRestauranteDTO> consultarPorCulinaria(@Param("tipoCulinaria") String tipoCulinaria);
+
+    @Query(SELECT_DADOS_CONSULTA + "WHERE " + FILTRO_CULINARIA + "AND " + FILTRO_ABERTO_EM)
+    List<DadosConsultaRestauranteDTO> consultarPorCulinariaAbertos(@Param("tipoCulinaria") String tipoCulinaria,
+                                                                   @Param("momento") DadosMomentoFuncionamentoDTO momento);
+
+    /**
+     * Projeção usada para carregar o IndiceDeDisponibilidade, sem carregar avaliações e reservas.
+     */
+    @Query("SELECT new br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosIndiceDisponibilidadeDTO(" +
+            "r.id, r.nome, e.cidade, r.tipoCulinaria, r.granularidadeMinutos) " +
+            "FROM RestauranteEntity r LEFT JOIN r.enderecoEntity e")
+    List<DadosIndiceDisponibilidadeDTO> consultarDadosIndiceDisponibilidade();
+
+    @Query("SELECT new br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosFaixasDeCapacidadeDTO(" +
+            "r.id, r.faixasDeCapacidade) FROM RestauranteEntity r WHERE r.faixasDeCapacidade IS NOT NULL")
+    List<DadosFaixasDeCapacidadeDTO> consultarFaixasDeCapacidade();
+
+    @Modifying
+    @Query("UPDATE RestauranteEntity r SET r.faixasDeCapacidade = :faixasDeCapacidade WHERE r.id = :restaurante_id")
+    int atualizarFaixasDeCapacidade(Long restaurante_id, Integer faixasDeCapacidade);
+
+    /**
+     * Avaliações com nota já somadas ao total do restaurante: as que ainda têm o evento de criação
+     * pendente no outbox serão somadas pelo assinante quando o evento for processado. As avaliações cujo
+     * evento falhou não serão somadas pelo assinante e entram no total.
+     */
+    String FILTRO_AVALIACOES_SOMADAS = "FROM AvaliacaoEntity a WHERE a.restauranteEntity = r AND a.nota IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM EventoOutboxEntity e WHERE e.agregadoId = a.id AND e.processadoEm IS NULL " +
+            "AND e.falhouEm IS NULL " +
+            "AND e.tipoEventoEnum = br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum.AVALIACAO_CRIADA)";
+
+    String SET_TOTAIS_DE_AVALIACOES = "UPDATE RestauranteEntity r " +
+            "SET r.quantidadeAvaliacoes = (SELECT COUNT(a) " + FILTRO_AVALIACOES_SOMADAS + "), " +
+            "r.somaNotas = (SELECT COALESCE(SUM(a.nota), 0) " + FILTRO_AVALIACOES_SOMADAS + ") " +
+            "WHERE (r.quantidadeAvaliacoes IS NULL OR r.somaNotas IS NULL) ";
+
+    /**
+     * Soma uma nota ao total do restaurante; não altera restaurantes cujo total ainda não foi preenchido.
+     */
+    @Modifying
+    @Query("UPDATE RestauranteEntity r SET r.quantidadeAvaliacoes = r.quantidadeAvaliacoes + 1, " +
+            "r.somaNotas = r.somaNotas + :nota WHERE r.id = :restaurante_id " +
+            "AND r.quantidadeAvaliacoes IS NOT NULL AND r.somaNotas IS NOT NULL")
+    int somarAvaliacao(Long restaurante_id, Double nota);
+
+    /**
+     * Preenche, a partir das avaliações, o total dos restaurantes gravados antes da existência do total.
+     */
+    @Modifying
+    @Query(SET_TOTAIS_DE_AVALIACOES)
+    int preencherTotaisDeAvaliacoes();
 
     @Modifying
-    @Query("UPDATE RestauranteEntity r SET r.capacidade = :novaCapacidade WHERE r.id = :restaurante_id")
-    void atualizarCapacidade(Long restaurante_id, Integer novaCapacidade);
+    @Query(SET_TOTAIS_DE_AVALIACOES + "AND r.id = :restaurante_id")
+    int preencherTotalDeAvaliacoes(Long restaurante_id);
 
 }
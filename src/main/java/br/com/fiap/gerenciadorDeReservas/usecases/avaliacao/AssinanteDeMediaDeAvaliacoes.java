@@ -0,0 +1,74 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.avaliacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoAvaliacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.AssinanteDeEventos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+/**
+ * Classe responsável por somar as avaliações criadas ao total de avaliações de cada restaurante,
+ * usado para exibir a média nas buscas sem percorrer as avaliações. O total é atualizado na
+ * transação que marca o evento como processado, então cada avaliação é somada uma única vez.
+ * <p>
+ * Restaurantes gravados antes da existência do total têm o total nulo; ele é preenchido a partir
+ * das avaliações na inicialização, ou na primeira avaliação recebida, contando apenas as avaliações
+ * cujo evento já foi processado. O total nulo nunca é incrementado, então uma avaliação não é
+ * contada pelo preenchimento e pelo evento ao mesmo tempo.
+ */
+@Service
+public class AssinanteDeMediaDeAvaliacoes implements AssinanteDeEventos {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssinanteDeMediaDeAvaliacoes.class);
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+
+    /**
+     * Método para preencher o total de avaliações dos restaurantes que ainda não o possuem.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void preencherTotais() {
+
+        int preenchidos = restauranteRepository.preencherTotaisDeAvaliacoes();
+
+        if (preenchidos > 0) {
+            LOGGER.info("Total de avaliações preenchido para {} restaurante(s)", preenchidos);
+        }
+
+    }
+
+    @Override
+    public Set<TipoEventoEnum> tiposDeEvento() {
+
+        return Set.of(TipoEventoEnum.AVALIACAO_CRIADA);
+
+    }
+
+    @Override
+    public void receber(DadosEventoOutboxDTO evento) {
+
+        DadosEventoAvaliacaoDTO avaliacao = (DadosEventoAvaliacaoDTO) evento.conteudo();
+
+        if (avaliacao.nota() == null) {
+            return;
+        }
+
+        if (restauranteRepository.somarAvaliacao(avaliacao.restaurante_id(), avaliacao.nota()) == 0
+                && restauranteRepository.preencherTotalDeAvaliacoes(avaliacao.restaurante_id()) > 0) {
+            restauranteRepository.somarAvaliacao(avaliacao.restaurante_id(), avaliacao.nota());
+        }
+
+    }
+
+}
@@ -9,6 +9,7 @@ import br.com.fiap.gerenciadorDeReservas.records.avaliacao.DadosRetornoCriacaoAv
 import br.com.fiap.gerenciadorDeReservas.repositories.AvaliacaoRespository;
 import br.com.fiap.gerenciadorDeReservas.repositories.ClienteRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -30,13 +31,17 @@ public class CriarAvaliacaoUseCase {
     RestauranteRepository restauranteRepository;
     @Autowired
     AvaliacaoAdapter avaliacaoAdapter;
+    @Autowired
+    OutboxDeEventos outboxDeEventos;
 
     /**
-     * Método para efetuar a criação de uma nova avaliação para um determinado restaurante.
+     * Método para efetuar a criação de uma nova avaliação para um determinado restaurante. O evento
+     * da avaliação é gravado no outbox na mesma transação.
      *
      * @param dadosCriacaoAvaliacaoDTO Objeto com os dados para criação da avaliação.
      * @return DadosRetornoCriacaoAvaliacaoDTO Objeto com os dados tratados para retorno.
      */
+    @Transactional
     public DadosRetornoCriacaoAvaliacaoDTO criarAvaliacao(DadosCriacaoAvaliacaoDTO dadosCriacaoAvaliacaoDTO) {
 
         ClienteEntity clienteEntity = clienteRepository.findById(dadosCriacaoAvaliacaoDTO.cliente_id()).orElseThrow(
@@ -50,6 +55,8 @@ public class CriarAvaliacaoUseCase {
 
         avaliacaoRespository.save(avaliacaoEntity);
 
+        outboxDeEventos.registrarAvaliacao(avaliacaoEntity);
+
         return avaliacaoAdapter.converterParaDadosRetornoDTO(avaliacaoEntity);
 
     }
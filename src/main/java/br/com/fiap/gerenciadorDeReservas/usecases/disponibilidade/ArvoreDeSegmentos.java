@@ -0,0 +1,139 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+/**
+ * Árvore de segmentos com propagação preguiçosa sobre um vetor de inteiros.
+ * <p>
+ * Soma um valor a um intervalo de posições e consulta o menor valor de um intervalo, as duas
+ * operações em O(log n). Com os lugares livres de cada horário do dia no vetor, o menor valor de
+ * um intervalo é a quantidade de lugares livres durante toda a permanência de um grupo, ou seja, a
+ * capacidade menos a maior ocupação simultânea no intervalo.
+ * <p>
+ * Os intervalos são semiabertos: [de, ate). A classe não é thread-safe.
+ */
+public final class ArvoreDeSegmentos {
+
+    private final int tamanho;
+    private final int[] minimo;
+    private final int[] pendente;
+
+    /**
+     * @param valores Valores iniciais de cada posição.
+     */
+    public ArvoreDeSegmentos(int[] valores) {
+
+        this.tamanho = valores.length;
+        this.minimo = new int[4 * Math.max(tamanho, 1)];
+        this.pendente = new int[4 * Math.max(tamanho, 1)];
+
+        if (tamanho > 0) {
+            construir(1, 0, tamanho - 1, valores);
+        }
+
+    }
+
+    /**
+     * @return Quantidade de posições da árvore.
+     */
+    public int tamanho() {
+
+        return tamanho;
+
+    }
+
+    /**
+     * Método para somar um valor às posições de um intervalo.
+     *
+     * @param de       Primeira posição do intervalo.
+     * @param ate      Posição seguinte à última do intervalo.
+     * @param variacao Valor somado a cada posição.
+     */
+    public void somar(int de, int ate, int variacao) {
+
+        if (de < ate) {
+            somar(1, 0, tamanho - 1, Math.max(de, 0), Math.min(ate, tamanho) - 1, variacao);
+        }
+
+    }
+
+    /**
+     * Método para consultar o menor valor de um intervalo.
+     *
+     * @param de  Primeira posição do intervalo.
+     * @param ate Posição seguinte à última do intervalo.
+     * @return Menor valor do intervalo ou Integer.MAX_VALUE, caso o intervalo seja vazio.
+     */
+    public int minimo(int de, int ate) {
+
+        if (Math.max(de, 0) >= Math.min(ate, tamanho)) {
+            return Integer.MAX_VALUE;
+        }
+
+        return minimo(1, 0, tamanho - 1, Math.max(de, 0), Math.min(ate, tamanho) - 1);
+
+    }
+
+    private void construir(int no, int esquerda, int direita, int[] valores) {
+
+        if (esquerda == direita) {
+            minimo[no] = valores[esquerda];
+            return;
+        }
+
+        int meio = (esquerda + direita) >>> 1;
+        construir(2 * no, esquerda, meio, valores);
+        construir(2 * no + 1, meio + 1, direita, valores);
+        minimo[no] = Math.min(minimo[2 * no], minimo[2 * no + 1]);
+
+    }
+
+    private void somar(int no, int esquerda, int direita, int de, int ate, int variacao) {
+
+        if (ate < esquerda || direita < de) {
+            return;
+        }
+
+        if (de <= esquerda && direita <= ate) {
+            minimo[no] += variacao;
+            pendente[no] += variacao;
+            return;
+        }
+
+        propagar(no);
+
+        int meio = (esquerda + direita) >>> 1;
+        somar(2 * no, esquerda, meio, de, ate, variacao);
+        somar(2 * no + 1, meio + 1, direita, de, ate, variacao);
+        minimo[no] = Math.min(minimo[2 * no], minimo[2 * no + 1]);
+
+    }
+
+    private int minimo(int no, int esquerda, int direita, int de, int ate) {
+
+        if (ate < esquerda || direita < de) {
+            return Integer.MAX_VALUE;
+        }
+
+        if (de <= esquerda && direita <= ate) {
+            return minimo[no];
+        }
+
+        propagar(no);
+
+        int meio = (esquerda + direita) >>> 1;
+        return Math.min(minimo(2 * no, esquerda, meio, de, ate), minimo(2 * no + 1, meio + 1, direita, de, ate));
+
+    }
+
+    private void propagar(int no) {
+
+        if (pendente[no] != 0) {
+            for (int filho = 2 * no; filho <= 2 * no + 1; filho++) {
+                minimo[filho] += pendente[no];
+                pendente[filho] += pendente[no];
+            }
+            pendente[no] = 0;
+        }
+
+    }
+
+}
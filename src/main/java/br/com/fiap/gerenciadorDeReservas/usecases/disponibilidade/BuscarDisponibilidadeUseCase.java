@@ -0,0 +1,61 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosDisponibilidadeRestauranteDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Classe para representar o caso de uso da busca de horários disponíveis
+ * nos restaurantes.
+ */
+@Service
+public class BuscarDisponibilidadeUseCase {
+
+    private static final int QUANTIDADE_MAXIMA_HORARIOS = 50;
+
+    @Autowired
+    IndiceDeDisponibilidade indiceDeDisponibilidade;
+
+    /**
+     * Método para buscar os restaurantes com horários livres dentro de uma janela de tempo,
+     * respondido pelo IndiceDeDisponibilidade, sem consultar o banco.
+     *
+     * @param cidade             Cidade do restaurante (opcional).
+     * @param culinaria          Culinária do restaurante (opcional).
+     * @param inicio             Início da janela de busca.
+     * @param fim                Fim da janela de busca.
+     * @param quantidadePessoas  Quantidade de pessoas do grupo.
+     * @param duracaoMinutos     Duração da reserva; nula para a duração padrão.
+     * @param quantidadeHorarios Quantidade máxima de horários retornados por restaurante.
+     * @return Lista de DadosDisponibilidadeRestauranteDTO, ordenada pelo horário livre mais próximo.
+     */
+    public List<DadosDisponibilidadeRestauranteDTO> buscarDisponibilidade(String cidade, TipoCulinariaEnum culinaria,
+                                                                         LocalDateTime inicio, LocalDateTime fim,
+                                                                         int quantidadePessoas, Integer duracaoMinutos,
+                                                                         int quantidadeHorarios) {
+
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("O fim da janela de busca deve ser posterior ao início");
+        }
+
+        if (quantidadePessoas < 1) {
+            throw new IllegalArgumentException("A quantidade de pessoas deve ser ao menos 1");
+        }
+
+        if (duracaoMinutos != null && duracaoMinutos < 1) {
+            throw new IllegalArgumentException("A duração da reserva deve ser positiva");
+        }
+
+        int duracao = duracaoMinutos == null ? ReservaEntity.DURACAO_PADRAO_MINUTOS : duracaoMinutos;
+        int quantidade = Math.min(Math.max(quantidadeHorarios, 1), QUANTIDADE_MAXIMA_HORARIOS);
+
+        return indiceDeDisponibilidade.buscar(cidade, culinaria, inicio, fim, quantidadePessoas, duracao, quantidade);
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ExcecaoFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Horários de funcionamento de um restaurante: intervalos semanais e exceções por data.
+ * <p>
+ * Cada dia da semana guarda os seus intervalos num mapa ordenado pela abertura, e cada data com
+ * exceção guarda os intervalos que substituem os do dia (nenhum, em feriados). Saber se o
+ * restaurante está aberto num momento consulta o intervalo com a maior abertura anterior a ele
+ * e o último intervalo do dia anterior, que pode terminar depois da meia-noite, sem gerar as datas
+ * de funcionamento dos próximos meses.
+ */
+public final class CalendarioDeFuncionamento {
+
+    private final Map<DayOfWeek, NavigableMap<LocalTime, LocalTime>> semana = new EnumMap<>(DayOfWeek.class);
+    private final Map<LocalDate, NavigableMap<LocalTime, LocalTime>> excecoes = new HashMap<>();
+
+    /**
+     * @param horarios Intervalos semanais do restaurante.
+     * @param excecoes Exceções de funcionamento das datas consultadas.
+     */
+    public CalendarioDeFuncionamento(Collection<HorarioFuncionamentoEntity> horarios,
+                                     Collection<ExcecaoFuncionamentoEntity> excecoes) {
+
+        horarios.forEach(horario -> this.semana
+                .computeIfAbsent(horario.getDiaDaSemana(), dia -> new TreeMap<>())
+                .put(horario.getAbertura(), horario.getFechamento()));
+
+        excecoes.forEach(excecao -> {
+            NavigableMap<LocalTime, LocalTime> intervalos = this.excecoes
+                    .computeIfAbsent(excecao.getData(), data -> new TreeMap<>());
+            if (!excecao.isFechado()) {
+                intervalos.put(excecao.getAbertura(), excecao.getFechamento());
+            }
+        });
+
+    }
+
+    /**
+     * Método para verificar se o restaurante está aberto num momento.
+     *
+     * @param momento Data e hora consultada.
+     * @return true, caso algum intervalo de funcionamento contenha o momento.
+     */
+    public boolean abertoEm(LocalDateTime momento) {
+
+        LocalTime hora = momento.toLocalTime();
+
+        Map.Entry<LocalTime, LocalTime> intervalo = intervalosDoDia(momento.toLocalDate()).floorEntry(hora);
+
+        if (intervalo != null && (terminaNoDiaSeguinte(intervalo) || hora.isBefore(intervalo.getValue()))) {
+            return true;
+        }
+
+        Map.Entry<LocalTime, LocalTime> ultimoDoDiaAnterior = intervalosDoDia(momento.toLocalDate().minusDays(1))
+                .lastEntry();
+
+        return ultimoDoDiaAnterior != null && terminaNoDiaSeguinte(ultimoDoDiaAnterior)
+                && hora.isBefore(ultimoDoDiaAnterior.getValue());
+
+    }
+
+    /**
+     * Método para listar os horários de reserva de uma data, incluindo os da madrugada de um
+     * intervalo iniciado no dia anterior.
+     *
+     * @param dia                  Data consultada.
+     * @param granularidadeMinutos Intervalo entre os horários de reserva.
+     * @return Lista com os horários da data, em ordem cronológica.
+     */
+    public List<LocalDateTime> horariosDoDia(LocalDate dia, int granularidadeMinutos) {
+
+        SortedSet<LocalDateTime> horarios = new TreeSet<>();
+
+        Map.Entry<LocalTime, LocalTime> ultimoDoDiaAnterior = intervalosDoDia(dia.minusDays(1)).lastEntry();
+
+        if (ultimoDoDiaAnterior != null && terminaNoDiaSeguinte(ultimoDoDiaAnterior)) {
+            adicionarHorarios(horarios, dia.atStartOfDay(), dia.atTime(ultimoDoDiaAnterior.getValue()),
+                    granularidadeMinutos);
+        }
+
+        intervalosDoDia(dia).forEach((abertura, fechamento) -> adicionarHorarios(horarios, dia.atTime(abertura),
+                fechamento.isAfter(abertura) ? dia.atTime(fechamento) : dia.plusDays(1).atStartOfDay(),
+                granularidadeMinutos));
+
+        return List.copyOf(horarios);
+
+    }
+
+    private NavigableMap<LocalTime, LocalTime> intervalosDoDia(LocalDate dia) {
+
+        NavigableMap<LocalTime, LocalTime> excecao = excecoes.get(dia);
+
+        if (excecao != null) {
+            return excecao;
+        }
+
+        return semana.getOrDefault(dia.getDayOfWeek(), Collections.emptyNavigableMap());
+
+    }
+
+    private static boolean terminaNoDiaSeguinte(Map.Entry<LocalTime, LocalTime> intervalo) {
+
+        return !intervalo.getValue().isAfter(intervalo.getKey());
+
+    }
+
+    private static void adicionarHorarios(SortedSet<LocalDateTime> horarios, LocalDateTime inicio, LocalDateTime fim,
+                                          int granularidadeMinutos) {
+
+        for (LocalDateTime horario = inicio; horario.isBefore(fim); horario = horario.plusMinutes(granularidadeMinutos)) {
+            horarios.add(horario);
+        }
+
+    }
+
+}
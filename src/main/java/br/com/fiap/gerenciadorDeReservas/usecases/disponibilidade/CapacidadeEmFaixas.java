@@ -0,0 +1,271 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.DisponibilidadeHorarioRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lugares dos horários de restaurantes com alta demanda, divididos em faixas de capacidade.
+ * <p>
+ * Nos restaurantes habilitados, cada horário guarda os seus lugares livres num ContadorEmFaixas.
+ * O ControleDeLugares retira os lugares do grupo dos contadores antes de bloquear as linhas da
+ * tb_disponibilidade_horario, então, quando um horário disputado esgota, os pedidos seguintes são
+ * recusados em memória, sem esperar na fila de bloqueios do banco. As linhas continuam sendo a
+ * fonte da verdade: os contadores só recusam pedidos, nunca aceitam um que o banco recusaria.
+ * <p>
+ * Para que os contadores nunca tenham mais lugares que o banco, as retiradas valem na hora e são
+ * desfeitas caso a transação seja desfeita, e as devoluções só valem após o commit.
+ */
+@Service
+public class CapacidadeEmFaixas {
+
+    public static final int MAXIMO_FAIXAS = 64;
+
+    /**
+     * Retirada de um restaurante sem faixas, sem nada a desfazer.
+     */
+    public static final Retirada SEM_FAIXAS = new Retirada(List.of(), 0);
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+    @Autowired
+    DisponibilidadeHorarioRepository disponibilidadeHorarioRepository;
+
+    private final Map<Long, NavigableMap<Integer, ContadorEmFaixas>> contadoresPorRestaurante = new ConcurrentHashMap<>();
+
+    /**
+     * Método para carregar os contadores dos restaurantes com faixas de capacidade.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+
+        restauranteRepository.consultarFaixasDeCapacidade().forEach(dados ->
+                habilitar(dados.restaurante_id(), dados.faixasDeCapacidade()));
+
+    }
+
+    /**
+     * Método para habilitar ou desabilitar as faixas de um restaurante, após o commit da transação
+     * corrente, para que os contadores partam dos lugares gravados.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param faixas         Quantidade de faixas de cada horário, ou null para desabilitar.
+     */
+    public void configurar(Long restaurante_id, Integer faixas) {
+
+        aposCommit(() -> {
+            if (faixas == null) {
+                desabilitar(restaurante_id);
+            } else {
+                habilitar(restaurante_id, faixas);
+            }
+        });
+
+    }
+
+    /**
+     * Método para dividir os lugares dos próximos horários de um restaurante em faixas.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param faixas         Quantidade de faixas de cada horário.
+     */
+    public void habilitar(Long restaurante_id, int faixas) {
+
+        NavigableMap<Integer, ContadorEmFaixas> contadores = new ConcurrentSkipListMap<>();
+
+        for (DadosLugaresHorarioDTO lugares : disponibilidadeHorarioRepository.consultarLugaresDoRestauranteAPartirDe(
+                restaurante_id, GradeDeHorarios.numeroDoSlot(LocalDateTime.now()))) {
+            contadores.put(GradeDeHorarios.numeroDoSlot(lugares.horario()),
+                    new ContadorEmFaixas(faixas, lugares.lugaresDisponiveis()));
+        }
+
+        contadoresPorRestaurante.put(restaurante_id, contadores);
+
+    }
+
+    /**
+     * Método para descartar os contadores de um restaurante, que volta a ser controlado apenas pelo banco.
+     *
+     * @param restaurante_id ID do restaurante.
+     */
+    public void desabilitar(Long restaurante_id) {
+
+        contadoresPorRestaurante.remove(restaurante_id);
+
+    }
+
+    /**
+     * @return true, caso os lugares do restaurante estejam divididos em faixas.
+     */
+    public boolean habilitado(Long restaurante_id) {
+
+        return contadoresPorRestaurante.containsKey(restaurante_id);
+
+    }
+
+    /**
+     * Método para retirar os lugares de um grupo de todos os horários de um intervalo.
+     *
+     * @param restaurante_id    ID do restaurante.
+     * @param inicio            Horário desejado.
+     * @param fim               Fim da reserva (exclusivo).
+     * @param quantidadePessoas Quantidade de lugares retirados.
+     * @return Optional com a Retirada, que volta aos contadores caso a transação seja desfeita, ou
+     * vazio, caso algum horário do intervalo não tenha lugares suficientes. Em restaurantes sem
+     * faixas, ou em horários fora dos contadores, retorna SEM_FAIXAS e a decisão fica com o banco.
+     */
+    public Optional<Retirada> retirar(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim,
+                                      int quantidadePessoas) {
+
+        NavigableMap<Integer, ContadorEmFaixas> contadores = contadoresDoIntervalo(restaurante_id, inicio, fim);
+
+        if (contadores.isEmpty() || contadores.firstKey() != GradeDeHorarios.numeroDoSlot(inicio)) {
+            return Optional.of(SEM_FAIXAS);
+        }
+
+        List<ContadorEmFaixas> retirados = new ArrayList<>();
+
+        for (ContadorEmFaixas contador : contadores.values()) {
+            if (!contador.retirar(quantidadePessoas)) {
+                retirados.forEach(retirado -> retirado.somar(quantidadePessoas));
+                return Optional.empty();
+            }
+            retirados.add(contador);
+        }
+
+        Retirada retirada = new Retirada(retirados, quantidadePessoas);
+        aposRollback(retirada::desfazer);
+
+        return Optional.of(retirada);
+
+    }
+
+    /**
+     * Método para retirar lugares ocupados por outro caminho, como as sobras das mesas escolhidas,
+     * sem verificar o total. Os lugares voltam caso a transação seja desfeita.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param inicio         Início do intervalo.
+     * @param fim            Fim do intervalo (exclusivo).
+     * @param lugares        Quantidade de lugares retirados.
+     */
+    public void consumir(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim, int lugares) {
+
+        if (lugares == 0) {
+            return;
+        }
+
+        Collection<ContadorEmFaixas> contadores = contadoresDoIntervalo(restaurante_id, inicio, fim).values();
+
+        if (!contadores.isEmpty()) {
+            Retirada retirada = new Retirada(List.copyOf(contadores), lugares);
+            contadores.forEach(contador -> contador.somar(-lugares));
+            aposRollback(retirada::desfazer);
+        }
+
+    }
+
+    /**
+     * Método para devolver lugares aos horários de um intervalo, após o commit da transação corrente.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param inicio         Início do intervalo.
+     * @param fim            Fim do intervalo (exclusivo).
+     * @param lugares        Quantidade de lugares devolvidos.
+     */
+    public void devolver(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim, int lugares) {
+
+        if (lugares == 0 || !habilitado(restaurante_id)) {
+            return;
+        }
+
+        aposCommit(() -> contadoresDoIntervalo(restaurante_id, inicio, fim).values()
+                .forEach(contador -> contador.somar(lugares)));
+
+    }
+
+    private NavigableMap<Integer, ContadorEmFaixas> contadoresDoIntervalo(Long restaurante_id, LocalDateTime inicio,
+                                                                          LocalDateTime fim) {
+
+        NavigableMap<Integer, ContadorEmFaixas> contadores = contadoresPorRestaurante.get(restaurante_id);
+
+        if (contadores == null) {
+            return Collections.emptyNavigableMap();
+        }
+
+        return contadores.subMap(GradeDeHorarios.numeroDoSlot(inicio), true, GradeDeHorarios.slotFinal(fim), false);
+
+    }
+
+    private static void aposRollback(Runnable acao) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        acao.run();
+                    }
+                }
+            });
+        }
+
+    }
+
+    private static void aposCommit(Runnable acao) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+
+    }
+
+    /**
+     * Lugares retirados dos contadores de um intervalo, devolvidos no máximo uma vez.
+     */
+    public static final class Retirada {
+
+        private final List<ContadorEmFaixas> contadores;
+        private final int lugares;
+        private final AtomicBoolean desfeita = new AtomicBoolean();
+
+        private Retirada(List<ContadorEmFaixas> contadores, int lugares) {
+
+            this.contadores = contadores;
+            this.lugares = lugares;
+
+        }
+
+        /**
+         * Método para devolver os lugares retirados, quando o banco recusa o grupo depois da retirada.
+         */
+        public void desfazer() {
+
+            if (desfeita.compareAndSet(false, true)) {
+                contadores.forEach(contador -> contador.somar(lugares));
+            }
+
+        }
+
+    }
+
+}
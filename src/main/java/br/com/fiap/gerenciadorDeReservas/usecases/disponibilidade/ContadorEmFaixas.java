@@ -0,0 +1,110 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Contador de lugares dividido em faixas independentes, no estilo do LongAdder.
+ * <p>
+ * Cada thread retira lugares da sua faixa com um compare-and-set, então retiradas concorrentes
+ * caem em faixas diferentes e não disputam a mesma posição de memória. Só quando a faixa não tem
+ * lugares suficientes as faixas são rebalanceadas: o rebalanceamento esvazia todas elas, retira
+ * os lugares do total, caso haja, e redistribui o restante. O total nunca é dividido em mais
+ * lugares do que existem, então o contador nunca entrega mais lugares do que recebeu.
+ */
+public final class ContadorEmFaixas {
+
+    private final AtomicIntegerArray faixas;
+
+    /**
+     * @param quantidadeFaixas Quantidade de faixas do contador.
+     * @param lugares          Lugares iniciais, distribuídos entre as faixas.
+     */
+    public ContadorEmFaixas(int quantidadeFaixas, int lugares) {
+
+        this.faixas = new AtomicIntegerArray(quantidadeFaixas);
+        distribuir(lugares);
+
+    }
+
+    /**
+     * Método para retirar lugares do contador.
+     *
+     * @param quantidade Quantidade de lugares retirados.
+     * @return true, caso o contador tivesse lugares suficientes.
+     */
+    public boolean retirar(int quantidade) {
+
+        int faixa = faixaDaThread();
+
+        for (int atual = faixas.get(faixa); atual >= quantidade; atual = faixas.get(faixa)) {
+            if (faixas.compareAndSet(faixa, atual, atual - quantidade)) {
+                return true;
+            }
+        }
+
+        return rebalancearERetirar(quantidade);
+
+    }
+
+    /**
+     * Método para somar lugares ao contador, sem verificar o total; variações negativas registram
+     * lugares ocupados por outro caminho.
+     *
+     * @param variacao Quantidade de lugares somada.
+     */
+    public void somar(int variacao) {
+
+        faixas.addAndGet(faixaDaThread(), variacao);
+
+    }
+
+    /**
+     * @return Soma dos lugares de todas as faixas.
+     */
+    public int total() {
+
+        int total = 0;
+
+        for (int faixa = 0; faixa < faixas.length(); faixa++) {
+            total += faixas.get(faixa);
+        }
+
+        return total;
+
+    }
+
+    private synchronized boolean rebalancearERetirar(int quantidade) {
+
+        int total = 0;
+
+        for (int faixa = 0; faixa < faixas.length(); faixa++) {
+            total += faixas.getAndSet(faixa, 0);
+        }
+
+        boolean retirado = total >= quantidade;
+
+        distribuir(retirado ? total - quantidade : total);
+
+        return retirado;
+
+    }
+
+    private void distribuir(int lugares) {
+
+        int porFaixa = Math.floorDiv(lugares, faixas.length());
+        int resto = Math.floorMod(lugares, faixas.length());
+
+        // As somas preservam os lugares devolvidos por outras threads durante o rebalanceamento
+        for (int faixa = 0; faixa < faixas.length(); faixa++) {
+            faixas.addAndGet(faixa, porFaixa + (faixa < resto ? 1 : 0));
+        }
+
+    }
+
+    private int faixaDaThread() {
+
+        return (int) (Thread.currentThread().getId() % faixas.length());
+
+    }
+
+}
@@ -0,0 +1,328 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.DisponibilidadeHorarioEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosIndiceDisponibilidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.DisponibilidadeHorarioRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.MesaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.EventoOcupacaoDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.AlocadorDeMesas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Classe responsável pelos lugares de cada horário dos restaurantes.
+ * <p>
+ * A capacidade do restaurante é a quantidade de lugares em cada horário de funcionamento. Os
+ * lugares livres ficam na tb_disponibilidade_horario, um registro por slot da GradeDeHorarios na
+ * granularidade do restaurante, e uma reserva ocupa todos os slots do intervalo [início, fim) da
+ * sua duração. As linhas do intervalo são bloqueadas em ordem antes da verificação, então reservas
+ * concorrentes com intervalos sobrepostos, que sempre compartilham ao menos um horário, são feitas
+ * uma de cada vez e nunca ultrapassam a capacidade. A verificação percorre apenas os horários do
+ * intervalo, sem consultar as reservas do dia. O IndiceDeDisponibilidade é ajustado após o commit.
+ * <p>
+ * Em restaurantes com mesas cadastradas, a capacidade é a soma das mesas e os lugares livres de cada
+ * horário são sempre a soma das mesas livres nele. Uma mesa só é escolhida se estiver livre durante
+ * todo o intervalo.
+ * <p>
+ * Em restaurantes com faixas de capacidade, os lugares do grupo são retirados da CapacidadeEmFaixas
+ * antes do bloqueio das linhas, e os pedidos para horários esgotados são recusados sem bloqueá-las.
+ * <p>
+ * Cada ocupação emite um EventoOcupacaoDeLugares, com a espera pelo bloqueio das linhas.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ControleDeLugares {
+
+    private static final int MESES_DE_HORARIOS = 3;
+
+    @Autowired
+    DisponibilidadeHorarioRepository disponibilidadeHorarioRepository;
+    @Autowired
+    MesaRepository mesaRepository;
+    @Autowired
+    IndiceDeDisponibilidade indiceDeDisponibilidade;
+    @Autowired
+    CapacidadeEmFaixas capacidadeEmFaixas;
+    @Autowired
+    RegistroDeMetricas registroDeMetricas;
+
+    /**
+     * Método para criar os horários dos próximos meses de um restaurante recém gravado, cada um com a
+     * capacidade completa de lugares, e incluí-lo no IndiceDeDisponibilidade.
+     *
+     * @param restauranteEntity Objeto com o restaurante gravado.
+     * @param calendario        Horários de funcionamento do restaurante.
+     */
+    @Transactional
+    public void criarHorarios(RestauranteEntity restauranteEntity, CalendarioDeFuncionamento calendario) {
+
+        LocalDate hoje = LocalDate.now();
+
+        List<LocalDateTime> horarios = hoje.datesUntil(hoje.plusMonths(MESES_DE_HORARIOS))
+                .flatMap(dia -> calendario.horariosDoDia(dia, restauranteEntity.getGranularidadeMinutos()).stream())
+                .toList();
+
+        disponibilidadeHorarioRepository.saveAll(horarios.stream()
+                .map(horario -> new DisponibilidadeHorarioEntity(restauranteEntity,
+                        GradeDeHorarios.numeroDoSlot(horario), horario, restauranteEntity.getCapacidade()))
+                .toList());
+
+        indiceDeDisponibilidade.registrarRestaurante(
+                new DadosIndiceDisponibilidadeDTO(
+                        restauranteEntity.getId(),
+                        restauranteEntity.getNome(),
+                        restauranteEntity.getEnderecoEntity() == null
+                                ? null : restauranteEntity.getEnderecoEntity().getCidade(),
+                        restauranteEntity.getTipoCulinaria(),
+                        restauranteEntity.getGranularidadeMinutos()
+                ),
+                horarios.stream()
+                        .map(horario -> new DadosLugaresHorarioDTO(restauranteEntity.getId(), horario,
+                                restauranteEntity.getCapacidade()))
+                        .toList()
+        );
+
+    }
+
+    /**
+     * Método para ocupar os lugares de um grupo durante um intervalo e escolher as suas mesas. Os lugares
+     * que sobram nas mesas escolhidas também ficam ocupados.
+     *
+     * @param restaurante_id    ID do restaurante.
+     * @param inicio            Horário desejado.
+     * @param fim               Fim da reserva (exclusivo).
+     * @param quantidadePessoas Quantidade de pessoas do grupo.
+     * @return Optional com as mesas escolhidas (lista vazia em restaurantes sem mesas cadastradas) ou
+     * vazio, caso o horário não exista ou o intervalo não tenha lugares suficientes.
+     */
+    @Transactional
+    public Optional<List<MesaEntity>> ocuparLugares(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim,
+                                                    int quantidadePessoas) {
+
+        EventoOcupacaoDeLugares evento = new EventoOcupacaoDeLugares();
+        evento.begin();
+
+        try {
+            return ocuparLugares(restaurante_id, inicio, fim, quantidadePessoas, evento);
+        } finally {
+            evento.concluir(restaurante_id, inicio, quantidadePessoas);
+        }
+
+    }
+
+    private Optional<List<MesaEntity>> ocuparLugares(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim,
+                                                     int quantidadePessoas, EventoOcupacaoDeLugares evento) {
+
+        if (!GradeDeHorarios.alinhado(inicio, GradeDeHorarios.MINUTOS_POR_SLOT)) {
+            evento.resultado(EventoOcupacaoDeLugares.HORARIO_DESALINHADO);
+            return Optional.empty();
+        }
+
+        // Horários esgotados são recusados pelas faixas de capacidade, sem bloquear as linhas
+        Optional<CapacidadeEmFaixas.Retirada> retirada = capacidadeEmFaixas.retirar(restaurante_id, inicio, fim,
+                quantidadePessoas);
+
+        if (retirada.isEmpty()) {
+            evento.resultado(EventoOcupacaoDeLugares.ESGOTADO_NAS_FAIXAS);
+            return Optional.empty();
+        }
+
+        int slotInicial = GradeDeHorarios.numeroDoSlot(inicio);
+
+        long inicioBloqueio = evento.agora();
+        List<DisponibilidadeHorarioEntity> horarios = disponibilidadeHorarioRepository
+                .bloquearHorarios(restaurante_id, slotInicial, GradeDeHorarios.slotFinal(fim));
+        evento.bloqueio(inicioBloqueio, horarios.size());
+
+        // O horário só existe se coincidir com um slot da granularidade do restaurante
+        if (horarios.isEmpty() || horarios.get(0).getSlot() != slotInicial
+                || menorQuantidadeDeLugares(horarios) < quantidadePessoas) {
+            retirada.get().desfazer();
+            evento.resultado(EventoOcupacaoDeLugares.SEM_LUGARES);
+            return Optional.empty();
+        }
+
+        long inicioMesas = evento.agora();
+        Optional<List<MesaEntity>> mesas = escolherMesas(restaurante_id, inicio, fim, quantidadePessoas);
+        evento.escolhaMesas(inicioMesas);
+
+        if (mesas.isEmpty()) {
+            retirada.get().desfazer();
+            evento.resultado(EventoOcupacaoDeLugares.SEM_MESAS);
+            return Optional.empty();
+        }
+
+        int lugaresOcupados = AlocadorDeMesas.lugaresOcupados(mesas.get(), quantidadePessoas);
+
+        if (menorQuantidadeDeLugares(horarios) < lugaresOcupados) {
+            throw new IllegalStateException("As mesas livres não comportam os lugares livres do horário");
+        }
+
+        horarios.forEach(horario -> horario.setLugaresDisponiveis(horario.getLugaresDisponiveis() - lugaresOcupados));
+        indiceDeDisponibilidade.ajustarLugares(restaurante_id, inicio, fim, -lugaresOcupados);
+        capacidadeEmFaixas.consumir(restaurante_id, inicio, fim, lugaresOcupados - quantidadePessoas);
+        registroDeMetricas.incrementar(RegistroDeMetricas.LUGARES_ATUALIZADOS, "ocupar");
+        evento.resultado(EventoOcupacaoDeLugares.OCUPADO);
+
+        return mesas;
+
+    }
+
+    /**
+     * Método para devolver os lugares de um grupo aos horários de um intervalo.
+     *
+     * @param restaurante_id    ID do restaurante.
+     * @param inicio            Início do intervalo liberado.
+     * @param fim               Fim do intervalo liberado (exclusivo).
+     * @param quantidadePessoas Quantidade de lugares devolvidos.
+     */
+    @Transactional
+    public void liberarLugares(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim, int quantidadePessoas) {
+
+        List<DisponibilidadeHorarioEntity> horarios = disponibilidadeHorarioRepository
+                .bloquearHorarios(restaurante_id, GradeDeHorarios.numeroDoSlot(inicio), GradeDeHorarios.slotFinal(fim));
+
+        if (!horarios.isEmpty()) {
+            horarios.forEach(horario -> horario.setLugaresDisponiveis(horario.getLugaresDisponiveis() + quantidadePessoas));
+            indiceDeDisponibilidade.ajustarLugares(restaurante_id, inicio, fim, quantidadePessoas);
+            capacidadeEmFaixas.devolver(restaurante_id, inicio, fim, quantidadePessoas);
+            registroDeMetricas.incrementar(RegistroDeMetricas.LUGARES_ATUALIZADOS, "liberar");
+        }
+
+    }
+
+    /**
+     * Método para mover os lugares de um grupo de um intervalo para outro numa única operação. Os
+     * horários dos dois intervalos são bloqueados juntos e em ordem crescente de slot, a mesma ordem
+     * das demais operações, então reagendamentos concorrentes em sentidos opostos nunca esperam um
+     * pelo outro em ciclo. Caso o novo intervalo não comporte o grupo, nada é alterado. As alocações
+     * atuais do grupo devem ser excluídas antes, para que as suas mesas possam ser escolhidas de novo.
+     *
+     * @param restaurante_id    ID do restaurante.
+     * @param inicioAtual       Início do intervalo ocupado pelo grupo.
+     * @param fimAtual          Fim do intervalo ocupado pelo grupo (exclusivo).
+     * @param lugaresAtuais     Quantidade de lugares ocupados pelo grupo.
+     * @param novoInicio        Novo horário desejado.
+     * @param novoFim           Fim do novo intervalo (exclusivo).
+     * @param quantidadePessoas Quantidade de pessoas do grupo.
+     * @return Optional com as mesas escolhidas no novo intervalo (lista vazia em restaurantes sem mesas
+     * cadastradas) ou vazio, caso o horário não exista ou o intervalo não tenha lugares suficientes.
+     */
+    @Transactional
+    public Optional<List<MesaEntity>> realocarLugares(Long restaurante_id, LocalDateTime inicioAtual,
+                                                      LocalDateTime fimAtual, int lugaresAtuais,
+                                                      LocalDateTime novoInicio, LocalDateTime novoFim,
+                                                      int quantidadePessoas) {
+
+        if (!GradeDeHorarios.alinhado(novoInicio, GradeDeHorarios.MINUTOS_POR_SLOT)) {
+            return Optional.empty();
+        }
+
+        int slotAtual = GradeDeHorarios.numeroDoSlot(inicioAtual);
+        int slotFinalAtual = GradeDeHorarios.slotFinal(fimAtual);
+        int slotNovo = GradeDeHorarios.numeroDoSlot(novoInicio);
+        int slotFinalNovo = GradeDeHorarios.slotFinal(novoFim);
+
+        List<DisponibilidadeHorarioEntity> horarios = bloquearIntervalos(restaurante_id, slotAtual, slotFinalAtual,
+                slotNovo, slotFinalNovo);
+
+        // Lugares de cada horário depois de devolver os do grupo
+        Map<DisponibilidadeHorarioEntity, Integer> lugaresLiberados = new IdentityHashMap<>();
+        horarios.forEach(horario -> lugaresLiberados.put(horario, horario.getLugaresDisponiveis()
+                + (contem(horario, slotAtual, slotFinalAtual) ? lugaresAtuais : 0)));
+
+        List<DisponibilidadeHorarioEntity> novosHorarios = horarios.stream()
+                .filter(horario -> contem(horario, slotNovo, slotFinalNovo))
+                .toList();
+
+        int menorQuantidadeDeLugares = novosHorarios.stream().mapToInt(lugaresLiberados::get).min().orElse(0);
+
+        if (novosHorarios.isEmpty() || novosHorarios.get(0).getSlot() != slotNovo
+                || menorQuantidadeDeLugares < quantidadePessoas) {
+            return Optional.empty();
+        }
+
+        Optional<List<MesaEntity>> mesas = escolherMesas(restaurante_id, novoInicio, novoFim, quantidadePessoas);
+
+        if (mesas.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int lugaresOcupados = AlocadorDeMesas.lugaresOcupados(mesas.get(), quantidadePessoas);
+
+        if (menorQuantidadeDeLugares < lugaresOcupados) {
+            throw new IllegalStateException("As mesas livres não comportam os lugares livres do horário");
+        }
+
+        lugaresLiberados.forEach((horario, lugares) -> horario.setLugaresDisponiveis(
+                lugares - (contem(horario, slotNovo, slotFinalNovo) ? lugaresOcupados : 0)));
+
+        indiceDeDisponibilidade.ajustarLugares(restaurante_id, inicioAtual, fimAtual, lugaresAtuais);
+        indiceDeDisponibilidade.ajustarLugares(restaurante_id, novoInicio, novoFim, -lugaresOcupados);
+        capacidadeEmFaixas.consumir(restaurante_id, novoInicio, novoFim, lugaresOcupados);
+        capacidadeEmFaixas.devolver(restaurante_id, inicioAtual, fimAtual, lugaresAtuais);
+        registroDeMetricas.incrementar(RegistroDeMetricas.LUGARES_ATUALIZADOS, "realocar");
+
+        return mesas;
+
+    }
+
+    private List<DisponibilidadeHorarioEntity> bloquearIntervalos(Long restaurante_id, int slotAtual,
+                                                                  int slotFinalAtual, int slotNovo,
+                                                                  int slotFinalNovo) {
+
+        // Intervalos que se tocam são bloqueados numa única faixa
+        if (Math.max(slotAtual, slotNovo) <= Math.min(slotFinalAtual, slotFinalNovo)) {
+            return disponibilidadeHorarioRepository.bloquearHorarios(restaurante_id,
+                    Math.min(slotAtual, slotNovo), Math.max(slotFinalAtual, slotFinalNovo));
+        }
+
+        boolean atualPrimeiro = slotAtual < slotNovo;
+
+        List<DisponibilidadeHorarioEntity> horarios = new ArrayList<>(disponibilidadeHorarioRepository
+                .bloquearHorarios(restaurante_id, atualPrimeiro ? slotAtual : slotNovo,
+                        atualPrimeiro ? slotFinalAtual : slotFinalNovo));
+        horarios.addAll(disponibilidadeHorarioRepository
+                .bloquearHorarios(restaurante_id, atualPrimeiro ? slotNovo : slotAtual,
+                        atualPrimeiro ? slotFinalNovo : slotFinalAtual));
+
+        return horarios;
+
+    }
+
+    private Optional<List<MesaEntity>> escolherMesas(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim,
+                                                     int quantidadePessoas) {
+
+        List<MesaEntity> mesasLivres = mesaRepository.consultarMesasLivres(restaurante_id, inicio, fim);
+
+        if (mesasLivres.isEmpty() && !mesaRepository.possuiMesas(restaurante_id)) {
+            return Optional.of(List.of());
+        }
+
+        // Os lugares podem estar livres em mesas diferentes ao longo do intervalo
+        return AlocadorDeMesas.escolherMesas(mesasLivres, quantidadePessoas);
+
+    }
+
+    private static boolean contem(DisponibilidadeHorarioEntity horario, int slotInicial, int slotFinal) {
+
+        return horario.getSlot() >= slotInicial && horario.getSlot() < slotFinal;
+
+    }
+
+    private static int menorQuantidadeDeLugares(List<DisponibilidadeHorarioEntity> horarios) {
+
+        return horarios.stream().mapToInt(DisponibilidadeHorarioEntity::getLugaresDisponiveis).min().orElse(0);
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+/**
+ * Numeração dos horários de funcionamento dos restaurantes.
+ * <p>
+ * O tempo é dividido em slots de 15 minutos, numerados a partir da época, e cada restaurante
+ * funciona em múltiplos da sua granularidade (15, 30 ou 60 minutos). Os lugares livres, os
+ * bloqueios e o IndiceDeDisponibilidade são indexados pelo número do slot: um restaurante de 60
+ * minutos grava um slot a cada quatro, então a granularidade não altera o custo dos demais, e as
+ * consultas de um intervalo são faixas de inteiros em vez de comparações de data e hora.
+ */
+public final class GradeDeHorarios {
+
+    public static final int MINUTOS_POR_SLOT = 15;
+
+    private static final Set<Integer> GRANULARIDADES = Set.of(15, 30, 60);
+    private static final long SEGUNDOS_POR_SLOT = MINUTOS_POR_SLOT * 60L;
+
+    private GradeDeHorarios() {
+    }
+
+    /**
+     * Método para validar a granularidade informada para um restaurante.
+     *
+     * @param granularidadeMinutos Granularidade informada, ou null para a padrão.
+     * @return Granularidade do restaurante, em minutos.
+     * @throws IllegalArgumentException Caso a granularidade não seja de 15, 30 ou 60 minutos.
+     */
+    public static int validarGranularidade(Integer granularidadeMinutos) {
+
+        if (granularidadeMinutos == null) {
+            return RestauranteEntity.GRANULARIDADE_PADRAO_MINUTOS;
+        }
+
+        if (!GRANULARIDADES.contains(granularidadeMinutos)) {
+            throw new IllegalArgumentException("A granularidade dos horários deve ser de 15, 30 ou 60 minutos");
+        }
+
+        return granularidadeMinutos;
+
+    }
+
+    /**
+     * @return Número do slot que contém o horário.
+     */
+    public static int numeroDoSlot(LocalDateTime horario) {
+
+        return (int) Math.floorDiv(horario.toEpochSecond(ZoneOffset.UTC), SEGUNDOS_POR_SLOT);
+
+    }
+
+    /**
+     * @return Número do primeiro slot que começa no horário ou depois dele; usado como fim exclusivo
+     * de um intervalo.
+     */
+    public static int slotFinal(LocalDateTime horario) {
+
+        int slot = numeroDoSlot(horario);
+
+        return inicioDoSlot(slot).isBefore(horario) ? slot + 1 : slot;
+
+    }
+
+    /**
+     * @return Horário de início do slot.
+     */
+    public static LocalDateTime inicioDoSlot(int slot) {
+
+        return LocalDateTime.ofEpochSecond(slot * SEGUNDOS_POR_SLOT, 0, ZoneOffset.UTC);
+
+    }
+
+    /**
+     * @return true, caso o horário seja o início de um slot da granularidade informada.
+     */
+    public static boolean alinhado(LocalDateTime horario, int granularidadeMinutos) {
+
+        int slot = numeroDoSlot(horario);
+
+        return inicioDoSlot(slot).equals(horario) && Math.floorMod(slot, passo(granularidadeMinutos)) == 0;
+
+    }
+
+    /**
+     * @return Quantidade de slots entre dois horários de funcionamento consecutivos.
+     */
+    public static int passo(int granularidadeMinutos) {
+
+        return granularidadeMinutos / MINUTOS_POR_SLOT;
+
+    }
+
+}
@@ -0,0 +1,408 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosAlteracaoDisponibilidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosDisponibilidadeRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosHorarioDisponivelDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosIndiceDisponibilidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.DisponibilidadeHorarioRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * Índice em memória da disponibilidade dos restaurantes, usado para responder às buscas
+ * de horários livres sem consultar as reservas.
+ * <p>
+ * Cada restaurante mantém os lugares livres dos horários de cada dia numa ArvoreDeSegmentos,
+ * espelhando a tb_disponibilidade_horario e indexada pelo número do slot na GradeDeHorarios. Como
+ * uma reserva ocupa todos os horários da sua duração, os lugares livres para um grupo são o menor
+ * valor do intervalo, consultado em O(log n), assim como a ocupação ou a liberação do intervalo.
+ * <p>
+ * O índice é carregado ao subir a aplicação e atualizado, após o commit, a cada criação de
+ * restaurante, reserva ou cancelamento; os lugares atualizados são transmitidos aos assinantes da
+ * disponibilidade do restaurante pelo TransmissorDeDisponibilidade.
+ */
+@Service
+public class IndiceDeDisponibilidade {
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+    @Autowired
+    DisponibilidadeHorarioRepository disponibilidadeHorarioRepository;
+    @Autowired
+    TransmissorDeDisponibilidade transmissorDeDisponibilidade;
+
+    private final Map<Long, DisponibilidadeRestaurante> restaurantes = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> restaurantesPorCidade = new ConcurrentHashMap<>();
+    private final Map<TipoCulinariaEnum, Set<Long>> restaurantesPorCulinaria = new ConcurrentHashMap<>();
+
+    /**
+     * Método para carregar o índice com os restaurantes gravados no banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+
+        restauranteRepository.consultarDadosIndiceDisponibilidade().forEach(this::indexar);
+        definirLugares(disponibilidadeHorarioRepository.consultarLugaresAPartirDe(
+                GradeDeHorarios.numeroDoSlot(LocalDateTime.now())));
+
+    }
+
+    /**
+     * Método para incluir um restaurante no índice, após o commit da transação corrente.
+     *
+     * @param dadosIndice Objeto com os dados do restaurante.
+     * @param lugares     Lista com os lugares livres de cada horário do restaurante.
+     */
+    public void registrarRestaurante(DadosIndiceDisponibilidadeDTO dadosIndice, List<DadosLugaresHorarioDTO> lugares) {
+
+        aposCommit(() -> {
+            indexar(dadosIndice);
+            definirLugares(lugares);
+        });
+
+    }
+
+    /**
+     * Método para ajustar os lugares livres dos horários de um intervalo, após o commit da transação corrente.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param inicio         Início do intervalo.
+     * @param fim            Fim do intervalo (exclusivo).
+     * @param variacao       Quantidade de lugares somada a cada horário (negativa para ocupação).
+     */
+    public void ajustarLugares(Long restaurante_id, LocalDateTime inicio, LocalDateTime fim, int variacao) {
+
+        aposCommit(() -> {
+            DisponibilidadeRestaurante disponibilidade = restaurantes.get(restaurante_id);
+            if (disponibilidade != null) {
+                int slotInicial = GradeDeHorarios.numeroDoSlot(inicio);
+                int slotFinal = GradeDeHorarios.slotFinal(fim);
+                disponibilidade.diasDoIntervalo(slotInicial, slotFinal)
+                        .forEach(dia -> dia.somar(slotInicial, slotFinal, variacao));
+                if (transmissorDeDisponibilidade.possuiAssinantes(restaurante_id)) {
+                    transmissorDeDisponibilidade.publicar(new DadosAlteracaoDisponibilidadeDTO(restaurante_id,
+                            disponibilidade.horarios(slotInicial, slotFinal)));
+                }
+            }
+        });
+
+    }
+
+    /**
+     * Método para buscar os restaurantes com lugares para o grupo e os seus próximos horários
+     * disponíveis dentro de uma janela de tempo.
+     *
+     * @param cidade             Cidade do restaurante (opcional, sem diferenciar maiúsculas e acentos).
+     * @param culinaria          Culinária do restaurante (opcional).
+     * @param inicio             Início da janela de busca.
+     * @param fim                Fim da janela de busca.
+     * @param quantidadePessoas  Quantidade de lugares necessários em cada horário.
+     * @param duracaoMinutos     Duração da reserva; os lugares devem estar livres durante toda ela.
+     * @param quantidadeHorarios Quantidade máxima de horários retornados por restaurante.
+     * @return Lista de DadosDisponibilidadeRestauranteDTO, ordenada pelo horário livre mais próximo.
+     */
+    public List<DadosDisponibilidadeRestauranteDTO> buscar(String cidade, TipoCulinariaEnum culinaria,
+                                                           LocalDateTime inicio, LocalDateTime fim,
+                                                           int quantidadePessoas, int duracaoMinutos,
+                                                           int quantidadeHorarios) {
+
+        List<DadosDisponibilidadeRestauranteDTO> resultado = new ArrayList<>();
+
+        int slotInicial = GradeDeHorarios.slotFinal(inicio);
+        int slotLimite = GradeDeHorarios.numeroDoSlot(fim) + 1;
+        int slotsDaDuracao = Math.max(1, -Math.floorDiv(-duracaoMinutos, GradeDeHorarios.MINUTOS_POR_SLOT));
+
+        for (Long restaurante_id : candidatos(cidade, culinaria)) {
+
+            DisponibilidadeRestaurante disponibilidade = restaurantes.get(restaurante_id);
+            List<DadosHorarioDisponivelDTO> horariosLivres = new ArrayList<>();
+
+            busca:
+            for (LugaresDoDia dia : disponibilidade.diasDoIntervalo(slotInicial, slotLimite)) {
+                for (int slot = dia.proximoHorario(slotInicial); slot < slotLimite; slot = dia.proximoHorario(slot + 1)) {
+
+                    int lugares = disponibilidade.lugaresLivres(slot, slot + slotsDaDuracao);
+
+                    if (lugares >= quantidadePessoas) {
+                        horariosLivres.add(new DadosHorarioDisponivelDTO(GradeDeHorarios.inicioDoSlot(slot), lugares));
+                        if (horariosLivres.size() == quantidadeHorarios) {
+                            break busca;
+                        }
+                    }
+                }
+            }
+
+            if (!horariosLivres.isEmpty()) {
+                resultado.add(new DadosDisponibilidadeRestauranteDTO(
+                        restaurante_id,
+                        disponibilidade.nome,
+                        disponibilidade.cidade,
+                        disponibilidade.culinaria,
+                        horariosLivres
+                ));
+            }
+        }
+
+        resultado.sort(Comparator
+                .comparing((DadosDisponibilidadeRestauranteDTO dados) -> dados.horariosDisponiveis().get(0).horario())
+                .thenComparing(DadosDisponibilidadeRestauranteDTO::nomeRestaurante));
+
+        return resultado;
+
+    }
+
+    private Collection<Long> candidatos(String cidade, TipoCulinariaEnum culinaria) {
+
+        Collection<Long> porCidade = cidade == null || cidade.isBlank()
+                ? null : restaurantesPorCidade.getOrDefault(normalizar(cidade), Set.of());
+        Collection<Long> porCulinaria = culinaria == null
+                ? null : restaurantesPorCulinaria.getOrDefault(culinaria, Set.of());
+
+        if (porCidade == null && porCulinaria == null) {
+            return restaurantes.keySet();
+        } else if (porCidade == null) {
+            return porCulinaria;
+        } else if (porCulinaria == null) {
+            return porCidade;
+        }
+
+        // Percorre o menor conjunto e filtra pelo maior
+        Collection<Long> menor = porCidade.size() <= porCulinaria.size() ? porCidade : porCulinaria;
+        Collection<Long> maior = menor == porCidade ? porCulinaria : porCidade;
+
+        return menor.stream().filter(maior::contains).toList();
+
+    }
+
+    private void indexar(DadosIndiceDisponibilidadeDTO dadosIndice) {
+
+        DisponibilidadeRestaurante disponibilidade = new DisponibilidadeRestaurante(dadosIndice);
+
+        restaurantes.merge(dadosIndice.restaurante_id(), disponibilidade, (atual, nova) -> atual);
+
+        if (disponibilidade.cidade != null) {
+            restaurantesPorCidade.computeIfAbsent(normalizar(disponibilidade.cidade), chave -> ConcurrentHashMap.newKeySet())
+                    .add(dadosIndice.restaurante_id());
+        }
+        if (disponibilidade.culinaria != null) {
+            restaurantesPorCulinaria.computeIfAbsent(disponibilidade.culinaria, chave -> ConcurrentHashMap.newKeySet())
+                    .add(dadosIndice.restaurante_id());
+        }
+
+    }
+
+    private void definirLugares(List<DadosLugaresHorarioDTO> lugares) {
+
+        Map<Long, Map<LocalDate, List<DadosLugaresHorarioDTO>>> lugaresPorRestauranteEDia = lugares.stream()
+                .collect(Collectors.groupingBy(DadosLugaresHorarioDTO::restaurante_id,
+                        Collectors.groupingBy(horario -> horario.horario().toLocalDate())));
+
+        lugaresPorRestauranteEDia.forEach((restaurante_id, lugaresPorDia) -> {
+            DisponibilidadeRestaurante disponibilidade = restaurantes.get(restaurante_id);
+            if (disponibilidade != null) {
+                lugaresPorDia.forEach((dia, horarios) ->
+                        disponibilidade.dias.put(dia, new LugaresDoDia(horarios, disponibilidade.passo)));
+            }
+        });
+
+    }
+
+    /**
+     * Executa a atualização somente após o commit, para que o índice não reflita transações desfeitas.
+     * Fora de uma transação a atualização é imediata.
+     */
+    private static void aposCommit(Runnable atualizacao) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    atualizacao.run();
+                }
+            });
+        } else {
+            atualizacao.run();
+        }
+
+    }
+
+    private static String normalizar(String texto) {
+
+        return Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+
+    }
+
+    /**
+     * Dados de disponibilidade de um restaurante mantidos no índice.
+     */
+    private static final class DisponibilidadeRestaurante {
+
+        private final String nome;
+        private final String cidade;
+        private final TipoCulinariaEnum culinaria;
+        private final int passo;
+        private final NavigableMap<LocalDate, LugaresDoDia> dias = new ConcurrentSkipListMap<>();
+
+        private DisponibilidadeRestaurante(DadosIndiceDisponibilidadeDTO dadosIndice) {
+            this.nome = dadosIndice.nomeRestaurante();
+            this.cidade = dadosIndice.cidade();
+            this.culinaria = dadosIndice.culinaria();
+            this.passo = GradeDeHorarios.passo(dadosIndice.granularidadeMinutos() == null
+                    ? RestauranteEntity.GRANULARIDADE_PADRAO_MINUTOS : dadosIndice.granularidadeMinutos());
+        }
+
+        private Collection<LugaresDoDia> diasDoIntervalo(int slotInicial, int slotFinal) {
+
+            if (slotFinal <= slotInicial) {
+                return List.of();
+            }
+
+            return dias.subMap(dia(slotInicial), true, dia(slotFinal - 1), true).values();
+
+        }
+
+        /**
+         * Lugares livres em todos os slots do intervalo; uma reserva que atravessa a meia-noite
+         * consulta a árvore dos dois dias.
+         */
+        private int lugaresLivres(int slotInicial, int slotFinal) {
+
+            int lugares = Integer.MAX_VALUE;
+
+            for (LugaresDoDia dia : diasDoIntervalo(slotInicial, slotFinal)) {
+                lugares = Math.min(lugares, dia.minimo(slotInicial, slotFinal));
+            }
+
+            return lugares;
+
+        }
+
+        /**
+         * Lugares livres de cada horário de funcionamento do intervalo.
+         */
+        private List<DadosHorarioDisponivelDTO> horarios(int slotInicial, int slotFinal) {
+
+            List<DadosHorarioDisponivelDTO> horarios = new ArrayList<>();
+
+            for (LugaresDoDia dia : diasDoIntervalo(slotInicial, slotFinal)) {
+                dia.horarios(slotInicial, slotFinal, horarios);
+            }
+
+            return horarios;
+
+        }
+
+        private static LocalDate dia(int slot) {
+
+            return GradeDeHorarios.inicioDoSlot(slot).toLocalDate();
+
+        }
+
+    }
+
+    /**
+     * Lugares livres dos horários de um dia de um restaurante. A posição de um slot na árvore é a sua
+     * distância, em passos da granularidade, até o primeiro horário do dia, então nenhuma data é
+     * guardada nem comparada. Posições sem horário de funcionamento não limitam a ocupação, assim
+     * como na tb_disponibilidade_horario, e não são oferecidas nas buscas.
+     */
+    private static final class LugaresDoDia {
+
+        private static final int SEM_HORARIO = Integer.MAX_VALUE / 2;
+
+        private final int primeiroSlot;
+        private final int passo;
+        private final BitSet horarios = new BitSet();
+        private final ArvoreDeSegmentos lugaresLivres;
+
+        private LugaresDoDia(List<DadosLugaresHorarioDTO> lugares, int passo) {
+
+            this.passo = passo;
+            this.primeiroSlot = lugares.stream()
+                    .mapToInt(horario -> GradeDeHorarios.numeroDoSlot(horario.horario()))
+                    .min().orElse(0);
+
+            int[] valores = new int[lugares.stream()
+                    .mapToInt(horario -> GradeDeHorarios.numeroDoSlot(horario.horario()))
+                    .map(slot -> (slot - primeiroSlot) / passo + 1)
+                    .max().orElse(0)];
+            Arrays.fill(valores, SEM_HORARIO);
+
+            for (DadosLugaresHorarioDTO horario : lugares) {
+                int posicao = (GradeDeHorarios.numeroDoSlot(horario.horario()) - primeiroSlot) / passo;
+                valores[posicao] = horario.lugaresDisponiveis();
+                horarios.set(posicao);
+            }
+
+            this.lugaresLivres = new ArvoreDeSegmentos(valores);
+
+        }
+
+        /**
+         * @return Primeiro slot de funcionamento igual ou posterior ao informado ou Integer.MAX_VALUE,
+         * caso o dia não tenha outro horário.
+         */
+        private int proximoHorario(int slot) {
+
+            int posicao = horarios.nextSetBit(posicao(slot));
+
+            return posicao < 0 ? Integer.MAX_VALUE : primeiroSlot + posicao * passo;
+
+        }
+
+        private synchronized void somar(int slotInicial, int slotFinal, int variacao) {
+
+            lugaresLivres.somar(posicao(slotInicial), posicao(slotFinal), variacao);
+
+        }
+
+        private synchronized void horarios(int slotInicial, int slotFinal, List<DadosHorarioDisponivelDTO> resultado) {
+
+            int ate = posicao(slotFinal);
+
+            for (int posicao = horarios.nextSetBit(posicao(slotInicial)); posicao >= 0 && posicao < ate;
+                 posicao = horarios.nextSetBit(posicao + 1)) {
+                resultado.add(new DadosHorarioDisponivelDTO(GradeDeHorarios.inicioDoSlot(primeiroSlot + posicao * passo),
+                        lugaresLivres.minimo(posicao, posicao + 1)));
+            }
+
+        }
+
+        private synchronized int minimo(int slotInicial, int slotFinal) {
+
+            return lugaresLivres.minimo(posicao(slotInicial), posicao(slotFinal));
+
+        }
+
+        /**
+         * @return Posição do primeiro horário do dia igual ou posterior ao slot informado.
+         */
+        private int posicao(int slot) {
+
+            int posicao = -Math.floorDiv(primeiroSlot - slot, passo);
+
+            return Math.max(0, Math.min(posicao, lugaresLivres.tamanho()));
+
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosAlteracaoDisponibilidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.transmissao.TransmissorDeEventos;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Classe responsável por transmitir as alterações dos lugares livres de cada restaurante, publicadas
+ * pelo IndiceDeDisponibilidade após o commit das reservas e cancelamentos.
+ */
+@Service
+public class TransmissorDeDisponibilidade extends TransmissorDeEventos<Long> {
+
+    public TransmissorDeDisponibilidade() {
+
+        super("disponibilidade");
+
+    }
+
+    /**
+     * @param restaurante_id ID do restaurante.
+     * @return SseEmitter que recebe as alterações da disponibilidade do restaurante.
+     */
+    public SseEmitter assinarRestaurante(Long restaurante_id) {
+
+        return assinar(restaurante_id);
+
+    }
+
+    public void publicar(DadosAlteracaoDisponibilidadeDTO alteracao) {
+
+        publicar(alteracao.restaurante_id(), alteracao);
+
+    }
+
+}
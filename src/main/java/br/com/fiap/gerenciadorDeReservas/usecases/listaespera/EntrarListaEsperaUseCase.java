@@ -0,0 +1,46 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.adapters.listaespera.ListaEsperaAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.ListaEsperaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosCriacaoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosRetornoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ListaEsperaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Classe para representar o caso de uso da entrada na lista de espera de um horário.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntrarListaEsperaUseCase {
+
+    @Autowired
+    ListaEsperaAdapter listaEsperaAdapter;
+    @Autowired
+    ListaEsperaRepository listaEsperaRepository;
+    @Autowired
+    FilaDeEspera filaDeEspera;
+
+    /**
+     * Método para registrar o pedido de reserva de um horário lotado na lista de espera.
+     *
+     * @param dadosCriacaoListaEsperaDTO Objeto com os dados do pedido.
+     * @return DadosRetornoListaEsperaDTO Objeto com os dados da entrada criada.
+     * @throws IllegalAccessException Exception lançada, caso o restaurante não funcione no horário pedido.
+     */
+    @Transactional
+    public DadosRetornoListaEsperaDTO entrarListaEspera(DadosCriacaoListaEsperaDTO dadosCriacaoListaEsperaDTO) throws IllegalAccessException {
+
+        ListaEsperaEntity listaEsperaEntity = listaEsperaAdapter.converterParaEntity(dadosCriacaoListaEsperaDTO);
+
+        listaEsperaRepository.save(listaEsperaEntity);
+
+        filaDeEspera.adicionar(listaEsperaAdapter.converterParaDadosEntradaDTO(listaEsperaEntity));
+
+        return listaEsperaAdapter.converterParaDadosRetornoDTO(listaEsperaEntity);
+
+    }
+
+}
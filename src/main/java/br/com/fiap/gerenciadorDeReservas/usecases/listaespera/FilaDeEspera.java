@@ -0,0 +1,217 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosEntradaListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ListaEsperaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filas de espera em memória, uma por horário de cada restaurante, ordenadas pela
+ * DadosEntradaListaEsperaDTO.ORDEM_DE_PROMOCAO.
+ * <p>
+ * Os horários com espera de cada restaurante ficam num mapa ordenado, de forma que encontrar
+ * a próxima entrada a promover custa O(log n), sem percorrer todas as filas. Como os lugares são
+ * controlados por horário, só as filas dos horários afetados por uma liberação são consultadas.
+ * <p>
+ * As filas são locais a cada nó: contêm as entradas futuras carregadas do banco na inicialização
+ * e as criadas neste nó depois dela. Com mais de um nó, uma entrada criada em outro nó só é
+ * promovida por este após a próxima inicialização; a exclusão da entrada no banco garante que ela
+ * não seja promovida duas vezes.
+ */
+@Service
+public class FilaDeEspera {
+
+    @Autowired
+    ListaEsperaRepository listaEsperaRepository;
+
+    private final Map<Long, FilasDoRestaurante> filasPorRestaurante = new ConcurrentHashMap<>();
+
+    /**
+     * Método para carregar as filas com as entradas futuras gravadas no banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+
+        listaEsperaRepository.consultarEntradasAPartirDe(LocalDateTime.now()).forEach(this::incluir);
+
+    }
+
+    /**
+     * Método para incluir uma entrada na fila do seu horário, após o commit da transação corrente.
+     *
+     * @param entrada Objeto com os dados da entrada.
+     */
+    public void adicionar(DadosEntradaListaEsperaDTO entrada) {
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incluir(entrada);
+                }
+            });
+        } else {
+            incluir(entrada);
+        }
+
+    }
+
+    /**
+     * Método para consultar, sem retirar, a próxima entrada a ser promovida num horário de um restaurante.
+     *
+     * @param restaurante_id  ID do restaurante.
+     * @param horarioLiberado Horário com lugares liberados.
+     * @param agora           Momento atual; horários anteriores são descartados.
+     * @return Optional com a próxima entrada ou vazio, caso não haja espera no horário.
+     */
+    public Optional<DadosEntradaListaEsperaDTO> consultarProxima(Long restaurante_id, LocalDateTime horarioLiberado,
+                                                                 LocalDateTime agora) {
+
+        FilasDoRestaurante filas = filasPorRestaurante.get(restaurante_id);
+
+        if (filas == null) {
+            return Optional.empty();
+        }
+
+        return filas.consultar(horarioLiberado, agora);
+
+    }
+
+    /**
+     * Método para consultar os horários com espera de um restaurante cujas entradas, com a duração
+     * pedida, alcançam um intervalo.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param inicio         Início do intervalo.
+     * @param fim            Fim do intervalo (exclusivo).
+     * @param agora          Momento atual; horários anteriores são descartados.
+     * @return Lista com os horários com espera, em ordem cronológica.
+     */
+    public List<LocalDateTime> consultarHorariosComEspera(Long restaurante_id, LocalDateTime inicio,
+                                                          LocalDateTime fim, LocalDateTime agora) {
+
+        FilasDoRestaurante filas = filasPorRestaurante.get(restaurante_id);
+
+        if (filas == null) {
+            return List.of();
+        }
+
+        return filas.consultarHorarios(inicio, fim, agora);
+
+    }
+
+    /**
+     * Método para retirar uma entrada da sua fila. Caso a transação corrente seja desfeita,
+     * a entrada volta para a fila.
+     *
+     * @param entrada Objeto com os dados da entrada.
+     */
+    public void retirar(DadosEntradaListaEsperaDTO entrada) {
+
+        FilasDoRestaurante filas = filasPorRestaurante.get(entrada.restaurante_id());
+
+        if (filas == null || !filas.remover(entrada)) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        incluir(entrada);
+                    }
+                }
+            });
+        }
+
+    }
+
+    private void incluir(DadosEntradaListaEsperaDTO entrada) {
+
+        filasPorRestaurante.computeIfAbsent(entrada.restaurante_id(), id -> new FilasDoRestaurante())
+                .incluir(entrada);
+
+    }
+
+    /**
+     * Filas de um restaurante, indexadas pelo horário.
+     */
+    private static final class FilasDoRestaurante {
+
+        private final NavigableMap<LocalDateTime, PriorityQueue<DadosEntradaListaEsperaDTO>> filasPorHorario = new TreeMap<>();
+
+        // Maior duração já incluída: limita os horários anteriores consultados a cada liberação
+        private int maiorDuracaoMinutos;
+
+        private synchronized void incluir(DadosEntradaListaEsperaDTO entrada) {
+
+            maiorDuracaoMinutos = Math.max(maiorDuracaoMinutos, entrada.duracaoMinutos());
+
+            filasPorHorario.computeIfAbsent(entrada.dataReserva(),
+                    horario -> new PriorityQueue<>(DadosEntradaListaEsperaDTO.ORDEM_DE_PROMOCAO)).add(entrada);
+
+        }
+
+        private synchronized Optional<DadosEntradaListaEsperaDTO> consultar(LocalDateTime horarioLiberado,
+                                                                        LocalDateTime agora) {
+
+            // Horários que já passaram não podem mais ser promovidos
+            filasPorHorario.headMap(agora, false).clear();
+
+            PriorityQueue<DadosEntradaListaEsperaDTO> fila = filasPorHorario.get(horarioLiberado);
+
+            return fila == null ? Optional.empty() : Optional.ofNullable(fila.peek());
+
+        }
+
+        private synchronized List<LocalDateTime> consultarHorarios(LocalDateTime inicio, LocalDateTime fim,
+                                                                   LocalDateTime agora) {
+
+            filasPorHorario.headMap(agora, false).clear();
+
+            LocalDateTime depoisDe = inicio.minusMinutes(maiorDuracaoMinutos);
+
+            if (!fim.isAfter(depoisDe)) {
+                return List.of();
+            }
+
+            List<LocalDateTime> horarios = new ArrayList<>();
+
+            filasPorHorario.subMap(depoisDe, false, fim, false).forEach((horario, fila) -> {
+                if (fila.stream().anyMatch(entrada -> horario.plusMinutes(entrada.duracaoMinutos()).isAfter(inicio))) {
+                    horarios.add(horario);
+                }
+            });
+
+            return horarios;
+
+        }
+
+        private synchronized boolean remover(DadosEntradaListaEsperaDTO entrada) {
+
+            PriorityQueue<DadosEntradaListaEsperaDTO> fila = filasPorHorario.get(entrada.dataReserva());
+
+            if (fila == null || !fila.remove(entrada)) {
+                return false;
+            }
+
+            if (fila.isEmpty()) {
+                filasPorHorario.remove(entrada.dataReserva());
+            }
+
+            return true;
+
+        }
+
+    }
+
+}
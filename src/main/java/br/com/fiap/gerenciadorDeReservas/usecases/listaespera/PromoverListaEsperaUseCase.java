@@ -0,0 +1,109 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.adapters.listaespera.ListaEsperaAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.ListaEsperaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosEntradaListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ListaEsperaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.AlocadorDeMesas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Classe para representar o caso de uso da promoção da lista de espera para reserva.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PromoverListaEsperaUseCase {
+
+    @Autowired
+    FilaDeEspera filaDeEspera;
+    @Autowired
+    ListaEsperaRepository listaEsperaRepository;
+    @Autowired
+    ReservaRepository reservaRepository;
+    @Autowired
+    ListaEsperaAdapter listaEsperaAdapter;
+    @Autowired
+    ControleDeLugares controleDeLugares;
+    @Autowired
+    OutboxDeEventos outboxDeEventos;
+
+    /**
+     * Método para transformar em reservas as entradas da lista de espera dos horários afetados por uma
+     * liberação, enquanto os lugares liberados comportarem o próximo grupo de cada fila. Cada reserva
+     * promovida tem a duração pedida na entrada, então também são consultadas as filas dos horários
+     * anteriores cuja reserva alcançaria o intervalo liberado. Deve ser chamado dentro da transação
+     * que liberou os lugares, para que a promoção e a liberação sejam gravadas juntas.
+     *
+     * @param restaurante_id ID do restaurante que liberou os lugares.
+     * @param inicioLiberado Início do intervalo liberado.
+     * @param fimLiberado    Fim do intervalo liberado (exclusivo).
+     * @return Quantidade de entradas promovidas.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int promoverEspera(Long restaurante_id, LocalDateTime inicioLiberado, LocalDateTime fimLiberado) {
+
+        int promovidas = 0;
+
+        for (LocalDateTime horario : filaDeEspera.consultarHorariosComEspera(restaurante_id, inicioLiberado,
+                fimLiberado, LocalDateTime.now())) {
+            promovidas += promoverHorario(restaurante_id, horario);
+        }
+
+        return promovidas;
+
+    }
+
+    private int promoverHorario(Long restaurante_id, LocalDateTime horarioLiberado) {
+
+        int promovidas = 0;
+        Optional<DadosEntradaListaEsperaDTO> entrada;
+
+        while ((entrada = filaDeEspera.consultarProxima(restaurante_id, horarioLiberado, LocalDateTime.now())).isPresent()) {
+
+            DadosEntradaListaEsperaDTO proxima = entrada.get();
+            LocalDateTime fimReserva = horarioLiberado.plusMinutes(proxima.duracaoMinutos());
+
+            Optional<List<MesaEntity>> mesas = controleDeLugares.ocuparLugares(restaurante_id, horarioLiberado,
+                    fimReserva, proxima.quantidadePessoas());
+
+            // O próximo grupo não cabe: a ordem da fila é mantida e a promoção para
+            if (mesas.isEmpty()) {
+                break;
+            }
+
+            filaDeEspera.retirar(proxima);
+
+            Optional<ListaEsperaEntity> listaEsperaEntity = listaEsperaRepository.findById(proxima.listaEspera_id());
+
+            // Entradas já removidas por outra transação são descartadas e os lugares devolvidos
+            if (listaEsperaEntity.isPresent() && listaEsperaRepository.excluirEntrada(proxima.listaEspera_id()) > 0) {
+                ReservaEntity reservaEntity = listaEsperaAdapter.converterParaReservaEntity(listaEsperaEntity.get());
+                reservaEntity.alocarMesas(mesas.get());
+
+                reservaRepository.save(reservaEntity);
+                outboxDeEventos.registrarReserva(TipoEventoEnum.RESERVA_CRIADA, reservaEntity);
+                promovidas++;
+            } else {
+                controleDeLugares.liberarLugares(restaurante_id, horarioLiberado, fimReserva,
+                        AlocadorDeMesas.lugaresOcupados(mesas.get(), proxima.quantidadePessoas()));
+            }
+        }
+
+        return promovidas;
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.metricas;
+
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.GradeDeHorarios;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento do JDK Flight Recorder com a admissão de uma nova reserva.
+ * <p>
+ * Divide a duração da admissão entre as consultas do cliente e do restaurante e a alocação dos
+ * lugares, detalhada no EventoOcupacaoDeLugares da mesma thread. Com o evento desabilitado, as
+ * marcações de tempo não leem o relógio e o evento não é gravado.
+ */
+@Name("br.com.fiap.reservas.AdmissaoDeReserva")
+@Label("Admissão de Reserva")
+@Category({"Reservas", "Admissão"})
+@Description("Conversão e alocação de uma nova reserva")
+@StackTrace(false)
+public final class EventoAdmissaoDeReserva extends Event {
+
+    public static final String ACEITA = "aceita";
+    public static final String REJEITADA = "rejeitada";
+
+    @Label("Restaurante")
+    long restauranteId;
+
+    @Label("Slot")
+    @Description("Número do slot do horário desejado na GradeDeHorarios")
+    int slot;
+
+    @Label("Pessoas")
+    int quantidadePessoas;
+
+    @Label("Consultas")
+    @Description("Duração das consultas do cliente e do restaurante")
+    @Timespan(Timespan.NANOSECONDS)
+    long duracaoConsultas;
+
+    @Label("Alocação")
+    @Description("Duração da ocupação dos lugares e da escolha das mesas")
+    @Timespan(Timespan.NANOSECONDS)
+    long duracaoAlocacao;
+
+    @Label("Resultado")
+    String resultado = "erro";
+
+    /**
+     * @return Instante atual em nanossegundos, ou zero com o evento desabilitado.
+     */
+    public long agora() {
+
+        return isEnabled() ? System.nanoTime() : 0;
+
+    }
+
+    /**
+     * Método para registrar as consultas iniciadas em {@code inicio}.
+     */
+    public void consultas(long inicio) {
+
+        this.duracaoConsultas = agora() - inicio;
+
+    }
+
+    /**
+     * Método para registrar a alocação iniciada em {@code inicio}.
+     */
+    public void alocacao(long inicio) {
+
+        this.duracaoAlocacao = agora() - inicio;
+
+    }
+
+    public void resultado(String resultado) {
+
+        this.resultado = resultado;
+
+    }
+
+    /**
+     * Método para encerrar o evento e gravá-lo, caso esteja habilitado e acima do limite configurado.
+     */
+    public void concluir(Long restaurante_id, LocalDateTime dataReserva, Integer quantidadePessoas) {
+
+        end();
+
+        if (shouldCommit()) {
+            this.restauranteId = restaurante_id == null ? 0 : restaurante_id;
+            this.slot = dataReserva == null ? 0 : GradeDeHorarios.numeroDoSlot(dataReserva);
+            this.quantidadePessoas = quantidadePessoas == null ? 0 : quantidadePessoas;
+            commit();
+        }
+
+    }
+
+}
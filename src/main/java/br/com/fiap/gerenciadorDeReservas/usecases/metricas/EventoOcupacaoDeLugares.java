@@ -0,0 +1,111 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.metricas;
+
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.GradeDeHorarios;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento do JDK Flight Recorder com a ocupação dos lugares de um intervalo.
+ * <p>
+ * Registra quanto tempo a ocupação esperou pelo bloqueio das linhas dos horários, disputadas por
+ * reservas concorrentes no mesmo intervalo, e quanto tempo levou a escolha das mesas. Com o evento
+ * desabilitado, as marcações de tempo não leem o relógio e o evento não é gravado.
+ */
+@Name("br.com.fiap.reservas.OcupacaoDeLugares")
+@Label("Ocupação de Lugares")
+@Category({"Reservas", "Disponibilidade"})
+@Description("Ocupação dos lugares de um intervalo, com a espera pelo bloqueio dos horários")
+@StackTrace(false)
+public final class EventoOcupacaoDeLugares extends Event {
+
+    public static final String OCUPADO = "ocupado";
+    public static final String HORARIO_DESALINHADO = "horario_desalinhado";
+    public static final String ESGOTADO_NAS_FAIXAS = "esgotado_nas_faixas";
+    public static final String SEM_LUGARES = "sem_lugares";
+    public static final String SEM_MESAS = "sem_mesas";
+
+    @Label("Restaurante")
+    long restauranteId;
+
+    @Label("Slot")
+    @Description("Número do slot do início do intervalo na GradeDeHorarios")
+    int slot;
+
+    @Label("Pessoas")
+    int quantidadePessoas;
+
+    @Label("Horários Bloqueados")
+    @Description("Linhas de horário bloqueadas para o intervalo")
+    int horariosBloqueados;
+
+    @Label("Espera pelo Bloqueio")
+    @Description("Duração do SELECT ... FOR UPDATE dos horários, incluindo a espera por transações concorrentes")
+    @Timespan(Timespan.NANOSECONDS)
+    long esperaBloqueio;
+
+    @Label("Escolha das Mesas")
+    @Description("Duração da consulta e da escolha das mesas livres")
+    @Timespan(Timespan.NANOSECONDS)
+    long escolhaMesas;
+
+    @Label("Resultado")
+    String resultado = "erro";
+
+    /**
+     * @return Instante atual em nanossegundos, ou zero com o evento desabilitado.
+     */
+    public long agora() {
+
+        return isEnabled() ? System.nanoTime() : 0;
+
+    }
+
+    /**
+     * Método para registrar o bloqueio dos horários iniciado em {@code inicio}.
+     */
+    public void bloqueio(long inicio, int horariosBloqueados) {
+
+        this.esperaBloqueio = agora() - inicio;
+        this.horariosBloqueados = horariosBloqueados;
+
+    }
+
+    /**
+     * Método para registrar a escolha das mesas iniciada em {@code inicio}.
+     */
+    public void escolhaMesas(long inicio) {
+
+        this.escolhaMesas = agora() - inicio;
+
+    }
+
+    public void resultado(String resultado) {
+
+        this.resultado = resultado;
+
+    }
+
+    /**
+     * Método para encerrar o evento e gravá-lo, caso esteja habilitado e acima do limite configurado.
+     */
+    public void concluir(Long restaurante_id, LocalDateTime inicio, int quantidadePessoas) {
+
+        end();
+
+        if (shouldCommit()) {
+            this.restauranteId = restaurante_id;
+            this.slot = GradeDeHorarios.numeroDoSlot(inicio);
+            this.quantidadePessoas = quantidadePessoas;
+            commit();
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.metricas;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspecto que mede a duração dos métodos públicos dos casos de uso e de todos os repositórios.
+ * <p>
+ * A operação de cada bean e método é resolvida uma única vez e guardada com o seu temporizador de
+ * sucesso, então a medição de uma chamada é uma consulta ao mapa do bean e duas leituras do
+ * System.nanoTime, sem montar nomes nem alocar objetos. O aspecto é o primeiro da cadeia, então a
+ * duração de um caso de uso inclui o commit da sua transação. Chamadas internas de um bean não
+ * passam pelo proxy e não são medidas.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MedidorDeOperacoes {
+
+    @Autowired
+    RegistroDeMetricas registroDeMetricas;
+
+    @Value("${reservas.metricas.temporizadores.habilitado:true}")
+    boolean habilitado = true;
+
+    private final ClassValue<Map<Method, Operacao>> operacoesPorTipo = new ClassValue<>() {
+        @Override
+        protected Map<Method, Operacao> computeValue(Class<?> tipo) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    @Around("(within(br.com.fiap.gerenciadorDeReservas.usecases..*)"
+            + " && !within(br.com.fiap.gerenciadorDeReservas.usecases.metricas..*)"
+            + " && execution(public * *(..)))"
+            + " || execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        if (!habilitado) {
+            return joinPoint.proceed();
+        }
+
+        Object proxy = joinPoint.getThis();
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+
+        Operacao operacao = operacoesPorTipo.get(proxy.getClass()).get(metodo);
+
+        if (operacao == null) {
+            operacao = operacoesPorTipo.get(proxy.getClass())
+                    .computeIfAbsent(metodo, chave -> new Operacao(nomeDaOperacao(proxy, chave)));
+        }
+
+        long inicio = System.nanoTime();
+
+        try {
+            Object retorno = joinPoint.proceed();
+            operacao.sucesso.registrar(System.nanoTime() - inicio);
+            return retorno;
+        } catch (Throwable throwable) {
+            operacao.erro(throwable.getClass()).registrar(System.nanoTime() - inicio);
+            throw throwable;
+        }
+
+    }
+
+    /**
+     * Os repositórios são proxies das interfaces; o nome da operação usa a interface declarada na
+     * aplicação, e não a do Spring Data que declara o método.
+     */
+    static String nomeDoTipo(Object proxy) {
+
+        if (proxy instanceof Repository<?, ?>) {
+            for (Class<?> interfaceDoProxy : proxy.getClass().getInterfaces()) {
+                if (Repository.class.isAssignableFrom(interfaceDoProxy)
+                        && !interfaceDoProxy.getName().startsWith("org.springframework.")) {
+                    return interfaceDoProxy.getSimpleName();
+                }
+            }
+        }
+
+        return ClassUtils.getUserClass(proxy).getSimpleName();
+
+    }
+
+    private String nomeDaOperacao(Object proxy, Method metodo) {
+
+        return nomeDoTipo(proxy) + "." + metodo.getName();
+
+    }
+
+    private final class Operacao {
+
+        private final String nome;
+        private final Temporizador sucesso;
+        private final Map<Class<?>, Temporizador> erros = new ConcurrentHashMap<>();
+
+        private Operacao(String nome) {
+            this.nome = nome;
+            this.sucesso = registroDeMetricas.temporizador(nome, RegistroDeMetricas.RESULTADO_SUCESSO);
+        }
+
+        private Temporizador erro(Class<?> tipoDaExcecao) {
+            return erros.computeIfAbsent(tipoDaExcecao,
+                    tipo -> registroDeMetricas.temporizador(nome, tipo.getSimpleName()));
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.metricas;
+
+import br.com.fiap.gerenciadorDeReservas.records.metricas.DadosContadorDTO;
+import br.com.fiap.gerenciadorDeReservas.records.metricas.DadosMetricasDTO;
+import br.com.fiap.gerenciadorDeReservas.records.metricas.DadosTemporizadorDTO;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Classe responsável pelos temporizadores e contadores da aplicação.
+ * <p>
+ * Os temporizadores são identificados pela operação e pelo resultado, e os contadores pelo nome e
+ * por uma tag. Os dois conjuntos de valores são limitados pelo código (métodos, exceções e tags
+ * fixas), nunca por dados das requisições. As métricas são acumuladas desde a inicialização.
+ */
+@Service
+public class RegistroDeMetricas {
+
+    public static final String RESULTADO_SUCESSO = "sucesso";
+
+    public static final String RESERVAS_REJEITADAS = "reservas.rejeitadas";
+    public static final String LUGARES_ATUALIZADOS = "disponibilidade.lugares.atualizados";
+    public static final String ERROS_DE_VALIDACAO = "validacao.erros";
+    public static final String CONFLITOS = "conflitos";
+
+    private static final double[] PERCENTIS = {0.5, 0.95, 0.99};
+    private static final double NANOS_POR_MS = 1_000_000d;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Temporizador>> temporizadores = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * Método para obter o temporizador de uma operação, criado no primeiro uso.
+     *
+     * @param operacao  Nome da operação.
+     * @param resultado "sucesso" ou o nome da exceção lançada.
+     * @return Temporizador da operação com o resultado.
+     */
+    public Temporizador temporizador(String operacao, String resultado) {
+
+        return temporizadores.computeIfAbsent(operacao, nome -> new ConcurrentHashMap<>())
+                .computeIfAbsent(resultado, nome -> new Temporizador());
+
+    }
+
+    /**
+     * Método para incrementar um contador.
+     *
+     * @param nome Nome do contador.
+     * @param tag  Valor que distingue as ocorrências do contador.
+     */
+    public void incrementar(String nome, String tag) {
+
+        contadores.computeIfAbsent(nome, chave -> new ConcurrentHashMap<>())
+                .computeIfAbsent(tag, chave -> new LongAdder())
+                .increment();
+
+    }
+
+    /**
+     * @return Valor atual de um contador, ou zero caso nunca tenha sido incrementado.
+     */
+    public long consultarContador(String nome, String tag) {
+
+        Map<String, LongAdder> porTag = contadores.get(nome);
+        LongAdder contador = porTag == null ? null : porTag.get(tag);
+
+        return contador == null ? 0 : contador.sum();
+
+    }
+
+    /**
+     * Método para consultar todos os temporizadores e contadores.
+     *
+     * @return DadosMetricasDTO com as métricas ordenadas pelo nome, sem os temporizadores que ainda não
+     * registraram execuções.
+     */
+    public DadosMetricasDTO consultarMetricas() {
+
+        List<DadosTemporizadorDTO> dadosTemporizadores = new ArrayList<>();
+
+        temporizadores.forEach((operacao, porResultado) -> porResultado.forEach((resultado, temporizador) -> {
+            if (temporizador.quantidade() == 0) {
+                return;
+            }
+            long[] percentis = temporizador.percentis(PERCENTIS);
+            dadosTemporizadores.add(new DadosTemporizadorDTO(
+                    operacao,
+                    resultado,
+                    temporizador.quantidade(),
+                    temporizador.total() / NANOS_POR_MS,
+                    temporizador.maximo() / NANOS_POR_MS,
+                    percentis[0] / NANOS_POR_MS,
+                    percentis[1] / NANOS_POR_MS,
+                    percentis[2] / NANOS_POR_MS
+            ));
+        }));
+
+        List<DadosContadorDTO> dadosContadores = new ArrayList<>();
+
+        contadores.forEach((nome, porTag) -> porTag.forEach((tag, contador) ->
+                dadosContadores.add(new DadosContadorDTO(nome, tag, contador.sum()))));
+
+        dadosTemporizadores.sort(Comparator.comparing(DadosTemporizadorDTO::operacao)
+                .thenComparing(DadosTemporizadorDTO::resultado));
+        dadosContadores.sort(Comparator.comparing(DadosContadorDTO::nome).thenComparing(DadosContadorDTO::tag));
+
+        return new DadosMetricasDTO(dadosTemporizadores, dadosContadores);
+
+    }
+
+}
@@ -0,0 +1,140 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma das durações de uma operação, em nanossegundos.
+ * <p>
+ * As durações são contadas em faixas log-lineares: cada potência de 2 é dividida em 8 faixas de
+ * mesma largura, então o registro é um incremento numa posição fixa do vetor, sem alocação nem
+ * bloqueio, e os percentis são calculados com erro relativo de até 12,5%. Durações acima de
+ * 2^41 ns (cerca de 36 minutos) são contadas na última faixa.
+ */
+public final class Temporizador {
+
+    private static final int BITS_SUBFAIXA = 3;
+    private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    private static final int MAIOR_EXPOENTE = 40;
+    private static final int QUANTIDADE_FAIXAS = (MAIOR_EXPOENTE - BITS_SUBFAIXA + 2) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(QUANTIDADE_FAIXAS);
+    private final LongAdder quantidade = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Método para registrar a duração de uma execução.
+     *
+     * @param nanos Duração, em nanossegundos.
+     */
+    public void registrar(long nanos) {
+
+        long duracao = Math.max(nanos, 0);
+
+        contagens.incrementAndGet(faixa(duracao));
+        quantidade.increment();
+        total.add(duracao);
+        maximo.accumulate(duracao);
+
+    }
+
+    /**
+     * @return Quantidade de execuções registradas.
+     */
+    public long quantidade() {
+
+        return quantidade.sum();
+
+    }
+
+    /**
+     * @return Soma das durações registradas, em nanossegundos.
+     */
+    public long total() {
+
+        return total.sum();
+
+    }
+
+    /**
+     * @return Maior duração registrada, em nanossegundos.
+     */
+    public long maximo() {
+
+        return maximo.get();
+
+    }
+
+    /**
+     * Método para calcular os percentis das durações registradas, a partir de uma única leitura das
+     * faixas.
+     *
+     * @param percentis Percentis desejados, entre 0 e 1, em ordem crescente.
+     * @return Limite superior da faixa de cada percentil, em nanossegundos, nunca acima do máximo.
+     */
+    public long[] percentis(double... percentis) {
+
+        long[] copia = new long[QUANTIDADE_FAIXAS];
+        long registradas = 0;
+
+        for (int faixa = 0; faixa < QUANTIDADE_FAIXAS; faixa++) {
+            copia[faixa] = contagens.get(faixa);
+            registradas += copia[faixa];
+        }
+
+        long[] valores = new long[percentis.length];
+
+        if (registradas == 0) {
+            return valores;
+        }
+
+        long maior = maximo();
+        long acumuladas = 0;
+        int faixa = -1;
+
+        for (int i = 0; i < percentis.length; i++) {
+            long posicao = Math.max(1, (long) Math.ceil(percentis[i] * registradas));
+            while (acumuladas < posicao && faixa < QUANTIDADE_FAIXAS - 1) {
+                acumuladas += copia[++faixa];
+            }
+            valores[i] = Math.min(limiteSuperior(faixa), maior);
+        }
+
+        return valores;
+
+    }
+
+    static int faixa(long nanos) {
+
+        if (nanos < SUBFAIXAS) {
+            return (int) nanos;
+        }
+
+        int expoente = 63 - Long.numberOfLeadingZeros(nanos);
+
+        if (expoente > MAIOR_EXPOENTE) {
+            return QUANTIDADE_FAIXAS - 1;
+        }
+
+        int subfaixa = (int) (nanos >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+
+        return (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + subfaixa;
+
+    }
+
+    static long limiteSuperior(int faixa) {
+
+        if (faixa < SUBFAIXAS) {
+            return faixa;
+        }
+
+        int expoente = faixa / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        long largura = 1L << (expoente - BITS_SUBFAIXA);
+
+        return (1L << expoente) + (faixa % SUBFAIXAS + 1) * largura - 1;
+
+    }
+
+}
@@ -0,0 +1,322 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoNotificacaoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosNotificacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.AssinanteDeEventos;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.RodaDeTempoHierarquica;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe responsável por enviar os lembretes das reservas, 24 horas e 2 horas antes do horário.
+ * <p>
+ * Apenas os lembretes do próximo horizonte ficam em memória, numa RodaDeTempoHierarquica: a cada
+ * tick, o horizonte avança e as reservas cujos lembretes caem no trecho novo são lidas em páginas
+ * pelo índice (dataReserva, id), sem percorrer as reservas futuras. Os lembretes vencidos são
+ * entregues juntos ao NotificadorDeReservas, que os envia em lotes.
+ * <p>
+ * As reservas criadas, canceladas e reagendadas chegam pelo outbox. O cancelamento só retira a
+ * reserva do mapa de lembretes pendentes, em O(1); a entrada que fica na roda é descartada quando
+ * vence.
+ * <p>
+ * Cada instância da aplicação carrega o mesmo horizonte, então os lembretes vencidos são reivindicados
+ * no banco, na coluna ultimoLembrete da reserva, antes do envio: apenas a instância que reivindicou um
+ * lembrete o envia. Uma instância que cair entre a reivindicação e o envio perde aquele lembrete.
+ * <p>
+ * Na inicialização, o horizonte começa na janela de recuperação anterior ao momento atual, então os
+ * lembretes que venceram com a aplicação parada são enviados no primeiro tick, se a reserva ainda não
+ * começou; a reivindicação impede que um lembrete já enviado por outra instância seja repetido.
+ */
+@Service
+public class AgendadorDeLembretes implements AssinanteDeEventos {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AgendadorDeLembretes.class);
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int QUANTIDADE_NIVEIS = 3;
+
+    static final List<Duration> ANTECEDENCIAS = List.of(Duration.ofHours(24), Duration.ofHours(2));
+
+    @Autowired
+    ReservaRepository reservaRepository;
+    @Autowired
+    NotificadorDeReservas notificadorDeReservas;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${reservas.lembretes.duracao-tick-ms:60000}")
+    long duracaoTickMs = 60000;
+
+    @Value("${reservas.lembretes.horizonte-minutos:60}")
+    long horizonteMinutos = 60;
+
+    @Value("${reservas.lembretes.tamanho-pagina:500}")
+    int tamanhoPagina = 500;
+
+    /**
+     * Atraso máximo de um lembrete recuperado na inicialização; o padrão é o intervalo entre o lembrete
+     * de 24 horas e o de 2 horas, para que um lembrete atrasado nunca seja enviado depois do seguinte.
+     */
+    @Value("${reservas.lembretes.recuperacao-minutos:1320}")
+    long recuperacaoMinutos = 1320;
+
+    private final Map<Long, List<Lembrete>> pendentesPorReserva = new ConcurrentHashMap<>();
+
+    private RodaDeTempoHierarquica<Lembrete> rodaDeTempo;
+
+    /**
+     * Momento até o qual os lembretes já foram lidos do banco (exclusivo).
+     */
+    private volatile LocalDateTime carregadoAte;
+
+    @PostConstruct
+    void iniciar() {
+
+        iniciar(LocalDateTime.now());
+
+    }
+
+    void iniciar(LocalDateTime agora) {
+
+        rodaDeTempo = new RodaDeTempoHierarquica<>(BITS_POR_NIVEL, QUANTIDADE_NIVEIS, tickAte(agora));
+        carregadoAte = agora.minusMinutes(recuperacaoMinutos);
+
+    }
+
+    /**
+     * Método para avançar o horizonte e enviar os lembretes vencidos.
+     */
+    @Scheduled(fixedDelayString = "${reservas.lembretes.duracao-tick-ms:60000}")
+    public void processar() {
+
+        LocalDateTime agora = LocalDateTime.now();
+
+        carregarHorizonte(agora);
+        enviarVencidos(agora);
+
+    }
+
+    @Override
+    public Set<TipoEventoEnum> tiposDeEvento() {
+
+        return Set.of(TipoEventoEnum.RESERVA_CRIADA, TipoEventoEnum.RESERVA_CANCELADA,
+                TipoEventoEnum.RESERVA_REAGENDADA);
+
+    }
+
+    /**
+     * As reservas criadas ou reagendadas para dentro do horizonte já lido são agendadas aqui; as demais
+     * são lidas quando o horizonte as alcançar.
+     */
+    @Override
+    public void receber(DadosEventoOutboxDTO evento) {
+
+        DadosEventoReservaDTO reserva = (DadosEventoReservaDTO) evento.conteudo();
+
+        if (evento.tipoEventoEnum() != TipoEventoEnum.RESERVA_CRIADA) {
+            pendentesPorReserva.remove(reserva.reserva_id());
+        }
+
+        if (evento.tipoEventoEnum() == TipoEventoEnum.RESERVA_CANCELADA || reserva.email() == null) {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (Duration antecedencia : ANTECEDENCIAS) {
+            LocalDateTime momento = reserva.dataReserva().minus(antecedencia);
+            if (!momento.isBefore(agora) && momento.isBefore(carregadoAte)) {
+                agendar(reserva, antecedencia);
+            }
+        }
+
+    }
+
+    /**
+     * Método para ler as reservas com lembretes entre o fim do horizonte anterior e o novo fim.
+     *
+     * @param agora Momento atual.
+     */
+    void carregarHorizonte(LocalDateTime agora) {
+
+        LocalDateTime de = carregadoAte;
+        LocalDateTime ate = agora.plusMinutes(horizonteMinutos);
+
+        if (!ate.isAfter(de)) {
+            return;
+        }
+
+        // O horizonte avança antes da leitura: uma reserva criada durante a leitura é agendada pelo
+        // evento, e o agendamento repetido é descartado
+        carregadoAte = ate;
+
+        int carregados = 0;
+
+        for (Duration antecedencia : ANTECEDENCIAS) {
+
+            // Na recuperação, as reservas que já começaram não recebem mais o lembrete
+            LocalDateTime dataReserva = de.plus(antecedencia).isBefore(agora) ? agora : de.plus(antecedencia);
+            Long reserva_id = 0L;
+            List<DadosEventoReservaDTO> pagina;
+
+            do {
+                pagina = reservaRepository.consultarReservasAbertasAPartirDe(dataReserva, reserva_id,
+                        ate.plus(antecedencia), PageRequest.of(0, tamanhoPagina));
+
+                for (DadosEventoReservaDTO reserva : pagina) {
+                    agendar(reserva, antecedencia);
+                    dataReserva = reserva.dataReserva();
+                    reserva_id = reserva.reserva_id();
+                }
+
+                carregados += pagina.size();
+            } while (pagina.size() == tamanhoPagina);
+
+        }
+
+        LOGGER.debug("{} lembretes carregados até {}", carregados, ate);
+
+    }
+
+    /**
+     * Método para enviar os lembretes vencidos até o momento atual. Os lembretes são reivindicados no
+     * banco numa única transação; caso ela falhe, voltam para a roda e vencem no próximo tick.
+     *
+     * @param agora Momento atual.
+     * @return Quantidade de lembretes enviados ao NotificadorDeReservas.
+     */
+    int enviarVencidos(LocalDateTime agora) {
+
+        List<Lembrete> vencidos = rodaDeTempo.avancar(tickAte(agora)).stream()
+                .filter(this::retirar)
+                .toList();
+
+        if (vencidos.isEmpty()) {
+            return 0;
+        }
+
+        List<Lembrete> reivindicados;
+
+        try {
+            reivindicados = transactionTemplate.execute(status -> vencidos.stream()
+                    .filter(this::reivindicar)
+                    .toList());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Falha ao reivindicar {} lembretes; nova tentativa no próximo tick", vencidos.size(), e);
+            vencidos.forEach(lembrete -> agendar(lembrete.reserva(), lembrete.antecedencia()));
+            return 0;
+        }
+
+        for (Lembrete lembrete : reivindicados) {
+            DadosEventoReservaDTO reserva = lembrete.reserva();
+            notificadorDeReservas.notificar(new DadosNotificacaoReservaDTO(TipoNotificacaoEnum.LEMBRETE,
+                    reserva.reserva_id(), reserva.email(), reserva.nomeCliente(), reserva.nomeRestaurante(),
+                    reserva.dataReserva(), reserva.quantidadePessoas()));
+        }
+
+        return reivindicados.size();
+
+    }
+
+    /**
+     * @return Quantidade de reservas com lembretes pendentes em memória.
+     */
+    int reservasPendentes() {
+
+        return pendentesPorReserva.size();
+
+    }
+
+    private void agendar(DadosEventoReservaDTO reserva, Duration antecedencia) {
+
+        Lembrete lembrete = new Lembrete(reserva, antecedencia);
+        boolean[] agendado = {false};
+
+        pendentesPorReserva.compute(reserva.reserva_id(), (reserva_id, lembretes) -> {
+            List<Lembrete> pendentes = lembretes == null ? new ArrayList<>(ANTECEDENCIAS.size()) : lembretes;
+            if (pendentes.stream().noneMatch(pendente -> pendente.antecedencia().equals(antecedencia))) {
+                pendentes.add(lembrete);
+                agendado[0] = true;
+            }
+            return pendentes;
+        });
+
+        if (agendado[0]) {
+            rodaDeTempo.agendar(lembrete, tickAPartirDe(reserva.dataReserva().minus(antecedencia)));
+        }
+
+    }
+
+    /**
+     * Retira o lembrete vencido dos pendentes; caso a reserva tenha sido cancelada ou reagendada, o
+     * lembrete não está mais entre eles e é descartado.
+     */
+    private boolean retirar(Lembrete lembrete) {
+
+        boolean[] pendente = {false};
+
+        pendentesPorReserva.computeIfPresent(lembrete.reserva().reserva_id(), (reserva_id, lembretes) -> {
+            pendente[0] = lembretes.removeIf(outro -> outro == lembrete);
+            return lembretes.isEmpty() ? null : lembretes;
+        });
+
+        return pendente[0];
+
+    }
+
+    /**
+     * @return true, caso esta instância tenha reivindicado o lembrete; false, caso outra instância já o
+     * tenha reivindicado ou a reserva tenha sido cancelada ou reagendada.
+     */
+    private boolean reivindicar(Lembrete lembrete) {
+
+        DadosEventoReservaDTO reserva = lembrete.reserva();
+
+        return reservaRepository.reivindicarLembrete(reserva.reserva_id(), reserva.dataReserva(),
+                reserva.dataReserva().minus(lembrete.antecedencia())) == 1;
+
+    }
+
+    private long tickAte(LocalDateTime momento) {
+
+        return epochMs(momento) / duracaoTickMs;
+
+    }
+
+    private long tickAPartirDe(LocalDateTime momento) {
+
+        // Arredonda para cima, para que o lembrete nunca seja enviado antes do momento
+        return (epochMs(momento) + duracaoTickMs - 1) / duracaoTickMs;
+
+    }
+
+    private static long epochMs(LocalDateTime momento) {
+
+        return momento.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    }
+
+    private record Lembrete(DadosEventoReservaDTO reserva, Duration antecedencia) {
+    }
+
+}
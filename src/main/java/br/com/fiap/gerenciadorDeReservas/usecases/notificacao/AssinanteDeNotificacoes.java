@@ -0,0 +1,48 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoNotificacaoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosNotificacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.AssinanteDeEventos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Classe responsável por transformar os eventos de reserva do outbox em e-mails ao cliente.
+ */
+@Service
+public class AssinanteDeNotificacoes implements AssinanteDeEventos {
+
+    @Autowired
+    NotificadorDeReservas notificadorDeReservas;
+
+    @Override
+    public Set<TipoEventoEnum> tiposDeEvento() {
+
+        return Set.of(TipoEventoEnum.RESERVA_CRIADA, TipoEventoEnum.RESERVA_CANCELADA);
+
+    }
+
+    @Override
+    public void receber(DadosEventoOutboxDTO evento) {
+
+        DadosEventoReservaDTO reserva = (DadosEventoReservaDTO) evento.conteudo();
+
+        notificadorDeReservas.notificar(new DadosNotificacaoReservaDTO(
+                evento.tipoEventoEnum() == TipoEventoEnum.RESERVA_CRIADA
+                        ? TipoNotificacaoEnum.CONFIRMACAO : TipoNotificacaoEnum.CANCELAMENTO,
+                reserva.reserva_id(),
+                reserva.email(),
+                reserva.nomeCliente(),
+                reserva.nomeRestaurante(),
+                reserva.dataReserva(),
+                reserva.quantidadePessoas()
+        ));
+
+    }
+
+}
@@ -0,0 +1,282 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoNotificacaoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosMetricasNotificacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosNotificacaoReservaDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Classe responsável pelos e-mails de confirmação e cancelamento das reservas.
+ * <p>
+ * Os e-mails nunca são enviados na transação da reserva: os eventos da reserva chegam pelo
+ * RelayDoOutbox e, após o commit, a notificação entra numa fila limitada, sem que a requisição
+ * espere pelo servidor SMTP. Um grupo de trabalhadores
+ * retira os e-mails da fila em lotes e envia cada lote numa única sessão SMTP. Os e-mails recusados
+ * voltam para a fila após um intervalo que dobra a cada tentativa, até o limite de tentativas.
+ * <p>
+ * Com a fila cheia, as novas notificações são descartadas em vez de atrasar as reservas; as
+ * métricas da fila mostram os e-mails pendentes, reenviados, abandonados e descartados.
+ */
+@Service
+public class NotificadorDeReservas {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificadorDeReservas.class);
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy 'às' HH:mm");
+
+    @Autowired(required = false)
+    JavaMailSender javaMailSender;
+
+    @Value("${reservas.notificacao.remetente:reservas@gerenciador.local}")
+    String remetente = "reservas@gerenciador.local";
+
+    @Value("${reservas.notificacao.capacidade-fila:1000}")
+    int capacidadeFila = 1000;
+
+    @Value("${reservas.notificacao.trabalhadores:2}")
+    int trabalhadores = 2;
+
+    @Value("${reservas.notificacao.tamanho-lote:50}")
+    int tamanhoLote = 50;
+
+    @Value("${reservas.notificacao.tentativas:5}")
+    int tentativas = 5;
+
+    @Value("${reservas.notificacao.backoff-inicial-ms:1000}")
+    long backoffInicialMs = 1000;
+
+    @Value("${reservas.notificacao.backoff-maximo-ms:60000}")
+    long backoffMaximoMs = 60000;
+
+    private final AtomicLong aguardandoReenvio = new AtomicLong();
+    private final AtomicLong enviados = new AtomicLong();
+    private final AtomicLong reenvios = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+
+    private BlockingQueue<Envio> fila;
+    private ExecutorService executor;
+    private ScheduledExecutorService agendador;
+
+    @PostConstruct
+    void iniciar() {
+
+        fila = new LinkedBlockingQueue<>(capacidadeFila);
+
+        if (!isHabilitada()) {
+            return;
+        }
+
+        executor = Executors.newFixedThreadPool(trabalhadores, criarThreads("notificacao-reservas"));
+        agendador = Executors.newSingleThreadScheduledExecutor(criarThreads("notificacao-reenvios"));
+
+        for (int i = 0; i < trabalhadores; i++) {
+            executor.execute(this::trabalhar);
+        }
+
+    }
+
+    @PreDestroy
+    void encerrar() {
+
+        if (executor != null) {
+            executor.shutdownNow();
+            agendador.shutdownNow();
+        }
+
+    }
+
+    /**
+     * @return true, caso haja um servidor SMTP configurado.
+     */
+    public boolean isHabilitada() {
+
+        return javaMailSender != null;
+
+    }
+
+    /**
+     * Método para notificar o cliente de uma reserva. Dentro de uma transação, o e-mail só entra na
+     * fila após o commit.
+     *
+     * @param notificacao Objeto com os dados do e-mail.
+     */
+    public void notificar(DadosNotificacaoReservaDTO notificacao) {
+
+        if (!isHabilitada() || notificacao.email() == null || notificacao.email().isBlank()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enfileirar(new Envio(notificacao, 1));
+                }
+            });
+        } else {
+            enfileirar(new Envio(notificacao, 1));
+        }
+
+    }
+
+    /**
+     * @return Objeto DadosMetricasNotificacaoDTO com a situação da fila.
+     */
+    public DadosMetricasNotificacaoDTO consultarMetricas() {
+
+        return new DadosMetricasNotificacaoDTO(
+                isHabilitada(),
+                fila.size(),
+                capacidadeFila,
+                aguardandoReenvio.get(),
+                enviados.get(),
+                reenvios.get(),
+                falhas.get(),
+                descartados.get()
+        );
+
+    }
+
+    boolean enfileirar(Envio envio) {
+
+        // Nunca bloqueia quem notifica: com a fila cheia, o e-mail é descartado
+        if (!fila.offer(envio)) {
+            descartados.incrementAndGet();
+            LOGGER.warn("Fila de e-mails cheia; notificação da reserva {} descartada", envio.notificacao().reserva_id());
+            return false;
+        }
+
+        return true;
+
+    }
+
+    private void trabalhar() {
+
+        List<Envio> lote = new ArrayList<>(tamanhoLote);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            fila.drainTo(lote, tamanhoLote - 1);
+
+            enviarLote(lote);
+            lote.clear();
+        }
+
+    }
+
+    void enviarLote(List<Envio> lote) {
+
+        SimpleMailMessage[] mensagens = lote.stream().map(this::criarMensagem).toArray(SimpleMailMessage[]::new);
+
+        try {
+            // O JavaMailSender envia todas as mensagens numa única conexão com o servidor
+            javaMailSender.send(mensagens);
+            enviados.addAndGet(mensagens.length);
+        } catch (MailSendException e) {
+            Map<Object, Exception> mensagensComFalha = e.getFailedMessages();
+            for (int i = 0; i < mensagens.length; i++) {
+                if (mensagensComFalha.isEmpty() || mensagensComFalha.containsKey(mensagens[i])) {
+                    reagendar(lote.get(i), e);
+                } else {
+                    enviados.incrementAndGet();
+                }
+            }
+        } catch (RuntimeException e) {
+            lote.forEach(envio -> reagendar(envio, e));
+        }
+
+    }
+
+    private void reagendar(Envio envio, Exception causa) {
+
+        if (envio.tentativa() >= tentativas) {
+            falhas.incrementAndGet();
+            LOGGER.error("E-mail da reserva {} abandonado após {} tentativas", envio.notificacao().reserva_id(),
+                    envio.tentativa(), causa);
+            return;
+        }
+
+        reenvios.incrementAndGet();
+        aguardandoReenvio.incrementAndGet();
+
+        agendador.schedule(() -> {
+            aguardandoReenvio.decrementAndGet();
+            enfileirar(new Envio(envio.notificacao(), envio.tentativa() + 1));
+        }, atrasoDaTentativa(envio.tentativa()), TimeUnit.MILLISECONDS);
+
+    }
+
+    long atrasoDaTentativa(int tentativa) {
+
+        return Math.min(backoffMaximoMs, backoffInicialMs << Math.min(tentativa - 1, 30));
+
+    }
+
+    private SimpleMailMessage criarMensagem(Envio envio) {
+
+        DadosNotificacaoReservaDTO notificacao = envio.notificacao();
+        TipoNotificacaoEnum tipo = notificacao.tipoNotificacaoEnum();
+
+        SimpleMailMessage mensagem = new SimpleMailMessage();
+        mensagem.setFrom(remetente);
+        mensagem.setTo(notificacao.email());
+        mensagem.setSubject(switch (tipo) {
+            case CONFIRMACAO -> "Reserva confirmada - ";
+            case CANCELAMENTO -> "Reserva cancelada - ";
+            case LEMBRETE -> "Lembrete da reserva - ";
+        } + notificacao.nomeRestaurante());
+        mensagem.setText("Olá, " + notificacao.nomeCliente() + ".\n\n"
+                + "Sua reserva " + notificacao.reserva_id() + " no restaurante " + notificacao.nomeRestaurante()
+                + " para " + notificacao.quantidadePessoas() + " pessoa(s) em "
+                + FORMATO_DATA.format(notificacao.dataReserva())
+                + switch (tipo) {
+                    case CONFIRMACAO -> " está confirmada.";
+                    case CANCELAMENTO -> " foi cancelada.";
+                    case LEMBRETE -> " está chegando. Esperamos por você!";
+                });
+
+        return mensagem;
+
+    }
+
+    private static ThreadFactory criarThreads(String nome) {
+
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, nome);
+            thread.setDaemon(true);
+            return thread;
+        };
+
+    }
+
+    /**
+     * E-mail na fila e o número da sua tentativa de envio.
+     */
+    record Envio(DadosNotificacaoReservaDTO notificacao, int tentativa) {
+    }
+
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.outbox;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+
+import java.util.Set;
+
+/**
+ * Interface dos serviços que recebem os eventos publicados pelo RelayDoOutbox.
+ * <p>
+ * Os eventos são entregues dentro da transação que os marca como processados, pelo menos uma vez:
+ * as gravações do assinante são confirmadas junto com a marcação, e o que não for gravado no banco
+ * deve ser feito após o commit.
+ */
+public interface AssinanteDeEventos {
+
+    /**
+     * @return Tipos de evento recebidos pelo assinante.
+     */
+    Set<TipoEventoEnum> tiposDeEvento();
+
+    /**
+     * Método para tratar um evento publicado.
+     *
+     * @param evento Objeto com os dados do evento.
+     */
+    void receber(DadosEventoOutboxDTO evento);
+
+}
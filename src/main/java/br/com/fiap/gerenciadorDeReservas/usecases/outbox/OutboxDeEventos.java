@@ -0,0 +1,118 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.outbox;
+
+import br.com.fiap.gerenciadorDeReservas.entities.AvaliacaoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.EventoOutboxEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoAvaliacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe responsável por gravar os eventos de reservas e avaliações na tb_evento_outbox.
+ * <p>
+ * O evento é gravado na transação da alteração que o originou, então os dois são confirmados ou
+ * desfeitos juntos. O trabalho secundário (e-mails, agregados) fica com os assinantes do
+ * RelayDoOutbox, fora da requisição, e nenhum evento se perde se a aplicação for reiniciada.
+ */
+@Service
+public class OutboxDeEventos {
+
+    @Autowired
+    EventoOutboxRepository eventoOutboxRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * Método para gravar o evento de criação ou cancelamento de uma reserva.
+     *
+     * @param tipoEventoEnum Tipo do evento da reserva.
+     * @param reservaEntity  Reserva gravada ou cancelada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarReserva(TipoEventoEnum tipoEventoEnum, ReservaEntity reservaEntity) {
+
+        registrarDadosDaReserva(tipoEventoEnum, new DadosEventoReservaDTO(
+                reservaEntity.getId(),
+                reservaEntity.getRestauranteEntity().getId(),
+                reservaEntity.getClienteEntity() == null ? null : reservaEntity.getClienteEntity().getEmail(),
+                reservaEntity.getClienteEntity() == null ? null : reservaEntity.getClienteEntity().getNome(),
+                reservaEntity.getRestauranteEntity().getNome(),
+                reservaEntity.getDataReserva(),
+                reservaEntity.getQuantidadePessoas()
+        ));
+
+    }
+
+    /**
+     * Método para gravar um evento de reserva a partir dos dados já consultados, sem carregar a reserva.
+     *
+     * @param tipoEventoEnum Tipo do evento da reserva.
+     * @param reserva        Objeto com o conteúdo do evento.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarDadosDaReserva(TipoEventoEnum tipoEventoEnum, DadosEventoReservaDTO reserva) {
+
+        registrar(tipoEventoEnum, reserva.reserva_id(), reserva);
+
+    }
+
+    /**
+     * Método para gravar o evento de criação de uma avaliação.
+     *
+     * @param avaliacaoEntity Avaliação gravada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAvaliacao(AvaliacaoEntity avaliacaoEntity) {
+
+        registrar(TipoEventoEnum.AVALIACAO_CRIADA, avaliacaoEntity.getId(), new DadosEventoAvaliacaoDTO(
+                avaliacaoEntity.getId(),
+                avaliacaoEntity.getRestauranteEntity().getId(),
+                avaliacaoEntity.getNota()
+        ));
+
+    }
+
+    /**
+     * Método para converter um evento gravado no objeto entregue aos assinantes.
+     *
+     * @param eventoOutboxEntity Evento gravado.
+     * @return Objeto DadosEventoOutboxDTO com o conteúdo na classe do tipo do evento.
+     */
+    public DadosEventoOutboxDTO converterParaDTO(EventoOutboxEntity eventoOutboxEntity) {
+
+        try {
+            return new DadosEventoOutboxDTO(
+                    eventoOutboxEntity.getId(),
+                    eventoOutboxEntity.getTipoEventoEnum(),
+                    eventoOutboxEntity.getAgregadoId(),
+                    objectMapper.readValue(eventoOutboxEntity.getConteudo(),
+                            eventoOutboxEntity.getTipoEventoEnum().getClasseDoConteudo())
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+    private void registrar(TipoEventoEnum tipoEventoEnum, Long agregado_id, Object conteudo) {
+
+        try {
+            eventoOutboxRepository.save(new EventoOutboxEntity(tipoEventoEnum, agregado_id,
+                    objectMapper.writeValueAsString(conteudo), LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.outbox;
+
+import br.com.fiap.gerenciadorDeReservas.entities.EventoOutboxEntity;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.EventoOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe responsável por publicar os eventos da tb_evento_outbox aos assinantes.
+ * <p>
+ * A cada intervalo, o relay bloqueia um lote de eventos pendentes com SKIP LOCKED, entrega cada
+ * evento aos assinantes do seu tipo e marca o lote como processado com um único UPDATE, tudo na
+ * mesma transação. Enquanto os lotes vierem cheios, o próximo é publicado em seguida.
+ * <p>
+ * Uma falha desfaz o lote, e os seus eventos são publicados de novo, cada um na sua própria
+ * transação; o evento que falhar sozinho tem a falha registrada e volta no próximo intervalo, até
+ * o limite de tentativas. Depois disso, o evento fica marcado como falho, fora da exclusão dos
+ * eventos processados.
+ */
+@Service
+public class RelayDoOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelayDoOutbox.class);
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    @Autowired
+    EventoOutboxRepository eventoOutboxRepository;
+    @Autowired
+    OutboxDeEventos outboxDeEventos;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    List<AssinanteDeEventos> assinantes;
+
+    @Value("${reservas.outbox.tamanho-lote:100}")
+    int tamanhoLote = 100;
+
+    @Value("${reservas.outbox.tentativas:5}")
+    int tentativas = 5;
+
+    @Value("${reservas.outbox.retencao-horas:24}")
+    long retencaoHoras = 24;
+
+    /**
+     * Método para publicar os eventos pendentes, em lotes, até esvaziar o outbox.
+     */
+    @Scheduled(fixedDelayString = "${reservas.outbox.intervalo-ms:500}")
+    public void publicarPendentes() {
+
+        while (publicarLote()) {
+            LOGGER.debug("Lote de eventos cheio; publicando o próximo");
+        }
+
+    }
+
+    /**
+     * Método para excluir os eventos processados há mais tempo que a retenção.
+     */
+    @Scheduled(cron = "${reservas.outbox.cron-limpeza:0 15 * * * *}")
+    @Transactional
+    public void excluirProcessados() {
+
+        eventoOutboxRepository.excluirProcessadosAntesDe(LocalDateTime.now().minusHours(retencaoHoras));
+
+    }
+
+    /**
+     * @return true, caso o lote tenha vindo cheio e sido publicado sem falhas.
+     */
+    boolean publicarLote() {
+
+        List<Long> eventos_id = new ArrayList<>();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<EventoOutboxEntity> eventos = eventoOutboxRepository
+                        .bloquearPendentes(PageRequest.of(0, tamanhoLote));
+                eventos.forEach(evento -> eventos_id.add(evento.getId()));
+
+                eventos.forEach(this::entregar);
+
+                if (!eventos.isEmpty()) {
+                    eventoOutboxRepository.marcarProcessados(eventos_id, LocalDateTime.now());
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Lote de {} eventos desfeito; publicando os eventos um a um", eventos_id.size(), e);
+            eventos_id.forEach(this::publicarEvento);
+            return false;
+        }
+
+        return eventos_id.size() == tamanhoLote;
+
+    }
+
+    private void publicarEvento(Long evento_id) {
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> eventoOutboxRepository.bloquearPendente(evento_id)
+                    .ifPresent(evento -> {
+                        entregar(evento);
+                        eventoOutboxRepository.marcarProcessados(List.of(evento_id), LocalDateTime.now());
+                    }));
+        } catch (RuntimeException e) {
+            LOGGER.error("Falha ao publicar o evento {}", evento_id, e);
+            String erro = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> eventoOutboxRepository.registrarFalha(evento_id,
+                    erro.substring(0, Math.min(erro.length(), TAMANHO_MAXIMO_ERRO)), tentativas, LocalDateTime.now()));
+        }
+
+    }
+
+    private void entregar(EventoOutboxEntity eventoOutboxEntity) {
+
+        DadosEventoOutboxDTO evento = outboxDeEventos.converterParaDTO(eventoOutboxEntity);
+
+        for (AssinanteDeEventos assinante : assinantes) {
+            if (assinante.tiposDeEvento().contains(evento.tipoEventoEnum())) {
+                assinante.receber(evento);
+            }
+        }
+
+    }
+
+}
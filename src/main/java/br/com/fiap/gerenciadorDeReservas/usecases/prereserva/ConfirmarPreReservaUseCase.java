@@ -0,0 +1,70 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.adapters.prereserva.PreReservaAdapter;
+import br.com.fiap.gerenciadorDeReservas.adapters.reserva.ReservaAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.PreReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.PreReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Classe para representar o caso de uso da confirmação de uma pré-reserva.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ConfirmarPreReservaUseCase {
+
+    @Autowired
+    PreReservaRepository preReservaRepository;
+    @Autowired
+    ReservaRepository reservaRepository;
+    @Autowired
+    PreReservaAdapter preReservaAdapter;
+    @Autowired
+    ReservaAdapter reservaAdapter;
+    @Autowired
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Autowired
+    OutboxDeEventos outboxDeEventos;
+
+    /**
+     * Método para transformar uma pré-reserva ainda válida em reserva. Os lugares e as mesas já foram
+     * ocupados na criação da pré-reserva e passam para a reserva, sem alterar a disponibilidade.
+     *
+     * @param preReserva_id ID da pré-reserva que será confirmada.
+     * @return DadosRetornoCriacaoReservaDTO Objeto com os dados da reserva criada.
+     */
+    @Transactional
+    public DadosRetornoCriacaoReservaDTO confirmarPreReserva(Long preReserva_id) {
+
+        PreReservaEntity preReservaEntity = preReservaRepository.findById(preReserva_id).orElseThrow(
+                () -> new EntityNotFoundException("O preReserva_id fornecido é inválido"));
+
+        ReservaEntity reservaEntity = preReservaAdapter.converterParaReservaEntity(preReservaEntity);
+
+        alocacaoMesaRepository.excluirAlocacoesDasPreReservas(List.of(preReserva_id));
+
+        if (preReservaRepository.excluirPreReservaValida(preReserva_id, LocalDateTime.now()) == 0) {
+            throw new EntityNotFoundException("A pré-reserva fornecida expirou");
+        }
+
+        reservaRepository.save(reservaEntity);
+
+        outboxDeEventos.registrarReserva(TipoEventoEnum.RESERVA_CRIADA, reservaEntity);
+
+        return reservaAdapter.converterParaDadosRetornoDTO(reservaEntity);
+
+    }
+
+}
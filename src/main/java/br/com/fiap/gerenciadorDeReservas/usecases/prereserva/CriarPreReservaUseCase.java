@@ -0,0 +1,54 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.adapters.prereserva.PreReservaAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.PreReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosRetornoPreReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.PreReservaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Classe para representar o caso de uso da criação de uma pré-reserva.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CriarPreReservaUseCase {
+
+    @Autowired
+    PreReservaAdapter preReservaAdapter;
+    @Autowired
+    PreReservaRepository preReservaRepository;
+    @Autowired
+    ExpiradorDePreReservas expiradorDePreReservas;
+
+    @Value("${reservas.pre-reserva.ttl-segundos:300}")
+    long ttlSegundos;
+
+    /**
+     * Método para separar uma vaga por tempo limitado. A capacidade é consumida na criação e
+     * devolvida caso a pré-reserva não seja confirmada antes de expirar.
+     *
+     * @param dadosCriacaoReservaDTO Objeto com os dados da reserva pretendida.
+     * @return DadosRetornoPreReservaDTO Objeto com os dados da pré-reserva e o momento da expiração.
+     * @throws IllegalAccessException Exception lançada, em caso de horário não disponivel.
+     */
+    @Transactional
+    public DadosRetornoPreReservaDTO criarPreReserva(DadosCriacaoReservaDTO dadosCriacaoReservaDTO) throws IllegalAccessException {
+
+        PreReservaEntity preReservaEntity = preReservaAdapter.converterParaEntity(dadosCriacaoReservaDTO,
+                LocalDateTime.now().plusSeconds(ttlSegundos));
+
+        preReservaRepository.save(preReservaEntity);
+
+        expiradorDePreReservas.agendar(preReservaAdapter.converterParaDadosAgendamentoDTO(preReservaEntity));
+
+        return preReservaAdapter.converterParaDadosRetornoDTO(preReservaEntity);
+
+    }
+
+}
@@ -0,0 +1,184 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosPreReservaAgendadaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.PreReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.RodaDeTempoHierarquica;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Classe responsável por expirar as pré-reservas não confirmadas dentro do prazo.
+ * <p>
+ * As expirações ficam numa RodaDeTempoHierarquica em memória, sem timer por pré-reserva nem
+ * consulta periódica ao banco. A cada tick, as pré-reservas vencidas são excluídas em lote por
+ * horário e lugares ocupados, e os lugares são devolvidos com um único UPDATE por lote. Um lote
+ * com falha é desfeito e as suas pré-reservas voltam para a roda de tempo, para uma nova tentativa,
+ * sem impedir os demais lotes do tick.
+ */
+@Service
+public class ExpiradorDePreReservas {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpiradorDePreReservas.class);
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int QUANTIDADE_NIVEIS = 4;
+    private static final int TAMANHO_LOTE = 1000;
+
+    @Autowired
+    PreReservaRepository preReservaRepository;
+    @Autowired
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Autowired
+    ControleDeLugares controleDeLugares;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${reservas.pre-reserva.duracao-tick-ms:1000}")
+    long duracaoTickMs = 1000;
+
+    @Value("${reservas.pre-reserva.nova-tentativa-ms:5000}")
+    long novaTentativaMs = 5000;
+
+    private RodaDeTempoHierarquica<DadosPreReservaAgendadaDTO> rodaDeTempo;
+
+    @PostConstruct
+    void criarRodaDeTempo() {
+
+        rodaDeTempo = new RodaDeTempoHierarquica<>(BITS_POR_NIVEL, QUANTIDADE_NIVEIS, tickAtual());
+
+    }
+
+    /**
+     * Método para reagendar as pré-reservas gravadas no banco ao subir a aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+
+        preReservaRepository.consultarPreReservasAgendadas().forEach(this::agendar);
+
+    }
+
+    /**
+     * Método para agendar a expiração de uma pré-reserva, após o commit da transação corrente.
+     *
+     * @param preReservaAgendada Objeto com a pré-reserva e o momento da expiração.
+     */
+    public void agendar(DadosPreReservaAgendadaDTO preReservaAgendada) {
+
+        Runnable agendamento = () -> rodaDeTempo.agendar(preReservaAgendada, tickDe(preReservaAgendada.expiraEm()));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    agendamento.run();
+                }
+            });
+        } else {
+            agendamento.run();
+        }
+
+    }
+
+    /**
+     * Método para avançar a roda de tempo e expirar as pré-reservas vencidas.
+     */
+    @Scheduled(fixedDelayString = "${reservas.pre-reserva.duracao-tick-ms:1000}")
+    public void expirar() {
+
+        List<DadosPreReservaAgendadaDTO> vencidas = rodaDeTempo.avancar(tickAtual());
+
+        if (vencidas.isEmpty()) {
+            return;
+        }
+
+        Map<GrupoDeVencidas, List<DadosPreReservaAgendadaDTO>> vencidasPorGrupo = vencidas.stream()
+                .collect(Collectors.groupingBy(vencida -> new GrupoDeVencidas(vencida.restaurante_id(),
+                        vencida.dataReserva(), vencida.fimReserva(), vencida.lugaresOcupados())));
+
+        vencidasPorGrupo.forEach((grupo, preReservas) -> {
+            for (int inicio = 0; inicio < preReservas.size(); inicio += TAMANHO_LOTE) {
+                List<DadosPreReservaAgendadaDTO> lote = preReservas.subList(inicio,
+                        Math.min(inicio + TAMANHO_LOTE, preReservas.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> expirarLote(grupo,
+                            lote.stream().map(DadosPreReservaAgendadaDTO::preReserva_id).toList()));
+                } catch (RuntimeException e) {
+                    reagendarLote(lote, e);
+                }
+            }
+        });
+
+        LOGGER.debug("{} pré-reservas vencidas processadas", vencidas.size());
+
+    }
+
+    private void expirarLote(GrupoDeVencidas grupo, List<Long> preReservas_id) {
+
+        alocacaoMesaRepository.excluirAlocacoesDasPreReservas(preReservas_id);
+
+        int expiradas = preReservaRepository.excluirPreReservas(preReservas_id, grupo.restaurante_id());
+
+        if (expiradas > 0) {
+            controleDeLugares.liberarLugares(grupo.restaurante_id(), grupo.dataReserva(), grupo.fimReserva(),
+                    expiradas * grupo.lugaresOcupados());
+        }
+
+    }
+
+    /**
+     * Devolve as pré-reservas de um lote com falha para a roda de tempo, para o tick seguinte ao
+     * intervalo de nova tentativa.
+     */
+    private void reagendarLote(List<DadosPreReservaAgendadaDTO> lote, RuntimeException falha) {
+
+        long tickNovaTentativa = tickDe(LocalDateTime.now().plus(novaTentativaMs, ChronoUnit.MILLIS));
+
+        LOGGER.warn("Falha ao expirar {} pré-reservas; nova tentativa em {} ms", lote.size(), novaTentativaMs, falha);
+
+        lote.forEach(preReserva -> rodaDeTempo.agendar(preReserva, tickNovaTentativa));
+
+    }
+
+    private long tickAtual() {
+
+        return System.currentTimeMillis() / duracaoTickMs;
+
+    }
+
+    private long tickDe(LocalDateTime momento) {
+
+        long epochMs = momento.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // Arredonda para cima, para que a pré-reserva nunca expire antes do prazo
+        return (epochMs + duracaoTickMs - 1) / duracaoTickMs;
+
+    }
+
+    /**
+     * Pré-reservas vencidas que ocupavam a mesma quantidade de lugares no mesmo intervalo.
+     */
+    private record GrupoDeVencidas(Long restaurante_id, LocalDateTime dataReserva, LocalDateTime fimReserva,
+                                   int lugaresOcupados) {
+    }
+
+}
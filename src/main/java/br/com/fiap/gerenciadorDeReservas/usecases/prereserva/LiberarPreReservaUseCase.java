@@ -0,0 +1,51 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.entities.PreReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.PreReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Classe para representar o caso de uso da liberação de uma pré-reserva.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LiberarPreReservaUseCase {
+
+    @Autowired
+    PreReservaRepository preReservaRepository;
+    @Autowired
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Autowired
+    ControleDeLugares controleDeLugares;
+
+    /**
+     * Método para desistir de uma pré-reserva antes da expiração, devolvendo os lugares ao horário.
+     *
+     * @param preReserva_id ID da pré-reserva que será liberada.
+     */
+    @Transactional
+    public void liberarPreReserva(Long preReserva_id) {
+
+        PreReservaEntity preReservaEntity = preReservaRepository.findById(preReserva_id).orElseThrow(
+                () -> new EntityNotFoundException("O preReserva_id fornecido é inválido"));
+
+        int lugaresOcupados = preReservaEntity.getLugaresOcupados();
+
+        alocacaoMesaRepository.excluirAlocacoesDasPreReservas(List.of(preReserva_id));
+
+        // A exclusão condicional garante que a vaga não seja devolvida duas vezes, caso a expiração ocorra junto
+        if (preReservaRepository.excluirPreReserva(preReserva_id) > 0) {
+            controleDeLugares.liberarLugares(preReservaEntity.getRestauranteEntity().getId(),
+                    preReservaEntity.getDataReserva(), preReservaEntity.getFimReserva(), lugaresOcupados);
+        }
+
+    }
+
+}
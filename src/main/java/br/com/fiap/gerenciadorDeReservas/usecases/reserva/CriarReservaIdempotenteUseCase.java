@@ -0,0 +1,64 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
+
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.admissao.AdmissaoDeReservas;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.idempotencia.ArmazemDeIdempotencia;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Classe para representar o caso de uso da criação de uma reserva com o header Idempotency-Key.
+ * <p>
+ * A classe não é transacional: as repetições são respondidas pelo ArmazemDeIdempotencia antes de
+ * abrir uma transação, sem acessar a capacidade do restaurante. Com a admissão habilitada, a
+ * primeira requisição de cada chave é gravada pela caixa de mensagens do restaurante, como as
+ * requisições sem chave.
+ */
+@Service
+public class CriarReservaIdempotenteUseCase {
+
+    @Autowired
+    CriarReservaUseCase criarReservaUseCase;
+    @Autowired
+    ArmazemDeIdempotencia armazemDeIdempotencia;
+    @Autowired
+    AdmissaoDeReservas admissaoDeReservas;
+
+    /**
+     * Método para criar uma reserva uma única vez por Idempotency-Key, repetindo a resposta original
+     * nas requisições seguintes com a mesma chave.
+     *
+     * @param chaveIdempotencia      Valor do header Idempotency-Key.
+     * @param dadosCriacaoReservaDTO Objeto com os dados para criação da reserva.
+     * @return DadosRetornoCriacaoReservaDTO Objeto com os dados da reserva criada pela primeira requisição.
+     * @throws IllegalAccessException Exception lançada, em caso de horário não disponivel.
+     */
+    public DadosRetornoCriacaoReservaDTO criarReserva(String chaveIdempotencia,
+                                                      DadosCriacaoReservaDTO dadosCriacaoReservaDTO) throws IllegalAccessException {
+
+        String impressaoRequisicao = ArmazemDeIdempotencia.gerarImpressao(dadosCriacaoReservaDTO);
+
+        Optional<DadosRetornoCriacaoReservaDTO> respostaOriginal = armazemDeIdempotencia
+                .buscarResposta(chaveIdempotencia, impressaoRequisicao);
+
+        if (respostaOriginal.isPresent()) {
+            return respostaOriginal.get();
+        }
+
+        try {
+            if (admissaoDeReservas.isHabilitada()) {
+                return admissaoDeReservas.criarReserva(dadosCriacaoReservaDTO, chaveIdempotencia, impressaoRequisicao);
+            }
+            return criarReservaUseCase.criarReserva(dadosCriacaoReservaDTO, chaveIdempotencia, impressaoRequisicao);
+        } catch (DataIntegrityViolationException e) {
+            // Outra requisição com a mesma chave gravou primeiro; esta transação foi desfeita
+            return armazemDeIdempotencia.buscarResposta(chaveIdempotencia, impressaoRequisicao).orElseThrow(() -> e);
+        }
+
+    }
+
+}
@@ -2,9 +2,12 @@ package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
 
 import br.com.fiap.gerenciadorDeReservas.adapters.reserva.ReservaAdapter;
 import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.idempotencia.ArmazemDeIdempotencia;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,22 +23,51 @@ public class CriarReservaUseCase {
     ReservaAdapter reservaAdapter;
     @Autowired
     ReservaRepository reservaRepository;
+    @Autowired
+    ArmazemDeIdempotencia armazemDeIdempotencia;
+    @Autowired
+    OutboxDeEventos outboxDeEventos;
 
     /**
-     * Método para efetuar a criação de uma reserva.
+     * Método para efetuar a criação de uma reserva. O e-mail de confirmação é enviado após o commit.
      *
      * @param dadosCriacaoReservaDTO Objeto com os dados para criação da reserva.
      * @return DadosRetornoCriacaoReservaDTO Objeto com os dados tratados.
      * @throws IllegalAccessException Exception lançada, em caso de horário não disponivel.
      */
+    @Transactional
     public DadosRetornoCriacaoReservaDTO criarReserva(DadosCriacaoReservaDTO dadosCriacaoReservaDTO) throws IllegalAccessException {
 
         ReservaEntity reservaEntity = reservaAdapter.converterParaEntity(dadosCriacaoReservaDTO);
 
         reservaRepository.save(reservaEntity);
 
+        outboxDeEventos.registrarReserva(TipoEventoEnum.RESERVA_CRIADA, reservaEntity);
+
         return reservaAdapter.converterParaDadosRetornoDTO(reservaEntity);
 
     }
 
+    /**
+     * Método para efetuar a criação de uma reserva e gravar a resposta da Idempotency-Key na mesma
+     * transação, de forma que a reserva e a chave sejam gravadas juntas ou nenhuma delas.
+     *
+     * @param dadosCriacaoReservaDTO Objeto com os dados para criação da reserva.
+     * @param chaveIdempotencia      Valor do header Idempotency-Key.
+     * @param impressaoRequisicao    Impressão do corpo da requisição.
+     * @return DadosRetornoCriacaoReservaDTO Objeto com os dados tratados.
+     * @throws IllegalAccessException Exception lançada, em caso de horário não disponivel.
+     */
+    @Transactional
+    public DadosRetornoCriacaoReservaDTO criarReserva(DadosCriacaoReservaDTO dadosCriacaoReservaDTO, String chaveIdempotencia,
+                                                      String impressaoRequisicao) throws IllegalAccessException {
+
+        DadosRetornoCriacaoReservaDTO dadosRetorno = criarReserva(dadosCriacaoReservaDTO);
+
+        armazemDeIdempotencia.registrarResposta(chaveIdempotencia, impressaoRequisicao, dadosRetorno);
+
+        return dadosRetorno;
+
+    }
+
 }
@@ -2,12 +2,21 @@ package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
 
 import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.exceptions.ReservaConflictException;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReservaAgendadaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.listaespera.PromoverListaEsperaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * Classe para representar o caso de uso do fechamento de uma reserva.
  */
@@ -17,22 +26,81 @@ public class FecharReservaUseCase {
 
     @Autowired
     ReservaRepository reservaRepository;
+    @Autowired
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Autowired
+    ControleDeLugares controleDeLugares;
+    @Autowired
+    PromoverListaEsperaUseCase promoverListaEsperaUseCase;
+    @Autowired
+    OutboxDeEventos outboxDeEventos;
 
     /**
      * Método para encerrar um reserva, atualizando o status dela para CANCELADO.
+     * A reserva só é cancelada se ainda estiver aberta no horário consultado; nesse caso as mesas e os
+     * lugares do grupo são devolvidos aos horários da reserva e repassados para a lista de espera desses
+     * horários, na mesma transação, e o cliente recebe o e-mail de cancelamento após o commit. Uma
+     * reserva reagendada durante o cancelamento é consultada novamente e cancelada no novo horário; uma
+     * reserva já cancelada não é alterada.
      *
      * @param reserva_id ID da reseva que será encerrada.
+     * @throws ReservaConflictException Caso a reserva seja alterada novamente durante o cancelamento.
      */
+    @Transactional
     public void fecharReserva(Long reserva_id) {
 
         ReservaEntity reservaEntity = reservaRepository.findById(reserva_id).orElseThrow(
                 () -> new EntityNotFoundException(("O reserva_id fornecido é inválido")));
 
+        if (reservaEntity.getStatusReservaEnum() != StatusReservaEnum.ABERTA) {
+            return;
+        }
+
+        int lugaresOcupados = reservaEntity.getLugaresOcupados();
+
+        // A atualização bloqueia a reserva e confere o status, o horário e a duração lidos, então os lugares
+        // só são devolvidos pela transação que efetivamente cancelou a reserva
+        if (reservaRepository.cancelarReservaAberta(reservaEntity.getId(), reservaEntity.getDataReserva(),
+                reservaEntity.getDuracaoMinutos()) == 0) {
+            Optional<DadosReservaAgendadaDTO> reservaAberta = consultarReservaAberta(reservaEntity.getId());
+            if (reservaAberta.isEmpty()) {
+                return;
+            }
+
+            // Um reagendamento concorrente moveu a reserva, que continua aberta no novo horário e é
+            // cancelada nele uma única vez
+            DadosReservaAgendadaDTO reserva = reservaAberta.get();
+            if (reservaRepository.cancelarReservaAberta(reserva.reserva_id(), reserva.dataReserva(),
+                    reserva.duracaoMinutos()) == 0) {
+                if (consultarReservaAberta(reservaEntity.getId()).isPresent()) {
+                    throw new ReservaConflictException("A reserva foi alterada por outra operação");
+                }
+                return;
+            }
+
+            reservaEntity.setDataReserva(reserva.dataReserva());
+            reservaEntity.setDuracaoMinutos(reserva.duracaoMinutos());
+            lugaresOcupados = reserva.lugaresOcupados();
+        }
+
         reservaEntity.setStatusReservaEnum(StatusReservaEnum.CANCELADA);
 
-        reservaRepository.atualizarStatusReserva(reservaEntity.getId(), reservaEntity.getStatusReservaEnum());
+        Long restaurante_id = reservaEntity.getRestauranteEntity().getId();
+
+        alocacaoMesaRepository.excluirAlocacoesDaReserva(reservaEntity.getId());
+        controleDeLugares.liberarLugares(restaurante_id, reservaEntity.getDataReserva(),
+                reservaEntity.getFimReserva(), lugaresOcupados);
+        promoverListaEsperaUseCase.promoverEspera(restaurante_id, reservaEntity.getDataReserva(),
+                reservaEntity.getFimReserva());
+        outboxDeEventos.registrarReserva(TipoEventoEnum.RESERVA_CANCELADA, reservaEntity);
 
     }
 
+    private Optional<DadosReservaAgendadaDTO> consultarReservaAberta(Long reserva_id) {
+
+        return reservaRepository.consultarReservaAgendada(reserva_id)
+                .filter(reserva -> reserva.statusReservaEnum() == StatusReservaEnum.ABERTA);
+
+    }
 
 }
@@ -6,11 +6,14 @@ import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosConsultaReservasDT
 import br.com.fiap.gerenciadorDeReservas.repositories.ClienteRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.particionamento.GerenciadorDeParticoesDeReserva;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Classe para representar o caso de uso de listar as reservas de um restaurante.
@@ -28,15 +31,27 @@ public class ListarReservasPorRestauranteUseCase {
     @Autowired
     ReservaAdapter reservaAdapter;
 
+    // Ausente quando o particionamento está desabilitado
+    @Autowired(required = false)
+    GerenciadorDeParticoesDeReserva gerenciadorDeParticoesDeReserva;
+
     /**
-     * Método para listar todas as reservas de um determinado restaurante.
+     * Método para listar as reservas de um determinado restaurante. Com meses já arquivados na
+     * tb_reserva_arquivo, a consulta começa no mês seguinte ao último arquivado, para que o PostgreSQL
+     * descarte as partições anteriores.
      *
      * @param restaurante_id ID do Restaurante que terá as reservas listadas.
      * @return DadosConsultaReservasDTO Objeto com os dados tratados para exibição da reserva.
      */
     public List<DadosConsultaReservasDTO> listarReservasPorRestaurante(Long restaurante_id) {
 
-        List<ReservaEntity> reservaEntity = reservaRepository.findByRestauranteEntityId(restaurante_id);
+        Optional<LocalDateTime> inicioDasReservasAtivas = gerenciadorDeParticoesDeReserva == null
+                ? Optional.empty() : gerenciadorDeParticoesDeReserva.consultarInicioDasReservasAtivas();
+
+        List<ReservaEntity> reservaEntity = inicioDasReservasAtivas.isPresent()
+                ? reservaRepository.findByRestauranteEntityIdAndDataReservaGreaterThanEqual(restaurante_id,
+                inicioDasReservasAtivas.get())
+                : reservaRepository.findByRestauranteEntityId(restaurante_id);
 
         return reservaAdapter.converterParaDadosConsultaPorRestaurante(reservaEntity);
 
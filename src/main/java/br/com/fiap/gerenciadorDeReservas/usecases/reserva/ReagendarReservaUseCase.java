@@ -0,0 +1,118 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
+
+import br.com.fiap.gerenciadorDeReservas.entities.AlocacaoMesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosMesaAlocadaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReagendamentoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReservaAgendadaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoReagendamentoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.listaespera.PromoverListaEsperaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Classe para representar o caso de uso do reagendamento de uma reserva.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReagendarReservaUseCase {
+
+    @Autowired
+    ReservaRepository reservaRepository;
+    @Autowired
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Autowired
+    ControleDeLugares controleDeLugares;
+    @Autowired
+    PromoverListaEsperaUseCase promoverListaEsperaUseCase;
+    @Autowired
+    OutboxDeEventos outboxDeEventos;
+    @Autowired
+    RegistroDeMetricas registroDeMetricas;
+
+    /**
+     * Método para mover uma reserva aberta para um novo horário do mesmo restaurante. Os lugares do
+     * horário atual são devolvidos e os do novo ocupados na mesma transação, então o grupo nunca fica
+     * sem lugar entre as duas operações; caso o novo horário não comporte o grupo, a reserva continua
+     * no horário atual. A reserva é lida por projeção, sem carregar o cliente e o restaurante, e os
+     * lugares devolvidos são repassados para a lista de espera. O evento do reagendamento é gravado no
+     * outbox, para que os lembretes acompanhem o novo horário.
+     *
+     * @param reserva_id                   ID da reserva que será reagendada.
+     * @param dadosReagendamentoReservaDTO Objeto com o novo horário da reserva.
+     * @return DadosRetornoReagendamentoReservaDTO Objeto com o novo horário e as mesas da reserva.
+     * @throws IllegalArgumentException Caso a reserva não esteja aberta ou o novo horário não esteja disponível.
+     */
+    @Transactional
+    public DadosRetornoReagendamentoReservaDTO reagendarReserva(Long reserva_id,
+                                                                DadosReagendamentoReservaDTO dadosReagendamentoReservaDTO) {
+
+        DadosReservaAgendadaDTO reserva = reservaRepository.consultarReservaAgendada(reserva_id).orElseThrow(
+                () -> new EntityNotFoundException("O reserva_id fornecido é inválido"));
+
+        if (reserva.statusReservaEnum() != StatusReservaEnum.ABERTA) {
+            throw new IllegalArgumentException("Apenas reservas abertas podem ser reagendadas");
+        }
+
+        LocalDateTime novaDataReserva = dadosReagendamentoReservaDTO.dataReserva();
+        Integer novaDuracaoMinutos = dadosReagendamentoReservaDTO.duracaoMinutos() == null
+                ? reserva.duracaoMinutos() : dadosReagendamentoReservaDTO.duracaoMinutos();
+        LocalDateTime novoFimReserva = ReservaEntity.calcularFimReserva(novaDataReserva, novaDuracaoMinutos);
+
+        // A reserva é bloqueada antes dos horários, como no fechamento, e só é alterada se ainda estiver
+        // no horário e com a duração consultados
+        if (reservaRepository.reagendarReserva(reserva_id, reserva.dataReserva(), reserva.duracaoMinutos(),
+                novaDataReserva, novaDuracaoMinutos) == 0) {
+            throw new IllegalArgumentException("A reserva foi alterada por outra operação");
+        }
+
+        alocacaoMesaRepository.excluirAlocacoesDaReserva(reserva_id);
+
+        // Sem lugares no novo horário, a exceção desfaz a alteração e a reserva continua no horário atual
+        Optional<List<MesaEntity>> mesasRealocadas = controleDeLugares.realocarLugares(reserva.restaurante_id(),
+                reserva.dataReserva(), reserva.fimReserva(), reserva.lugaresOcupados(), novaDataReserva,
+                novoFimReserva, reserva.quantidadePessoas() == null ? 1 : reserva.quantidadePessoas());
+
+        if (mesasRealocadas.isEmpty()) {
+            registroDeMetricas.incrementar(RegistroDeMetricas.RESERVAS_REJEITADAS, "reagendar");
+            throw new IllegalArgumentException("Data indisponivel para reserva");
+        }
+
+        List<MesaEntity> mesas = mesasRealocadas.get();
+
+        ReservaEntity reservaEntity = reservaRepository.getReferenceById(reserva_id);
+
+        alocacaoMesaRepository.saveAll(mesas.stream()
+                .map(mesa -> new AlocacaoMesaEntity(mesa, novaDataReserva, novoFimReserva, reservaEntity, null))
+                .toList());
+
+        reservaRepository.consultarDadosDoEvento(reserva_id).ifPresent(
+                dados -> outboxDeEventos.registrarDadosDaReserva(TipoEventoEnum.RESERVA_REAGENDADA, dados));
+
+        promoverListaEsperaUseCase.promoverEspera(reserva.restaurante_id(), reserva.dataReserva(),
+                reserva.fimReserva());
+
+        return new DadosRetornoReagendamentoReservaDTO(
+                reserva_id,
+                novaDataReserva,
+                novoFimReserva,
+                mesas.stream().map(mesa -> new DadosMesaAlocadaDTO(mesa.getId(), mesa.getLugares())).toList()
+        );
+
+    }
+
+}
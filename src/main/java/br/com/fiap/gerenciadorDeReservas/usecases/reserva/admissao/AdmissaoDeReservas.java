@@ -0,0 +1,314 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.admissao;
+
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.CriarReservaUseCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe responsável pela admissão das reservas de restaurantes muito disputados.
+ * <p>
+ * Com a admissão habilitada, os pedidos de reserva de cada restaurante entram numa caixa de
+ * mensagens própria, e um único escritor por restaurante os processa em ordem de chegada. O
+ * escritor retira os pedidos em lotes e grava cada lote numa única transação (group commit), então
+ * as reservas concorrentes de um restaurante deixam de disputar os bloqueios dos mesmos horários e
+ * passam a esperar na fila, com um commit a cada lote em vez de um por reserva.
+ * <p>
+ * Um pedido recusado por falta de lugares não altera nada e não afeta o lote. Qualquer outra falha
+ * desfaz o lote, e os seus pedidos são gravados de novo, cada um na sua própria transação. O
+ * resultado de cada pedido só é entregue após o commit.
+ * <p>
+ * Os pedidos com Idempotency-Key também passam pela caixa: a chave é gravada com a reserva, na
+ * transação do lote, e uma chave repetida desfaz o lote como qualquer outra falha.
+ * <p>
+ * O escritor reivindica cada pedido antes de gravá-lo. Esgotado o prazo, o solicitante cancela o
+ * pedido que ainda não foi reivindicado; um pedido já em execução não é cancelado, e o solicitante
+ * aguarda o commit ou o rollback do seu lote.
+ * <p>
+ * A caixa de um restaurante é removida quando o escritor a esvazia, então apenas os restaurantes com
+ * pedidos em andamento ocupam memória. A remoção e a entrada de pedidos são feitas sob o bloqueio do
+ * mapa de caixas, e um pedido nunca entra numa caixa já removida.
+ */
+@Service
+public class AdmissaoDeReservas {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissaoDeReservas.class);
+
+    private static final int PENDENTE = 0;
+    private static final int EM_EXECUCAO = 1;
+    private static final int CANCELADO = 2;
+
+    @Autowired
+    CriarReservaUseCase criarReservaUseCase;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${reservas.admissao.habilitada:false}")
+    boolean habilitada;
+
+    @Value("${reservas.admissao.tamanho-lote:256}")
+    int tamanhoLote = 256;
+
+    @Value("${reservas.admissao.capacidade-fila:10000}")
+    int capacidadeFila = 10000;
+
+    @Value("${reservas.admissao.escritores:4}")
+    int escritores = 4;
+
+    @Value("${reservas.admissao.timeout-ms:5000}")
+    long timeoutMs = 5000;
+
+    private final Map<Long, CaixaDoRestaurante> caixas = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void iniciar() {
+
+        executor = Executors.newFixedThreadPool(escritores, tarefa -> {
+            Thread thread = new Thread(tarefa, "admissao-reservas");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+    @PreDestroy
+    void encerrar() {
+
+        executor.shutdown();
+
+    }
+
+    /**
+     * @return true, caso as reservas devam passar pela admissão.
+     */
+    public boolean isHabilitada() {
+
+        return habilitada;
+
+    }
+
+    /**
+     * Método para criar uma reserva pela caixa de mensagens do restaurante, aguardando o commit do
+     * lote em que ela foi gravada. O prazo vale até o escritor reivindicar o pedido.
+     *
+     * @param dadosCriacaoReservaDTO Objeto com os dados para criação da reserva.
+     * @return DadosRetornoCriacaoReservaDTO Objeto com os dados tratados.
+     * @throws IllegalAccessException Exception lançada, em caso de horário não disponivel.
+     * @throws IllegalStateException  Caso a fila do restaurante esteja cheia ou o pedido não seja
+     *                                processado dentro do prazo.
+     */
+    public DadosRetornoCriacaoReservaDTO criarReserva(DadosCriacaoReservaDTO dadosCriacaoReservaDTO)
+            throws IllegalAccessException {
+
+        return criarReserva(dadosCriacaoReservaDTO, null, null);
+
+    }
+
+    /**
+     * Método para criar uma reserva pela caixa de mensagens do restaurante, gravando a resposta da
+     * Idempotency-Key na transação do lote em que a reserva for gravada.
+     *
+     * @param dadosCriacaoReservaDTO Objeto com os dados para criação da reserva.
+     * @param chaveIdempotencia      Valor do header Idempotency-Key, ou null.
+     * @param impressaoRequisicao    Impressão do corpo da requisição, ou null.
+     * @return DadosRetornoCriacaoReservaDTO Objeto com os dados tratados.
+     * @throws IllegalAccessException Exception lançada, em caso de horário não disponivel.
+     * @throws IllegalStateException  Caso a fila do restaurante esteja cheia ou o pedido não seja
+     *                                processado dentro do prazo.
+     */
+    public DadosRetornoCriacaoReservaDTO criarReserva(DadosCriacaoReservaDTO dadosCriacaoReservaDTO,
+                                                      String chaveIdempotencia, String impressaoRequisicao)
+            throws IllegalAccessException {
+
+        Pedido pedido = enfileirar(dadosCriacaoReservaDTO, chaveIdempotencia, impressaoRequisicao);
+
+        try {
+            try {
+                return pedido.resultado().get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Um pedido cancelado antes de ser reivindicado pelo escritor não é gravado; um pedido já
+                // em execução pode ser confirmado, então o resultado do seu lote é aguardado
+                if (pedido.estado().compareAndSet(PENDENTE, CANCELADO)) {
+                    pedido.resultado().cancel(false);
+                    throw new IllegalStateException("A reserva não foi processada dentro do prazo");
+                }
+                return pedido.resultado().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalAccessException illegalAccessException) {
+                throw illegalAccessException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            pedido.estado().compareAndSet(PENDENTE, CANCELADO);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Aguardo da reserva interrompido", e);
+        }
+
+    }
+
+    /**
+     * Método para colocar um pedido de reserva na caixa de mensagens do seu restaurante.
+     *
+     * @param dadosCriacaoReservaDTO Objeto com os dados para criação da reserva.
+     * @return Resultado do pedido, concluído após o commit do seu lote.
+     */
+    CompletableFuture<DadosRetornoCriacaoReservaDTO> enviar(DadosCriacaoReservaDTO dadosCriacaoReservaDTO) {
+
+        return enfileirar(dadosCriacaoReservaDTO, null, null).resultado();
+
+    }
+
+    /**
+     * @return Quantidade de restaurantes com caixa de mensagens aberta.
+     */
+    int caixasAbertas() {
+
+        return caixas.size();
+
+    }
+
+    private Pedido enfileirar(DadosCriacaoReservaDTO dadosCriacaoReservaDTO, String chaveIdempotencia,
+                              String impressaoRequisicao) {
+
+        Pedido pedido = new Pedido(dadosCriacaoReservaDTO, chaveIdempotencia, impressaoRequisicao,
+                new CompletableFuture<>(), new AtomicInteger(PENDENTE));
+        boolean[] aceito = {false};
+
+        CaixaDoRestaurante caixa = caixas.compute(dadosCriacaoReservaDTO.restaurante_id(), (restaurante_id, atual) -> {
+            CaixaDoRestaurante destino = atual == null
+                    ? new CaixaDoRestaurante(restaurante_id, new LinkedBlockingQueue<>(capacidadeFila))
+                    : atual;
+            aceito[0] = destino.pedidos().offer(pedido);
+            return destino;
+        });
+
+        if (!aceito[0]) {
+            throw new IllegalStateException("A fila de reservas do restaurante está cheia");
+        }
+
+        agendar(caixa);
+
+        return pedido;
+
+    }
+
+    private void agendar(CaixaDoRestaurante caixa) {
+
+        // Só um escritor por restaurante: a caixa é agendada apenas se ainda não estiver
+        if (caixa.agendada().compareAndSet(false, true)) {
+            executor.execute(() -> processar(caixa));
+        }
+
+    }
+
+    private void processar(CaixaDoRestaurante caixa) {
+
+        List<Pedido> lote = new ArrayList<>(tamanhoLote);
+
+        while (caixa.pedidos().drainTo(lote, tamanhoLote) > 0) {
+            gravarLote(lote);
+            lote.clear();
+        }
+
+        caixa.agendada().set(false);
+
+        // A caixa vazia e liberada é removida; um pedido que chegou antes da remoção a mantém
+        caixas.computeIfPresent(caixa.restaurante_id(), (restaurante_id, atual) ->
+                atual == caixa && caixa.pedidos().isEmpty() && !caixa.agendada().get() ? null : atual);
+
+        // Pedidos que chegaram depois da última retirada e antes da liberação da caixa
+        if (!caixa.pedidos().isEmpty()) {
+            agendar(caixa);
+        }
+
+    }
+
+    private void gravarLote(List<Pedido> lote) {
+
+        // Os pedidos cancelados pelo prazo ficam fora do lote; os demais não podem mais ser cancelados
+        lote.removeIf(pedido -> !pedido.estado().compareAndSet(PENDENTE, EM_EXECUCAO));
+
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        List<Runnable> conclusoes = new ArrayList<>(lote.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> lote.forEach(pedido -> conclusoes.add(executar(pedido))));
+        } catch (RuntimeException falhaDoLote) {
+            if (lote.size() == 1) {
+                lote.get(0).resultado().completeExceptionally(falhaDoLote);
+                return;
+            }
+
+            LOGGER.warn("Lote de {} reservas desfeito; gravando os pedidos individualmente", lote.size(), falhaDoLote);
+            lote.forEach(this::gravarIndividualmente);
+            return;
+        }
+
+        conclusoes.forEach(Runnable::run);
+
+    }
+
+    private void gravarIndividualmente(Pedido pedido) {
+
+        try {
+            transactionTemplate.execute(status -> executar(pedido)).run();
+        } catch (RuntimeException e) {
+            pedido.resultado().completeExceptionally(e);
+        }
+
+    }
+
+    /**
+     * @return Conclusão do pedido, executada após o commit.
+     */
+    private Runnable executar(Pedido pedido) {
+
+        try {
+            DadosRetornoCriacaoReservaDTO dadosRetorno = pedido.chaveIdempotencia() == null
+                    ? criarReservaUseCase.criarReserva(pedido.dados())
+                    : criarReservaUseCase.criarReserva(pedido.dados(), pedido.chaveIdempotencia(),
+                    pedido.impressaoRequisicao());
+            return () -> pedido.resultado().complete(dadosRetorno);
+        } catch (IllegalAccessException e) {
+            // Sem lugares, nenhum horário foi alterado e o lote continua
+            return () -> pedido.resultado().completeExceptionally(e);
+        }
+
+    }
+
+    private record Pedido(DadosCriacaoReservaDTO dados, String chaveIdempotencia, String impressaoRequisicao,
+                          CompletableFuture<DadosRetornoCriacaoReservaDTO> resultado, AtomicInteger estado) {
+    }
+
+    private record CaixaDoRestaurante(Long restaurante_id, BlockingQueue<Pedido> pedidos, AtomicBoolean agendada) {
+
+        private CaixaDoRestaurante(Long restaurante_id, BlockingQueue<Pedido> pedidos) {
+            this(restaurante_id, pedidos, new AtomicBoolean());
+        }
+
+    }
+
+}
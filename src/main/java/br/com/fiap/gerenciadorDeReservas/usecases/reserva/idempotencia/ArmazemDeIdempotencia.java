@@ -0,0 +1,202 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.idempotencia;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ChaveIdempotenciaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ChaveIdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Armazena as respostas das criações de reserva feitas com o header Idempotency-Key.
+ * <p>
+ * As respostas ficam num cache LRU limitado em memória, que responde às repetições sem acessar
+ * o banco, e na tb_chave_idempotencia, compartilhada entre as instâncias da aplicação.
+ * As duas cópias expiram após o TTL configurado.
+ */
+@Service
+public class ArmazemDeIdempotencia {
+
+    @Autowired
+    ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${reservas.idempotencia.ttl-horas:24}")
+    long ttlHoras = 24;
+    @Value("${reservas.idempotencia.capacidade-memoria:10000}")
+    int capacidadeMemoria = 10000;
+
+    private Map<String, RespostaArmazenada> memoria;
+
+    @PostConstruct
+    void criarMemoria() {
+
+        memoria = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RespostaArmazenada> maisAntiga) {
+                return size() > capacidadeMemoria;
+            }
+        };
+
+    }
+
+    /**
+     * Método para buscar a resposta já gravada para uma chave, primeiro na memória e depois no banco.
+     *
+     * @param chave               Valor do header Idempotency-Key.
+     * @param impressaoRequisicao Impressão do corpo da requisição, gerada por gerarImpressao.
+     * @return Optional com a resposta original ou vazio, caso a chave ainda não tenha sido usada.
+     * @throws IllegalArgumentException Caso a chave já tenha sido usada com outra requisição.
+     */
+    public Optional<DadosRetornoCriacaoReservaDTO> buscarResposta(String chave, String impressaoRequisicao) {
+
+        LocalDateTime agora = LocalDateTime.now();
+        RespostaArmazenada respostaArmazenada = lerMemoria(chave, agora);
+
+        if (respostaArmazenada == null) {
+            respostaArmazenada = chaveIdempotenciaRepository.findById(chave)
+                    .filter(chaveIdempotencia -> chaveIdempotencia.getExpiraEm().isAfter(agora))
+                    .map(this::converterParaRespostaArmazenada)
+                    .orElse(null);
+
+            if (respostaArmazenada != null) {
+                guardarMemoria(chave, respostaArmazenada);
+            }
+        }
+
+        if (respostaArmazenada == null) {
+            return Optional.empty();
+        }
+
+        if (!respostaArmazenada.impressaoRequisicao().equals(impressaoRequisicao)) {
+            throw new IllegalArgumentException("Idempotency-Key já utilizada com outra requisição");
+        }
+
+        return Optional.of(respostaArmazenada.resposta());
+
+    }
+
+    /**
+     * Método para gravar a resposta de uma chave na transação que criou a reserva. Caso outra
+     * requisição com a mesma chave grave primeiro, a chave primária é violada e a transação é desfeita.
+     *
+     * @param chave               Valor do header Idempotency-Key.
+     * @param impressaoRequisicao Impressão do corpo da requisição.
+     * @param resposta            Resposta que será repetida para a chave.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarResposta(String chave, String impressaoRequisicao, DadosRetornoCriacaoReservaDTO resposta) {
+
+        LocalDateTime agora = LocalDateTime.now();
+        RespostaArmazenada respostaArmazenada = new RespostaArmazenada(impressaoRequisicao, resposta,
+                agora.plusHours(ttlHoras));
+
+        chaveIdempotenciaRepository.excluirChaveExpirada(chave, agora);
+        chaveIdempotenciaRepository.inserirChave(chave, impressaoRequisicao, serializar(resposta),
+                respostaArmazenada.expiraEm());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guardarMemoria(chave, respostaArmazenada);
+            }
+        });
+
+    }
+
+    /**
+     * Método para excluir do banco as chaves expiradas.
+     */
+    @Scheduled(cron = "${reservas.idempotencia.cron-limpeza:0 0 * * * *}")
+    @Transactional
+    public void excluirExpiradas() {
+
+        chaveIdempotenciaRepository.excluirExpiradas(LocalDateTime.now());
+
+    }
+
+    /**
+     * Método para gerar a impressão (SHA-256) de uma requisição, usada para recusar a mesma chave
+     * enviada com outro corpo.
+     *
+     * @param requisicao Objeto com os dados da requisição.
+     * @return String com a impressão em hexadecimal.
+     */
+    public static String gerarImpressao(Object requisicao) {
+
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(requisicao).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(resumo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+    private synchronized RespostaArmazenada lerMemoria(String chave, LocalDateTime agora) {
+
+        RespostaArmazenada respostaArmazenada = memoria.get(chave);
+
+        if (respostaArmazenada != null && !respostaArmazenada.expiraEm().isAfter(agora)) {
+            memoria.remove(chave);
+            return null;
+        }
+
+        return respostaArmazenada;
+
+    }
+
+    private synchronized void guardarMemoria(String chave, RespostaArmazenada respostaArmazenada) {
+
+        memoria.put(chave, respostaArmazenada);
+
+    }
+
+    private RespostaArmazenada converterParaRespostaArmazenada(ChaveIdempotenciaEntity chaveIdempotenciaEntity) {
+
+        try {
+            return new RespostaArmazenada(
+                    chaveIdempotenciaEntity.getImpressaoRequisicao(),
+                    objectMapper.readValue(chaveIdempotenciaEntity.getResposta(), DadosRetornoCriacaoReservaDTO.class),
+                    chaveIdempotenciaEntity.getExpiraEm()
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta gravada para a Idempotency-Key é inválida", e);
+        }
+
+    }
+
+    private String serializar(DadosRetornoCriacaoReservaDTO resposta) {
+
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+    }
+
+    private record RespostaArmazenada(String impressaoRequisicao, DadosRetornoCriacaoReservaDTO resposta,
+                                      LocalDateTime expiraEm) {
+    }
+
+}
@@ -0,0 +1,321 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.particionamento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Classe responsável por manter a tb_reserva particionada por mês da data da reserva
+ * no PostgreSQL, criando as partições futuras e arquivando os meses que passaram
+ * do horizonte configurado.
+ * <p>
+ * Os meses arquivados são gravados na tb_reserva_arquivo, uma linha JSON por reserva,
+ * com as alocações de mesa da reserva, comprimidas em GZIP, e a partição do mês é removida.
+ * <p>
+ * A chave primária da tabela particionada inclui a data_reserva, então as tabelas que referenciam
+ * tb_reserva (id) não podem manter a chave estrangeira. A da tb_alocacao_mesa é substituída por um
+ * gatilho que confere a reserva na inclusão, e as alocações são removidas junto com as reservas
+ * arquivadas. Qualquer outra referência à tb_reserva interrompe a conversão.
+ */
+@Service
+@ConditionalOnProperty(name = "reservas.particionamento.habilitado", havingValue = "true")
+public class GerenciadorDeParticoesDeReserva {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GerenciadorDeParticoesDeReserva.class);
+
+    private static final String TABELA = "tb_reserva";
+    private static final String PARTICAO_PADRAO = "tb_reserva_padrao";
+    private static final DateTimeFormatter SUFIXO_PARTICAO = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String TABELA_ALOCACOES = "tb_alocacao_mesa";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${reservas.particionamento.meses-futuros:3}")
+    int mesesFuturos;
+    @Value("${reservas.arquivamento.horizonte-meses:12}")
+    int horizonteMeses;
+
+    private volatile boolean particionamentoAtivo;
+    private volatile LocalDateTime inicioDasReservasAtivas;
+
+    /**
+     * Método executado ao subir a aplicação, para converter a tb_reserva em tabela particionada
+     * (caso ainda não seja) e garantir as partições dos próximos meses.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+
+        if (!isPostgreSQL()) {
+            LOGGER.info("Particionamento da {} ignorado: banco de dados não é PostgreSQL", TABELA);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!isTabelaParticionada()) {
+                converterParaTabelaParticionada();
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS tb_reserva_arquivo (" +
+                    "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "mes DATE NOT NULL, " +
+                    "quantidade INTEGER NOT NULL, " +
+                    "dados BYTEA NOT NULL, " +
+                    "arquivado_em TIMESTAMP NOT NULL)");
+        });
+
+        Date ultimoMesArquivado = jdbcTemplate.queryForObject("SELECT MAX(mes) FROM tb_reserva_arquivo", Date.class);
+
+        if (ultimoMesArquivado != null) {
+            inicioDasReservasAtivas = ultimoMesArquivado.toLocalDate().plusMonths(1).atStartOfDay();
+        }
+
+        particionamentoAtivo = true;
+
+        criarParticoesFuturas();
+
+    }
+
+    /**
+     * Os meses são arquivados do mais antigo em diante, então a tb_reserva não tem reservas anteriores
+     * ao mês seguinte ao último arquivado; as consultas podem usar esse início para descartar as
+     * partições removidas.
+     *
+     * @return Início das reservas mantidas na tb_reserva, ou vazio caso o particionamento não esteja
+     * ativo ou nenhum mês tenha sido arquivado.
+     */
+    public Optional<LocalDateTime> consultarInicioDasReservasAtivas() {
+
+        return particionamentoAtivo ? Optional.ofNullable(inicioDasReservasAtivas) : Optional.empty();
+
+    }
+
+    /**
+     * Método para criar as partições do mês atual até o número de meses futuros configurado.
+     */
+    @Scheduled(cron = "${reservas.particionamento.cron:0 0 2 * * *}")
+    public void criarParticoesFuturas() {
+
+        if (!particionamentoAtivo) {
+            return;
+        }
+
+        YearMonth mesAtual = YearMonth.now();
+
+        for (int i = 0; i <= mesesFuturos; i++) {
+            criarParticao(mesAtual.plusMonths(i));
+        }
+
+    }
+
+    /**
+     * Método para arquivar as reservas com data anterior ao horizonte configurado, um mês por transação.
+     */
+    @Scheduled(cron = "${reservas.arquivamento.cron:0 30 3 * * *}")
+    public void arquivarReservasAntigas() {
+
+        if (!particionamentoAtivo) {
+            return;
+        }
+
+        YearMonth limite = YearMonth.now().minusMonths(horizonteMeses);
+
+        Timestamp maisAntiga = jdbcTemplate.queryForObject(
+                "SELECT MIN(data_reserva) FROM " + TABELA, Timestamp.class);
+
+        if (maisAntiga == null) {
+            return;
+        }
+
+        for (YearMonth mes = YearMonth.from(maisAntiga.toLocalDateTime()); mes.isBefore(limite); mes = mes.plusMonths(1)) {
+            YearMonth mesArquivado = mes;
+            Integer quantidade = transactionTemplate.execute(status -> arquivarMes(mesArquivado));
+            inicioDasReservasAtivas = mesArquivado.plusMonths(1).atDay(1).atStartOfDay();
+            LOGGER.info("Arquivadas {} reservas de {}", quantidade, mesArquivado);
+        }
+
+    }
+
+    /**
+     * Método para mover as reservas de um mês para a tb_reserva_arquivo e remover a partição do mês.
+     * As alocações de mesa das reservas são removidas na mesma instrução e arquivadas dentro delas.
+     *
+     * @param mes Mês que será arquivado.
+     * @return Quantidade de reservas arquivadas.
+     */
+    int arquivarMes(YearMonth mes) {
+
+        LocalDateTime inicio = mes.atDay(1).atStartOfDay();
+        LocalDateTime fim = mes.plusMonths(1).atDay(1).atStartOfDay();
+
+        List<String> reservas = jdbcTemplate.queryForList(
+                "WITH movidas AS (DELETE FROM " + TABELA + " WHERE data_reserva >= ? AND data_reserva < ? RETURNING *), " +
+                        "alocacoes AS (DELETE FROM " + TABELA_ALOCACOES + " a USING movidas " +
+                        "WHERE a.reserva_id = movidas.id RETURNING a.*) " +
+                        "SELECT (to_jsonb(movidas) || jsonb_build_object('alocacoes', COALESCE(" +
+                        "(SELECT jsonb_agg(to_jsonb(alocacoes)) FROM alocacoes WHERE alocacoes.reserva_id = movidas.id), " +
+                        "'[]'::jsonb)))::text FROM movidas",
+                String.class, Timestamp.valueOf(inicio), Timestamp.valueOf(fim));
+
+        if (!reservas.isEmpty()) {
+            jdbcTemplate.update(
+                    "INSERT INTO tb_reserva_arquivo (mes, quantidade, dados, arquivado_em) VALUES (?, ?, ?, ?)",
+                    Date.valueOf(mes.atDay(1)), reservas.size(), comprimir(reservas),
+                    Timestamp.valueOf(LocalDateTime.now()));
+        }
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + nomeParticao(mes));
+
+        return reservas.size();
+
+    }
+
+    private void criarParticao(YearMonth mes) {
+
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + nomeParticao(mes) + " PARTITION OF " + TABELA +
+                    " FOR VALUES FROM ('" + mes.atDay(1) + "') TO ('" + mes.plusMonths(1).atDay(1) + "')");
+        } catch (DataAccessException e) {
+            // Acontece quando a partição padrão já tem reservas do mês; elas continuam acessíveis por lá.
+            LOGGER.warn("Não foi possível criar a partição de {} da {}", mes, TABELA, e);
+        }
+
+    }
+
+    /**
+     * Recria a tb_reserva como tabela particionada por RANGE (data_reserva), copiando as colunas,
+     * os dados e a sequência de IDs da tabela criada pelo Hibernate. A tabela original é removida
+     * sem CASCADE, depois que as suas referências foram tratadas.
+     */
+    private void converterParaTabelaParticionada() {
+
+        LOGGER.info("Convertendo a {} em tabela particionada por mês", TABELA);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABELA + " RENAME TO tb_reserva_nao_particionada");
+        removerReferenciasDaTabelaOriginal();
+        jdbcTemplate.execute("CREATE TABLE " + TABELA + " (LIKE tb_reserva_nao_particionada " +
+                "INCLUDING DEFAULTS INCLUDING IDENTITY) PARTITION BY RANGE (data_reserva)");
+        jdbcTemplate.execute("ALTER TABLE " + TABELA + " ADD PRIMARY KEY (id, data_reserva)");
+        jdbcTemplate.execute("ALTER TABLE " + TABELA + " ADD FOREIGN KEY (cliente_id) REFERENCES tb_cliente (id)");
+        jdbcTemplate.execute("ALTER TABLE " + TABELA + " ADD FOREIGN KEY (restaurante_id) REFERENCES tb_restaurante (id)");
+        jdbcTemplate.execute("CREATE INDEX ON " + TABELA + " (restaurante_id, data_reserva)");
+        jdbcTemplate.execute("CREATE TABLE " + PARTICAO_PADRAO + " PARTITION OF " + TABELA + " DEFAULT");
+
+        jdbcTemplate.execute("INSERT INTO " + TABELA + " SELECT * FROM tb_reserva_nao_particionada");
+        jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('" + TABELA + "', 'id'), " +
+                "COALESCE((SELECT MAX(id) FROM " + TABELA + "), 0) + 1, false)");
+        jdbcTemplate.execute("DROP TABLE tb_reserva_nao_particionada");
+
+        criarVerificacaoDasAlocacoes();
+
+    }
+
+    /**
+     * Remove as chaves estrangeiras da tb_alocacao_mesa para a tabela original. Uma chave de outra
+     * tabela lança IllegalStateException, desfazendo a conversão, em vez de ser removida em silêncio.
+     */
+    private void removerReferenciasDaTabelaOriginal() {
+
+        List<Map<String, Object>> referencias = jdbcTemplate.queryForList(
+                "SELECT conrelid::regclass::text AS tabela, conname AS restricao FROM pg_constraint " +
+                        "WHERE contype = 'f' AND confrelid = 'tb_reserva_nao_particionada'::regclass");
+
+        for (Map<String, Object> referencia : referencias) {
+            String tabela = (String) referencia.get("tabela");
+            if (!TABELA_ALOCACOES.equals(tabela)) {
+                throw new IllegalStateException("A tabela " + tabela + " referencia a " + TABELA +
+                        " pela restrição " + referencia.get("restricao") +
+                        "; trate essa referência antes de particionar a tabela");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + tabela + " DROP CONSTRAINT \"" + referencia.get("restricao") + "\"");
+        }
+
+    }
+
+    /**
+     * Cria o gatilho que substitui a chave estrangeira da tb_alocacao_mesa para a tb_reserva.
+     */
+    private void criarVerificacaoDasAlocacoes() {
+
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION fn_alocacao_mesa_verificar_reserva() RETURNS trigger AS $$ " +
+                "BEGIN " +
+                "IF NEW.reserva_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM " + TABELA + " WHERE id = NEW.reserva_id) THEN " +
+                "RAISE EXCEPTION 'Reserva % inexistente', NEW.reserva_id USING ERRCODE = 'foreign_key_violation'; " +
+                "END IF; " +
+                "RETURN NEW; " +
+                "END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("DROP TRIGGER IF EXISTS tg_alocacao_mesa_verificar_reserva ON " + TABELA_ALOCACOES);
+        jdbcTemplate.execute("CREATE TRIGGER tg_alocacao_mesa_verificar_reserva " +
+                "BEFORE INSERT OR UPDATE OF reserva_id ON " + TABELA_ALOCACOES + " " +
+                "FOR EACH ROW EXECUTE FUNCTION fn_alocacao_mesa_verificar_reserva()");
+
+    }
+
+    private boolean isPostgreSQL() {
+
+        String produto = jdbcTemplate.execute(
+                (Connection conexao) -> conexao.getMetaData().getDatabaseProductName());
+
+        return "PostgreSQL".equalsIgnoreCase(produto);
+
+    }
+
+    private boolean isTabelaParticionada() {
+
+        Integer quantidade = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+                        "WHERE c.relname = ?", Integer.class, TABELA);
+
+        return quantidade != null && quantidade > 0;
+
+    }
+
+    private static String nomeParticao(YearMonth mes) {
+
+        return TABELA + "_" + mes.format(SUFIXO_PARTICAO);
+
+    }
+
+    private static byte[] comprimir(List<String> linhas) {
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            for (String linha : linhas) {
+                gzip.write(linha.getBytes(StandardCharsets.UTF_8));
+                gzip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return saida.toByteArray();
+
+    }
+
+}
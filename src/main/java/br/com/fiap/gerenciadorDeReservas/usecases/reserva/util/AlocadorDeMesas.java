@@ -0,0 +1,123 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.util;
+
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Escolhe as mesas de um grupo entre as mesas livres de um horário.
+ * <p>
+ * A escolha é uma mochila 0/1 sobre a soma de lugares: entre as combinações que acomodam o grupo,
+ * fica a de menor sobra de lugares e, no empate, a de menos mesas. Uma combinação ótima nunca soma
+ * mais do que o grupo mais a maior mesa menos um (caso contrário, qualquer mesa poderia ser retirada),
+ * então a tabela tem no máximo (grupo + maior mesa) posições por mesa e a escolha custa
+ * O(mesas x (grupo + maior mesa)), alguns milhares de operações para um salão de 60 mesas.
+ */
+public final class AlocadorDeMesas {
+
+    private static final int SEM_COMBINACAO = Integer.MAX_VALUE;
+
+    private AlocadorDeMesas() {
+    }
+
+    /**
+     * Método para escolher as mesas que acomodam um grupo com a menor sobra de lugares.
+     *
+     * @param mesasLivres       Mesas livres no horário.
+     * @param quantidadePessoas Quantidade de pessoas do grupo.
+     * @return Optional com as mesas escolhidas ou vazio, caso as mesas livres não comportem o grupo.
+     */
+    public static Optional<List<MesaEntity>> escolherMesas(Collection<MesaEntity> mesasLivres, int quantidadePessoas) {
+
+        // Ordem estável: no empate, as mesas menores e mais antigas são preferidas
+        List<MesaEntity> mesas = mesasLivres.stream()
+                .sorted(Comparator.comparing(MesaEntity::getLugares).thenComparing(MesaEntity::getId,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        int totalLugares = somarLugares(mesas);
+
+        if (quantidadePessoas < 1 || totalLugares < quantidadePessoas) {
+            return Optional.empty();
+        }
+
+        int maiorMesa = mesas.get(mesas.size() - 1).getLugares();
+        int limite = Math.min(quantidadePessoas + maiorMesa - 1, totalLugares);
+
+        // menorQuantidadeMesas[s]: menor quantidade de mesas que somam exatamente s lugares
+        int[] menorQuantidadeMesas = new int[limite + 1];
+        Arrays.fill(menorQuantidadeMesas, SEM_COMBINACAO);
+        menorQuantidadeMesas[0] = 0;
+
+        boolean[][] mesaUsada = new boolean[mesas.size()][limite + 1];
+
+        for (int indice = 0; indice < mesas.size(); indice++) {
+
+            int lugares = mesas.get(indice).getLugares();
+
+            for (int soma = limite; soma >= lugares; soma--) {
+
+                int anterior = menorQuantidadeMesas[soma - lugares];
+
+                if (anterior != SEM_COMBINACAO && anterior + 1 < menorQuantidadeMesas[soma]) {
+                    menorQuantidadeMesas[soma] = anterior + 1;
+                    mesaUsada[indice][soma] = true;
+                }
+            }
+        }
+
+        for (int soma = quantidadePessoas; soma <= limite; soma++) {
+            if (menorQuantidadeMesas[soma] != SEM_COMBINACAO) {
+                return Optional.of(reconstruir(mesas, mesaUsada, soma));
+            }
+        }
+
+        return Optional.empty();
+
+    }
+
+    /**
+     * Método para calcular os lugares ocupados por um grupo: a soma das mesas alocadas ou, em
+     * restaurantes sem mesas cadastradas, a quantidade de pessoas.
+     *
+     * @param mesas             Mesas alocadas para o grupo.
+     * @param quantidadePessoas Quantidade de pessoas do grupo.
+     * @return Quantidade de lugares ocupados.
+     */
+    public static int lugaresOcupados(Collection<MesaEntity> mesas, Integer quantidadePessoas) {
+
+        if (mesas != null && !mesas.isEmpty()) {
+            return somarLugares(mesas);
+        }
+
+        return quantidadePessoas == null ? 1 : quantidadePessoas;
+
+    }
+
+    private static List<MesaEntity> reconstruir(List<MesaEntity> mesas, boolean[][] mesaUsada, int soma) {
+
+        List<MesaEntity> escolhidas = new ArrayList<>();
+
+        for (int indice = mesas.size() - 1; indice >= 0 && soma > 0; indice--) {
+            if (mesaUsada[indice][soma]) {
+                escolhidas.add(mesas.get(indice));
+                soma -= mesas.get(indice).getLugares();
+            }
+        }
+
+        return escolhidas;
+
+    }
+
+    private static int somarLugares(Collection<MesaEntity> mesas) {
+
+        return mesas.stream().mapToInt(MesaEntity::getLugares).sum();
+
+    }
+
+}
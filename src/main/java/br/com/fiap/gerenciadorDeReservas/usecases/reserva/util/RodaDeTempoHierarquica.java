@@ -0,0 +1,170 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda de tempo hierárquica para agendar expirações em ticks.
+ * <p>
+ * Cada nível tem 2^bitsPorNivel posições; o nível 0 avança um tick por posição e cada nível
+ * seguinte cobre uma volta inteira do anterior. Um item é colocado no nível mais baixo em que o
+ * seu tick de expiração compartilha os bits superiores com o tick atual e desce de nível quando
+ * a posição que o contém é alcançada, de forma que agendar e expirar custam O(1) por item,
+ * sem um timer por item. Expirações além do último nível ficam numa lista de excedentes,
+ * reavaliada a cada volta completa da roda.
+ *
+ * @param <T> Tipo dos itens agendados.
+ */
+public class RodaDeTempoHierarquica<T> {
+
+    private final int bitsPorNivel;
+    private final int mascara;
+    private final List<Entrada<T>>[][] niveis;
+    private List<Entrada<T>> excedentes = new ArrayList<>();
+    private List<Entrada<T>> vencidos = new ArrayList<>();
+    private long tickAtual;
+
+    /**
+     * @param bitsPorNivel   Quantidade de bits por nível (2^bitsPorNivel posições por nível).
+     * @param quantidadeNiveis Quantidade de níveis da roda.
+     * @param tickInicial    Tick a partir do qual a roda começa a avançar.
+     */
+    @SuppressWarnings("unchecked")
+    public RodaDeTempoHierarquica(int bitsPorNivel, int quantidadeNiveis, long tickInicial) {
+
+        if (bitsPorNivel < 1 || quantidadeNiveis < 1 || (long) bitsPorNivel * quantidadeNiveis >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Configuração inválida para a roda de tempo");
+        }
+
+        this.bitsPorNivel = bitsPorNivel;
+        this.mascara = (1 << bitsPorNivel) - 1;
+        this.niveis = new List[quantidadeNiveis][1 << bitsPorNivel];
+        this.tickAtual = tickInicial;
+
+    }
+
+    /**
+     * Método para agendar um item para expirar em um tick. Ticks já alcançados expiram no próximo avanço.
+     *
+     * @param item          Item agendado.
+     * @param tickExpiracao Tick em que o item expira.
+     */
+    public synchronized void agendar(T item, long tickExpiracao) {
+
+        Entrada<T> entrada = new Entrada<>(tickExpiracao, item);
+
+        if (tickExpiracao <= tickAtual) {
+            vencidos.add(entrada);
+        } else {
+            posicionar(entrada);
+        }
+
+    }
+
+    /**
+     * Método para avançar a roda até o tick informado.
+     *
+     * @param tick Tick até o qual a roda avança.
+     * @return Lista com os itens expirados até o tick informado.
+     */
+    public synchronized List<T> avancar(long tick) {
+
+        List<T> expirados = new ArrayList<>();
+
+        vencidos.forEach(entrada -> expirados.add(entrada.item()));
+        vencidos = new ArrayList<>();
+
+        while (tickAtual < tick) {
+
+            tickAtual++;
+
+            if ((tickAtual & mascaraDoNivel(niveis.length)) == 0) {
+                List<Entrada<T>> reposicionados = excedentes;
+                excedentes = new ArrayList<>();
+                reposicionados.forEach(this::posicionar);
+            }
+
+            for (int nivel = niveis.length - 1; nivel > 0; nivel--) {
+                if ((tickAtual & mascaraDoNivel(nivel)) == 0) {
+                    descer(nivel, posicao(tickAtual, nivel));
+                }
+            }
+
+            List<Entrada<T>> posicaoAtual = niveis[0][posicao(tickAtual, 0)];
+
+            if (posicaoAtual != null) {
+                posicaoAtual.forEach(entrada -> expirados.add(entrada.item()));
+                niveis[0][posicao(tickAtual, 0)] = null;
+            }
+        }
+
+        return expirados;
+
+    }
+
+    /**
+     * @return Tick até o qual a roda já avançou.
+     */
+    public synchronized long getTickAtual() {
+
+        return tickAtual;
+
+    }
+
+    private void descer(int nivel, int posicao) {
+
+        List<Entrada<T>> entradas = niveis[nivel][posicao];
+
+        if (entradas != null) {
+            niveis[nivel][posicao] = null;
+            entradas.forEach(this::posicionar);
+        }
+
+    }
+
+    /**
+     * Durante a descida de nível, um item que expira no tick atual cai na posição do nível 0
+     * que é lida logo em seguida.
+     */
+    private void posicionar(Entrada<T> entrada) {
+
+        if (entrada.tickExpiracao() < tickAtual) {
+            vencidos.add(entrada);
+            return;
+        }
+
+        for (int nivel = 0; nivel < niveis.length; nivel++) {
+
+            int deslocamentoSuperior = bitsPorNivel * (nivel + 1);
+
+            if ((entrada.tickExpiracao() >>> deslocamentoSuperior) == (tickAtual >>> deslocamentoSuperior)) {
+                int posicao = posicao(entrada.tickExpiracao(), nivel);
+
+                if (niveis[nivel][posicao] == null) {
+                    niveis[nivel][posicao] = new ArrayList<>();
+                }
+                niveis[nivel][posicao].add(entrada);
+                return;
+            }
+        }
+
+        excedentes.add(entrada);
+
+    }
+
+    private int posicao(long tick, int nivel) {
+
+        return (int) (tick >>> (bitsPorNivel * nivel)) & mascara;
+
+    }
+
+    private long mascaraDoNivel(int nivel) {
+
+        return (1L << (bitsPorNivel * nivel)) - 1;
+
+    }
+
+    private record Entrada<T>(long tickExpiracao, T item) {
+    }
+
+}
@@ -1,12 +1,15 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.reserva.util;
 
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
-import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Classe para validar se um agendamento é valido ou não.
@@ -16,25 +19,24 @@ import java.time.LocalDateTime;
 public class ValidadorDeReservas {
 
     @Autowired
-    RestauranteRepository restauranteRepository;
+    ControleDeLugares controleDeLugares;
 
     /**
-     * Método para validar se uma data de agendamento é valida, olhando a disponibilidade da capacidade e existencia
-     * do intervalo de agendamento.
+     * Método para validar se uma data de agendamento é valida, olhando a existencia do horário e os
+     * lugares livres durante toda a reserva. Em caso de sucesso, os lugares do grupo já ficam ocupados
+     * e as mesas escolhidas.
      *
-     * @param dataAgendamento Objeto com a data e hora desejada para reserva.
-     * @return true ou false
+     * @param dataAgendamento   Objeto com a data e hora desejada para reserva.
+     * @param fimAgendamento    Fim da reserva, conforme a sua duração.
+     * @param quantidadePessoas Quantidade de pessoas do grupo.
+     * @return Optional com as mesas alocadas (vazia em restaurantes sem mesas) ou vazio, caso a data seja inválida.
      */
-    public boolean isDataAgendamentoValido(LocalDateTime dataAgendamento, RestauranteEntity restauranteEntity) {
-        if (restauranteEntity.getDiasDeOperacao().contains(dataAgendamento) && restauranteEntity.getCapacidade() > 0) {
-            restauranteEntity.setCapacidade(restauranteEntity.getCapacidade() - 1);
+    @Transactional
+    public Optional<List<MesaEntity>> alocarAgendamento(LocalDateTime dataAgendamento, LocalDateTime fimAgendamento,
+                                                        RestauranteEntity restauranteEntity, int quantidadePessoas) {
 
-            restauranteRepository.atualizarCapacidade(restauranteEntity.getId(), restauranteEntity.getCapacidade());
-
-            return true;
-        } else {
-            return false;
-        }
+        return controleDeLugares.ocuparLugares(restauranteEntity.getId(), dataAgendamento, fimAgendamento,
+                quantidadePessoas);
 
     }
 
@@ -1,13 +1,13 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
 
-import br.com.fiap.gerenciadorDeReservas.adapters.restaurante.RestauranteAdapter;
-import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosMomentoFuncionamentoDTO;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -18,24 +18,37 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class BuscarRestaurantePorNomeUseCase {
 
-    @Autowired
-    RestauranteAdapter restauranteAdapter;
     @Autowired
     RestauranteRepository restauranteRepository;
 
     /**
-     * Método para buscar uma lista de RestauranteEntity pelo nome
-     * do restaurante.
+     * Método para buscar os dados de consulta dos restaurantes pelo nome
+     * do restaurante, projetados direto do banco sem carregar as entidades.
      *
      * @param nomeRestaurante String com o parametro que será usado na busca.
      * @return Lista de DadosConsultaRestauranteDTO com os resultados da busca.
      */
     public List<DadosConsultaRestauranteDTO> buscarRestaurantesPorNome(String nomeRestaurante) {
 
-        List<RestauranteEntity> restauranteEntity = restauranteRepository.findByNomeContainingIgnoreCase(
-                nomeRestaurante);
+        return restauranteRepository.consultarPorNome(nomeRestaurante);
+
+    }
+
+    /**
+     * Método para buscar os restaurantes pelo nome que estão abertos num momento. O filtro
+     * de funcionamento é aplicado na mesma consulta da busca.
+     *
+     * @param nomeRestaurante String com o parametro que será usado na busca.
+     * @param abertoEm        Momento em que o restaurante deve estar aberto, ou null para não filtrar.
+     * @return Lista de DadosConsultaRestauranteDTO com os resultados da busca.
+     */
+    public List<DadosConsultaRestauranteDTO> buscarRestaurantesPorNome(String nomeRestaurante, LocalDateTime abertoEm) {
+
+        if (abertoEm == null) {
+            return buscarRestaurantesPorNome(nomeRestaurante);
+        }
 
-        return restauranteAdapter.converterEntityParaDadosConsultaRestauranteDTO(restauranteEntity);
+        return restauranteRepository.consultarPorNomeAbertos(nomeRestaurante, new DadosMomentoFuncionamentoDTO(abertoEm));
 
     }
 
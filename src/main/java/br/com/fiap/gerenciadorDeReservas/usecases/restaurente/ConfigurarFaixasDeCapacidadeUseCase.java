@@ -0,0 +1,50 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
+
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosFaixasDeCapacidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.CapacidadeEmFaixas;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Classe para representar o caso de uso da configuração das faixas de capacidade de um restaurante
+ */
+@Service
+@Transactional(readOnly = true)
+public class ConfigurarFaixasDeCapacidadeUseCase {
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+    @Autowired
+    CapacidadeEmFaixas capacidadeEmFaixas;
+
+    /**
+     * Método para dividir os lugares de cada horário de um restaurante em faixas, ou voltar a
+     * controlá-los apenas pelo banco.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param faixas         Quantidade de faixas (de 2 a CapacidadeEmFaixas.MAXIMO_FAIXAS), ou null
+     *                       para desabilitar.
+     * @return Objeto DadosFaixasDeCapacidadeDTO com a configuração gravada.
+     */
+    @Transactional
+    public DadosFaixasDeCapacidadeDTO configurarFaixas(Long restaurante_id, Integer faixas) {
+
+        if (faixas != null && (faixas < 2 || faixas > CapacidadeEmFaixas.MAXIMO_FAIXAS)) {
+            throw new IllegalArgumentException("A quantidade de faixas deve estar entre 2 e "
+                    + CapacidadeEmFaixas.MAXIMO_FAIXAS);
+        }
+
+        if (restauranteRepository.atualizarFaixasDeCapacidade(restaurante_id, faixas) == 0) {
+            throw new EntityNotFoundException("O restaurante_id fornecido é inválido");
+        }
+
+        capacidadeEmFaixas.configurar(restaurante_id, faixas);
+
+        return new DadosFaixasDeCapacidadeDTO(restaurante_id, faixas);
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
+
+import br.com.fiap.gerenciadorDeReservas.repositories.ExcecaoFuncionamentoRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.HorarioFuncionamentoRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.CalendarioDeFuncionamento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Classe para representar o caso de uso da consulta dos horários de funcionamento de um restaurante
+ */
+@Service
+@Transactional(readOnly = true)
+public class ConsultarFuncionamentoUseCase {
+
+    @Autowired
+    HorarioFuncionamentoRepository horarioFuncionamentoRepository;
+    @Autowired
+    ExcecaoFuncionamentoRepository excecaoFuncionamentoRepository;
+
+    /**
+     * Método para carregar os horários semanais de um restaurante e as exceções de um período. As
+     * exceções do dia anterior ao período também são carregadas, pois um intervalo pode terminar
+     * depois da meia-noite.
+     *
+     * @param restaurante_id ID do restaurante.
+     * @param de             Primeira data consultada.
+     * @param ate            Última data consultada.
+     * @return CalendarioDeFuncionamento do restaurante no período.
+     */
+    public CalendarioDeFuncionamento consultarCalendario(Long restaurante_id, LocalDate de, LocalDate ate) {
+
+        return new CalendarioDeFuncionamento(
+                horarioFuncionamentoRepository.consultarHorarios(restaurante_id),
+                excecaoFuncionamentoRepository.consultarExcecoes(restaurante_id, de.minusDays(1), ate)
+        );
+
+    }
+
+}
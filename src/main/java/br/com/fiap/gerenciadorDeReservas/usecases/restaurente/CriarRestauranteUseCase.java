@@ -1,13 +1,23 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
 
 import br.com.fiap.gerenciadorDeReservas.adapters.restaurante.RestauranteAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.ExcecaoFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosCriacaoRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ExcecaoFuncionamentoRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.HorarioFuncionamentoRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.MesaRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.CalendarioDeFuncionamento;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * Classe para representar o caso de uso da criação de um restaurante
  */
@@ -19,6 +29,14 @@ public class CriarRestauranteUseCase {
     RestauranteRepository restauranteRepository;
     @Autowired
     RestauranteAdapter restauranteAdapter;
+    @Autowired
+    MesaRepository mesaRepository;
+    @Autowired
+    HorarioFuncionamentoRepository horarioFuncionamentoRepository;
+    @Autowired
+    ExcecaoFuncionamentoRepository excecaoFuncionamentoRepository;
+    @Autowired
+    ControleDeLugares controleDeLugares;
 
     /**
      * Método para efetuar a criação de uma entity RestauranteEntity e gravar no banco.
@@ -26,13 +44,26 @@ public class CriarRestauranteUseCase {
      * @param dadosCriacaoRestauranteDTO Objeto DadosCriacaoRestauranteDTO com os dados de criação do RestauranteEntity.
      * @return Objeto DadosCriacaoRestauranteDTO com os dados gravados.
      */
+    @Transactional
     public DadosCriacaoRestauranteDTO criarRestaurante(DadosCriacaoRestauranteDTO dadosCriacaoRestauranteDTO) {
 
         RestauranteEntity restauranteEntity = restauranteAdapter.converterParaEntity(dadosCriacaoRestauranteDTO);
 
         restauranteRepository.save(restauranteEntity);
 
-        return restauranteAdapter.converterParaDTO(restauranteEntity);
+        List<MesaEntity> mesas = restauranteAdapter.converterParaMesas(dadosCriacaoRestauranteDTO, restauranteEntity);
+        mesaRepository.saveAll(mesas);
+
+        List<HorarioFuncionamentoEntity> horarios = restauranteAdapter
+                .converterParaHorariosDeFuncionamento(dadosCriacaoRestauranteDTO, restauranteEntity);
+        List<ExcecaoFuncionamentoEntity> excecoes = restauranteAdapter
+                .converterParaExcecoesDeFuncionamento(dadosCriacaoRestauranteDTO, restauranteEntity);
+        horarioFuncionamentoRepository.saveAll(horarios);
+        excecaoFuncionamentoRepository.saveAll(excecoes);
+
+        controleDeLugares.criarHorarios(restauranteEntity, new CalendarioDeFuncionamento(horarios, excecoes));
+
+        return restauranteAdapter.converterParaDTO(restauranteEntity, mesas, horarios, excecoes);
 
     }
 
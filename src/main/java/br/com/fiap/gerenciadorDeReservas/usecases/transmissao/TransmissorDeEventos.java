@@ -0,0 +1,291 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.transmissao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transmissão de eventos por Server-Sent Events aos assinantes de uma chave (um restaurante, por
+ * exemplo).
+ * <p>
+ * Cada evento é serializado uma única vez e colocado na fila limitada de cada assinante da chave,
+ * sem que quem publica espere pela rede. Um pequeno grupo de trabalhadores esvazia as filas: um
+ * assinante só ocupa um trabalhador enquanto tem eventos pendentes, e as conexões ociosas não
+ * custam threads, apenas o emitter e a fila. O assinante cuja fila enche, por não acompanhar os
+ * eventos, é desconectado; o EventSource do cliente reconecta e volta a receber os novos eventos.
+ * <p>
+ * Um comentário é enviado periodicamente a todos os assinantes, para manter as conexões abertas e
+ * descobrir os clientes que já se desconectaram.
+ *
+ * @param <K> Tipo da chave das assinaturas.
+ */
+public abstract class TransmissorDeEventos<K> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransmissorDeEventos.class);
+
+    private static final Evento MANTER_CONEXAO = new Evento(null, null);
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Value("${reservas.transmissao.capacidade-assinante:64}")
+    protected int capacidadeAssinante = 64;
+
+    @Value("${reservas.transmissao.trabalhadores:4}")
+    protected int trabalhadores = 4;
+
+    @Value("${reservas.transmissao.timeout-ms:1800000}")
+    protected long timeoutMs = 1800000;
+
+    private final String nomeEvento;
+
+    private final Map<K, Set<Assinante>> assinantesPorChave = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicLong desconectadosPorLentidao = new AtomicLong();
+
+    ExecutorService executor;
+
+    /**
+     * @param nomeEvento Nome dos eventos enviados aos assinantes.
+     */
+    protected TransmissorDeEventos(String nomeEvento) {
+
+        this.nomeEvento = nomeEvento;
+
+    }
+
+    @PostConstruct
+    public void iniciar() {
+
+        executor = Executors.newFixedThreadPool(trabalhadores, tarefa -> {
+            Thread thread = new Thread(tarefa, "transmissao-" + nomeEvento);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    }
+
+    @PreDestroy
+    public void encerrar() {
+
+        assinantesPorChave.values().forEach(assinantes -> assinantes.forEach(Assinante::desconectar));
+
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+    }
+
+    /**
+     * Método para assinar os eventos de uma chave.
+     *
+     * @param chave Chave dos eventos.
+     * @return SseEmitter da conexão do assinante.
+     */
+    protected SseEmitter assinar(K chave) {
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinante assinante = new Assinante(chave, emitter);
+
+        // A inclusão é feita dentro do compute, atômica com a remoção do conjunto que ficou vazio,
+        // para que o assinante não seja incluído num conjunto já retirado do mapa
+        assinantesPorChave.compute(chave, (c, assinantes) -> {
+            Set<Assinante> conjunto = assinantes == null ? ConcurrentHashMap.newKeySet() : assinantes;
+            conjunto.add(assinante);
+            return conjunto;
+        });
+
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+
+        return emitter;
+
+    }
+
+    /**
+     * @return true, caso a chave tenha ao menos um assinante; permite evitar a montagem de eventos
+     * que ninguém receberá.
+     */
+    public boolean possuiAssinantes(K chave) {
+
+        Set<Assinante> assinantes = assinantesPorChave.get(chave);
+
+        return assinantes != null && !assinantes.isEmpty();
+
+    }
+
+    /**
+     * Método para enviar um evento a todos os assinantes de uma chave.
+     *
+     * @param chave    Chave dos eventos.
+     * @param conteudo Objeto enviado como JSON no campo data do evento.
+     */
+    protected void publicar(K chave, Object conteudo) {
+
+        Set<Assinante> assinantes = assinantesPorChave.get(chave);
+
+        if (assinantes == null || assinantes.isEmpty()) {
+            return;
+        }
+
+        Evento evento;
+
+        try {
+            evento = new Evento(Long.toString(sequencia.incrementAndGet()), objectMapper.writeValueAsString(conteudo));
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Falha ao serializar o evento {}", nomeEvento, e);
+            return;
+        }
+
+        assinantes.forEach(assinante -> assinante.entregar(evento));
+
+    }
+
+    /**
+     * Método para enviar um comentário a todos os assinantes, mantendo as conexões abertas.
+     */
+    @Scheduled(fixedDelayString = "${reservas.transmissao.intervalo-manter-conexao-ms:30000}")
+    public void manterConexoes() {
+
+        assinantesPorChave.values().forEach(assinantes -> assinantes.forEach(
+                assinante -> assinante.entregar(MANTER_CONEXAO)));
+
+    }
+
+    /**
+     * @return Quantidade de assinantes conectados.
+     */
+    public int quantidadeAssinantes() {
+
+        return assinantesPorChave.values().stream().mapToInt(Set::size).sum();
+
+    }
+
+    /**
+     * @return Quantidade de assinantes desconectados por não acompanharem os eventos.
+     */
+    public long desconectadosPorLentidao() {
+
+        return desconectadosPorLentidao.get();
+
+    }
+
+    private void remover(Assinante assinante) {
+
+        assinantesPorChave.computeIfPresent(assinante.chave, (chave, assinantes) -> {
+            assinantes.remove(assinante);
+            return assinantes.isEmpty() ? null : assinantes;
+        });
+
+    }
+
+    /**
+     * Evento serializado; sem id, é um comentário para manter a conexão.
+     */
+    private record Evento(String id, String dados) {
+
+        private void enviar(SseEmitter emitter, String nomeEvento) throws IOException {
+
+            if (id == null) {
+                emitter.send(SseEmitter.event().comment(""));
+            } else {
+                emitter.send(SseEmitter.event().id(id).name(nomeEvento).data(dados, MediaType.APPLICATION_JSON));
+            }
+
+        }
+
+    }
+
+    /**
+     * Conexão de um assinante e os eventos ainda não enviados a ela.
+     */
+    private final class Assinante {
+
+        private final K chave;
+        private final SseEmitter emitter;
+        private final Queue<Evento> pendentes = new ArrayBlockingQueue<>(capacidadeAssinante);
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        private volatile boolean conectado = true;
+
+        private Assinante(K chave, SseEmitter emitter) {
+
+            this.chave = chave;
+            this.emitter = emitter;
+
+        }
+
+        private void entregar(Evento evento) {
+
+            if (!conectado) {
+                return;
+            }
+
+            if (!pendentes.offer(evento)) {
+                desconectadosPorLentidao.incrementAndGet();
+                LOGGER.debug("Assinante de {} desconectado por não acompanhar os eventos", nomeEvento);
+                desconectar();
+                return;
+            }
+
+            if (agendado.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::enviarPendentes);
+                } catch (RejectedExecutionException e) {
+                    desconectar();
+                }
+            }
+
+        }
+
+        /**
+         * Envia os eventos pendentes; um evento que chega depois da fila esvaziar agenda um novo envio,
+         * ou é enviado aqui mesmo, caso chegue antes do fim.
+         */
+        private void enviarPendentes() {
+
+            try {
+                do {
+                    Evento evento;
+                    while (conectado && (evento = pendentes.poll()) != null) {
+                        evento.enviar(emitter, nomeEvento);
+                    }
+                    agendado.set(false);
+                } while (conectado && !pendentes.isEmpty() && agendado.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                agendado.set(false);
+                desconectar();
+            }
+
+        }
+
+        private void desconectar() {
+
+            conectado = false;
+            pendentes.clear();
+            remover(this);
+            emitter.complete();
+
+        }
+
+    }
+
+}
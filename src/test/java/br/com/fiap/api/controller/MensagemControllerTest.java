@@ -1,7 +1,9 @@
 package br.com.fiap.api.controller;
 
+import br.com.fiap.api.exception.MensagemConflictException;
 import br.com.fiap.api.exception.MensagemNotFoundException;
 import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.model.PaginaDeMensagens;
 import br.com.fiap.api.service.MensagemService;
 import br.com.fiap.api.utils.MensagemHelper;
 import br.com.fiap.gerenciadorDeReservas.controllers.cliente.MensagemController;
@@ -20,11 +22,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -102,6 +110,18 @@ public class MensagemControllerTest {
             verify(mensagemService, times(1)).buscarMensagem(any(UUID.class));
         }
 
+        @Test
+        void devePermitirBuscarMensagem_ComETagDaVersao() throws Exception {
+            var id = UUID.fromString("2b3c4d5e-6f7a-4b8c-9d0e-1f2a3b4c5d6e");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setVersao(7L);
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvc.perform(get("/mensagens/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"7\""));
+        }
+
         @Test
         void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() throws Exception {
             var id = UUID.fromString("cc40bc30-1e06-44cf-ac35-8b1fd85b4650");
@@ -174,6 +194,84 @@ public class MensagemControllerTest {
                     .alterarMensagem(any(UUID.class), any(Mensagem.class));
         }
 
+        @Test
+        void devePermitirAlterarMensagem_ComIfMatch() throws Exception {
+            var id = UUID.fromString("3f2c1b0a-9e8d-4c7b-a6f5-e4d3c2b1a090");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(id);
+
+            when(mensagemService.alterarMensagem(eq(id), any(Mensagem.class)))
+                    .thenAnswer(i -> {
+                        Mensagem alterada = i.getArgument(1);
+                        return Mensagem.builder()
+                                .id(alterada.getId())
+                                .usuario(alterada.getUsuario())
+                                .conteudo(alterada.getConteudo())
+                                .versao(alterada.getVersao() + 1)
+                                .build();
+                    });
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header("If-Match", "\"4\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("ETag", "\"5\""));
+            verify(mensagemService, times(1))
+                    .alterarMensagem(eq(id), argThat(alterada -> alterada.getVersao() == 4L));
+        }
+
+        @Test
+        void devePermitirAlterarMensagem_SemRetornarRepresentacao() throws Exception {
+            var id = UUID.fromString("7a6b5c4d-3e2f-4a1b-9c8d-7e6f5a4b3c2d");
+            var mensagem = MensagemHelper.gerarMensagem();
+
+            when(mensagemService.alterarConteudo(eq(id), any(Mensagem.class), eq(1L)))
+                    .thenReturn(2L);
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header("If-Match", "\"1\"")
+                            .header("Prefer", "return=minimal")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isNoContent())
+                    .andExpect(header().string("ETag", "\"2\""))
+                    .andExpect(content().string(""));
+            verify(mensagemService, never()).alterarMensagem(any(UUID.class), any(Mensagem.class));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_IfMatchDesatualizado() throws Exception {
+            var id = UUID.fromString("1c2d3e4f-5a6b-4c7d-8e9f-0a1b2c3d4e5f");
+            var mensagem = MensagemHelper.gerarMensagem();
+            var conteudoDaExcecao = "A mensagem foi alterada por outra requisição";
+
+            when(mensagemService.alterarMensagem(eq(id), any(Mensagem.class)))
+                    .thenThrow(new MensagemConflictException(conteudoDaExcecao));
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header("If-Match", "\"1\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(content().string(conteudoDaExcecao));
+        }
+
+        @Test
+        void deveGerarExcecao_QuandoAlterarMensagem_VersaoDesatualizada() throws Exception {
+            var id = UUID.fromString("9f8e7d6c-5b4a-4392-8170-6f5e4d3c2b1a");
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setVersao(1L);
+
+            when(mensagemService.alterarMensagem(eq(id), any(Mensagem.class)))
+                    .thenThrow(new MensagemConflictException("A mensagem foi alterada por outra requisição"));
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isConflict());
+        }
+
         @Test
         void deveGerarExcecao_QuandoAlterarMensagem_ApresentaPayloadComXML() throws Exception {
             var id = UUID.fromString("fb384847-a533-4425-a62e-b67fc527877e");
@@ -260,6 +358,71 @@ public class MensagemControllerTest {
         }
     }
 
+    @Nested
+    class ListarMensagensPorCursor {
+        @Test
+        void devePermitirListarMensagensPorCursor() throws Exception {
+            var cursor = UUID.randomUUID();
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(UUID.randomUUID());
+
+            when(mensagemService.listarMensagensPorCursor(any(UUID.class), anyInt()))
+                    .thenReturn(new PaginaDeMensagens(List.of(mensagem), mensagem.getId()));
+
+            mockMvc.perform(get("/mensagens/cursor")
+                            .param("cursor", cursor.toString())
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", not(empty())))
+                    .andExpect(jsonPath("$.proximoCursor").value(mensagem.getId().toString()));
+            verify(mensagemService, times(1)).listarMensagensPorCursor(cursor, 1);
+        }
+
+        @Test
+        void devePermitirListarMensagensPorCursor_QuandoNaoInformadoCursor() throws Exception {
+            when(mensagemService.listarMensagensPorCursor(any(), anyInt()))
+                    .thenReturn(new PaginaDeMensagens(List.of(), null));
+
+            mockMvc.perform(get("/mensagens/cursor"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", empty()))
+                    .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+            verify(mensagemService, times(1)).listarMensagensPorCursor(null, 10);
+        }
+    }
+
+    @Nested
+    class ExportarMensagens {
+        @Test
+        void devePermitirExportarMensagensEmNdjson() throws Exception {
+            var primeira = MensagemHelper.gerarMensagem();
+            primeira.setId(UUID.randomUUID());
+            var segunda = MensagemHelper.gerarMensagem();
+            segunda.setId(UUID.randomUUID());
+
+            when(mensagemService.exportarMensagensDoUsuario(eq("José"), any()))
+                    .thenAnswer(i -> {
+                        Consumer<Mensagem> consumidor = i.getArgument(1);
+                        consumidor.accept(primeira);
+                        consumidor.accept(segunda);
+                        return 2L;
+                    });
+
+            var resultado = mockMvc.perform(get("/mensagens/exportar").param("usuario", "José"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            var linhas = mockMvc.perform(asyncDispatch(resultado))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andReturn().getResponse().getContentAsString().split("\n");
+
+            assertThat(linhas).hasSize(2);
+            assertThat(linhas[0]).contains(primeira.getId().toString());
+            assertThat(linhas[1]).contains(segunda.getId().toString());
+        }
+    }
+
     public static String asJsonString(final Object object) throws JsonProcessingException {
         //return new ObjectMapper().writeValueAsString(object);
         return new ObjectMapper().writeValueAsString(object);
@@ -0,0 +1,60 @@
+package br.com.fiap.api.repository;
+
+import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.utils.UuidOrdenadoPorTempo;
+import br.com.fiap.gerenciadorDeReservas.GerenciadorDeReservasApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes das consultas do MensagemRepository executadas no banco em memória, para validar as
+ * projeções que os testes com o repositório simulado não alcançam.
+ */
+@DataJpaTest(properties = {"spring.datasource.driver-class-name=", "spring.sql.init.mode=never"})
+@ContextConfiguration(classes = GerenciadorDeReservasApplication.class)
+class MensagemRepositoryJpaTest {
+
+    @Autowired
+    private MensagemRepository mensagemRepository;
+
+    @Test
+    void devePermitirConsultarMensagensDoUsuario() {
+        // Arrange
+        var primeira = gravar("José", "primeira");
+        var segunda = gravar("José", "segunda");
+        gravar("Maria", "outro usuário");
+        mensagemRepository.alterarConteudo(segunda.getId(), "segunda alterada");
+
+        // Act
+        List<Mensagem> mensagens;
+        try (Stream<Mensagem> stream = mensagemRepository.consultarMensagensDoUsuario("José")) {
+            mensagens = stream.toList();
+        }
+
+        // Assert
+        assertThat(mensagens).extracting(Mensagem::getId).containsExactly(primeira.getId(), segunda.getId());
+        assertThat(mensagens).extracting(Mensagem::getConteudo).containsExactly("primeira", "segunda alterada");
+        assertThat(mensagens).extracting(Mensagem::getVersao).containsExactly(0L, 1L);
+    }
+
+    private Mensagem gravar(String usuario, String conteudo) {
+
+        var mensagem = Mensagem.builder()
+                .id(UuidOrdenadoPorTempo.gerar())
+                .usuario(usuario)
+                .conteudo(conteudo)
+                .dataCriacao(LocalDateTime.now())
+                .build();
+
+        return mensagemRepository.saveAndFlush(mensagem);
+    }
+
+}
@@ -0,0 +1,196 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.repository.MensagemRepository;
+import br.com.fiap.api.utils.MensagemHelper;
+import br.com.fiap.api.utils.UuidOrdenadoPorTempo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BufferDeMensagensTest {
+
+    @Mock
+    private MensagemRepository mensagemRepository;
+
+    private BufferDeMensagens bufferDeMensagens;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        bufferDeMensagens = new BufferDeMensagens();
+        bufferDeMensagens.mensagemRepository = mensagemRepository;
+        bufferDeMensagens.habilitado = true;
+        bufferDeMensagens.capacidade = 100;
+        bufferDeMensagens.tamanhoLote = 3;
+        bufferDeMensagens.intervaloMs = 20;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        bufferDeMensagens.encerrar();
+        mock.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void devePermitirGravarMensagensEmLotes() throws Exception {
+        // Arrange
+        var mensagens = gerarMensagens(7);
+        bufferDeMensagens.iniciar();
+
+        // Act
+        mensagens.forEach(bufferDeMensagens::adicionar);
+        bufferDeMensagens.encerrar();
+
+        // Assert
+        ArgumentCaptor<List<Mensagem>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(mensagemRepository, atLeast(3)).saveAll(lotes.capture());
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
+        assertThat(lotes.getAllValues()).allSatisfy(lote -> assertThat(lote).hasSizeLessThanOrEqualTo(3));
+        assertThat(lotes.getAllValues().stream().flatMap(List::stream).toList()).isEqualTo(mensagens);
+        assertThat(bufferDeMensagens.pendentes()).isZero();
+    }
+
+    @Test
+    void devePermitirGravarNaRequisicao_QuandoBufferCheio() throws Exception {
+        // Arrange
+        bufferDeMensagens.capacidade = 1;
+        bufferDeMensagens.tamanhoLote = 1;
+        var gravando = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        when(mensagemRepository.saveAll(anyList())).thenAnswer(i -> {
+            if (Thread.currentThread().getName().equals("buffer-mensagens")) {
+                gravando.countDown();
+                liberar.await(5, TimeUnit.SECONDS);
+            }
+            return i.getArgument(0);
+        });
+        var mensagens = gerarMensagens(3);
+        bufferDeMensagens.iniciar();
+
+        // Act
+        bufferDeMensagens.adicionar(mensagens.get(0));
+        assertThat(gravando.await(5, TimeUnit.SECONDS)).isTrue();
+        bufferDeMensagens.adicionar(mensagens.get(1));
+        bufferDeMensagens.adicionar(mensagens.get(2));
+
+        // Assert
+        verify(mensagemRepository, times(1)).saveAll(List.of(mensagens.get(2)));
+        assertThat(bufferDeMensagens.pendentes()).isEqualTo(1);
+        liberar.countDown();
+    }
+
+    @Test
+    void devePermitirGravarIndividualmente_QuandoLoteFalha() {
+        // Arrange
+        var mensagens = gerarMensagens(3);
+        when(mensagemRepository.saveAll(anyList())).thenThrow(new IllegalStateException("lote recusado"));
+        when(mensagemRepository.save(mensagens.get(1))).thenThrow(new IllegalStateException("mensagem recusada"));
+
+        // Act
+        bufferDeMensagens.persistir(mensagens);
+
+        // Assert
+        verify(mensagemRepository, times(3)).save(any(Mensagem.class));
+    }
+
+    @Test
+    void deveManterMensagensNoDiario_QuandoRepositorioFalha(@TempDir Path diretorio) throws Exception {
+        // Arrange
+        var arquivo = diretorio.resolve("mensagens.diario");
+        var mensagens = gerarMensagens(2);
+        when(mensagemRepository.saveAll(anyList())).thenThrow(new IllegalStateException("banco indisponível"));
+        when(mensagemRepository.save(any(Mensagem.class))).thenThrow(new IllegalStateException("banco indisponível"));
+        bufferDeMensagens.diarioHabilitado = true;
+        bufferDeMensagens.arquivoDiario = arquivo.toString();
+        bufferDeMensagens.novaTentativaMs = 10;
+        bufferDeMensagens.iniciar();
+
+        // Act
+        mensagens.forEach(bufferDeMensagens::adicionar);
+        verify(mensagemRepository, timeout(5000).atLeast(2)).saveAll(anyList());
+        bufferDeMensagens.encerrar();
+
+        // Assert
+        try (var diario = new DiarioDeMensagens(arquivo)) {
+            assertThat(diario.recuperar()).extracting(Mensagem::getId)
+                    .containsExactlyElementsOf(mensagens.stream().map(Mensagem::getId).toList());
+        }
+    }
+
+    @Test
+    void devePermitirGravarNovamenteMensagensRecusadas(@TempDir Path diretorio) throws Exception {
+        // Arrange
+        var arquivo = diretorio.resolve("mensagens.diario");
+        var mensagens = gerarMensagens(2);
+        when(mensagemRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenAnswer(i -> i.getArgument(0));
+        when(mensagemRepository.save(any(Mensagem.class))).thenThrow(new IllegalStateException("banco indisponível"));
+        bufferDeMensagens.diarioHabilitado = true;
+        bufferDeMensagens.arquivoDiario = arquivo.toString();
+        bufferDeMensagens.novaTentativaMs = 10;
+        bufferDeMensagens.tamanhoLote = 2;
+        bufferDeMensagens.intervaloMs = 1000;
+        bufferDeMensagens.iniciar();
+
+        // Act
+        mensagens.forEach(bufferDeMensagens::adicionar);
+        verify(mensagemRepository, timeout(5000).times(2)).saveAll(anyList());
+        bufferDeMensagens.encerrar();
+
+        // Assert
+        verify(mensagemRepository, times(2)).saveAll(mensagens);
+        assertThat(bufferDeMensagens.pendentes()).isZero();
+        assertThat(Files.size(arquivo)).isZero();
+    }
+
+    @Test
+    void devePermitirRecuperarMensagensDoDiario_QuandoReiniciado(@TempDir Path diretorio) throws Exception {
+        // Arrange
+        var arquivo = diretorio.resolve("mensagens.diario");
+        var mensagens = gerarMensagens(2);
+        try (var diario = new DiarioDeMensagens(arquivo)) {
+            mensagens.forEach(diario::registrar);
+        }
+        when(mensagemRepository.findAllById(anyList())).thenReturn(List.of(mensagens.get(0)));
+        bufferDeMensagens.diarioHabilitado = true;
+        bufferDeMensagens.arquivoDiario = arquivo.toString();
+
+        // Act
+        bufferDeMensagens.iniciar();
+
+        // Assert
+        verify(mensagemRepository, times(1)).saveAll(List.of(mensagens.get(1)));
+        assertThat(Files.size(arquivo)).isZero();
+    }
+
+    private static List<Mensagem> gerarMensagens(int quantidade) {
+        var mensagens = new ArrayList<Mensagem>();
+        for (int i = 0; i < quantidade; i++) {
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(UuidOrdenadoPorTempo.gerar());
+            mensagens.add(mensagem);
+        }
+        return mensagens;
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.model.Mensagem;
+import br.com.fiap.api.utils.MensagemHelper;
+import br.com.fiap.api.utils.UuidOrdenadoPorTempo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiarioDeMensagensTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveEsvaziarArquivo_QuandoTodasMensagensConfirmadas() throws Exception {
+        // Arrange
+        var arquivo = diretorio.resolve("mensagens.diario");
+
+        try (var diario = new DiarioDeMensagens(arquivo)) {
+            // Act
+            diario.registrar(gerarMensagem());
+            diario.registrar(gerarMensagem());
+            diario.confirmar(1);
+
+            // Assert
+            assertThat(Files.size(arquivo)).isPositive();
+            diario.confirmar(1);
+            assertThat(Files.size(arquivo)).isZero();
+        }
+    }
+
+    @Test
+    void devePermitirRecuperarMensagens_IgnorandoLinhaIncompleta() throws Exception {
+        // Arrange
+        var arquivo = diretorio.resolve("mensagens.diario");
+        var mensagem = gerarMensagem();
+        try (var diario = new DiarioDeMensagens(arquivo)) {
+            diario.registrar(mensagem);
+        }
+        Files.writeString(arquivo, "{\"id\":\"01", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (var diario = new DiarioDeMensagens(arquivo)) {
+            // Act
+            var recuperadas = diario.recuperar();
+
+            // Assert
+            assertThat(recuperadas).containsExactly(mensagem);
+        }
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEntreThreads() throws Exception {
+        // Arrange
+        var arquivo = diretorio.resolve("mensagens.diario");
+        var executor = Executors.newFixedThreadPool(8);
+
+        try (var diario = new DiarioDeMensagens(arquivo)) {
+            var tarefas = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < 8; t++) {
+                tarefas.add(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        diario.registrar(gerarMensagem());
+                    }
+                    return null;
+                });
+            }
+
+            // Act
+            for (Future<Void> resultado : executor.invokeAll(tarefas)) {
+                resultado.get();
+            }
+
+            // Assert
+            assertThat(diario.recuperar()).hasSize(400);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Mensagem gerarMensagem() {
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setId(UuidOrdenadoPorTempo.gerar());
+        mensagem.setDataCriacao(LocalDateTime.now());
+        return mensagem;
+    }
+}
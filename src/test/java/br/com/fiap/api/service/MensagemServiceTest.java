@@ -1,5 +1,6 @@
 package br.com.fiap.api.service;
 
+import br.com.fiap.api.exception.MensagemConflictException;
 import br.com.fiap.api.exception.MensagemNotFoundException;
 import br.com.fiap.api.model.Mensagem;
 import br.com.fiap.api.repository.MensagemRepository;
@@ -11,11 +12,15 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -61,6 +66,66 @@ class MensagemServiceTest {
         verify(mensagemRepository, times(1)).save(any(Mensagem.class));
     }
 
+    @Test
+    void devePermitirRegistrarMensagem_QuandoBufferHabilitado() {
+        // Arrange
+        var bufferDeMensagens = mock(BufferDeMensagens.class);
+        when(bufferDeMensagens.isHabilitado()).thenReturn(true);
+        var mensagemServiceImpl = new MensagemServiceImpl(mensagemRepository);
+        mensagemServiceImpl.bufferDeMensagens = bufferDeMensagens;
+        var mensagem = MensagemHelper.gerarMensagem();
+
+        // Act
+        var mensagemRegistrada = mensagemServiceImpl.registrarMensagem(mensagem);
+
+        // Assert
+        assertThat(mensagemRegistrada.getId()).isNotNull();
+        assertThat(mensagemRegistrada.getDataCriacao()).isNotNull();
+        verify(bufferDeMensagens, times(1)).adicionar(mensagem);
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
+    }
+
+    @Test
+    void devePermitirTransmitirMensagem_QuandoRegistrada() {
+        // Arrange
+        var transmissorDeMensagens = mock(TransmissorDeMensagens.class);
+        var mensagemServiceImpl = new MensagemServiceImpl(mensagemRepository);
+        mensagemServiceImpl.transmissorDeMensagens = transmissorDeMensagens;
+        var mensagem = MensagemHelper.gerarMensagem();
+        when(mensagemRepository.save(any(Mensagem.class)))
+                .thenAnswer(i -> i.getArgument(0));
+
+        // Act
+        mensagemServiceImpl.registrarMensagem(mensagem);
+
+        // Assert
+        var ordem = inOrder(mensagemRepository, transmissorDeMensagens);
+        ordem.verify(mensagemRepository).save(mensagem);
+        ordem.verify(transmissorDeMensagens).publicar(mensagem);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRegistrarMensagem_ConteudoNaoInformado() {
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setConteudo(" ");
+
+        assertThatThrownBy(() -> mensagemService.registrarMensagem(mensagem))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("O conteúdo da mensagem deve ser informado");
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRegistrarMensagem_ConteudoExcedeTamanhoMaximo() {
+        var mensagem = MensagemHelper.gerarMensagem();
+        mensagem.setConteudo("a".repeat(256));
+
+        assertThatThrownBy(() -> mensagemService.registrarMensagem(mensagem))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("O conteúdo da mensagem deve ter até 255 caracteres");
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
+    }
+
     @Test
     void devePermitirBuscarMensagem() {
         // Arrange
@@ -102,11 +167,14 @@ class MensagemServiceTest {
         mensagemNova.setUsuario(mensagemAntiga.getUsuario());
         mensagemNova.setConteudo("ABCD 12345");
 
-        when(mensagemRepository.findById(id))
-                .thenReturn(Optional.of(mensagemAntiga));
+        var mensagemAlterada = MensagemHelper.gerarMensagem();
+        mensagemAlterada.setId(id);
+        mensagemAlterada.setConteudo(mensagemNova.getConteudo());
 
-        when(mensagemRepository.save(any(Mensagem.class)))
-                .thenAnswer(i -> i.getArgument(0));
+        when(mensagemRepository.alterarConteudo(id, mensagemNova.getConteudo()))
+                .thenReturn(1);
+        when(mensagemRepository.findById(id))
+                .thenReturn(Optional.of(mensagemAlterada));
 
         // Act
         var mensagemObtida = mensagemService.alterarMensagem(id, mensagemNova);
@@ -117,8 +185,79 @@ class MensagemServiceTest {
         assertThat(mensagemObtida.getId()).isEqualTo(mensagemNova.getId());
         assertThat(mensagemObtida.getUsuario()).isEqualTo(mensagemNova.getUsuario());
         assertThat(mensagemObtida.getConteudo()).isEqualTo(mensagemNova.getConteudo());
+        verify(mensagemRepository, times(1)).alterarConteudo(id, mensagemNova.getConteudo());
         verify(mensagemRepository, times(1)).findById(any(UUID.class));
-        verify(mensagemRepository, times(1)).save(any(Mensagem.class));
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
+    }
+
+    @Test
+    void devePermitirAlterarMensagem_NaVersaoInformada() {
+        // Arrange
+        var id = UUID.fromString("5d0f0b7e-2b7b-4c61-9f47-6a8e7b3d2c11");
+        var mensagemNova = new Mensagem();
+        mensagemNova.setConteudo("ABCD 12345");
+
+        when(mensagemRepository.alterarConteudoNaVersao(id, "ABCD 12345", 3L))
+                .thenReturn(1);
+
+        // Act
+        var novaVersao = mensagemService.alterarConteudo(id, mensagemNova, 3L);
+
+        // Assert
+        assertThat(novaVersao).isEqualTo(4L);
+        verify(mensagemRepository, times(1)).alterarConteudoNaVersao(id, "ABCD 12345", 3L);
+        verify(mensagemRepository, never()).findById(any(UUID.class));
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoAlterarMensagem_VersaoDesatualizada() {
+        // Arrange
+        var id = UUID.fromString("a3c5f3a2-6d4e-4f0b-8a51-1c2b3d4e5f60");
+        var mensagemNova = MensagemHelper.gerarMensagem();
+        mensagemNova.setId(id);
+        mensagemNova.setVersao(2L);
+
+        when(mensagemRepository.alterarConteudoNaVersao(id, mensagemNova.getConteudo(), 2L))
+                .thenReturn(0);
+        when(mensagemRepository.existsById(id))
+                .thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova))
+                .isInstanceOf(MensagemConflictException.class)
+                .hasMessage("A mensagem foi alterada por outra requisição");
+        verify(mensagemRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoAlterarMensagemNaVersao_IdNaoExiste() {
+        // Arrange
+        var id = UUID.fromString("e1f2a3b4-c5d6-4e7f-8a9b-0c1d2e3f4a5b");
+        var mensagemNova = new Mensagem();
+        mensagemNova.setConteudo("ABCD 12345");
+
+        when(mensagemRepository.existsById(id))
+                .thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> mensagemService.alterarConteudo(id, mensagemNova, 0L))
+                .isInstanceOf(MensagemNotFoundException.class)
+                .hasMessage("Mensagem não encontrada");
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoAlterarMensagem_ConteudoVazio() {
+        // Arrange
+        var id = UUID.fromString("0b9e8d7c-6f5a-4b3c-9d2e-1f0a9b8c7d6e");
+        var mensagemNova = new Mensagem();
+        mensagemNova.setConteudo(" ");
+
+        // Act & Assert
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("O conteúdo da mensagem deve ser informado");
+        verify(mensagemRepository, never()).alterarConteudo(any(UUID.class), any(String.class));
     }
 
     @Test
@@ -127,12 +266,13 @@ class MensagemServiceTest {
         var id = UUID.fromString("c09fab79-1794-415d-a43b-4ee755327439");
         var mensagem = MensagemHelper.gerarMensagem();
         mensagem.setId(id);
-        when(mensagemRepository.findById(id)).thenReturn(Optional.empty());
+        when(mensagemRepository.alterarConteudo(id, mensagem.getConteudo())).thenReturn(0);
         // Act & Assert
         assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagem))
                 .isInstanceOf(MensagemNotFoundException.class)
                 .hasMessage("Mensagem não encontrada");
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
+        verify(mensagemRepository, times(1)).alterarConteudo(id, mensagem.getConteudo());
+        verify(mensagemRepository, never()).findById(any(UUID.class));
         verify(mensagemRepository, never()).save(any(Mensagem.class));
     }
 
@@ -152,7 +292,7 @@ class MensagemServiceTest {
         assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova))
                 .isInstanceOf(MensagemNotFoundException.class)
                 .hasMessage("mensagem atualizada não apresenta o ID correto");
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
+        verify(mensagemRepository, never()).alterarConteudo(any(UUID.class), any(String.class));
         verify(mensagemRepository, never()).save(any(Mensagem.class));
     }
 
@@ -211,4 +351,88 @@ class MensagemServiceTest {
         verify(mensagemRepository, times(1)).listarMensagens(any(Pageable.class));
     }
 
+    @Test
+    void devePermitirListarMensagensPorCursor_PrimeiraPagina() {
+        // Arrange
+        var mensagens = gerarMensagens(3);
+        when(mensagemRepository.listarMensagensRecentes(any(Pageable.class)))
+                .thenReturn(mensagens);
+
+        // Act
+        var pagina = mensagemService.listarMensagensPorCursor(null, 2);
+
+        // Assert
+        assertThat(pagina.content()).containsExactly(mensagens.get(0), mensagens.get(1));
+        assertThat(pagina.proximoCursor()).isEqualTo(mensagens.get(1).getId());
+        verify(mensagemRepository, times(1)).listarMensagensRecentes(PageRequest.of(0, 3));
+        verify(mensagemRepository, never()).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor_UltimaPagina() {
+        // Arrange
+        var cursor = UUID.randomUUID();
+        var mensagens = gerarMensagens(2);
+        when(mensagemRepository.listarMensagensAntesDe(any(UUID.class), any(Pageable.class)))
+                .thenReturn(mensagens);
+
+        // Act
+        var pagina = mensagemService.listarMensagensPorCursor(cursor, 2);
+
+        // Assert
+        assertThat(pagina.content()).isEqualTo(mensagens);
+        assertThat(pagina.proximoCursor()).isNull();
+        verify(mensagemRepository, times(1)).listarMensagensAntesDe(cursor, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void deveLimitarTamanhoDaPagina_QuandoListarMensagensPorCursor() {
+        // Arrange
+        when(mensagemRepository.listarMensagensRecentes(any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        mensagemService.listarMensagensPorCursor(null, 10_000);
+
+        // Assert
+        verify(mensagemRepository, times(1)).listarMensagensRecentes(
+                PageRequest.of(0, MensagemServiceImpl.TAMANHO_MAXIMO_PAGINA + 1));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagensPorCursor_TamanhoInvalido() {
+        assertThatThrownBy(() -> mensagemService.listarMensagensPorCursor(null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("O tamanho da página deve ser maior que zero");
+        verifyNoInteractions(mensagemRepository);
+    }
+
+    @Test
+    void devePermitirExportarMensagensDoUsuario() {
+        // Arrange
+        var mensagens = gerarMensagens(3);
+        var fechado = new AtomicBoolean();
+        when(mensagemRepository.consultarMensagensDoUsuario("José"))
+                .thenReturn(mensagens.stream().onClose(() -> fechado.set(true)));
+        var exportadas = new ArrayList<Mensagem>();
+
+        // Act
+        var quantidade = mensagemService.exportarMensagensDoUsuario("José", exportadas::add);
+
+        // Assert
+        assertThat(quantidade).isEqualTo(3);
+        assertThat(exportadas).isEqualTo(mensagens);
+        assertThat(fechado).isTrue();
+    }
+
+    private static List<Mensagem> gerarMensagens(int quantidade) {
+        var mensagens = new ArrayList<Mensagem>();
+        for (int i = 0; i < quantidade; i++) {
+            var mensagem = MensagemHelper.gerarMensagem();
+            mensagem.setId(UUID.randomUUID());
+            mensagens.add(mensagem);
+        }
+        return mensagens;
+    }
+
 }
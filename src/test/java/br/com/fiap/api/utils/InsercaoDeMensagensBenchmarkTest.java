@@ -0,0 +1,87 @@
+package br.com.fiap.api.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a vazão de inserção na tabela de mensagens com ids UUID v4 (aleatórios) e v7
+ * (UuidOrdenadoPorTempo). Só é executado com -Dbenchmark=true; a URL do banco pode ser trocada com
+ * -Dbenchmark.url, -Dbenchmark.usuario e -Dbenchmark.senha (padrão: H2 em arquivo temporário).
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsercaoDeMensagensBenchmarkTest {
+
+    private static final int QUANTIDADE = Integer.getInteger("benchmark.quantidade", 500_000);
+    private static final int TAMANHO_LOTE = 1_000;
+    private static final int RODADAS = 3;
+
+    @Test
+    void deveCompararVazaoDeInsercaoEntreUuidV4EV7() throws SQLException {
+        // Arrange
+        var url = System.getProperty("benchmark.url",
+                "jdbc:h2:file:" + System.getProperty("java.io.tmpdir") + "/benchmark-mensagem;DB_CLOSE_ON_EXIT=FALSE");
+        var usuario = System.getProperty("benchmark.usuario", "sa");
+        var senha = System.getProperty("benchmark.senha", "");
+
+        try (Connection conexao = DriverManager.getConnection(url, usuario, senha)) {
+            conexao.setAutoCommit(false);
+
+            for (int rodada = 1; rodada <= RODADAS; rodada++) {
+                // Act
+                var v4 = inserir(conexao, UUID::randomUUID);
+                var v7 = inserir(conexao, UuidOrdenadoPorTempo::gerar);
+
+                // Assert
+                System.out.printf("Rodada %d: v4 %,.0f inserções/s, v7 %,.0f inserções/s (%.2fx)%n",
+                        rodada, v4, v7, v7 / v4);
+                assertThat(v4).isPositive();
+                assertThat(v7).isPositive();
+            }
+
+            try (Statement statement = conexao.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS mensagem_benchmark");
+            }
+            conexao.commit();
+        }
+    }
+
+    private static double inserir(Connection conexao, Supplier<UUID> gerador) throws SQLException {
+
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS mensagem_benchmark");
+            statement.execute("CREATE TABLE mensagem_benchmark (id UUID PRIMARY KEY, usuario VARCHAR(255), "
+                    + "conteudo VARCHAR(255), data_criacao TIMESTAMP, gostei INT NOT NULL)");
+        }
+        conexao.commit();
+
+        var inicio = System.nanoTime();
+
+        try (PreparedStatement insert = conexao.prepareStatement("INSERT INTO mensagem_benchmark "
+                + "(id, usuario, conteudo, data_criacao, gostei) VALUES (?, 'José', 'conteúdo da mensagem', "
+                + "CURRENT_TIMESTAMP, 0)")) {
+            for (int i = 1; i <= QUANTIDADE; i++) {
+                insert.setObject(1, gerador.get());
+                insert.addBatch();
+                if (i % TAMANHO_LOTE == 0) {
+                    insert.executeBatch();
+                    conexao.commit();
+                }
+            }
+            insert.executeBatch();
+            conexao.commit();
+        }
+
+        return QUANTIDADE / ((System.nanoTime() - inicio) / 1e9);
+
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.fiap.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidOrdenadoPorTempoTest {
+
+    @Test
+    void deveGerarUuidVersao7ComVarianteRfc() {
+        // Act
+        var uuid = UuidOrdenadoPorTempo.gerar();
+
+        // Assert
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void deveGravarEpochEmMilissegundosNosBitsMaisSignificativos() {
+        // Arrange
+        var antes = System.currentTimeMillis();
+
+        // Act
+        var uuid = UuidOrdenadoPorTempo.gerar();
+
+        // Assert
+        var milissegundos = uuid.getMostSignificantBits() >>> 16;
+        assertThat(milissegundos).isGreaterThanOrEqualTo(antes);
+        assertThat(milissegundos).isLessThanOrEqualTo(System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void deveGerarUuidsCrescentesNoMesmoMilissegundo() {
+        // Arrange
+        var uuids = new ArrayList<UUID>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidOrdenadoPorTempo.gerar());
+        }
+
+        // Assert
+        for (int i = 1; i < uuids.size(); i++) {
+            assertThat(Long.compareUnsigned(uuids.get(i).getMostSignificantBits(),
+                    uuids.get(i - 1).getMostSignificantBits())).isPositive();
+        }
+    }
+
+    @Test
+    void deveGerarUuidsUnicosEntreThreads() throws Exception {
+        // Arrange
+        var executor = Executors.newFixedThreadPool(8);
+        var uuids = ConcurrentHashMap.<UUID>newKeySet();
+        var tarefas = new ArrayList<Callable<Void>>();
+        for (int t = 0; t < 8; t++) {
+            tarefas.add(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    uuids.add(UuidOrdenadoPorTempo.gerar());
+                }
+                return null;
+            });
+        }
+
+        // Act
+        List<Future<Void>> resultados = executor.invokeAll(tarefas);
+        for (Future<Void> resultado : resultados) {
+            resultado.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(uuids).hasSize(40_000);
+        assertThat(Set.copyOf(uuids).stream().map(UUID::version).distinct()).containsExactly(7);
+    }
+}
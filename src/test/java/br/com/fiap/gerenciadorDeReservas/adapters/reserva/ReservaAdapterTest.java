@@ -2,24 +2,35 @@ package br.com.fiap.gerenciadorDeReservas.adapters.reserva;
 
 import br.com.fiap.gerenciadorDeReservas.adapters.endereco.EnderecoAdapter;
 import br.com.fiap.gerenciadorDeReservas.entities.ClienteEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosMesaAlocadaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosConsultaReservasDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.repositories.ClienteRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.GradeDeHorarios;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.EventoAdmissaoDeReserva;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.util.ValidadorDeReservas;
 import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
@@ -28,8 +39,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ReservaAdapterTest {
@@ -41,6 +55,8 @@ class ReservaAdapterTest {
     EnderecoAdapter enderecoAdapter;
     @Mock
     ValidadorDeReservas agendamentoValidoUseCase;
+    @Mock
+    RegistroDeMetricas registroDeMetricas;
     @InjectMocks
     ReservaAdapter reservaAdapter;
 
@@ -63,8 +79,10 @@ class ReservaAdapterTest {
         RestauranteEntity restauranteEntity = new RestauranteEntity("nome", TipoCulinariaEnum.JAPONESA, LocalTime.of(9, 1, 17), LocalTime.of(9, 1, 17), 0);
         when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restauranteEntity));
 
-        when(agendamentoValidoUseCase.isDataAgendamentoValido(eq(LocalDateTime.of(2024, Month.MARCH, 23, 9, 1, 17)), eq(restauranteEntity)))
-                .thenReturn(true);
+        MesaEntity mesaEntity = new MesaEntity(2, restauranteEntity);
+        when(agendamentoValidoUseCase.alocarAgendamento(eq(LocalDateTime.of(2024, Month.MARCH, 23, 9, 1, 17)),
+                eq(LocalDateTime.of(2024, Month.MARCH, 23, 10, 31, 17)), eq(restauranteEntity), eq(1)))
+                .thenReturn(Optional.of(List.of(mesaEntity)));
 
         ReservaEntity result = reservaAdapter.converterParaEntity(dadosReservaDTO);
 
@@ -72,6 +90,10 @@ class ReservaAdapterTest {
         assertEquals(clienteEntity, result.getClienteEntity());
         assertEquals(restauranteEntity, result.getRestauranteEntity());
         assertEquals(LocalDateTime.of(2024, Month.MARCH, 23, 9, 1, 17), result.getDataReserva());
+        assertEquals(1, result.getQuantidadePessoas());
+        assertEquals(ReservaEntity.DURACAO_PADRAO_MINUTOS, result.getDuracaoMinutos());
+        assertEquals(List.of(mesaEntity), result.getMesas());
+        assertEquals(2, result.getLugaresOcupados());
     }
 
     @Test
@@ -121,7 +143,7 @@ class ReservaAdapterTest {
 
     @Test
     void testConverterParaEntity_DataReservaInvalida() throws IllegalAccessException {
-        when(agendamentoValidoUseCase.isDataAgendamentoValido(any(), any())).thenReturn(false);
+        when(agendamentoValidoUseCase.alocarAgendamento(any(), any(), any(), anyInt())).thenReturn(Optional.empty());
 
         ClienteEntity clienteEntity = new ClienteEntity("nome", "cpf", "email");
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(clienteEntity));
@@ -137,6 +159,40 @@ class ReservaAdapterTest {
 
         assertThrows(IllegalAccessException.class,
                 () -> reservaAdapter.converterParaEntity(dadosReservaDTO));
+        verify(registroDeMetricas).incrementar(RegistroDeMetricas.RESERVAS_REJEITADAS, "criar");
+    }
+
+    @Test
+    void testConverterParaEntity_RegistraEventoDeAdmissao() throws Exception {
+        when(agendamentoValidoUseCase.alocarAgendamento(any(), any(), any(), anyInt())).thenReturn(Optional.empty());
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(new ClienteEntity("nome", "cpf", "email")));
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(
+                new RestauranteEntity("nome", TipoCulinariaEnum.JAPONESA, LocalTime.of(19, 0), LocalTime.of(23, 0), 0)));
+
+        LocalDateTime dataReserva = LocalDateTime.of(2030, Month.MARCH, 23, 20, 0);
+        DadosCriacaoReservaDTO dadosReservaDTO = new DadosCriacaoReservaDTO(dataReserva, 1L, 1L, 3, null);
+
+        List<RecordedEvent> eventos;
+
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(EventoAdmissaoDeReserva.class).withThreshold(Duration.ZERO);
+            gravacao.start();
+
+            assertThrows(IllegalAccessException.class, () -> reservaAdapter.converterParaEntity(dadosReservaDTO));
+
+            gravacao.stop();
+            Path arquivo = Files.createTempFile("admissao", ".jfr");
+            gravacao.dump(arquivo);
+            eventos = RecordingFile.readAllEvents(arquivo);
+            Files.delete(arquivo);
+        }
+
+        assertEquals(1, eventos.size());
+        assertEquals(EventoAdmissaoDeReserva.REJEITADA, eventos.get(0).getString("resultado"));
+        assertEquals(1L, eventos.get(0).getLong("restauranteId"));
+        assertEquals(GradeDeHorarios.numeroDoSlot(dataReserva), eventos.get(0).getInt("slot"));
+        assertEquals(3, eventos.get(0).getInt("quantidadePessoas"));
+        assertTrue(eventos.get(0).getDuration("duracaoConsultas").toNanos() > 0);
     }
 
     @Test
@@ -157,6 +213,23 @@ class ReservaAdapterTest {
                 result);
     }
 
+    @Test
+    void testConverterParaDadosRetornoDTOComMesas() {
+        RestauranteEntity restauranteEntity = new RestauranteEntity("nomeRestauramte", TipoCulinariaEnum.JAPONESA,
+                LocalTime.of(9, 1, 17), LocalTime.of(9, 1, 17), 0);
+        MesaEntity mesaEntity = new MesaEntity(4, restauranteEntity);
+        mesaEntity.setId(7L);
+
+        ReservaEntity reservaEntity = new ReservaEntity(StatusReservaEnum.ABERTA,
+                LocalDateTime.of(2024, Month.MARCH, 23, 9, 1, 17), 3,
+                new ClienteEntity("nome", "cpf", "email"), restauranteEntity);
+        reservaEntity.alocarMesas(List.of(mesaEntity));
+
+        DadosRetornoCriacaoReservaDTO result = reservaAdapter.converterParaDadosRetornoDTO(reservaEntity);
+
+        assertEquals(List.of(new DadosMesaAlocadaDTO(7L, 4)), result.mesas());
+    }
+
     @Test
     void testConverterParaDadosConsultaPorRestaurante() {
         List<DadosConsultaReservasDTO> result = reservaAdapter.converterParaDadosConsultaPorRestaurante(
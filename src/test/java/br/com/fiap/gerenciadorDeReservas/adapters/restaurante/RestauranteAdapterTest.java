@@ -6,7 +6,6 @@ import br.com.fiap.gerenciadorDeReservas.entities.EnderecoEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
-import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosCriacaoRestauranteDTO;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -15,8 +14,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -101,7 +98,7 @@ public class RestauranteAdapterTest {
         // Convertendo o restauranteEntity para DadosCriacaoRestauranteDTO usando o restauranteAdapter
         DadosCriacaoRestauranteDTO result = restauranteAdapter.converterParaDTO(restauranteEntity);
 
-        // Verificando se a conversão foi feita corretamente
+        // Verificando se a conversão foi feita corretamente; sem granularidade informada, o restaurante usa a padrão
         DadosCriacaoRestauranteDTO expectedResult = new DadosCriacaoRestauranteDTO(
                 "nome",
                 new DadosCriacaoEnderecoDTO(
@@ -109,73 +106,9 @@ public class RestauranteAdapterTest {
                         "cidade", "uf"),
                 TipoCulinariaEnum.JAPONESA,
                 LocalTime.of(12, 20, 23), LocalTime.of(12, 20, 23),
-                0);
+                0, null, RestauranteEntity.GRANULARIDADE_PADRAO_MINUTOS, null, null);
 
         Assertions.assertEquals(expectedResult, result);
     }
 
-
-    @Test
-    public void deveConverterEntityParaDadosConsultaRestauranteDTO() {
-
-        List<RestauranteEntity> restauranteEntityList = new ArrayList<>();
-
-        // Mock dados RestauranteEntity
-        RestauranteEntity restauranteEntityMock1 = new RestauranteEntity(
-                "Restaurante Test 1",
-                TipoCulinariaEnum.JAPONESA,
-                LocalTime.of(17, 0, 0),
-                LocalTime.of(23, 0, 0),
-                5
-        );
-        EnderecoEntity enderecoEntity1 = new EnderecoEntity();
-        restauranteEntityMock1.setEnderecoEntity(enderecoEntity1);
-
-        RestauranteEntity restauranteEntityMock2 = new RestauranteEntity(
-                "Restaurante Test 2",
-                TipoCulinariaEnum.JAPONESA,
-                LocalTime.of(18, 0, 0),
-                LocalTime.of(23, 0, 0),
-                5
-        );
-        EnderecoEntity enderecoEntity2 = new EnderecoEntity();
-        restauranteEntityMock2.setEnderecoEntity(enderecoEntity2);
-
-        // Mock dados DadosCriacaoEnderecoDTO
-        DadosCriacaoEnderecoDTO enderecoDtoMock = new DadosCriacaoEnderecoDTO(
-                "12345-678",
-                "Rua Test",
-                "123",
-                "Complemento Test",
-                "Bairro Test",
-                "Cidade Test",
-                "UF Test"
-        );
-
-
-        when(enderecoAdapter.converterParaDTO(any())).thenReturn(enderecoDtoMock);
-        restauranteEntityList.add(restauranteEntityMock1);
-        restauranteEntityList.add(restauranteEntityMock2);
-
-        // Chama o método que será testado
-        List<DadosConsultaRestauranteDTO> resultado = restauranteAdapter.converterEntityParaDadosConsultaRestauranteDTO(
-                restauranteEntityList);
-
-        // Verificação dos resultados esperados
-        assertEquals(2, resultado.size());
-
-        assertEquals("Restaurante Test 1", resultado.get(0).nomeRestaurante());
-        assertEquals(TipoCulinariaEnum.JAPONESA, resultado.get(0).culinaria());
-        assertEquals(LocalTime.of(17, 0, 0), resultado.get(0).horarioDeAbertura());
-        assertEquals(LocalTime.of(23, 0, 0), resultado.get(0).horarioDeFechamento());
-        assertEquals(enderecoDtoMock, resultado.get(0).enderecoRestaurante());
-
-        assertEquals("Restaurante Test 2", resultado.get(1).nomeRestaurante());
-        assertEquals(TipoCulinariaEnum.JAPONESA, resultado.get(1).culinaria());
-        assertEquals(LocalTime.of(18, 0, 0), resultado.get(1).horarioDeAbertura());
-        assertEquals(LocalTime.of(23, 0, 0), resultado.get(1).horarioDeFechamento());
-        assertEquals(enderecoDtoMock, resultado.get(1).enderecoRestaurante());
-
-    }
-
 }
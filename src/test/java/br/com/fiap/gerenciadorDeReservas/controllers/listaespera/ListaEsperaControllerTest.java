@@ -0,0 +1,42 @@
+package br.com.fiap.gerenciadorDeReservas.controllers.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosCriacaoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosRetornoListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.listaespera.EntrarListaEsperaUseCase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.when;
+
+class ListaEsperaControllerTest {
+    @Mock
+    EntrarListaEsperaUseCase entrarListaEsperaUseCase;
+    @InjectMocks
+    ListaEsperaController listaEsperaController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testEntrarListaEspera() throws IllegalAccessException {
+        LocalDateTime dataReserva = LocalDateTime.of(2030, 1, 10, 19, 0);
+        DadosCriacaoListaEsperaDTO dadosCriacao = new DadosCriacaoListaEsperaDTO(dataReserva, 1L, 2L, 4);
+        DadosRetornoListaEsperaDTO dadosRetorno = new DadosRetornoListaEsperaDTO(3L, "nome", dataReserva, 4);
+
+        when(entrarListaEsperaUseCase.entrarListaEspera(dadosCriacao)).thenReturn(dadosRetorno);
+
+        ResponseEntity<DadosRetornoListaEsperaDTO> result = listaEsperaController.entrarListaEspera(dadosCriacao);
+
+        Assertions.assertEquals(ResponseEntity.ok(dadosRetorno), result);
+    }
+
+}
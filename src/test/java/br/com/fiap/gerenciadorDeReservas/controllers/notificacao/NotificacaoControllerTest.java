@@ -0,0 +1,35 @@
+package br.com.fiap.gerenciadorDeReservas.controllers.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosMetricasNotificacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.notificacao.NotificadorDeReservas;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
+
+import static org.mockito.Mockito.when;
+
+class NotificacaoControllerTest {
+    @Mock
+    NotificadorDeReservas notificadorDeReservas;
+    @InjectMocks
+    NotificacaoController notificacaoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testConsultarMetricas() {
+        DadosMetricasNotificacaoDTO metricas = new DadosMetricasNotificacaoDTO(true, 3, 1000, 1, 20, 2, 0, 0);
+        when(notificadorDeReservas.consultarMetricas()).thenReturn(metricas);
+
+        ResponseEntity<DadosMetricasNotificacaoDTO> result = notificacaoController.consultarMetricas();
+
+        Assertions.assertEquals(ResponseEntity.ok(metricas), result);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.fiap.gerenciadorDeReservas.controllers.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosRetornoPreReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.prereserva.ConfirmarPreReservaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.prereserva.CriarPreReservaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.prereserva.LiberarPreReservaUseCase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+
+class PreReservaControllerTest {
+    @Mock
+    CriarPreReservaUseCase criarPreReservaUseCase;
+    @Mock
+    ConfirmarPreReservaUseCase confirmarPreReservaUseCase;
+    @Mock
+    LiberarPreReservaUseCase liberarPreReservaUseCase;
+    @InjectMocks
+    PreReservaController preReservaController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testCriarPreReserva() throws IllegalAccessException {
+        LocalDateTime dataReserva = LocalDateTime.of(2030, 1, 10, 18, 0);
+        DadosCriacaoReservaDTO dadosCriacao = new DadosCriacaoReservaDTO(dataReserva, 1L, 2L);
+        DadosRetornoPreReservaDTO dadosRetorno = new DadosRetornoPreReservaDTO(3L, "nome", dataReserva,
+                dataReserva.minusHours(1));
+
+        when(criarPreReservaUseCase.criarPreReserva(dadosCriacao)).thenReturn(dadosRetorno);
+
+        ResponseEntity<DadosRetornoPreReservaDTO> result = preReservaController.criarPreReserva(dadosCriacao);
+
+        Assertions.assertEquals(ResponseEntity.ok(dadosRetorno), result);
+    }
+
+    @Test
+    void testLiberarPreReserva() {
+
+        ResponseEntity<Void> result = preReservaController.liberarPreReserva(3L);
+
+        Assertions.assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+        verify(liberarPreReservaUseCase).liberarPreReserva(3L);
+    }
+
+}
@@ -4,10 +4,15 @@ import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosConsultaReservasDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReagendamentoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoReagendamentoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.CriarReservaIdempotenteUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.CriarReservaUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.FecharReservaUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.reserva.ListarReservasPorRestauranteUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.ReagendarReservaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.admissao.AdmissaoDeReservas;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,9 +32,15 @@ class ReservaControllerTest {
     @Mock
     CriarReservaUseCase criarReservaUseCase;
     @Mock
+    CriarReservaIdempotenteUseCase criarReservaIdempotenteUseCase;
+    @Mock
     FecharReservaUseCase fecharReservaUseCase;
     @Mock
     ListarReservasPorRestauranteUseCase listarReservasPorRestauranteUseCase;
+    @Mock
+    ReagendarReservaUseCase reagendarReservaUseCase;
+    @Mock
+    AdmissaoDeReservas admissaoDeReservas;
     @InjectMocks
     ReservaController reservaController;
 
@@ -71,6 +82,7 @@ class ReservaControllerTest {
 
         ResponseEntity<DadosRetornoCriacaoReservaDTO> result =
                 reservaController.criarReserva(
+                        null,
                         new DadosCriacaoReservaDTO(
                                 LocalDateTime.of(2024, Month.MARCH, 23, 8, 21, 36), 1L, 1L
                         )
@@ -90,6 +102,39 @@ class ReservaControllerTest {
         );
     }
 
+    @Test
+    void testCriarReservaPelaAdmissao() throws IllegalAccessException {
+        DadosCriacaoReservaDTO dadosCriacao = new DadosCriacaoReservaDTO(
+                LocalDateTime.of(2024, Month.MARCH, 23, 8, 21, 36), 1L, 1L);
+        DadosRetornoCriacaoReservaDTO dadosRetorno = new DadosRetornoCriacaoReservaDTO(
+                "nomeRestauramte",
+                new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"),
+                LocalDateTime.of(2024, Month.MARCH, 23, 8, 21, 36));
+
+        when(admissaoDeReservas.isHabilitada()).thenReturn(true);
+        when(admissaoDeReservas.criarReserva(dadosCriacao)).thenReturn(dadosRetorno);
+
+        assertEquals(ResponseEntity.ok(dadosRetorno), reservaController.criarReserva(null, dadosCriacao));
+        verifyNoInteractions(criarReservaUseCase);
+    }
+
+    @Test
+    void testCriarReservaComIdempotencyKey() throws IllegalAccessException {
+        DadosCriacaoReservaDTO dadosCriacao = new DadosCriacaoReservaDTO(
+                LocalDateTime.of(2024, Month.MARCH, 23, 8, 21, 36), 1L, 1L);
+        DadosRetornoCriacaoReservaDTO dadosRetorno = new DadosRetornoCriacaoReservaDTO(
+                "nomeRestauramte",
+                new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"),
+                LocalDateTime.of(2024, Month.MARCH, 23, 8, 21, 36));
+
+        when(criarReservaIdempotenteUseCase.criarReserva("chave", dadosCriacao)).thenReturn(dadosRetorno);
+
+        ResponseEntity<DadosRetornoCriacaoReservaDTO> result = reservaController.criarReserva("chave", dadosCriacao);
+
+        assertEquals(ResponseEntity.ok(dadosRetorno), result);
+        verify(criarReservaUseCase, never()).criarReserva(any());
+    }
+
     @Test
     void testEncerrarReserva() {
         ResponseEntity<Void> result = reservaController.encerrarReserva(1L);
@@ -97,4 +142,15 @@ class ReservaControllerTest {
         assertEquals(new ResponseEntity<Void>(null, null, 204), result);
     }
 
+    @Test
+    void testReagendarReserva() {
+        LocalDateTime novaData = LocalDateTime.of(2030, Month.JANUARY, 10, 20, 0);
+        DadosReagendamentoReservaDTO dados = new DadosReagendamentoReservaDTO(novaData, null);
+        DadosRetornoReagendamentoReservaDTO retorno = new DadosRetornoReagendamentoReservaDTO(1L, novaData,
+                novaData.plusMinutes(90), List.of());
+
+        when(reagendarReservaUseCase.reagendarReserva(1L, dados)).thenReturn(retorno);
+
+        assertEquals(ResponseEntity.ok(retorno), reservaController.reagendarReserva(1L, dados));
+    }
 }
@@ -1,12 +1,17 @@
 package br.com.fiap.gerenciadorDeReservas.controllers.restaurante;
 
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosDisponibilidadeRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosFaixasDeCapacidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosHorarioDisponivelDTO;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosCriacaoRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.BuscarDisponibilidadeUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.BuscarRestaurantePorCidadeUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.BuscarRestaurantePorCulinariaUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.BuscarRestaurantePorNomeUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.ConfigurarFaixasDeCapacidadeUseCase;
 import br.com.fiap.gerenciadorDeReservas.usecases.restaurente.CriarRestauranteUseCase;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -30,6 +36,10 @@ class RestauranteControllerTest {
     BuscarRestaurantePorCidadeUseCase buscarRestaurantePorCidadeUseCase;
     @Mock
     BuscarRestaurantePorCulinariaUseCase buscarRestaurantePorCulinariaUseCase;
+    @Mock
+    BuscarDisponibilidadeUseCase buscarDisponibilidadeUseCase;
+    @Mock
+    ConfigurarFaixasDeCapacidadeUseCase configurarFaixasDeCapacidadeUseCase;
     @InjectMocks
     RestauranteController restauranteController;
 
@@ -40,7 +50,7 @@ class RestauranteControllerTest {
 
     @Test
     void testBuscarRestaurantesPorNome() {
-        when(buscarRestaurantePorNomeUseCase.buscarRestaurantesPorNome(anyString()))
+        when(buscarRestaurantePorNomeUseCase.buscarRestaurantesPorNome(anyString(), isNull()))
                 .thenReturn(
                         List.of(new DadosConsultaRestauranteDTO(
                                 "nomeRestaurante",
@@ -52,7 +62,7 @@ class RestauranteControllerTest {
                 );
 
         ResponseEntity<List<DadosConsultaRestauranteDTO>> result =
-                restauranteController.buscarRestaurantesPorNome("nomeRestaurante");
+                restauranteController.buscarRestaurantesPorNome("nomeRestaurante", null, false);
 
         Assertions.assertEquals(
                 new ResponseEntity<List<DadosConsultaRestauranteDTO>>(
@@ -72,7 +82,7 @@ class RestauranteControllerTest {
 
     @Test
     void testBuscarRestaurantesPorCidade() {
-        when(buscarRestaurantePorCidadeUseCase.buscarRestaurantesPorCidade(anyString()))
+        when(buscarRestaurantePorCidadeUseCase.buscarRestaurantesPorCidade(anyString(), isNull()))
                 .thenReturn(
                         List.of(new DadosConsultaRestauranteDTO(
                                 "nomeRestaurante",
@@ -84,7 +94,7 @@ class RestauranteControllerTest {
                 );
 
         ResponseEntity<List<DadosConsultaRestauranteDTO>> result =
-                restauranteController.buscarRestaurantesPorCidade("cidadeRestaurante");
+                restauranteController.buscarRestaurantesPorCidade("cidadeRestaurante", null, false);
 
         Assertions.assertEquals(
                 new ResponseEntity<List<DadosConsultaRestauranteDTO>>(
@@ -104,7 +114,7 @@ class RestauranteControllerTest {
 
     @Test
     void testBuscarRestaurantesPorCulinaria() {
-        when(buscarRestaurantePorCulinariaUseCase.buscarRestaurantesPorCulinaria(anyString()))
+        when(buscarRestaurantePorCulinariaUseCase.buscarRestaurantesPorCulinaria(anyString(), isNull()))
                 .thenReturn(
                         List.of(new DadosConsultaRestauranteDTO(
                                 "nomeRestaurante",
@@ -116,7 +126,7 @@ class RestauranteControllerTest {
                 );
 
         ResponseEntity<List<DadosConsultaRestauranteDTO>> result =
-                restauranteController.buscarRestaurantesPorCulinaria("culinariaRestaurante");
+                restauranteController.buscarRestaurantesPorCulinaria("culinariaRestaurante", null, false);
 
         Assertions.assertEquals(
                 new ResponseEntity<List<DadosConsultaRestauranteDTO>>(
@@ -177,4 +187,42 @@ class RestauranteControllerTest {
         );
     }
 
+    @Test
+    void testBuscarDisponibilidade() {
+        LocalDateTime inicio = LocalDateTime.of(2030, 1, 10, 18, 0);
+        List<DadosDisponibilidadeRestauranteDTO> disponibilidade = List.of(new DadosDisponibilidadeRestauranteDTO(
+                1L, "nomeRestaurante", "cidade", TipoCulinariaEnum.JAPONESA,
+                List.of(new DadosHorarioDisponivelDTO(inicio, 10))));
+
+        when(buscarDisponibilidadeUseCase.buscarDisponibilidade("cidade", TipoCulinariaEnum.JAPONESA, inicio,
+                inicio.toLocalDate().atTime(LocalTime.MAX), 4, 120, 5))
+                .thenReturn(disponibilidade);
+
+        ResponseEntity<List<DadosDisponibilidadeRestauranteDTO>> result = restauranteController
+                .buscarDisponibilidade("cidade", TipoCulinariaEnum.JAPONESA, inicio, null, 4, 120, 5);
+
+        Assertions.assertEquals(ResponseEntity.ok(disponibilidade), result);
+    }
+
+    @Test
+    void testBuscarRestaurantesAbertosAgora() {
+        when(buscarRestaurantePorCidadeUseCase.buscarRestaurantesPorCidade(eq("cidadeRestaurante"), notNull()))
+                .thenReturn(List.of());
+
+        ResponseEntity<List<DadosConsultaRestauranteDTO>> result =
+                restauranteController.buscarRestaurantesPorCidade("cidadeRestaurante", null, true);
+
+        Assertions.assertEquals(ResponseEntity.ok(List.of()), result);
+        verify(buscarRestaurantePorCidadeUseCase).buscarRestaurantesPorCidade(eq("cidadeRestaurante"), notNull());
+    }
+
+    @Test
+    void testConfigurarFaixasDeCapacidade() {
+        DadosFaixasDeCapacidadeDTO faixas = new DadosFaixasDeCapacidadeDTO(1L, 8);
+        when(configurarFaixasDeCapacidadeUseCase.configurarFaixas(1L, 8)).thenReturn(faixas);
+
+        ResponseEntity<DadosFaixasDeCapacidadeDTO> result = restauranteController.configurarFaixasDeCapacidade(1L, 8);
+
+        Assertions.assertEquals(ResponseEntity.ok(faixas), result);
+    }
 }
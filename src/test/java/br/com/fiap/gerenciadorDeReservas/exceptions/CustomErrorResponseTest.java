@@ -1,5 +1,6 @@
 package br.com.fiap.gerenciadorDeReservas.exceptions;
 
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,7 @@ class CustomErrorResponseTest {
 
         // Criar uma instância de CustomExceptionHandler
         CustomExceptionHandler exceptionHandler = new CustomExceptionHandler();
+        exceptionHandler.registroDeMetricas = new RegistroDeMetricas();
 
         // Chamar o método handleValidationExceptions com a exceção simulada
         ResponseEntity<CustomErrorResponse> responseEntity = exceptionHandler.handleValidationExceptions(ex);
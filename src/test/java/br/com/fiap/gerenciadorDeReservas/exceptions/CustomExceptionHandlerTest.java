@@ -1,6 +1,8 @@
 package br.com.fiap.gerenciadorDeReservas.exceptions;
 
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class CustomExceptionHandlerTest {
     CustomExceptionHandler customExceptionHandler = new CustomExceptionHandler();
+    RegistroDeMetricas registroDeMetricas = new RegistroDeMetricas();
+
+    @BeforeEach
+    void setUp() {
+        customExceptionHandler.registroDeMetricas = registroDeMetricas;
+    }
 
     @Test
     void testHandleValidationExceptions() {
@@ -31,6 +39,7 @@ class CustomExceptionHandlerTest {
 
         // Criar uma instância de CustomExceptionHandler
         CustomExceptionHandler exceptionHandler = new CustomExceptionHandler();
+        exceptionHandler.registroDeMetricas = registroDeMetricas;
 
         // Chamar o método handleValidationExceptions com a exceção simulada
         ResponseEntity<CustomErrorResponse> responseEntity = exceptionHandler.handleValidationExceptions(ex);
@@ -47,5 +56,32 @@ class CustomExceptionHandlerTest {
         // Verificar se o timestamp na resposta não é nulo
         LocalDateTime timestamp = responseEntity.getBody().getTimestamp();
         assertEquals(LocalDateTime.class, timestamp.getClass()); // Verificar se o tipo é LocalDateTime
+
+        // Verificar se o erro foi contado nas métricas
+        assertEquals(1, registroDeMetricas.consultarContador(RegistroDeMetricas.ERROS_DE_VALIDACAO, "campo"));
+    }
+
+    @Test
+    void testHandleIllegalArgumentException() {
+
+        ResponseEntity<CustomErrorResponse> responseEntity = customExceptionHandler
+                .handleIllegalArgumentException(new IllegalArgumentException("mensagem de erro"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertEquals("mensagem de erro", responseEntity.getBody().getMensagem());
+        assertEquals(400, responseEntity.getBody().getStatus());
+        assertEquals(1, registroDeMetricas.consultarContador(RegistroDeMetricas.ERROS_DE_VALIDACAO, "argumento"));
+    }
+
+    @Test
+    void testHandleReservaConflictException() {
+
+        ResponseEntity<CustomErrorResponse> responseEntity = customExceptionHandler
+                .handleReservaConflictException(new ReservaConflictException("mensagem de conflito"));
+
+        assertEquals(HttpStatus.CONFLICT, responseEntity.getStatusCode());
+        assertEquals("mensagem de conflito", responseEntity.getBody().getMensagem());
+        assertEquals(409, responseEntity.getBody().getStatus());
+        assertEquals(1, registroDeMetricas.consultarContador(RegistroDeMetricas.CONFLITOS, "reserva"));
     }
 }
@@ -0,0 +1,100 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.GerenciadorDeReservasApplication;
+import br.com.fiap.gerenciadorDeReservas.entities.EventoOutboxEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das falhas de publicação do outbox, executados no banco em memória.
+ */
+@DataJpaTest(properties = {"spring.datasource.driver-class-name=", "spring.sql.init.mode=never"})
+@ContextConfiguration(classes = GerenciadorDeReservasApplication.class)
+class EventoOutboxRepositoryTest {
+
+    @Autowired
+    EventoOutboxRepository eventoOutboxRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2030, 1, 10, 19, 0);
+
+    private EventoOutboxEntity evento;
+
+    @BeforeEach
+    void setUp() {
+
+        evento = eventoOutboxRepository.save(new EventoOutboxEntity(TipoEventoEnum.RESERVA_CRIADA, 1L, "{}",
+                AGORA.minusDays(2)));
+
+    }
+
+    @Test
+    void testFalhaAntesDaUltimaTentativaMantemEventoPendente() {
+
+        assertEquals(1, eventoOutboxRepository.registrarFalha(evento.getId(), "erro", 2, AGORA));
+
+        EventoOutboxEntity pendente = recarregar();
+        assertEquals(1, pendente.getTentativas());
+        assertNull(pendente.getFalhouEm());
+        assertEquals(List.of(evento.getId()), pendentes());
+
+    }
+
+    @Test
+    void testUltimaFalhaMarcaEventoComoFalhoSemProcessar() {
+
+        eventoOutboxRepository.registrarFalha(evento.getId(), "erro", 2, AGORA.minusHours(1));
+        eventoOutboxRepository.registrarFalha(evento.getId(), "erro", 2, AGORA);
+
+        EventoOutboxEntity falho = recarregar();
+        assertEquals(AGORA, falho.getFalhouEm());
+        assertNull(falho.getProcessadoEm());
+        assertEquals(List.of(), pendentes());
+        assertTrue(eventoOutboxRepository.bloquearPendente(evento.getId()).isEmpty());
+        assertEquals(0, eventoOutboxRepository.registrarFalha(evento.getId(), "erro", 2, AGORA));
+
+    }
+
+    @Test
+    void testExclusaoMantemEventosFalhos() {
+
+        EventoOutboxEntity entregue = eventoOutboxRepository.save(new EventoOutboxEntity(
+                TipoEventoEnum.RESERVA_CANCELADA, 2L, "{}", AGORA.minusDays(2)));
+        eventoOutboxRepository.marcarProcessados(List.of(entregue.getId()), AGORA.minusDays(2));
+        eventoOutboxRepository.registrarFalha(evento.getId(), "erro", 1, AGORA.minusDays(2));
+
+        assertEquals(1, eventoOutboxRepository.excluirProcessadosAntesDe(AGORA.minusDays(1)));
+
+        entityManager.clear();
+        assertFalse(eventoOutboxRepository.existsById(entregue.getId()));
+        assertTrue(eventoOutboxRepository.existsById(evento.getId()));
+
+    }
+
+    private EventoOutboxEntity recarregar() {
+
+        entityManager.clear();
+        return eventoOutboxRepository.findById(evento.getId()).orElseThrow();
+
+    }
+
+    private List<Long> pendentes() {
+
+        return eventoOutboxRepository.bloquearPendentes(PageRequest.of(0, 10)).stream()
+                .map(EventoOutboxEntity::getId).toList();
+
+    }
+
+}
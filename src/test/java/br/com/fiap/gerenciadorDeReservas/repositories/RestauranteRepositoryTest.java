@@ -0,0 +1,148 @@
+package br.com.fiap.gerenciadorDeReservas.repositories;
+
+import br.com.fiap.gerenciadorDeReservas.GerenciadorDeReservasApplication;
+import br.com.fiap.gerenciadorDeReservas.entities.ExcecaoFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosMomentoFuncionamentoDTO;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testes do filtro de restaurantes abertos num momento (RestauranteRepository.FILTRO_ABERTO_EM),
+ * executados no banco em memória com os intervalos semanais e as exceções gravados.
+ */
+@DataJpaTest(properties = {"spring.datasource.driver-class-name=", "spring.sql.init.mode=never"})
+@ContextConfiguration(classes = GerenciadorDeReservasApplication.class)
+class RestauranteRepositoryTest {
+
+    @Autowired
+    RestauranteRepository restauranteRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    // 06/01/2030 é um domingo
+    private static final LocalDate DOMINGO = LocalDate.of(2030, 1, 6);
+    private static final LocalDate SEGUNDA = DOMINGO.plusDays(1);
+    private static final LocalDate QUINTA = DOMINGO.plusDays(4);
+
+    private RestauranteEntity noturno;
+    private RestauranteEntity jantar;
+
+    @BeforeEach
+    void setUp() {
+
+        noturno = restaurante("Bar Noturno", TipoCulinariaEnum.BRASILEIRA);
+        jantar = restaurante("Cantina do Jantar", TipoCulinariaEnum.ITALIANA);
+
+        // Domingo das 20h até as 2h de segunda-feira, que termina depois do fim da semana
+        entityManager.persist(new HorarioFuncionamentoEntity(noturno, DayOfWeek.SUNDAY,
+                LocalTime.of(20, 0), LocalTime.of(2, 0)));
+        entityManager.persist(new HorarioFuncionamentoEntity(jantar, DayOfWeek.THURSDAY,
+                LocalTime.of(18, 0), LocalTime.of(23, 0)));
+
+        entityManager.flush();
+
+    }
+
+    @Test
+    void testAbertoNaSegundaFeiraPeloIntervaloDeDomingo() {
+
+        assertEquals(List.of("Bar Noturno"), abertos(SEGUNDA.atTime(0, 30)));
+        assertEquals(List.of("Bar Noturno"), abertos(DOMINGO.atTime(23, 59)));
+        assertEquals(List.of(), abertos(DOMINGO.atTime(19, 59)));
+
+    }
+
+    @Test
+    void testFechadoNoMinutoDoFechamento() {
+
+        assertEquals(List.of("Bar Noturno"), abertos(SEGUNDA.atTime(1, 59)));
+        assertEquals(List.of(), abertos(SEGUNDA.atTime(2, 0)));
+        assertEquals(List.of("Cantina do Jantar"), abertos(QUINTA.atTime(18, 0)));
+        assertEquals(List.of("Cantina do Jantar"), abertos(QUINTA.atTime(22, 59)));
+        assertEquals(List.of(), abertos(QUINTA.atTime(23, 0)));
+
+    }
+
+    @Test
+    void testFechadoNaDataComExcecao() {
+
+        excecao(jantar, QUINTA, null, null);
+        excecao(noturno, DOMINGO, null, null);
+
+        assertEquals(List.of(), abertos(QUINTA.atTime(19, 0)));
+        // O intervalo iniciado no domingo com exceção não vale na madrugada de segunda-feira
+        assertEquals(List.of(), abertos(SEGUNDA.atTime(0, 30)));
+        assertEquals(List.of("Cantina do Jantar"), abertos(QUINTA.plusWeeks(1).atTime(19, 0)));
+        assertEquals(List.of("Bar Noturno"), abertos(SEGUNDA.plusWeeks(1).atTime(0, 30)));
+
+    }
+
+    @Test
+    void testExcecaoComHorarioSubstituiOIntervaloSemanal() {
+
+        excecao(jantar, QUINTA, LocalTime.of(12, 0), LocalTime.of(15, 0));
+        excecao(jantar, QUINTA.plusDays(1), LocalTime.of(22, 0), LocalTime.of(1, 0));
+
+        assertEquals(List.of("Cantina do Jantar"), abertos(QUINTA.atTime(12, 0)));
+        assertEquals(List.of(), abertos(QUINTA.atTime(15, 0)));
+        assertEquals(List.of(), abertos(QUINTA.atTime(19, 0)));
+        // Exceção que termina depois da meia-noite vale na madrugada seguinte
+        assertEquals(List.of("Cantina do Jantar"), abertos(QUINTA.plusDays(2).atTime(0, 30)));
+        assertEquals(List.of(), abertos(QUINTA.plusDays(2).atTime(1, 0)));
+
+    }
+
+    @Test
+    void testFiltroAbertoCompoeComOsDemaisFiltros() {
+
+        DadosMomentoFuncionamentoDTO momento = new DadosMomentoFuncionamentoDTO(SEGUNDA.atTime(0, 30));
+
+        assertEquals(List.of("Bar Noturno"), nomes(restauranteRepository.consultarPorCulinariaAbertos("brasil", momento)));
+        assertEquals(List.of(), nomes(restauranteRepository.consultarPorCulinariaAbertos("italiana", momento)));
+        assertEquals(List.of(), nomes(restauranteRepository.consultarPorNomeAbertos("cantina", momento)));
+
+    }
+
+    private List<String> abertos(LocalDateTime momento) {
+
+        return nomes(restauranteRepository.consultarPorNomeAbertos("", new DadosMomentoFuncionamentoDTO(momento)));
+
+    }
+
+    private List<String> nomes(List<DadosConsultaRestauranteDTO> restaurantes) {
+
+        return restaurantes.stream().map(DadosConsultaRestauranteDTO::nomeRestaurante).sorted().toList();
+
+    }
+
+    private RestauranteEntity restaurante(String nome, TipoCulinariaEnum tipoCulinaria) {
+
+        return restauranteRepository.save(new RestauranteEntity(nome, tipoCulinaria,
+                LocalTime.of(18, 0), LocalTime.of(23, 0), 40));
+
+    }
+
+    private void excecao(RestauranteEntity restauranteEntity, LocalDate data, LocalTime abertura, LocalTime fechamento) {
+
+        entityManager.persist(new ExcecaoFuncionamentoEntity(restauranteEntity, data, abertura, fechamento, "Teste"));
+        entityManager.flush();
+
+    }
+
+}
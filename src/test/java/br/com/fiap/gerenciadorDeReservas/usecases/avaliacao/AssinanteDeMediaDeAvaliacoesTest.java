@@ -0,0 +1,69 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.avaliacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoAvaliacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AssinanteDeMediaDeAvaliacoesTest {
+
+    @Mock
+    RestauranteRepository restauranteRepository;
+    @InjectMocks
+    AssinanteDeMediaDeAvaliacoes assinanteDeMediaDeAvaliacoes;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testSomarAvaliacaoAoRestaurante() {
+        when(restauranteRepository.somarAvaliacao(2L, 4.5)).thenReturn(1);
+
+        assinanteDeMediaDeAvaliacoes.receber(new DadosEventoOutboxDTO(10L, TipoEventoEnum.AVALIACAO_CRIADA, 3L,
+                new DadosEventoAvaliacaoDTO(3L, 2L, 4.5)));
+
+        verify(restauranteRepository).somarAvaliacao(2L, 4.5);
+        verify(restauranteRepository, never()).preencherTotalDeAvaliacoes(2L);
+    }
+
+    @Test
+    void testPreencherTotalAntesDeSomarAvaliacao_QuandoTotalNulo() {
+        when(restauranteRepository.somarAvaliacao(2L, 4.5)).thenReturn(0, 1);
+        when(restauranteRepository.preencherTotalDeAvaliacoes(2L)).thenReturn(1);
+
+        assinanteDeMediaDeAvaliacoes.receber(new DadosEventoOutboxDTO(10L, TipoEventoEnum.AVALIACAO_CRIADA, 3L,
+                new DadosEventoAvaliacaoDTO(3L, 2L, 4.5)));
+
+        verify(restauranteRepository).preencherTotalDeAvaliacoes(2L);
+        verify(restauranteRepository, times(2)).somarAvaliacao(2L, 4.5);
+    }
+
+    @Test
+    void testPreencherTotaisNaInicializacao() {
+        assinanteDeMediaDeAvaliacoes.preencherTotais();
+
+        verify(restauranteRepository).preencherTotaisDeAvaliacoes();
+    }
+
+    @Test
+    void testIgnorarAvaliacaoSemNota() {
+        assinanteDeMediaDeAvaliacoes.receber(new DadosEventoOutboxDTO(10L, TipoEventoEnum.AVALIACAO_CRIADA, 3L,
+                new DadosEventoAvaliacaoDTO(3L, 2L, null)));
+
+        verifyNoInteractions(restauranteRepository);
+    }
+
+}
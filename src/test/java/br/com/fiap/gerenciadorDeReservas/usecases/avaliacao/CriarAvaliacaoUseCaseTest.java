@@ -9,6 +9,7 @@ import br.com.fiap.gerenciadorDeReservas.records.avaliacao.DadosRetornoCriacaoAv
 import br.com.fiap.gerenciadorDeReservas.repositories.AvaliacaoRespository;
 import br.com.fiap.gerenciadorDeReservas.repositories.ClienteRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,8 @@ import java.time.Month;
 import java.util.Optional;
 
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class CriarAvaliacaoUseCaseTest {
@@ -33,6 +36,8 @@ class CriarAvaliacaoUseCaseTest {
     RestauranteRepository restauranteRepository;
     @Mock
     AvaliacaoAdapter avaliacaoAdapter;
+    @Mock
+    OutboxDeEventos outboxDeEventos;
     @InjectMocks
     CriarAvaliacaoUseCase criarAvaliacaoUseCase;
 
@@ -59,6 +64,7 @@ class CriarAvaliacaoUseCaseTest {
         Assertions.assertEquals("autor", result.autor());
         Assertions.assertEquals(0.0, result.nota());
         Assertions.assertEquals("comentario", result.comentario());
+        verify(outboxDeEventos).registrarAvaliacao(avaliacaoEntity);
     }
 
     @Test
@@ -81,6 +87,7 @@ class CriarAvaliacaoUseCaseTest {
         Assertions.assertThrows(EntityNotFoundException.class, () -> {
             criarAvaliacaoUseCase.criarAvaliacao(dadosCriacaoAvaliacaoDTO);
         });
+        verify(outboxDeEventos, never()).registrarAvaliacao(any());
     }
 
 }
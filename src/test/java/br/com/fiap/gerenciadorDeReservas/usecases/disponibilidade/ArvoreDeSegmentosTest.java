@@ -0,0 +1,63 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArvoreDeSegmentosTest {
+
+    @Test
+    void testSomarEConsultarMinimo() {
+        ArvoreDeSegmentos arvore = new ArvoreDeSegmentos(new int[]{10, 10, 10, 10});
+
+        arvore.somar(1, 3, -4);
+        arvore.somar(2, 4, -3);
+
+        assertEquals(10, arvore.minimo(0, 1));
+        assertEquals(3, arvore.minimo(0, 4));
+        assertEquals(6, arvore.minimo(1, 2));
+        assertEquals(7, arvore.minimo(3, 4));
+    }
+
+    @Test
+    void testIntervaloVazio() {
+        ArvoreDeSegmentos arvore = new ArvoreDeSegmentos(new int[]{5, 5});
+
+        assertEquals(Integer.MAX_VALUE, arvore.minimo(1, 1));
+        assertEquals(Integer.MAX_VALUE, arvore.minimo(2, 5));
+        assertEquals(Integer.MAX_VALUE, new ArvoreDeSegmentos(new int[0]).minimo(0, 1));
+
+        arvore.somar(1, 1, -5);
+        assertEquals(5, arvore.minimo(0, 2));
+    }
+
+    @Test
+    void testIgualAVetor() {
+        Random random = new Random(42);
+
+        for (int rodada = 0; rodada < 50; rodada++) {
+            int[] valores = new int[1 + random.nextInt(40)];
+            Arrays.setAll(valores, i -> random.nextInt(20));
+            ArvoreDeSegmentos arvore = new ArvoreDeSegmentos(valores.clone());
+
+            for (int operacao = 0; operacao < 200; operacao++) {
+                int de = random.nextInt(valores.length);
+                int ate = de + 1 + random.nextInt(valores.length - de);
+
+                if (random.nextBoolean()) {
+                    int variacao = random.nextInt(11) - 5;
+                    arvore.somar(de, ate, variacao);
+                    for (int i = de; i < ate; i++) {
+                        valores[i] += variacao;
+                    }
+                } else {
+                    assertEquals(Arrays.stream(valores, de, ate).min().getAsInt(), arvore.minimo(de, ate));
+                }
+            }
+        }
+    }
+
+}
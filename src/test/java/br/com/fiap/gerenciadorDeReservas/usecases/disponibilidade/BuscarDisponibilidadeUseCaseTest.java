@@ -0,0 +1,56 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosDisponibilidadeRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosHorarioDisponivelDTO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class BuscarDisponibilidadeUseCaseTest {
+    @Mock
+    IndiceDeDisponibilidade indiceDeDisponibilidade;
+    @InjectMocks
+    BuscarDisponibilidadeUseCase buscarDisponibilidadeUseCase;
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2030, 1, 10, 18, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testBuscarDisponibilidade() {
+        List<DadosDisponibilidadeRestauranteDTO> disponibilidade = List.of(new DadosDisponibilidadeRestauranteDTO(
+                1L, "nome", "cidade", TipoCulinariaEnum.JAPONESA, List.of(new DadosHorarioDisponivelDTO(INICIO, 10))));
+
+        when(indiceDeDisponibilidade.buscar(anyString(), any(), any(), any(), anyInt(), anyInt(), anyInt())).thenReturn(disponibilidade);
+
+        List<DadosDisponibilidadeRestauranteDTO> result = buscarDisponibilidadeUseCase
+                .buscarDisponibilidade("cidade", TipoCulinariaEnum.JAPONESA, INICIO, INICIO.plusHours(4), 2, null, 500);
+
+        Assertions.assertEquals(disponibilidade, result);
+        verify(indiceDeDisponibilidade).buscar("cidade", TipoCulinariaEnum.JAPONESA, INICIO, INICIO.plusHours(4), 2,
+                ReservaEntity.DURACAO_PADRAO_MINUTOS, 50);
+    }
+
+    @Test
+    void testBuscarDisponibilidadeJanelaInvalida() {
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> buscarDisponibilidadeUseCase
+                .buscarDisponibilidade(null, null, INICIO, INICIO.minusHours(1), 1, null, 5));
+
+        verifyNoInteractions(indiceDeDisponibilidade);
+    }
+
+}
@@ -0,0 +1,86 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ExcecaoFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarioDeFuncionamentoTest {
+
+    // 2030-01-11 é uma sexta-feira
+    private static final LocalDate SEXTA = LocalDate.of(2030, 1, 11);
+
+    private final CalendarioDeFuncionamento calendario = new CalendarioDeFuncionamento(
+            List.of(horario(DayOfWeek.FRIDAY, 12, 15),
+                    horario(DayOfWeek.FRIDAY, 19, 2),
+                    horario(DayOfWeek.SATURDAY, 19, 23)),
+            List.of(new ExcecaoFuncionamentoEntity(null, SEXTA.plusWeeks(1), null, null, "Feriado"),
+                    new ExcecaoFuncionamentoEntity(null, SEXTA.plusDays(1), LocalTime.of(20, 0),
+                            LocalTime.of(22, 0), "Evento")));
+
+    @Test
+    void testAbertoEmIntervalosSemanais() {
+        assertTrue(calendario.abertoEm(SEXTA.atTime(12, 0)));
+        assertTrue(calendario.abertoEm(SEXTA.atTime(14, 59)));
+        assertFalse(calendario.abertoEm(SEXTA.atTime(15, 0)));
+        assertFalse(calendario.abertoEm(SEXTA.atTime(18, 59)));
+        assertTrue(calendario.abertoEm(SEXTA.atTime(23, 30)));
+        assertFalse(calendario.abertoEm(SEXTA.minusDays(1).atTime(20, 0)));
+    }
+
+    @Test
+    void testAbertoEmDepoisDaMeiaNoite() {
+        // O intervalo de sexta termina às 2h de sábado, mesmo com a exceção de sábado
+        assertTrue(calendario.abertoEm(SEXTA.plusDays(1).atTime(1, 45)));
+        assertFalse(calendario.abertoEm(SEXTA.plusDays(1).atTime(2, 0)));
+    }
+
+    @Test
+    void testAbertoEmExcecoes() {
+        assertFalse(calendario.abertoEm(SEXTA.plusWeeks(1).atTime(12, 0)));
+        assertFalse(calendario.abertoEm(SEXTA.plusWeeks(1).plusDays(1).atTime(1, 0)));
+        assertFalse(calendario.abertoEm(SEXTA.plusDays(1).atTime(19, 0)));
+        assertTrue(calendario.abertoEm(SEXTA.plusDays(1).atTime(21, 0)));
+        assertTrue(calendario.abertoEm(SEXTA.plusDays(8).atTime(19, 0)));
+    }
+
+    @Test
+    void testMinutosDaSemana() {
+        HorarioFuncionamentoEntity sexta = horario(DayOfWeek.FRIDAY, 19, 2);
+        HorarioFuncionamentoEntity domingo = horario(DayOfWeek.SUNDAY, 22, 3);
+
+        assertEquals(4 * 1440 + 19 * 60, sexta.getInicioNaSemana());
+        assertEquals(sexta.getInicioNaSemana() + 7 * 60, sexta.getFimNaSemana());
+        // O intervalo de domingo termina depois do fim da semana
+        assertEquals(HorarioFuncionamentoEntity.MINUTOS_NA_SEMANA + 3 * 60, domingo.getFimNaSemana());
+        assertEquals(8 * 60 + 1440, horario(DayOfWeek.MONDAY, 8, 8).getFimNaSemana());
+    }
+
+    @Test
+    void testHorariosDoDia() {
+        assertEquals(List.of(SEXTA.atTime(12, 0), SEXTA.atTime(13, 0), SEXTA.atTime(14, 0),
+                        SEXTA.atTime(19, 0), SEXTA.atTime(20, 0), SEXTA.atTime(21, 0), SEXTA.atTime(22, 0),
+                        SEXTA.atTime(23, 0)),
+                calendario.horariosDoDia(SEXTA, 60));
+
+        assertEquals(List.of(SEXTA.plusDays(1).atTime(0, 0), SEXTA.plusDays(1).atTime(0, 30),
+                        SEXTA.plusDays(1).atTime(1, 0), SEXTA.plusDays(1).atTime(1, 30),
+                        SEXTA.plusDays(1).atTime(20, 0), SEXTA.plusDays(1).atTime(20, 30),
+                        SEXTA.plusDays(1).atTime(21, 0), SEXTA.plusDays(1).atTime(21, 30)),
+                calendario.horariosDoDia(SEXTA.plusDays(1), 30));
+
+        assertEquals(List.of(), calendario.horariosDoDia(SEXTA.plusWeeks(1), 60));
+        assertEquals(List.of(), calendario.horariosDoDia(SEXTA.plusDays(2), 60));
+    }
+
+    private static HorarioFuncionamentoEntity horario(DayOfWeek dia, int abertura, int fechamento) {
+        return new HorarioFuncionamentoEntity(null, dia, LocalTime.of(abertura, 0), LocalTime.of(fechamento, 0));
+    }
+
+}
@@ -0,0 +1,136 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosFaixasDeCapacidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.DisponibilidadeHorarioRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class CapacidadeEmFaixasTest {
+    @Mock
+    RestauranteRepository restauranteRepository;
+    @Mock
+    DisponibilidadeHorarioRepository disponibilidadeHorarioRepository;
+    @InjectMocks
+    CapacidadeEmFaixas capacidadeEmFaixas;
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+    private static final LocalDateTime FIM = HORARIO.plusMinutes(90);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Restaurante de hora em hora: 6 lugares às 19h e 4 às 20h
+        when(disponibilidadeHorarioRepository.consultarLugaresDoRestauranteAPartirDe(eq(1L), anyInt())).thenReturn(List.of(
+                new DadosLugaresHorarioDTO(1L, HORARIO, 6),
+                new DadosLugaresHorarioDTO(1L, HORARIO.plusHours(1), 4)));
+    }
+
+    @Test
+    void testRetirarDeRestauranteSemFaixas() {
+
+        assertSame(CapacidadeEmFaixas.SEM_FAIXAS, capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 100).get());
+        assertFalse(capacidadeEmFaixas.habilitado(1L));
+    }
+
+    @Test
+    void testCarregarRestaurantesComFaixas() {
+
+        when(restauranteRepository.consultarFaixasDeCapacidade()).thenReturn(List.of(new DadosFaixasDeCapacidadeDTO(1L, 4)));
+
+        capacidadeEmFaixas.carregar();
+
+        assertTrue(capacidadeEmFaixas.habilitado(1L));
+        assertFalse(capacidadeEmFaixas.habilitado(2L));
+    }
+
+    @Test
+    void testRecusarQuandoAlgumHorarioDoIntervaloEsgota() {
+
+        capacidadeEmFaixas.habilitar(1L, 4);
+
+        // Às 20h só há 4 lugares; os retirados das 19h voltam
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 5).isEmpty());
+
+        CapacidadeEmFaixas.Retirada retirada = capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 4).get();
+        assertNotSame(CapacidadeEmFaixas.SEM_FAIXAS, retirada);
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 1).isEmpty());
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, HORARIO.plusMinutes(30), 2).isPresent());
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, HORARIO.plusMinutes(30), 1).isEmpty());
+
+        retirada.desfazer();
+        retirada.desfazer();
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO.plusHours(1), FIM, 4).isPresent());
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO.plusHours(1), FIM, 1).isEmpty());
+    }
+
+    @Test
+    void testHorarioForaDosContadoresFicaComOBanco() {
+
+        capacidadeEmFaixas.habilitar(1L, 4);
+
+        assertSame(CapacidadeEmFaixas.SEM_FAIXAS,
+                capacidadeEmFaixas.retirar(1L, HORARIO.plusMinutes(15), FIM, 1).get());
+    }
+
+    @Test
+    void testDesfazerRetiradasNoRollbackEDevolverAposOCommit() {
+
+        capacidadeEmFaixas.habilitar(1L, 4);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            CapacidadeEmFaixas.Retirada retirada = capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 4).get();
+            capacidadeEmFaixas.consumir(1L, HORARIO, FIM, 2);
+            capacidadeEmFaixas.devolver(1L, HORARIO, FIM, 3);
+            retirada.desfazer();
+
+            // A devolução ainda não vale, e a retirada desfeita não volta duas vezes
+            assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 3).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 4).isPresent());
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 1).isEmpty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            capacidadeEmFaixas.devolver(1L, HORARIO, FIM, 3);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 3).isPresent());
+    }
+
+    @Test
+    void testDesabilitar() {
+
+        capacidadeEmFaixas.configurar(1L, 4);
+        assertTrue(capacidadeEmFaixas.habilitado(1L));
+
+        capacidadeEmFaixas.configurar(1L, null);
+        assertFalse(capacidadeEmFaixas.habilitado(1L));
+        assertSame(CapacidadeEmFaixas.SEM_FAIXAS, capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 100).get());
+    }
+
+}
@@ -0,0 +1,123 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContadorEmFaixasTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void testDistribuirLugaresEntreAsFaixas() {
+
+        ContadorEmFaixas contador = new ContadorEmFaixas(4, 10);
+
+        assertEquals(10, contador.total());
+        assertTrue(contador.retirar(10));
+        assertFalse(contador.retirar(1));
+        assertEquals(0, contador.total());
+    }
+
+    @Test
+    void testRebalancearQuandoAFaixaEsgota() {
+
+        // Cada faixa começa com um lugar; a retirada de 3 só é possível somando as faixas
+        ContadorEmFaixas contador = new ContadorEmFaixas(4, 4);
+
+        assertTrue(contador.retirar(3));
+        assertEquals(1, contador.total());
+        assertFalse(contador.retirar(2));
+        assertEquals(1, contador.total());
+
+        contador.somar(5);
+        assertTrue(contador.retirar(6));
+        assertEquals(0, contador.total());
+    }
+
+    @Test
+    void testNuncaEntregarMaisLugaresQueACapacidadeComRetiradasConcorrentes() throws Exception {
+
+        int capacidade = 1_000;
+        ContadorEmFaixas contador = new ContadorEmFaixas(8, capacidade);
+        AtomicInteger vendidos = new AtomicInteger();
+
+        List<Integer> vendidosPorThread = executarEmParalelo(() -> {
+            int vendidosNaThread = 0;
+            for (int i = 0; i < capacidade; i++) {
+                if (contador.retirar(1)) {
+                    vendidosNaThread++;
+                    vendidos.incrementAndGet();
+                }
+            }
+            return vendidosNaThread;
+        });
+
+        // Todos os lugares são vendidos, e nenhum além deles
+        assertEquals(capacidade, vendidosPorThread.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(capacidade, vendidos.get());
+        assertEquals(0, contador.total());
+    }
+
+    @Test
+    void testNuncaUltrapassarACapacidadeComRetiradasEDevolucoesConcorrentes() throws Exception {
+
+        int capacidade = 200;
+        ContadorEmFaixas contador = new ContadorEmFaixas(8, capacidade);
+        AtomicInteger ocupados = new AtomicInteger();
+        AtomicInteger maiorOcupacao = new AtomicInteger();
+
+        List<Integer> mantidosPorThread = executarEmParalelo(() -> {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            List<Integer> grupos = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                if (!grupos.isEmpty() && aleatorio.nextInt(3) == 0) {
+                    int grupo = grupos.remove(grupos.size() - 1);
+                    ocupados.addAndGet(-grupo);
+                    contador.somar(grupo);
+                } else {
+                    int grupo = 1 + aleatorio.nextInt(6);
+                    if (contador.retirar(grupo)) {
+                        grupos.add(grupo);
+                        maiorOcupacao.accumulateAndGet(ocupados.addAndGet(grupo), Math::max);
+                    }
+                }
+            }
+            return grupos.stream().mapToInt(Integer::intValue).sum();
+        });
+
+        assertTrue(maiorOcupacao.get() <= capacidade, "Ocupação máxima: " + maiorOcupacao.get());
+        assertEquals(capacidade, mantidosPorThread.stream().mapToInt(Integer::intValue).sum() + contador.total());
+    }
+
+    private static List<Integer> executarEmParalelo(Callable<Integer> tarefa) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return tarefa.call();
+                }));
+            }
+            largada.countDown();
+
+            List<Integer> valores = new ArrayList<>();
+            for (Future<Integer> resultado : resultados) {
+                valores.add(resultado.get(30, TimeUnit.SECONDS));
+            }
+            return valores;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
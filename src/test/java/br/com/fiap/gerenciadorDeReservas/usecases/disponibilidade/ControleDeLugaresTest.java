@@ -0,0 +1,295 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.DisponibilidadeHorarioEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.DisponibilidadeHorarioRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.MesaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.EventoOcupacaoDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ControleDeLugaresTest {
+    @Mock
+    DisponibilidadeHorarioRepository disponibilidadeHorarioRepository;
+    @Mock
+    MesaRepository mesaRepository;
+    @Mock
+    IndiceDeDisponibilidade indiceDeDisponibilidade;
+    @Mock
+    CapacidadeEmFaixas capacidadeEmFaixas;
+    @Mock
+    RegistroDeMetricas registroDeMetricas;
+    @InjectMocks
+    ControleDeLugares controleDeLugares;
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+    private static final LocalDateTime FIM = HORARIO.plusMinutes(90);
+    private static final int SLOT = GradeDeHorarios.numeroDoSlot(HORARIO);
+    private static final int SLOT_FINAL = SLOT + 6;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(capacidadeEmFaixas.retirar(anyLong(), any(), any(), anyInt()))
+                .thenReturn(Optional.of(CapacidadeEmFaixas.SEM_FAIXAS));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCriarHorariosComACapacidadeCompleta() {
+        RestauranteEntity restauranteEntity = new RestauranteEntity("nome", TipoCulinariaEnum.JAPONESA,
+                LocalTime.of(19, 0), LocalTime.of(21, 0), 8);
+        restauranteEntity.setId(1L);
+        LocalDate hoje = LocalDate.now();
+        CalendarioDeFuncionamento calendario = new CalendarioDeFuncionamento(
+                List.of(new HorarioFuncionamentoEntity(restauranteEntity, hoje.getDayOfWeek(),
+                        LocalTime.of(19, 0), LocalTime.of(21, 0))),
+                List.of());
+
+        controleDeLugares.criarHorarios(restauranteEntity, calendario);
+
+        ArgumentCaptor<List<DisponibilidadeHorarioEntity>> horarios = ArgumentCaptor.forClass(List.class);
+        verify(disponibilidadeHorarioRepository).saveAll(horarios.capture());
+        // Dois horários por semana durante os próximos três meses
+        long semanas = hoje.datesUntil(hoje.plusMonths(3)).filter(dia -> dia.getDayOfWeek() == hoje.getDayOfWeek()).count();
+        assertEquals(2 * semanas, horarios.getValue().size());
+        assertTrue(horarios.getValue().stream().allMatch(horario -> horario.getLugaresDisponiveis() == 8));
+        assertTrue(horarios.getValue().stream()
+                .allMatch(horario -> horario.getSlot() == GradeDeHorarios.numeroDoSlot(horario.getHorario())));
+        assertEquals(List.of(hoje.atTime(19, 0), hoje.atTime(20, 0), hoje.plusWeeks(1).atTime(19, 0)),
+                horarios.getValue().stream().limit(3).map(DisponibilidadeHorarioEntity::getHorario).toList());
+
+        verify(indiceDeDisponibilidade).registrarRestaurante(any(), argThat(lugares -> lugares.size() == 2 * semanas
+                && lugares.get(0).equals(new DadosLugaresHorarioDTO(1L, hoje.atTime(19, 0), 8))));
+    }
+
+    @Test
+    void testOcuparLugares() {
+
+        List<DisponibilidadeHorarioEntity> horarios = criarHorarios(10, 6);
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(horarios);
+
+        assertEquals(Optional.of(List.of()), controleDeLugares.ocuparLugares(1L, HORARIO, FIM, 4));
+
+        assertEquals(List.of(6, 2), horarios.stream().map(DisponibilidadeHorarioEntity::getLugaresDisponiveis).toList());
+        verify(indiceDeDisponibilidade).ajustarLugares(1L, HORARIO, FIM, -4);
+    }
+
+    @Test
+    void testOcuparLugaresComMesas() {
+
+        MesaEntity mesaDe2 = criarMesa(1L, 2);
+        MesaEntity mesaDe4 = criarMesa(2L, 4);
+        MesaEntity mesaDe6 = criarMesa(3L, 6);
+        List<DisponibilidadeHorarioEntity> horarios = criarHorarios(12, 12);
+
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(horarios);
+        when(mesaRepository.consultarMesasLivres(1L, HORARIO, FIM)).thenReturn(List.of(mesaDe2, mesaDe4, mesaDe6));
+
+        assertEquals(Optional.of(List.of(mesaDe4)), controleDeLugares.ocuparLugares(1L, HORARIO, FIM, 3));
+
+        // O lugar que sobra na mesa de 4 também fica ocupado
+        assertEquals(List.of(8, 8), horarios.stream().map(DisponibilidadeHorarioEntity::getLugaresDisponiveis).toList());
+        verify(indiceDeDisponibilidade).ajustarLugares(1L, HORARIO, FIM, -4);
+        verify(capacidadeEmFaixas).consumir(1L, HORARIO, FIM, 1);
+    }
+
+    @Test
+    void testOcuparLugaresRecusadoPelasFaixasDeCapacidade() {
+
+        when(capacidadeEmFaixas.retirar(1L, HORARIO, FIM, 4)).thenReturn(Optional.empty());
+
+        assertTrue(controleDeLugares.ocuparLugares(1L, HORARIO, FIM, 4).isEmpty());
+
+        // O horário esgotado é recusado sem bloquear as linhas
+        verifyNoInteractions(disponibilidadeHorarioRepository, mesaRepository, indiceDeDisponibilidade);
+    }
+
+    @Test
+    void testOcuparLugaresSemMesaLivreDuranteTodoOIntervalo() {
+
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(criarHorarios(4, 4));
+        when(mesaRepository.consultarMesasLivres(1L, HORARIO, FIM)).thenReturn(List.of());
+        when(mesaRepository.possuiMesas(1L)).thenReturn(true);
+
+        assertTrue(controleDeLugares.ocuparLugares(1L, HORARIO, FIM, 2).isEmpty());
+
+        verifyNoInteractions(indiceDeDisponibilidade);
+    }
+
+    @Test
+    void testOcuparLugaresSemLugaresSuficientesNoIntervalo() {
+
+        // O segundo horário da reserva já está quase cheio
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(criarHorarios(10, 3));
+
+        assertTrue(controleDeLugares.ocuparLugares(1L, HORARIO, FIM, 4).isEmpty());
+
+        verifyNoInteractions(mesaRepository, indiceDeDisponibilidade);
+    }
+
+    @Test
+    void testRegistrarEventoDeOcupacaoDeLugares() throws Exception {
+
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(criarHorarios(10, 3));
+
+        List<RecordedEvent> eventos;
+
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable(EventoOcupacaoDeLugares.class).withThreshold(Duration.ZERO);
+            gravacao.start();
+
+            controleDeLugares.ocuparLugares(1L, HORARIO, FIM, 2);
+            controleDeLugares.ocuparLugares(1L, HORARIO, FIM, 4);
+
+            gravacao.stop();
+            Path arquivo = Files.createTempFile("ocupacao", ".jfr");
+            gravacao.dump(arquivo);
+            eventos = RecordingFile.readAllEvents(arquivo);
+            Files.delete(arquivo);
+        }
+
+        assertEquals(List.of(EventoOcupacaoDeLugares.OCUPADO, EventoOcupacaoDeLugares.SEM_LUGARES),
+                eventos.stream().map(evento -> evento.getString("resultado")).toList());
+        RecordedEvent recusado = eventos.get(1);
+        assertEquals(1L, recusado.getLong("restauranteId"));
+        assertEquals(SLOT, recusado.getInt("slot"));
+        assertEquals(4, recusado.getInt("quantidadePessoas"));
+        assertEquals(2, recusado.getInt("horariosBloqueados"));
+        assertTrue(recusado.getDuration("esperaBloqueio").toNanos() > 0);
+    }
+
+    @Test
+    void testOcuparLugaresHorarioInexistente() {
+
+        // 18h30 não é um horário do restaurante de 60 minutos: o primeiro slot bloqueado é o das 19h
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT - 2, SLOT_FINAL))
+                .thenReturn(criarHorarios(10, 10));
+
+        assertTrue(controleDeLugares.ocuparLugares(1L, HORARIO.minusMinutes(30), FIM, 1).isEmpty());
+
+        verifyNoInteractions(mesaRepository, indiceDeDisponibilidade);
+    }
+
+    @Test
+    void testOcuparLugaresForaDaGrade() {
+
+        assertTrue(controleDeLugares.ocuparLugares(1L, HORARIO.plusMinutes(7), FIM, 1).isEmpty());
+
+        verifyNoInteractions(disponibilidadeHorarioRepository, mesaRepository, indiceDeDisponibilidade);
+    }
+
+    @Test
+    void testLiberarLugares() {
+
+        List<DisponibilidadeHorarioEntity> horarios = criarHorarios(1, 5);
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(horarios);
+
+        controleDeLugares.liberarLugares(1L, HORARIO, FIM, 3);
+
+        assertEquals(List.of(4, 8), horarios.stream().map(DisponibilidadeHorarioEntity::getLugaresDisponiveis).toList());
+        verify(indiceDeDisponibilidade).ajustarLugares(1L, HORARIO, FIM, 3);
+        verify(capacidadeEmFaixas).devolver(1L, HORARIO, FIM, 3);
+    }
+
+    @Test
+    void testRealocarLugaresParaIntervaloSobreposto() {
+
+        // Das 19h às 20h30 para as 20h às 21h30: os horários das 19h às 21h são bloqueados numa única faixa
+        List<DisponibilidadeHorarioEntity> horarios = List.of(
+                new DisponibilidadeHorarioEntity(null, SLOT, HORARIO, 6),
+                new DisponibilidadeHorarioEntity(null, SLOT + 4, HORARIO.plusHours(1), 2),
+                new DisponibilidadeHorarioEntity(null, SLOT + 8, HORARIO.plusHours(2), 5));
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL + 4)).thenReturn(horarios);
+
+        assertEquals(Optional.of(List.of()), controleDeLugares.realocarLugares(1L, HORARIO, FIM, 4,
+                HORARIO.plusHours(1), FIM.plusHours(1), 4));
+
+        // O horário das 20h recebe os lugares de volta antes de ocupá-los de novo
+        assertEquals(List.of(10, 2, 1), horarios.stream().map(DisponibilidadeHorarioEntity::getLugaresDisponiveis).toList());
+        verify(disponibilidadeHorarioRepository, times(1)).bloquearHorarios(anyLong(), anyInt(), anyInt());
+        verify(indiceDeDisponibilidade).ajustarLugares(1L, HORARIO, FIM, 4);
+        verify(indiceDeDisponibilidade).ajustarLugares(1L, HORARIO.plusHours(1), FIM.plusHours(1), -4);
+    }
+
+    @Test
+    void testRealocarLugaresBloqueiaOsIntervalosEmOrdemCrescente() {
+
+        LocalDateTime anterior = HORARIO.minusDays(1);
+        int slotAnterior = GradeDeHorarios.numeroDoSlot(anterior);
+        List<DisponibilidadeHorarioEntity> horariosAtuais = criarHorarios(2, 2);
+        List<DisponibilidadeHorarioEntity> horariosAnteriores = List.of(
+                new DisponibilidadeHorarioEntity(null, slotAnterior, anterior, 8),
+                new DisponibilidadeHorarioEntity(null, slotAnterior + 4, anterior.plusHours(1), 8));
+
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(horariosAtuais);
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, slotAnterior, slotAnterior + 6))
+                .thenReturn(horariosAnteriores);
+
+        // Mover para o dia anterior bloqueia primeiro os horários do novo intervalo
+        assertTrue(controleDeLugares.realocarLugares(1L, HORARIO, FIM, 4, anterior, anterior.plusMinutes(90), 4)
+                .isPresent());
+
+        var ordem = inOrder(disponibilidadeHorarioRepository);
+        ordem.verify(disponibilidadeHorarioRepository).bloquearHorarios(1L, slotAnterior, slotAnterior + 6);
+        ordem.verify(disponibilidadeHorarioRepository).bloquearHorarios(1L, SLOT, SLOT_FINAL);
+        assertEquals(List.of(6, 6), horariosAtuais.stream().map(DisponibilidadeHorarioEntity::getLugaresDisponiveis).toList());
+        assertEquals(List.of(4, 4), horariosAnteriores.stream().map(DisponibilidadeHorarioEntity::getLugaresDisponiveis).toList());
+    }
+
+    @Test
+    void testRealocarLugaresSemLugaresNoNovoIntervalo() {
+
+        LocalDateTime seguinte = HORARIO.plusDays(1);
+        int slotSeguinte = GradeDeHorarios.numeroDoSlot(seguinte);
+        List<DisponibilidadeHorarioEntity> horariosAtuais = criarHorarios(2, 2);
+
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, SLOT, SLOT_FINAL)).thenReturn(horariosAtuais);
+        when(disponibilidadeHorarioRepository.bloquearHorarios(1L, slotSeguinte, slotSeguinte + 6)).thenReturn(List.of(
+                new DisponibilidadeHorarioEntity(null, slotSeguinte, seguinte, 8),
+                new DisponibilidadeHorarioEntity(null, slotSeguinte + 4, seguinte.plusHours(1), 3)));
+
+        assertTrue(controleDeLugares.realocarLugares(1L, HORARIO, FIM, 4, seguinte, seguinte.plusMinutes(90), 4)
+                .isEmpty());
+
+        // O grupo continua com os lugares do horário atual
+        assertEquals(List.of(2, 2), horariosAtuais.stream().map(DisponibilidadeHorarioEntity::getLugaresDisponiveis).toList());
+        verifyNoInteractions(mesaRepository, indiceDeDisponibilidade);
+    }
+
+    private List<DisponibilidadeHorarioEntity> criarHorarios(int lugaresPrimeiroHorario, int lugaresSegundoHorario) {
+        return List.of(new DisponibilidadeHorarioEntity(null, SLOT, HORARIO, lugaresPrimeiroHorario),
+                new DisponibilidadeHorarioEntity(null, SLOT + 4, HORARIO.plusHours(1), lugaresSegundoHorario));
+    }
+
+    private MesaEntity criarMesa(Long id, int lugares) {
+        MesaEntity mesaEntity = new MesaEntity(lugares, null);
+        mesaEntity.setId(id);
+        return mesaEntity;
+    }
+
+}
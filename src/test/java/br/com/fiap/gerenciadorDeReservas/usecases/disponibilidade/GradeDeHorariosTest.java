@@ -0,0 +1,50 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeDeHorariosTest {
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+
+    @Test
+    void testNumeroDoSlot() {
+        int slot = GradeDeHorarios.numeroDoSlot(HORARIO);
+
+        assertEquals(slot + 1, GradeDeHorarios.numeroDoSlot(HORARIO.plusMinutes(15)));
+        assertEquals(slot, GradeDeHorarios.numeroDoSlot(HORARIO.plusMinutes(14)));
+        assertEquals(slot + 96, GradeDeHorarios.numeroDoSlot(HORARIO.plusDays(1)));
+        assertEquals(HORARIO, GradeDeHorarios.inicioDoSlot(slot));
+    }
+
+    @Test
+    void testSlotFinal() {
+        int slot = GradeDeHorarios.numeroDoSlot(HORARIO);
+
+        assertEquals(slot, GradeDeHorarios.slotFinal(HORARIO));
+        assertEquals(slot + 1, GradeDeHorarios.slotFinal(HORARIO.plusSeconds(1)));
+        assertEquals(slot + 6, GradeDeHorarios.slotFinal(HORARIO.plusMinutes(90)));
+    }
+
+    @Test
+    void testAlinhado() {
+        assertTrue(GradeDeHorarios.alinhado(HORARIO, 60));
+        assertTrue(GradeDeHorarios.alinhado(HORARIO.plusMinutes(30), 30));
+        assertFalse(GradeDeHorarios.alinhado(HORARIO.plusMinutes(30), 60));
+        assertTrue(GradeDeHorarios.alinhado(HORARIO.plusMinutes(45), 15));
+        assertFalse(GradeDeHorarios.alinhado(HORARIO.plusMinutes(45), 30));
+        assertFalse(GradeDeHorarios.alinhado(HORARIO.plusMinutes(10), 15));
+        assertFalse(GradeDeHorarios.alinhado(HORARIO.plusNanos(1), 15));
+    }
+
+    @Test
+    void testValidarGranularidade() {
+        assertEquals(60, GradeDeHorarios.validarGranularidade(null));
+        assertEquals(15, GradeDeHorarios.validarGranularidade(15));
+        assertThrows(IllegalArgumentException.class, () -> GradeDeHorarios.validarGranularidade(20));
+    }
+
+}
@@ -0,0 +1,199 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosAlteracaoDisponibilidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosDisponibilidadeRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosHorarioDisponivelDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosIndiceDisponibilidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosLugaresHorarioDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.DisponibilidadeHorarioRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndiceDeDisponibilidadeTest {
+    @Mock
+    RestauranteRepository restauranteRepository;
+    @Mock
+    DisponibilidadeHorarioRepository disponibilidadeHorarioRepository;
+    @Mock
+    TransmissorDeDisponibilidade transmissorDeDisponibilidade;
+    @InjectMocks
+    IndiceDeDisponibilidade indiceDeDisponibilidade;
+
+    private static final LocalDateTime DIA = LocalDateTime.of(2030, 1, 10, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(restauranteRepository.consultarDadosIndiceDisponibilidade()).thenReturn(List.of(
+                new DadosIndiceDisponibilidadeDTO(1L, "Sushi Bar", "São Paulo", TipoCulinariaEnum.JAPONESA, 60),
+                new DadosIndiceDisponibilidadeDTO(2L, "Cantina", "Sao Paulo", TipoCulinariaEnum.ITALIANA, 60),
+                new DadosIndiceDisponibilidadeDTO(3L, "Temaki", "Campinas", TipoCulinariaEnum.JAPONESA, 60)
+        ));
+        when(disponibilidadeHorarioRepository.consultarLugaresAPartirDe(anyInt())).thenReturn(List.of(
+                new DadosLugaresHorarioDTO(1L, DIA.withHour(20), 10),
+                new DadosLugaresHorarioDTO(1L, DIA.withHour(18), 10),
+                new DadosLugaresHorarioDTO(1L, DIA.withHour(19), 2),
+                new DadosLugaresHorarioDTO(2L, DIA.withHour(12), 5),
+                new DadosLugaresHorarioDTO(2L, DIA.withHour(13), 5),
+                new DadosLugaresHorarioDTO(3L, DIA.withHour(18), 0)
+        ));
+
+        indiceDeDisponibilidade.carregar();
+    }
+
+    @Test
+    void testBuscarPorCidadeOrdenadoPeloHorarioMaisProximo() {
+
+        List<DadosDisponibilidadeRestauranteDTO> result = indiceDeDisponibilidade
+                .buscar("sao paulo", null, DIA, DIA.withHour(23), 1, 60, 5);
+
+        assertEquals(2, result.size());
+        assertEquals("Cantina", result.get(0).nomeRestaurante());
+        assertEquals(List.of(new DadosHorarioDisponivelDTO(DIA.withHour(18), 10),
+                        new DadosHorarioDisponivelDTO(DIA.withHour(19), 2),
+                        new DadosHorarioDisponivelDTO(DIA.withHour(20), 10)),
+                result.get(1).horariosDisponiveis());
+    }
+
+    @Test
+    void testBuscarPorCidadeECulinariaLimitandoHorarios() {
+
+        List<DadosDisponibilidadeRestauranteDTO> result = indiceDeDisponibilidade
+                .buscar("São Paulo", TipoCulinariaEnum.JAPONESA, DIA.withHour(19), DIA.withHour(23), 1, 60, 1);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).restaurante_id());
+        assertEquals(DIA.withHour(19), result.get(0).horariosDisponiveis().get(0).horario());
+    }
+
+    @Test
+    void testBuscarIgnoraHorariosSemLugaresParaOGrupo() {
+
+        assertTrue(indiceDeDisponibilidade.buscar("Campinas", null, DIA, DIA.withHour(23), 1, 60, 5).isEmpty());
+
+        List<DadosDisponibilidadeRestauranteDTO> result = indiceDeDisponibilidade
+                .buscar(null, TipoCulinariaEnum.JAPONESA, DIA, DIA.withHour(23), 4, 60, 5);
+
+        assertEquals(1, result.size());
+        assertEquals(List.of(DIA.withHour(18), DIA.withHour(20)), result.get(0).horariosDisponiveis().stream()
+                .map(DadosHorarioDisponivelDTO::horario).toList());
+    }
+
+    @Test
+    void testAjustarLugares() {
+
+        indiceDeDisponibilidade.ajustarLugares(2L, DIA.withHour(12), DIA.withHour(14), -5);
+
+        assertTrue(indiceDeDisponibilidade.buscar(null, TipoCulinariaEnum.ITALIANA, DIA, DIA.withHour(23), 1, 60, 5)
+                .isEmpty());
+
+        indiceDeDisponibilidade.ajustarLugares(2L, DIA.withHour(13), DIA.withHour(14), 3);
+
+        assertEquals(List.of(new DadosHorarioDisponivelDTO(DIA.withHour(13), 3)),
+                indiceDeDisponibilidade.buscar(null, TipoCulinariaEnum.ITALIANA, DIA, DIA.withHour(23), 1, 60, 5)
+                        .get(0).horariosDisponiveis());
+    }
+
+    @Test
+    void testTransmitirLugaresAtualizadosAosAssinantes() {
+
+        when(transmissorDeDisponibilidade.possuiAssinantes(1L)).thenReturn(true);
+
+        indiceDeDisponibilidade.ajustarLugares(1L, DIA.withHour(18), DIA.withHour(20), -1);
+        indiceDeDisponibilidade.ajustarLugares(2L, DIA.withHour(12), DIA.withHour(13), -1);
+
+        verify(transmissorDeDisponibilidade).publicar(new DadosAlteracaoDisponibilidadeDTO(1L, List.of(
+                new DadosHorarioDisponivelDTO(DIA.withHour(18), 9),
+                new DadosHorarioDisponivelDTO(DIA.withHour(19), 1))));
+        verify(transmissorDeDisponibilidade, never()).publicar(argThat(alteracao -> alteracao.restaurante_id() == 2L));
+    }
+
+    @Test
+    void testBuscarConsideraTodosOsHorariosDaDuracao() {
+
+        // 90 minutos a partir das 18h ocupam também o horário das 19h, que só tem 2 lugares
+        List<DadosDisponibilidadeRestauranteDTO> result = indiceDeDisponibilidade
+                .buscar(null, TipoCulinariaEnum.JAPONESA, DIA, DIA.withHour(23), 4, 90, 5);
+
+        assertEquals(List.of(new DadosHorarioDisponivelDTO(DIA.withHour(20), 10)),
+                result.get(0).horariosDisponiveis());
+
+        assertEquals(List.of(new DadosHorarioDisponivelDTO(DIA.withHour(18), 2),
+                        new DadosHorarioDisponivelDTO(DIA.withHour(19), 2),
+                        new DadosHorarioDisponivelDTO(DIA.withHour(20), 10)),
+                indiceDeDisponibilidade.buscar("sao paulo", TipoCulinariaEnum.JAPONESA, DIA, DIA.withHour(23), 1, 90, 5)
+                        .get(0).horariosDisponiveis());
+    }
+
+    @Test
+    void testAjustarLugaresDeUmIntervaloEntreDias() {
+
+        indiceDeDisponibilidade.registrarRestaurante(
+                new DadosIndiceDisponibilidadeDTO(4L, "Bar", "Recife", TipoCulinariaEnum.BRASILEIRA, 60),
+                List.of(new DadosLugaresHorarioDTO(4L, DIA.withHour(23), 6),
+                        new DadosLugaresHorarioDTO(4L, DIA.plusDays(1), 6)));
+
+        indiceDeDisponibilidade.ajustarLugares(4L, DIA.withHour(23), DIA.plusDays(1).withHour(1), -4);
+
+        assertEquals(List.of(new DadosHorarioDisponivelDTO(DIA.withHour(23), 2),
+                        new DadosHorarioDisponivelDTO(DIA.plusDays(1), 2)),
+                indiceDeDisponibilidade.buscar("recife", null, DIA, DIA.plusDays(2), 1, 60, 5)
+                        .get(0).horariosDisponiveis());
+        assertTrue(indiceDeDisponibilidade.buscar("recife", null, DIA, DIA.plusDays(2), 3, 120, 5).isEmpty());
+    }
+
+    @Test
+    void testBuscarNaGranularidadeDoRestaurante() {
+
+        indiceDeDisponibilidade.registrarRestaurante(
+                new DadosIndiceDisponibilidadeDTO(4L, "Bistrô", "Recife", TipoCulinariaEnum.FRANCESA, 15),
+                List.of(new DadosLugaresHorarioDTO(4L, DIA.withHour(19), 4),
+                        new DadosLugaresHorarioDTO(4L, DIA.withHour(19).withMinute(15), 4),
+                        new DadosLugaresHorarioDTO(4L, DIA.withHour(19).withMinute(30), 1),
+                        new DadosLugaresHorarioDTO(4L, DIA.withHour(19).withMinute(45), 4)));
+
+        // Uma reserva de 30 minutos ocupa dois slots de 15 minutos
+        assertEquals(List.of(new DadosHorarioDisponivelDTO(DIA.withHour(19), 4),
+                        new DadosHorarioDisponivelDTO(DIA.withHour(19).withMinute(45), 4)),
+                indiceDeDisponibilidade.buscar("recife", null, DIA, DIA.withHour(23), 2, 30, 5)
+                        .get(0).horariosDisponiveis());
+
+        indiceDeDisponibilidade.ajustarLugares(4L, DIA.withHour(19).withMinute(15), DIA.withHour(19).withMinute(30), -3);
+
+        assertEquals(List.of(new DadosHorarioDisponivelDTO(DIA.withHour(19).withMinute(45), 4)),
+                indiceDeDisponibilidade.buscar("recife", null, DIA.withHour(19).withMinute(1), DIA.withHour(23), 2, 15, 5)
+                        .get(0).horariosDisponiveis());
+    }
+
+    @Test
+    void testRegistrarRestaurante() {
+
+        indiceDeDisponibilidade.registrarRestaurante(
+                new DadosIndiceDisponibilidadeDTO(4L, "Churrascaria", "Campinas", TipoCulinariaEnum.BRASILEIRA, 60),
+                List.of(new DadosLugaresHorarioDTO(4L, DIA.withHour(21), 3)));
+
+        List<DadosDisponibilidadeRestauranteDTO> result = indiceDeDisponibilidade
+                .buscar("campinas", null, DIA, DIA.withHour(23), 3, 60, 5);
+
+        assertEquals(1, result.size());
+        assertEquals(4L, result.get(0).restaurante_id());
+    }
+
+}
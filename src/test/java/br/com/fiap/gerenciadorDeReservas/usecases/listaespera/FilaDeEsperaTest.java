@@ -0,0 +1,135 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosEntradaListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ListaEsperaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilaDeEsperaTest {
+    @Mock
+    ListaEsperaRepository listaEsperaRepository;
+    @InjectMocks
+    FilaDeEspera filaDeEspera;
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2030, 1, 10, 12, 0);
+    private static final LocalDateTime HORARIO = AGORA.withHour(19);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testConsultarNaOrdemDoPedidoEDoTamanhoDoGrupo() {
+
+        filaDeEspera.adicionar(entrada(1L, HORARIO, 4, AGORA.minusMinutes(5)));
+        filaDeEspera.adicionar(entrada(2L, HORARIO, 2, AGORA.minusMinutes(5)));
+        filaDeEspera.adicionar(entrada(3L, HORARIO, 1, AGORA.minusMinutes(1)));
+        filaDeEspera.adicionar(entrada(4L, HORARIO, 1, AGORA.minusMinutes(10)));
+
+        assertEquals(4L, retirarProxima().listaEspera_id());
+        assertEquals(2L, retirarProxima().listaEspera_id());
+        assertEquals(1L, retirarProxima().listaEspera_id());
+        assertEquals(3L, retirarProxima().listaEspera_id());
+        assertTrue(filaDeEspera.consultarProxima(10L, HORARIO, AGORA).isEmpty());
+    }
+
+    @Test
+    void testConsultarSomenteOHorarioLiberadoEDescartaHorariosPassados() {
+
+        filaDeEspera.adicionar(entrada(1L, AGORA.minusHours(1), 1, AGORA.minusDays(1)));
+        filaDeEspera.adicionar(entrada(2L, HORARIO.plusHours(1), 1, AGORA.minusDays(1)));
+        filaDeEspera.adicionar(entrada(3L, HORARIO, 1, AGORA));
+
+        assertEquals(3L, retirarProxima().listaEspera_id());
+        assertTrue(filaDeEspera.consultarProxima(10L, HORARIO, AGORA).isEmpty());
+        assertTrue(filaDeEspera.consultarProxima(10L, AGORA.minusHours(1), AGORA).isEmpty());
+        assertEquals(2L, filaDeEspera.consultarProxima(10L, HORARIO.plusHours(1), AGORA).get().listaEspera_id());
+        assertTrue(filaDeEspera.consultarProxima(20L, HORARIO, AGORA).isEmpty());
+    }
+
+    @Test
+    void testConsultarHorariosComEsperaDentroDoIntervalo() {
+
+        filaDeEspera.adicionar(entrada(1L, AGORA.minusHours(1), 1, AGORA.minusDays(1)));
+        filaDeEspera.adicionar(entrada(2L, HORARIO.minusHours(1), 1, AGORA));
+        filaDeEspera.adicionar(entrada(3L, HORARIO, 1, AGORA));
+        filaDeEspera.adicionar(entrada(4L, HORARIO.plusHours(2), 1, AGORA));
+
+        assertEquals(List.of(HORARIO.minusHours(1), HORARIO),
+                filaDeEspera.consultarHorariosComEspera(10L, HORARIO, HORARIO.plusHours(2), AGORA));
+        assertEquals(List.of(), filaDeEspera.consultarHorariosComEspera(10L, AGORA.minusHours(2), AGORA, AGORA));
+        assertEquals(List.of(), filaDeEspera.consultarHorariosComEspera(20L, AGORA, HORARIO.plusDays(1), AGORA));
+    }
+
+    @Test
+    void testConsultarHorariosPelaDuracaoDasEntradas() {
+
+        filaDeEspera.adicionar(entrada(1L, HORARIO.minusHours(2), 1, 150, AGORA));
+        filaDeEspera.adicionar(entrada(2L, HORARIO.minusHours(1), 1, 30, AGORA));
+        filaDeEspera.adicionar(entrada(3L, HORARIO.minusMinutes(30), 1, 30, AGORA));
+
+        // Às 17h a reserva de 150 minutos alcança as 19h; as de 30 minutos terminam antes ou às 19h
+        assertEquals(List.of(HORARIO.minusHours(2)),
+                filaDeEspera.consultarHorariosComEspera(10L, HORARIO, HORARIO.plusHours(2), AGORA));
+    }
+
+    @Test
+    void testConsultarNaoRetiraAEntrada() {
+
+        filaDeEspera.adicionar(entrada(1L, HORARIO, 1, AGORA));
+
+        assertEquals(1L, filaDeEspera.consultarProxima(10L, HORARIO, AGORA).get().listaEspera_id());
+        assertEquals(1L, filaDeEspera.consultarProxima(10L, HORARIO, AGORA).get().listaEspera_id());
+    }
+
+    @Test
+    void testEntradaVoltaParaAFilaQuandoATransacaoEDesfeita() {
+
+        filaDeEspera.adicionar(entrada(1L, HORARIO, 1, AGORA));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(1L, retirarProxima().listaEspera_id());
+            assertTrue(filaDeEspera.consultarProxima(10L, HORARIO, AGORA).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1L, filaDeEspera.consultarProxima(10L, HORARIO, AGORA).get().listaEspera_id());
+    }
+
+    private DadosEntradaListaEsperaDTO retirarProxima() {
+
+        DadosEntradaListaEsperaDTO entrada = filaDeEspera.consultarProxima(10L, HORARIO, AGORA).get();
+        filaDeEspera.retirar(entrada);
+
+        return entrada;
+    }
+
+    private DadosEntradaListaEsperaDTO entrada(Long id, LocalDateTime horario, int pessoas, LocalDateTime solicitadaEm) {
+
+        return entrada(id, horario, pessoas, null, solicitadaEm);
+    }
+
+    private DadosEntradaListaEsperaDTO entrada(Long id, LocalDateTime horario, int pessoas, Integer duracaoMinutos,
+                                               LocalDateTime solicitadaEm) {
+
+        return new DadosEntradaListaEsperaDTO(id, 10L, horario, pessoas, duracaoMinutos, solicitadaEm);
+    }
+
+}
@@ -0,0 +1,131 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.listaespera;
+
+import br.com.fiap.gerenciadorDeReservas.adapters.listaespera.ListaEsperaAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.ListaEsperaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.listaespera.DadosEntradaListaEsperaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ListaEsperaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class PromoverListaEsperaUseCaseTest {
+    @Mock
+    FilaDeEspera filaDeEspera;
+    @Mock
+    ListaEsperaRepository listaEsperaRepository;
+    @Mock
+    ReservaRepository reservaRepository;
+    @Mock
+    ListaEsperaAdapter listaEsperaAdapter;
+    @Mock
+    ControleDeLugares controleDeLugares;
+    @Mock
+    OutboxDeEventos outboxDeEventos;
+    @InjectMocks
+    PromoverListaEsperaUseCase promoverListaEsperaUseCase;
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+    private static final LocalDateTime FIM = HORARIO.plusMinutes(ReservaEntity.DURACAO_PADRAO_MINUTOS);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testPromoverEsperaEnquantoOGrupoCouber() {
+        DadosEntradaListaEsperaDTO primeira = new DadosEntradaListaEsperaDTO(1L, 10L, HORARIO, 2, null, HORARIO.minusDays(2));
+        DadosEntradaListaEsperaDTO segunda = new DadosEntradaListaEsperaDTO(2L, 10L, HORARIO, 4, null, HORARIO.minusDays(1));
+        ListaEsperaEntity listaEsperaEntity = new ListaEsperaEntity();
+        ReservaEntity reservaEntity = new ReservaEntity();
+        reservaEntity.setDataReserva(HORARIO);
+        MesaEntity mesaEntity = new MesaEntity(2, null);
+
+        when(filaDeEspera.consultarHorariosComEspera(eq(10L), any(), any(), any())).thenReturn(List.of(HORARIO));
+        when(filaDeEspera.consultarProxima(eq(10L), eq(HORARIO), any()))
+                .thenReturn(Optional.of(primeira))
+                .thenReturn(Optional.of(segunda));
+        when(controleDeLugares.ocuparLugares(10L, HORARIO, FIM, 2)).thenReturn(Optional.of(List.of(mesaEntity)));
+        when(controleDeLugares.ocuparLugares(10L, HORARIO, FIM, 4)).thenReturn(Optional.empty());
+        when(listaEsperaRepository.findById(1L)).thenReturn(Optional.of(listaEsperaEntity));
+        when(listaEsperaRepository.excluirEntrada(1L)).thenReturn(1);
+        when(listaEsperaAdapter.converterParaReservaEntity(listaEsperaEntity)).thenReturn(reservaEntity);
+
+        assertEquals(1, promoverListaEsperaUseCase.promoverEspera(10L, HORARIO, HORARIO.plusHours(2)));
+
+        verify(filaDeEspera).retirar(primeira);
+        verify(filaDeEspera, never()).retirar(segunda);
+        verify(reservaRepository).save(reservaEntity);
+        assertEquals(List.of(mesaEntity), reservaEntity.getMesas());
+    }
+
+    @Test
+    void testPromoverEsperaIgnoraEntradaJaRemovida() {
+        DadosEntradaListaEsperaDTO removida = new DadosEntradaListaEsperaDTO(1L, 10L, HORARIO, 2, null, HORARIO.minusDays(1));
+
+        when(filaDeEspera.consultarHorariosComEspera(eq(10L), any(), any(), any())).thenReturn(List.of(HORARIO));
+        when(filaDeEspera.consultarProxima(eq(10L), eq(HORARIO), any()))
+                .thenReturn(Optional.of(removida))
+                .thenReturn(Optional.empty());
+        when(controleDeLugares.ocuparLugares(10L, HORARIO, FIM, 2)).thenReturn(Optional.of(List.of(new MesaEntity(4, null))));
+        when(listaEsperaRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertEquals(0, promoverListaEsperaUseCase.promoverEspera(10L, HORARIO, HORARIO.plusHours(2)));
+
+        verify(filaDeEspera).retirar(removida);
+        // Os lugares devolvidos são os da mesa inteira que havia sido alocada
+        verify(controleDeLugares).liberarLugares(10L, HORARIO, FIM, 4);
+        verify(listaEsperaRepository, never()).excluirEntrada(1L);
+        verifyNoInteractions(reservaRepository);
+    }
+
+    @Test
+    void testPromoverEsperaComADuracaoPedida() {
+        DadosEntradaListaEsperaDTO entrada = new DadosEntradaListaEsperaDTO(1L, 10L, HORARIO, 2, 120, HORARIO.minusDays(1));
+        ListaEsperaEntity listaEsperaEntity = new ListaEsperaEntity();
+        ReservaEntity reservaEntity = new ReservaEntity();
+        reservaEntity.setDataReserva(HORARIO);
+
+        when(filaDeEspera.consultarHorariosComEspera(eq(10L), any(), any(), any())).thenReturn(List.of(HORARIO));
+        when(filaDeEspera.consultarProxima(eq(10L), eq(HORARIO), any()))
+                .thenReturn(Optional.of(entrada))
+                .thenReturn(Optional.empty());
+        when(controleDeLugares.ocuparLugares(10L, HORARIO, HORARIO.plusMinutes(120), 2))
+                .thenReturn(Optional.of(List.of(new MesaEntity(2, null))));
+        when(listaEsperaRepository.findById(1L)).thenReturn(Optional.of(listaEsperaEntity));
+        when(listaEsperaRepository.excluirEntrada(1L)).thenReturn(1);
+        when(listaEsperaAdapter.converterParaReservaEntity(listaEsperaEntity)).thenReturn(reservaEntity);
+
+        assertEquals(1, promoverListaEsperaUseCase.promoverEspera(10L, HORARIO, HORARIO.plusHours(2)));
+
+        verify(controleDeLugares).ocuparLugares(10L, HORARIO, HORARIO.plusMinutes(120), 2);
+        verify(reservaRepository).save(reservaEntity);
+    }
+
+    @Test
+    void testPromoverEsperaConsultaHorariosQueAlcancamOIntervalo() {
+
+        when(filaDeEspera.consultarHorariosComEspera(anyLong(), any(), any(), any())).thenReturn(List.of());
+
+        assertEquals(0, promoverListaEsperaUseCase.promoverEspera(10L, HORARIO, HORARIO.plusHours(2)));
+
+        // A fila considera a duração de cada entrada para incluir os horários anteriores
+        verify(filaDeEspera).consultarHorariosComEspera(eq(10L), eq(HORARIO), eq(HORARIO.plusHours(2)), any());
+        verifyNoInteractions(reservaRepository, controleDeLugares);
+    }
+
+}
@@ -0,0 +1,71 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.metricas;
+
+import br.com.fiap.gerenciadorDeReservas.records.metricas.DadosMetricasDTO;
+import br.com.fiap.gerenciadorDeReservas.records.metricas.DadosTemporizadorDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.listaespera.FilaDeEspera;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MedidorDeOperacoesTest {
+
+    private RegistroDeMetricas registroDeMetricas;
+    private FilaDeEspera filaDeEspera;
+
+    @BeforeEach
+    void setUp() {
+        registroDeMetricas = new RegistroDeMetricas();
+
+        MedidorDeOperacoes medidor = new MedidorDeOperacoes();
+        medidor.registroDeMetricas = registroDeMetricas;
+
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(new FilaDeEspera());
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(medidor);
+        filaDeEspera = fabrica.getProxy();
+    }
+
+    @Test
+    void testMedirCasosDeUsoPorOperacaoEResultado() {
+
+        LocalDateTime horario = LocalDateTime.now().plusDays(1);
+
+        filaDeEspera.consultarProxima(1L, horario, LocalDateTime.now());
+        filaDeEspera.consultarProxima(2L, horario, LocalDateTime.now());
+        assertThrows(NullPointerException.class, () -> filaDeEspera.retirar(null));
+
+        DadosMetricasDTO metricas = registroDeMetricas.consultarMetricas();
+
+        assertEquals(2, metricas.temporizadores().size());
+
+        DadosTemporizadorDTO consultas = metricas.temporizadores().get(0);
+        assertEquals("FilaDeEspera.consultarProxima", consultas.operacao());
+        assertEquals(RegistroDeMetricas.RESULTADO_SUCESSO, consultas.resultado());
+        assertEquals(2, consultas.quantidade());
+        assertTrue(consultas.p99Ms() <= consultas.maximoMs());
+
+        DadosTemporizadorDTO retiradas = metricas.temporizadores().get(1);
+        assertEquals("FilaDeEspera.retirar", retiradas.operacao());
+        assertEquals("NullPointerException", retiradas.resultado());
+        assertEquals(1, retiradas.quantidade());
+
+    }
+
+    @Test
+    void testNomearRepositoriosPelaInterfaceDaAplicacao() {
+
+        Object repositorio = Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ReservaRepository.class}, (proxy, metodo, argumentos) -> null);
+
+        assertEquals("ReservaRepository", MedidorDeOperacoes.nomeDoTipo(repositorio));
+        assertEquals("FilaDeEspera", MedidorDeOperacoes.nomeDoTipo(filaDeEspera));
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.metricas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemporizadorTest {
+
+    @Test
+    void testFaixasContemOsValoresAteOLimiteSuperior() {
+
+        for (long valor : new long[]{0, 7, 8, 15, 16, 17, 1_000, 999_999, 1_000_000, 123_456_789, 1L << 40}) {
+            int faixa = Temporizador.faixa(valor);
+            assertTrue(valor <= Temporizador.limiteSuperior(faixa), "valor " + valor);
+            assertTrue(faixa == 0 || valor > Temporizador.limiteSuperior(faixa - 1), "valor " + valor);
+        }
+
+    }
+
+    @Test
+    void testCalcularPercentisComErroDeAte12EMeioPorCento() {
+
+        Temporizador temporizador = new Temporizador();
+
+        for (long ms = 1; ms <= 100; ms++) {
+            temporizador.registrar(ms * 1_000_000);
+        }
+
+        long[] percentis = temporizador.percentis(0.5, 0.95, 0.99);
+
+        assertEquals(100, temporizador.quantidade());
+        assertEquals(5_050_000_000L, temporizador.total());
+        assertEquals(100_000_000L, temporizador.maximo());
+        assertEquals(50_000_000, percentis[0], 50_000_000 * 0.125);
+        assertEquals(95_000_000, percentis[1], 95_000_000 * 0.125);
+        assertTrue(percentis[2] >= 99_000_000 && percentis[2] <= 100_000_000);
+
+    }
+
+    @Test
+    void testPercentisSemRegistros() {
+
+        assertArrayEquals(new long[]{0, 0}, new Temporizador().percentis(0.5, 0.99));
+
+    }
+
+    @Test
+    void testDuracoesAcimaDoLimiteNaUltimaFaixa() {
+
+        Temporizador temporizador = new Temporizador();
+
+        temporizador.registrar(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, temporizador.maximo());
+        assertTrue(temporizador.percentis(0.5)[0] >= 1L << 40);
+
+    }
+
+}
@@ -0,0 +1,197 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoNotificacaoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosNotificacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AgendadorDeLembretesTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Mock
+    ReservaRepository reservaRepository;
+    @Mock
+    NotificadorDeReservas notificadorDeReservas;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @InjectMocks
+    AgendadorDeLembretes agendadorDeLembretes;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        agendadorDeLembretes.recuperacaoMinutos = 0;
+        when(reservaRepository.consultarReservasAbertasAPartirDe(any(), any(), any(), any())).thenReturn(List.of());
+        when(reservaRepository.reivindicarLembrete(any(), any(), any())).thenReturn(1);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void testCarregarApenasOHorizonteEmPaginas() {
+        agendadorDeLembretes.tamanhoPagina = 2;
+        agendadorDeLembretes.iniciar(AGORA);
+        DadosEventoReservaDTO primeira = reserva(1L, AGORA.plusHours(24).plusMinutes(10));
+        DadosEventoReservaDTO segunda = reserva(2L, AGORA.plusHours(24).plusMinutes(10));
+        DadosEventoReservaDTO terceira = reserva(3L, AGORA.plusHours(24).plusMinutes(40));
+        when(reservaRepository.consultarReservasAbertasAPartirDe(AGORA.plusHours(24), 0L,
+                AGORA.plusHours(25), PageRequest.of(0, 2))).thenReturn(List.of(primeira, segunda));
+        when(reservaRepository.consultarReservasAbertasAPartirDe(segunda.dataReserva(), 2L,
+                AGORA.plusHours(25), PageRequest.of(0, 2))).thenReturn(List.of(terceira));
+
+        agendadorDeLembretes.carregarHorizonte(AGORA);
+        // O horizonte já lido não é consultado de novo
+        agendadorDeLembretes.carregarHorizonte(AGORA);
+
+        verify(reservaRepository, times(2)).consultarReservasAbertasAPartirDe(any(), any(),
+                eq(AGORA.plusHours(25)), any());
+        verify(reservaRepository).consultarReservasAbertasAPartirDe(AGORA.plusHours(2), 0L,
+                AGORA.plusHours(3), PageRequest.of(0, 2));
+        verifyNoMoreInteractions(reservaRepository);
+        assertEquals(3, agendadorDeLembretes.reservasPendentes());
+    }
+
+    @Test
+    void testEnviarLembretesVencidos() {
+        agendadorDeLembretes.iniciar(AGORA);
+        when(reservaRepository.consultarReservasAbertasAPartirDe(eq(AGORA.plusHours(24)), any(), any(), any()))
+                .thenReturn(List.of(reserva(1L, AGORA.plusHours(24).plusMinutes(10)),
+                        reserva(2L, AGORA.plusHours(24).plusMinutes(30))));
+        when(reservaRepository.consultarReservasAbertasAPartirDe(eq(AGORA.plusHours(2)), any(), any(), any()))
+                .thenReturn(List.of(reserva(3L, AGORA.plusHours(2).plusMinutes(10))));
+        agendadorDeLembretes.carregarHorizonte(AGORA);
+
+        assertEquals(0, agendadorDeLembretes.enviarVencidos(AGORA.plusMinutes(9)));
+        assertEquals(2, agendadorDeLembretes.enviarVencidos(AGORA.plusMinutes(10)));
+        assertEquals(1, agendadorDeLembretes.enviarVencidos(AGORA.plusMinutes(45)));
+
+        verify(notificadorDeReservas).notificar(new DadosNotificacaoReservaDTO(TipoNotificacaoEnum.LEMBRETE, 3L,
+                "maria@email.com", "Maria", "Sushi Bar", AGORA.plusHours(2).plusMinutes(10), 4));
+        verify(notificadorDeReservas, times(3)).notificar(any());
+        verify(reservaRepository).reivindicarLembrete(3L, AGORA.plusHours(2).plusMinutes(10), AGORA.plusMinutes(10));
+        assertEquals(0, agendadorDeLembretes.reservasPendentes());
+    }
+
+    @Test
+    void testLembreteReivindicadoPorOutraInstanciaNaoEEnviado() {
+        agendadorDeLembretes.iniciar(AGORA);
+        DadosEventoReservaDTO reserva = reserva(1L, AGORA.plusHours(24).plusMinutes(10));
+        when(reservaRepository.consultarReservasAbertasAPartirDe(eq(AGORA.plusHours(24)), any(), any(), any()))
+                .thenReturn(List.of(reserva));
+        when(reservaRepository.reivindicarLembrete(1L, reserva.dataReserva(), AGORA.plusMinutes(10))).thenReturn(0);
+        agendadorDeLembretes.carregarHorizonte(AGORA);
+
+        assertEquals(0, agendadorDeLembretes.enviarVencidos(AGORA.plusMinutes(10)));
+
+        verifyNoInteractions(notificadorDeReservas);
+        assertEquals(0, agendadorDeLembretes.reservasPendentes());
+    }
+
+    @Test
+    void testFalhaNaReivindicacaoReagendaOsLembretes() {
+        agendadorDeLembretes.iniciar(AGORA);
+        DadosEventoReservaDTO reserva = reserva(1L, AGORA.plusHours(24).plusMinutes(10));
+        when(reservaRepository.consultarReservasAbertasAPartirDe(eq(AGORA.plusHours(24)), any(), any(), any()))
+                .thenReturn(List.of(reserva));
+        doThrow(new IllegalStateException("Falha no banco"))
+                .doAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        agendadorDeLembretes.carregarHorizonte(AGORA);
+
+        assertEquals(0, agendadorDeLembretes.enviarVencidos(AGORA.plusMinutes(10)));
+        assertEquals(1, agendadorDeLembretes.reservasPendentes());
+        assertEquals(1, agendadorDeLembretes.enviarVencidos(AGORA.plusMinutes(11)));
+
+        verify(notificadorDeReservas).notificar(any());
+    }
+
+    @Test
+    void testCancelamentoDescartaOsLembretesPendentes() {
+        agendadorDeLembretes.iniciar(AGORA);
+        DadosEventoReservaDTO reserva = reserva(1L, AGORA.plusHours(24).plusMinutes(10));
+        when(reservaRepository.consultarReservasAbertasAPartirDe(eq(AGORA.plusHours(24)), any(), any(), any()))
+                .thenReturn(List.of(reserva));
+        agendadorDeLembretes.carregarHorizonte(AGORA);
+
+        agendadorDeLembretes.receber(new DadosEventoOutboxDTO(10L, TipoEventoEnum.RESERVA_CANCELADA, 1L, reserva));
+
+        assertEquals(0, agendadorDeLembretes.reservasPendentes());
+        assertEquals(0, agendadorDeLembretes.enviarVencidos(AGORA.plusMinutes(30)));
+        verifyNoInteractions(notificadorDeReservas);
+    }
+
+    @Test
+    void testAgendarReservaCriadaDentroDoHorizonteUmaUnicaVez() {
+        LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        agendadorDeLembretes.iniciar(agora);
+        agendadorDeLembretes.carregarHorizonte(agora);
+        DadosEventoOutboxDTO evento = new DadosEventoOutboxDTO(10L, TipoEventoEnum.RESERVA_CRIADA, 1L,
+                reserva(1L, agora.plusHours(2).plusMinutes(20)));
+
+        // O evento pode ser entregue mais de uma vez pelo outbox
+        agendadorDeLembretes.receber(evento);
+        agendadorDeLembretes.receber(evento);
+
+        assertEquals(1, agendadorDeLembretes.enviarVencidos(agora.plusMinutes(21)));
+    }
+
+    @Test
+    void testReagendamentoParaForaDoHorizonte() {
+        LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        agendadorDeLembretes.iniciar(agora);
+        agendadorDeLembretes.carregarHorizonte(agora);
+        agendadorDeLembretes.receber(new DadosEventoOutboxDTO(10L, TipoEventoEnum.RESERVA_CRIADA, 1L,
+                reserva(1L, agora.plusHours(2).plusMinutes(20))));
+
+        agendadorDeLembretes.receber(new DadosEventoOutboxDTO(11L, TipoEventoEnum.RESERVA_REAGENDADA, 1L,
+                reserva(1L, agora.plusHours(5))));
+
+        // O lembrete do novo horário será lido quando o horizonte o alcançar
+        assertEquals(0, agendadorDeLembretes.reservasPendentes());
+        assertEquals(0, agendadorDeLembretes.enviarVencidos(agora.plusMinutes(30)));
+    }
+
+    @Test
+    void testRecuperarLembretesVencidosComAAplicacaoParada() {
+        agendadorDeLembretes.recuperacaoMinutos = 22 * 60;
+        agendadorDeLembretes.iniciar(AGORA);
+        DadosEventoReservaDTO atrasada = reserva(1L, AGORA.plusHours(20));
+        when(reservaRepository.consultarReservasAbertasAPartirDe(eq(AGORA.plusHours(2)), any(), any(), any()))
+                .thenReturn(List.of(atrasada));
+
+        agendadorDeLembretes.carregarHorizonte(AGORA);
+
+        // O lembrete de 24 horas é lido desde o início da janela; o de 2 horas, apenas das reservas que
+        // ainda não começaram
+        verify(reservaRepository).consultarReservasAbertasAPartirDe(AGORA.plusHours(2), 0L,
+                AGORA.plusHours(25), PageRequest.of(0, 500));
+        verify(reservaRepository).consultarReservasAbertasAPartirDe(AGORA, 0L,
+                AGORA.plusHours(3), PageRequest.of(0, 500));
+        assertEquals(1, agendadorDeLembretes.enviarVencidos(AGORA));
+        verify(reservaRepository).reivindicarLembrete(1L, atrasada.dataReserva(), AGORA.minusHours(4));
+    }
+
+    private static DadosEventoReservaDTO reserva(Long reserva_id, LocalDateTime dataReserva) {
+        return new DadosEventoReservaDTO(reserva_id, 2L, "maria@email.com", "Maria", "Sushi Bar", dataReserva, 4);
+    }
+
+}
@@ -0,0 +1,53 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoNotificacaoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosNotificacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.verify;
+
+class AssinanteDeNotificacoesTest {
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+
+    @Mock
+    NotificadorDeReservas notificadorDeReservas;
+    @InjectMocks
+    AssinanteDeNotificacoes assinanteDeNotificacoes;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testNotificarReservaCriada() {
+        assinanteDeNotificacoes.receber(evento(TipoEventoEnum.RESERVA_CRIADA));
+
+        verify(notificadorDeReservas).notificar(new DadosNotificacaoReservaDTO(TipoNotificacaoEnum.CONFIRMACAO,
+                1L, "maria@email.com", "Maria", "Sushi Bar", HORARIO, 4));
+    }
+
+    @Test
+    void testNotificarReservaCancelada() {
+        assinanteDeNotificacoes.receber(evento(TipoEventoEnum.RESERVA_CANCELADA));
+
+        verify(notificadorDeReservas).notificar(new DadosNotificacaoReservaDTO(TipoNotificacaoEnum.CANCELAMENTO,
+                1L, "maria@email.com", "Maria", "Sushi Bar", HORARIO, 4));
+    }
+
+    private static DadosEventoOutboxDTO evento(TipoEventoEnum tipoEventoEnum) {
+        return new DadosEventoOutboxDTO(10L, tipoEventoEnum, 1L, new DadosEventoReservaDTO(1L, 2L,
+                "maria@email.com", "Maria", "Sushi Bar", HORARIO, 4));
+    }
+
+}
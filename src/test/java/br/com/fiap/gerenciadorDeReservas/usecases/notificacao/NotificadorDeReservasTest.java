@@ -0,0 +1,184 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.notificacao;
+
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoNotificacaoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosMetricasNotificacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.notificacao.DadosNotificacaoReservaDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificadorDeReservasTest {
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+
+    private ServidorSmtpDeTeste servidorSmtp;
+    private NotificadorDeReservas notificadorDeReservas;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servidorSmtp = new ServidorSmtpDeTeste();
+
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(servidorSmtp.porta());
+
+        notificadorDeReservas = new NotificadorDeReservas();
+        notificadorDeReservas.javaMailSender = javaMailSender;
+        notificadorDeReservas.trabalhadores = 1;
+        notificadorDeReservas.backoffInicialMs = 10;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        notificadorDeReservas.encerrar();
+        servidorSmtp.close();
+    }
+
+    @Test
+    void testEnviarLoteNumaUnicaSessaoSmtp() {
+        notificadorDeReservas.iniciar();
+
+        notificadorDeReservas.enviarLote(IntStream.rangeClosed(1, 5)
+                .mapToObj(reserva_id -> new NotificadorDeReservas.Envio(notificacao((long) reserva_id), 1))
+                .toList());
+
+        assertEquals(5, servidorSmtp.mensagens().size());
+        assertEquals(1, servidorSmtp.sessoes());
+        assertEquals(5, notificadorDeReservas.consultarMetricas().enviados());
+        assertTrue(servidorSmtp.mensagens().get(0).contains("Reserva confirmada - Sushi Bar"));
+    }
+
+    @Test
+    void testNotificarAposOCommitSemEsperarOServidor() {
+        servidorSmtp.demorarParaAceitar(1_000);
+        notificadorDeReservas.iniciar();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            notificadorDeReservas.notificar(notificacao(1L));
+            notificadorDeReservas.notificar(notificacao(TipoNotificacaoEnum.CANCELAMENTO, 1L));
+
+            // Nada entra na fila antes do commit
+            assertEquals(0, notificadorDeReservas.consultarMetricas().pendentes());
+
+            long inicio = System.nanoTime();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            // O servidor demora um segundo por mensagem, mas o commit não espera por ele
+            assertTrue(System.nanoTime() - inicio < 500_000_000L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        aguardar(() -> servidorSmtp.mensagens().size() == 2);
+        assertTrue(servidorSmtp.mensagens().get(1).contains("Reserva cancelada - Sushi Bar"));
+    }
+
+    @Test
+    void testNaoNotificarClienteSemEmail() {
+        notificadorDeReservas.iniciar();
+        notificadorDeReservas.notificar(new DadosNotificacaoReservaDTO(TipoNotificacaoEnum.CONFIRMACAO, 1L, " ",
+                "Maria", "Sushi Bar", HORARIO, 4));
+
+        assertEquals(new DadosMetricasNotificacaoDTO(true, 0, 1000, 0, 0, 0, 0, 0),
+                notificadorDeReservas.consultarMetricas());
+    }
+
+    @Test
+    void testReenviarComBackoffAposRecusaDoServidor() {
+        servidorSmtp.recusarProximasMensagens(2);
+        notificadorDeReservas.iniciar();
+
+        notificadorDeReservas.notificar(notificacao(1L));
+
+        aguardar(() -> notificadorDeReservas.consultarMetricas().enviados() == 1);
+        DadosMetricasNotificacaoDTO metricas = notificadorDeReservas.consultarMetricas();
+        assertEquals(2, metricas.reenvios());
+        assertEquals(0, metricas.falhas());
+        assertEquals(1, servidorSmtp.mensagens().size());
+    }
+
+    @Test
+    void testAbandonarAposTodasAsTentativas() {
+        servidorSmtp.recusarProximasMensagens(10);
+        notificadorDeReservas.tentativas = 3;
+        notificadorDeReservas.iniciar();
+
+        notificadorDeReservas.notificar(notificacao(1L));
+
+        aguardar(() -> notificadorDeReservas.consultarMetricas().falhas() == 1);
+        assertEquals(2, notificadorDeReservas.consultarMetricas().reenvios());
+        assertTrue(servidorSmtp.mensagens().isEmpty());
+    }
+
+    @Test
+    void testDescartarComAFilaCheia() {
+        servidorSmtp.demorarParaAceitar(2_000);
+        notificadorDeReservas.capacidadeFila = 1;
+        notificadorDeReservas.iniciar();
+
+        // O trabalhador fica ocupado com o primeiro e-mail, e o segundo ocupa toda a fila
+        assertTrue(notificadorDeReservas.enfileirar(new NotificadorDeReservas.Envio(notificacao(1L), 1)));
+        aguardar(() -> notificadorDeReservas.consultarMetricas().pendentes() == 0);
+        assertTrue(notificadorDeReservas.enfileirar(new NotificadorDeReservas.Envio(notificacao(2L), 1)));
+
+        assertFalse(notificadorDeReservas.enfileirar(new NotificadorDeReservas.Envio(notificacao(3L), 1)));
+
+        DadosMetricasNotificacaoDTO metricas = notificadorDeReservas.consultarMetricas();
+        assertEquals(1, metricas.pendentes());
+        assertEquals(1, metricas.descartados());
+    }
+
+    @Test
+    void testAtrasoDobraACadaTentativaAteOLimite() {
+        notificadorDeReservas.backoffInicialMs = 1_000;
+
+        assertEquals(List.of(1_000L, 2_000L, 4_000L, 60_000L, 60_000L), List.of(
+                notificadorDeReservas.atrasoDaTentativa(1), notificadorDeReservas.atrasoDaTentativa(2),
+                notificadorDeReservas.atrasoDaTentativa(3), notificadorDeReservas.atrasoDaTentativa(7),
+                notificadorDeReservas.atrasoDaTentativa(40)));
+    }
+
+    @Test
+    void testDesabilitadoSemServidorSmtp() {
+        notificadorDeReservas.javaMailSender = null;
+        notificadorDeReservas.iniciar();
+
+        notificadorDeReservas.notificar(notificacao(1L));
+
+        assertFalse(notificadorDeReservas.consultarMetricas().habilitada());
+        assertEquals(0, notificadorDeReservas.consultarMetricas().pendentes());
+    }
+
+    private static DadosNotificacaoReservaDTO notificacao(Long reserva_id) {
+        return notificacao(TipoNotificacaoEnum.CONFIRMACAO, reserva_id);
+    }
+
+    private static DadosNotificacaoReservaDTO notificacao(TipoNotificacaoEnum tipoNotificacaoEnum, Long reserva_id) {
+        return new DadosNotificacaoReservaDTO(tipoNotificacaoEnum, reserva_id, "maria@email.com",
+                "Maria", "Sushi Bar", HORARIO, 4);
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "Condição não atendida no prazo");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+}
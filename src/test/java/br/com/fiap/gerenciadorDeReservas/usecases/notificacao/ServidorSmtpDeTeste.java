@@ -0,0 +1,120 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.notificacao;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP local e mínimo, usado no lugar de um servidor real nos testes do envio de e-mails.
+ * Registra as sessões abertas e as mensagens recebidas, e pode recusar as próximas mensagens ou
+ * demorar para aceitá-las.
+ */
+class ServidorSmtpDeTeste implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger sessoes = new AtomicInteger();
+    private final AtomicInteger recusasPendentes = new AtomicInteger();
+    private final List<String> mensagens = new CopyOnWriteArrayList<>();
+    private volatile long atrasoMs;
+
+    ServidorSmtpDeTeste() throws IOException {
+
+        serverSocket = new ServerSocket(0);
+
+        Thread aceitar = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    sessoes.incrementAndGet();
+                    Thread sessao = new Thread(() -> atender(socket), "smtp-teste-sessao");
+                    sessao.setDaemon(true);
+                    sessao.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }, "smtp-teste");
+        aceitar.setDaemon(true);
+        aceitar.start();
+
+    }
+
+    int porta() {
+        return serverSocket.getLocalPort();
+    }
+
+    int sessoes() {
+        return sessoes.get();
+    }
+
+    List<String> mensagens() {
+        return mensagens;
+    }
+
+    void recusarProximasMensagens(int quantidade) {
+        recusasPendentes.set(quantidade);
+    }
+
+    void demorarParaAceitar(long atrasoMs) {
+        this.atrasoMs = atrasoMs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void atender(Socket socket) {
+
+        try (socket;
+             BufferedReader entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer saida = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+
+            responder(saida, "220 localhost SMTP de teste");
+
+            String linha;
+            while ((linha = entrada.readLine()) != null) {
+                String comando = linha.toUpperCase();
+
+                if (comando.startsWith("MAIL FROM")) {
+                    responder(saida, recusasPendentes.getAndUpdate(recusas -> Math.max(0, recusas - 1)) > 0
+                            ? "451 Tente novamente mais tarde" : "250 OK");
+                } else if (comando.startsWith("DATA")) {
+                    responder(saida, "354 Envie a mensagem");
+                    StringBuilder mensagem = new StringBuilder();
+                    while ((linha = entrada.readLine()) != null && !linha.equals(".")) {
+                        mensagem.append(linha).append('\n');
+                    }
+                    if (atrasoMs > 0) {
+                        Thread.sleep(atrasoMs);
+                    }
+                    mensagens.add(mensagem.toString());
+                    responder(saida, "250 OK");
+                } else if (comando.startsWith("QUIT")) {
+                    responder(saida, "221 Tchau");
+                    return;
+                } else {
+                    // EHLO, HELO, RCPT, RSET e NOOP
+                    responder(saida, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Conexão encerrada pelo cliente
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+    private static void responder(Writer saida, String resposta) throws IOException {
+
+        saida.write(resposta + "\r\n");
+        saida.flush();
+
+    }
+
+}
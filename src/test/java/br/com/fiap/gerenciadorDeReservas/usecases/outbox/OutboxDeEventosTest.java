@@ -0,0 +1,85 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.outbox;
+
+import br.com.fiap.gerenciadorDeReservas.entities.*;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoAvaliacaoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.EventoOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+class OutboxDeEventosTest {
+
+    @Mock
+    EventoOutboxRepository eventoOutboxRepository;
+    @InjectMocks
+    OutboxDeEventos outboxDeEventos;
+
+    private RestauranteEntity restauranteEntity;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        outboxDeEventos.objectMapper = new ObjectMapper().findAndRegisterModules();
+        restauranteEntity = new RestauranteEntity("Sushi Bar", TipoCulinariaEnum.JAPONESA,
+                LocalTime.of(18, 0), LocalTime.of(23, 0), 12);
+        restauranteEntity.setId(2L);
+    }
+
+    @Test
+    void testRegistrarReserva() {
+        ReservaEntity reservaEntity = new ReservaEntity(StatusReservaEnum.CANCELADA,
+                LocalDateTime.of(2030, 1, 10, 19, 0), 4,
+                new ClienteEntity("Maria", "12345678900", "maria@email.com"), restauranteEntity);
+        reservaEntity.setId(1L);
+
+        outboxDeEventos.registrarReserva(TipoEventoEnum.RESERVA_CANCELADA, reservaEntity);
+
+        EventoOutboxEntity evento = eventoGravado();
+        evento.setId(10L);
+        assertEquals(TipoEventoEnum.RESERVA_CANCELADA, evento.getTipoEventoEnum());
+        assertEquals(1L, evento.getAgregadoId());
+        assertNull(evento.getProcessadoEm());
+        assertEquals(new DadosEventoOutboxDTO(10L, TipoEventoEnum.RESERVA_CANCELADA, 1L,
+                        new DadosEventoReservaDTO(1L, 2L, "maria@email.com", "Maria", "Sushi Bar",
+                                LocalDateTime.of(2030, 1, 10, 19, 0), 4)),
+                outboxDeEventos.converterParaDTO(evento));
+    }
+
+    @Test
+    void testRegistrarAvaliacao() {
+        AvaliacaoEntity avaliacaoEntity = new AvaliacaoEntity("Maria", 4.5, "comentario",
+                LocalDateTime.of(2030, 1, 10, 21, 0), restauranteEntity);
+        avaliacaoEntity.setId(3L);
+
+        outboxDeEventos.registrarAvaliacao(avaliacaoEntity);
+
+        EventoOutboxEntity evento = eventoGravado();
+        evento.setId(11L);
+        assertEquals(new DadosEventoOutboxDTO(11L, TipoEventoEnum.AVALIACAO_CRIADA, 3L,
+                        new DadosEventoAvaliacaoDTO(3L, 2L, 4.5)),
+                outboxDeEventos.converterParaDTO(evento));
+    }
+
+    private EventoOutboxEntity eventoGravado() {
+        ArgumentCaptor<EventoOutboxEntity> captor = ArgumentCaptor.forClass(EventoOutboxEntity.class);
+        verify(eventoOutboxRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+}
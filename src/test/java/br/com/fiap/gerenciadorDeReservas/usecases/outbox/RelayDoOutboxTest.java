@@ -0,0 +1,149 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.outbox;
+
+import br.com.fiap.gerenciadorDeReservas.entities.EventoOutboxEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoOutboxDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.EventoOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RelayDoOutboxTest {
+
+    @Mock
+    EventoOutboxRepository eventoOutboxRepository;
+    @Mock
+    OutboxDeEventos outboxDeEventos;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @Mock
+    AssinanteDeEventos assinanteDeReservas;
+    @Mock
+    AssinanteDeEventos assinanteDeAvaliacoes;
+    @InjectMocks
+    RelayDoOutbox relayDoOutbox;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        relayDoOutbox.assinantes = List.of(assinanteDeReservas, assinanteDeAvaliacoes);
+        when(assinanteDeReservas.tiposDeEvento())
+                .thenReturn(Set.of(TipoEventoEnum.RESERVA_CRIADA, TipoEventoEnum.RESERVA_CANCELADA));
+        when(assinanteDeAvaliacoes.tiposDeEvento()).thenReturn(Set.of(TipoEventoEnum.AVALIACAO_CRIADA));
+        when(outboxDeEventos.converterParaDTO(any())).thenAnswer(invocation -> {
+            EventoOutboxEntity evento = invocation.getArgument(0);
+            return dto(evento.getId(), evento.getTipoEventoEnum());
+        });
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testPublicarLoteAosAssinantesDoTipo() {
+        when(eventoOutboxRepository.bloquearPendentes(any()))
+                .thenReturn(List.of(evento(1L, TipoEventoEnum.RESERVA_CRIADA),
+                        evento(2L, TipoEventoEnum.AVALIACAO_CRIADA)));
+
+        assertFalse(relayDoOutbox.publicarLote());
+
+        verify(assinanteDeReservas).receber(dto(1L, TipoEventoEnum.RESERVA_CRIADA));
+        verify(assinanteDeAvaliacoes).receber(dto(2L, TipoEventoEnum.AVALIACAO_CRIADA));
+        verify(assinanteDeReservas, never()).receber(dto(2L, TipoEventoEnum.AVALIACAO_CRIADA));
+        verify(eventoOutboxRepository).marcarProcessados(eq(List.of(1L, 2L)), any());
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    void testPublicarLotesEnquantoVieremCheios() {
+        relayDoOutbox.tamanhoLote = 2;
+        when(eventoOutboxRepository.bloquearPendentes(any()))
+                .thenReturn(List.of(evento(1L, TipoEventoEnum.RESERVA_CRIADA),
+                        evento(2L, TipoEventoEnum.RESERVA_CRIADA)))
+                .thenReturn(List.of(evento(3L, TipoEventoEnum.RESERVA_CANCELADA)))
+                .thenReturn(List.of());
+
+        relayDoOutbox.publicarPendentes();
+
+        verify(eventoOutboxRepository, times(2)).bloquearPendentes(any());
+        verify(eventoOutboxRepository).marcarProcessados(eq(List.of(1L, 2L)), any());
+        verify(eventoOutboxRepository).marcarProcessados(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void testNaoMarcarLoteVazio() {
+        when(eventoOutboxRepository.bloquearPendentes(any())).thenReturn(List.of());
+
+        assertFalse(relayDoOutbox.publicarLote());
+
+        verify(eventoOutboxRepository, never()).marcarProcessados(any(), any());
+    }
+
+    @Test
+    void testFalhaNoLotePublicaOsEventosUmAUm() {
+        EventoOutboxEntity valido = evento(1L, TipoEventoEnum.RESERVA_CRIADA);
+        EventoOutboxEntity invalido = evento(2L, TipoEventoEnum.RESERVA_CRIADA);
+        when(eventoOutboxRepository.bloquearPendentes(any())).thenReturn(List.of(valido, invalido));
+        when(eventoOutboxRepository.bloquearPendente(1L)).thenReturn(Optional.of(valido));
+        when(eventoOutboxRepository.bloquearPendente(2L)).thenReturn(Optional.of(invalido));
+        doThrow(new IllegalStateException("servidor indisponível"))
+                .when(assinanteDeReservas).receber(dto(2L, TipoEventoEnum.RESERVA_CRIADA));
+
+        assertFalse(relayDoOutbox.publicarLote());
+
+        verify(eventoOutboxRepository, never()).marcarProcessados(eq(List.of(1L, 2L)), any());
+        verify(eventoOutboxRepository).marcarProcessados(eq(List.of(1L)), any());
+        verify(eventoOutboxRepository, never()).marcarProcessados(eq(List.of(2L)), any());
+        verify(eventoOutboxRepository).registrarFalha(eq(2L), eq("servidor indisponível"), eq(5), any());
+    }
+
+    @Test
+    void testIgnorarEventoJaPublicadoPorOutroRelay() {
+        relayDoOutbox.tamanhoLote = 1;
+        when(eventoOutboxRepository.bloquearPendentes(any()))
+                .thenReturn(List.of(evento(1L, TipoEventoEnum.RESERVA_CRIADA)));
+        when(eventoOutboxRepository.bloquearPendente(1L)).thenReturn(Optional.empty());
+        when(eventoOutboxRepository.marcarProcessados(any(), any())).thenThrow(new IllegalStateException("falha"));
+
+        assertFalse(relayDoOutbox.publicarLote());
+
+        verify(assinanteDeReservas, times(1)).receber(any());
+        verify(eventoOutboxRepository, never()).registrarFalha(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testLoteCheioSemFalhas() {
+        relayDoOutbox.tamanhoLote = 1;
+        when(eventoOutboxRepository.bloquearPendentes(any()))
+                .thenReturn(List.of(evento(1L, TipoEventoEnum.AVALIACAO_CRIADA)));
+
+        assertTrue(relayDoOutbox.publicarLote());
+    }
+
+    private static EventoOutboxEntity evento(Long id, TipoEventoEnum tipoEventoEnum) {
+        EventoOutboxEntity evento = new EventoOutboxEntity(tipoEventoEnum, id, "{}", null);
+        evento.setId(id);
+        return evento;
+    }
+
+    private static DadosEventoOutboxDTO dto(Long id, TipoEventoEnum tipoEventoEnum) {
+        return new DadosEventoOutboxDTO(id, tipoEventoEnum, id, null);
+    }
+
+}
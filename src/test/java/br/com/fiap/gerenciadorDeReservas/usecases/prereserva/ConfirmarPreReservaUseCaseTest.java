@@ -0,0 +1,84 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.adapters.prereserva.PreReservaAdapter;
+import br.com.fiap.gerenciadorDeReservas.adapters.reserva.ReservaAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.PreReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.PreReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+class ConfirmarPreReservaUseCaseTest {
+    @Mock
+    PreReservaRepository preReservaRepository;
+    @Mock
+    ReservaRepository reservaRepository;
+    @Mock
+    PreReservaAdapter preReservaAdapter;
+    @Mock
+    ReservaAdapter reservaAdapter;
+    @Mock
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Mock
+    OutboxDeEventos outboxDeEventos;
+    @InjectMocks
+    ConfirmarPreReservaUseCase confirmarPreReservaUseCase;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testConfirmarPreReserva() {
+        PreReservaEntity preReservaEntity = new PreReservaEntity();
+        ReservaEntity reservaEntity = new ReservaEntity();
+        DadosRetornoCriacaoReservaDTO dadosRetorno = new DadosRetornoCriacaoReservaDTO("nome",
+                new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"),
+                LocalDateTime.of(2030, 1, 10, 18, 0));
+
+        when(preReservaRepository.findById(1L)).thenReturn(Optional.of(preReservaEntity));
+        when(preReservaRepository.excluirPreReservaValida(eq(1L), any())).thenReturn(1);
+        when(preReservaAdapter.converterParaReservaEntity(preReservaEntity)).thenReturn(reservaEntity);
+        when(reservaAdapter.converterParaDadosRetornoDTO(reservaEntity)).thenReturn(dadosRetorno);
+
+        DadosRetornoCriacaoReservaDTO result = confirmarPreReservaUseCase.confirmarPreReserva(1L);
+
+        Assertions.assertEquals(dadosRetorno, result);
+
+        // As mesas passam da pré-reserva para a reserva antes da exclusão
+        var ordem = inOrder(preReservaAdapter, alocacaoMesaRepository, preReservaRepository, reservaRepository);
+        ordem.verify(preReservaAdapter).converterParaReservaEntity(preReservaEntity);
+        ordem.verify(alocacaoMesaRepository).excluirAlocacoesDasPreReservas(List.of(1L));
+        ordem.verify(preReservaRepository).excluirPreReservaValida(eq(1L), any());
+        ordem.verify(reservaRepository).save(reservaEntity);
+    }
+
+    @Test
+    void testConfirmarPreReservaExpirada() {
+
+        when(preReservaRepository.findById(1L)).thenReturn(Optional.of(new PreReservaEntity()));
+        when(preReservaRepository.excluirPreReservaValida(eq(1L), any())).thenReturn(0);
+
+        Assertions.assertThrows(EntityNotFoundException.class, () -> confirmarPreReservaUseCase.confirmarPreReserva(1L));
+
+        verify(reservaRepository, never()).save(any());
+    }
+
+}
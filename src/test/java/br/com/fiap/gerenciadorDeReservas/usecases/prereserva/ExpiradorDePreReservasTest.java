@@ -0,0 +1,114 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.records.prereserva.DadosPreReservaAgendadaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.PreReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.*;
+
+class ExpiradorDePreReservasTest {
+    @Mock
+    PreReservaRepository preReservaRepository;
+    @Mock
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Mock
+    ControleDeLugares controleDeLugares;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @InjectMocks
+    ExpiradorDePreReservas expiradorDePreReservas;
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+    private static final LocalDateTime FIM = HORARIO.plusMinutes(90);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        doAnswer(invocation -> {
+            ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        expiradorDePreReservas.criarRodaDeTempo();
+    }
+
+    @Test
+    void testExpirarDevolveLugaresEmLotePorHorarioEGrupo() {
+
+        LocalDateTime vencida = LocalDateTime.now().minusSeconds(1);
+
+        expiradorDePreReservas.agendar(new DadosPreReservaAgendadaDTO(1L, 10L, HORARIO, FIM, 3, vencida));
+        expiradorDePreReservas.agendar(new DadosPreReservaAgendadaDTO(2L, 10L, HORARIO, FIM, 3, vencida));
+        expiradorDePreReservas.agendar(new DadosPreReservaAgendadaDTO(3L, 20L, HORARIO, FIM, 1, vencida));
+        expiradorDePreReservas.agendar(new DadosPreReservaAgendadaDTO(4L, 20L, HORARIO, FIM, 1,
+                LocalDateTime.now().plusHours(1)));
+
+        when(preReservaRepository.excluirPreReservas(List.of(1L, 2L), 10L)).thenReturn(2);
+        when(preReservaRepository.excluirPreReservas(List.of(3L), 20L)).thenReturn(0);
+
+        expiradorDePreReservas.expirar();
+
+        verify(alocacaoMesaRepository).excluirAlocacoesDasPreReservas(List.of(1L, 2L));
+        verify(controleDeLugares).liberarLugares(10L, HORARIO, FIM, 6);
+        verify(controleDeLugares, never()).liberarLugares(eq(20L), any(), any(), anyInt());
+        verify(preReservaRepository, never()).excluirPreReservas(argThat(ids -> ids.contains(4L)), anyLong());
+    }
+
+    @Test
+    void testExpirarReagendaLoteComFalha() throws InterruptedException {
+
+        expiradorDePreReservas.duracaoTickMs = 10;
+        expiradorDePreReservas.novaTentativaMs = 20;
+        expiradorDePreReservas.criarRodaDeTempo();
+
+        LocalDateTime vencida = LocalDateTime.now().minusSeconds(1);
+
+        expiradorDePreReservas.agendar(new DadosPreReservaAgendadaDTO(1L, 10L, HORARIO, FIM, 3, vencida));
+        expiradorDePreReservas.agendar(new DadosPreReservaAgendadaDTO(2L, 20L, HORARIO, FIM, 1, vencida));
+
+        when(preReservaRepository.excluirPreReservas(List.of(1L), 10L))
+                .thenThrow(new IllegalStateException("Falha no banco"))
+                .thenReturn(1);
+        when(preReservaRepository.excluirPreReservas(List.of(2L), 20L)).thenReturn(1);
+
+        // A falha de um lote não impede os demais
+        expiradorDePreReservas.expirar();
+
+        verify(controleDeLugares).liberarLugares(20L, HORARIO, FIM, 1);
+        verify(controleDeLugares, never()).liberarLugares(eq(10L), any(), any(), anyInt());
+
+        // O lote com falha volta para a roda e é expirado depois do intervalo de nova tentativa
+        Thread.sleep(50);
+        expiradorDePreReservas.expirar();
+
+        verify(preReservaRepository, times(2)).excluirPreReservas(List.of(1L), 10L);
+        verify(preReservaRepository, times(1)).excluirPreReservas(List.of(2L), 20L);
+        verify(controleDeLugares).liberarLugares(10L, HORARIO, FIM, 3);
+    }
+
+    @Test
+    void testExpirarSemPreReservasVencidas() {
+
+        expiradorDePreReservas.agendar(new DadosPreReservaAgendadaDTO(1L, 10L, HORARIO, FIM, 1,
+                LocalDateTime.now().plusMinutes(5)));
+
+        expiradorDePreReservas.expirar();
+
+        verifyNoInteractions(transactionTemplate, controleDeLugares);
+    }
+
+}
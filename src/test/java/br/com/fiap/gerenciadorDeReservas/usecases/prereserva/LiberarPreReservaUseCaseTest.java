@@ -0,0 +1,86 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.prereserva;
+
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.PreReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.PreReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+class LiberarPreReservaUseCaseTest {
+    @Mock
+    PreReservaRepository preReservaRepository;
+    @Mock
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Mock
+    ControleDeLugares controleDeLugares;
+    @InjectMocks
+    LiberarPreReservaUseCase liberarPreReservaUseCase;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testLiberarPreReserva() {
+        RestauranteEntity restauranteEntity = new RestauranteEntity();
+        restauranteEntity.setId(2L);
+        PreReservaEntity preReservaEntity = new PreReservaEntity();
+        preReservaEntity.setRestauranteEntity(restauranteEntity);
+        preReservaEntity.setDataReserva(LocalDateTime.of(2030, 1, 10, 19, 0));
+        preReservaEntity.setQuantidadePessoas(3);
+
+        when(preReservaRepository.findById(1L)).thenReturn(Optional.of(preReservaEntity));
+        when(preReservaRepository.excluirPreReserva(1L)).thenReturn(1);
+
+        liberarPreReservaUseCase.liberarPreReserva(1L);
+
+        verify(alocacaoMesaRepository).excluirAlocacoesDasPreReservas(List.of(1L));
+        verify(controleDeLugares).liberarLugares(2L, preReservaEntity.getDataReserva(),
+                preReservaEntity.getFimReserva(), 3);
+    }
+
+    @Test
+    void testLiberarPreReservaDevolveAsMesasInteiras() {
+        RestauranteEntity restauranteEntity = new RestauranteEntity();
+        restauranteEntity.setId(2L);
+        PreReservaEntity preReservaEntity = new PreReservaEntity();
+        preReservaEntity.setRestauranteEntity(restauranteEntity);
+        preReservaEntity.setDataReserva(LocalDateTime.of(2030, 1, 10, 19, 0));
+        preReservaEntity.setQuantidadePessoas(3);
+        preReservaEntity.alocarMesas(List.of(new MesaEntity(4, restauranteEntity)));
+
+        when(preReservaRepository.findById(1L)).thenReturn(Optional.of(preReservaEntity));
+        when(preReservaRepository.excluirPreReserva(1L)).thenReturn(1);
+
+        liberarPreReservaUseCase.liberarPreReserva(1L);
+
+        verify(controleDeLugares).liberarLugares(2L, preReservaEntity.getDataReserva(),
+                preReservaEntity.getFimReserva(), 4);
+    }
+
+    @Test
+    void testLiberarPreReservaIdInvalido() {
+
+        when(preReservaRepository.findById(1L)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(EntityNotFoundException.class, () -> liberarPreReservaUseCase.liberarPreReserva(1L));
+
+        verifyNoInteractions(controleDeLugares);
+    }
+
+}
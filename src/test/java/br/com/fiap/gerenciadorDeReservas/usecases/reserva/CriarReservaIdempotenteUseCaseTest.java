@@ -0,0 +1,100 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
+
+import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.admissao.AdmissaoDeReservas;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.idempotencia.ArmazemDeIdempotencia;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class CriarReservaIdempotenteUseCaseTest {
+    @Mock
+    CriarReservaUseCase criarReservaUseCase;
+    @Mock
+    ArmazemDeIdempotencia armazemDeIdempotencia;
+    @Mock
+    AdmissaoDeReservas admissaoDeReservas;
+    @InjectMocks
+    CriarReservaIdempotenteUseCase criarReservaIdempotenteUseCase;
+
+    private static final DadosCriacaoReservaDTO DADOS_CRIACAO = new DadosCriacaoReservaDTO(
+            LocalDateTime.of(2030, 1, 10, 19, 0), 1L, 2L);
+    private static final DadosRetornoCriacaoReservaDTO DADOS_RETORNO = new DadosRetornoCriacaoReservaDTO("nome",
+            new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"),
+            LocalDateTime.of(2030, 1, 10, 19, 0));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testRepeticaoNaoCriaNovaReserva() throws IllegalAccessException {
+
+        when(armazemDeIdempotencia.buscarResposta(eq("chave"), anyString())).thenReturn(Optional.of(DADOS_RETORNO));
+
+        assertEquals(DADOS_RETORNO, criarReservaIdempotenteUseCase.criarReserva("chave", DADOS_CRIACAO));
+
+        verifyNoInteractions(criarReservaUseCase, admissaoDeReservas);
+    }
+
+    @Test
+    void testPrimeiraRequisicaoCriaReserva() throws IllegalAccessException {
+        String impressao = ArmazemDeIdempotencia.gerarImpressao(DADOS_CRIACAO);
+
+        when(armazemDeIdempotencia.buscarResposta("chave", impressao)).thenReturn(Optional.empty());
+        when(criarReservaUseCase.criarReserva(DADOS_CRIACAO, "chave", impressao)).thenReturn(DADOS_RETORNO);
+
+        assertEquals(DADOS_RETORNO, criarReservaIdempotenteUseCase.criarReserva("chave", DADOS_CRIACAO));
+    }
+
+    @Test
+    void testPrimeiraRequisicaoPassaPelaAdmissao() throws IllegalAccessException {
+        String impressao = ArmazemDeIdempotencia.gerarImpressao(DADOS_CRIACAO);
+
+        when(armazemDeIdempotencia.buscarResposta("chave", impressao)).thenReturn(Optional.empty());
+        when(admissaoDeReservas.isHabilitada()).thenReturn(true);
+        when(admissaoDeReservas.criarReserva(DADOS_CRIACAO, "chave", impressao)).thenReturn(DADOS_RETORNO);
+
+        assertEquals(DADOS_RETORNO, criarReservaIdempotenteUseCase.criarReserva("chave", DADOS_CRIACAO));
+
+        verifyNoInteractions(criarReservaUseCase);
+    }
+
+    @Test
+    void testRequisicaoConcorrenteNaAdmissaoRecebeARespostaDaPrimeira() throws IllegalAccessException {
+
+        when(armazemDeIdempotencia.buscarResposta(eq("chave"), anyString()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(DADOS_RETORNO));
+        when(admissaoDeReservas.isHabilitada()).thenReturn(true);
+        when(admissaoDeReservas.criarReserva(any(), eq("chave"), anyString()))
+                .thenThrow(new DataIntegrityViolationException("chave duplicada"));
+
+        assertEquals(DADOS_RETORNO, criarReservaIdempotenteUseCase.criarReserva("chave", DADOS_CRIACAO));
+    }
+
+    @Test
+    void testRequisicaoConcorrenteRecebeARespostaDaPrimeira() throws IllegalAccessException {
+
+        when(armazemDeIdempotencia.buscarResposta(eq("chave"), anyString()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(DADOS_RETORNO));
+        when(criarReservaUseCase.criarReserva(any(), eq("chave"), anyString()))
+                .thenThrow(new DataIntegrityViolationException("chave duplicada"));
+
+        assertEquals(DADOS_RETORNO, criarReservaIdempotenteUseCase.criarReserva("chave", DADOS_CRIACAO));
+    }
+
+}
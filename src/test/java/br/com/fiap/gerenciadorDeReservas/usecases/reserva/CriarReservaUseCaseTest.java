@@ -3,10 +3,12 @@ package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
 import br.com.fiap.gerenciadorDeReservas.adapters.reserva.ReservaAdapter;
 import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
 import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +26,8 @@ class CriarReservaUseCaseTest {
     ReservaAdapter reservaAdapter;
     @Mock
     ReservaRepository reservaRepository;
+    @Mock
+    OutboxDeEventos outboxDeEventos;
     @InjectMocks
     CriarReservaUseCase criarReservaUseCase;
 
@@ -64,6 +68,7 @@ class CriarReservaUseCaseTest {
                 ),
                 result
         );
+        verify(outboxDeEventos).registrarReserva(eq(TipoEventoEnum.RESERVA_CRIADA), any());
     }
 
 }
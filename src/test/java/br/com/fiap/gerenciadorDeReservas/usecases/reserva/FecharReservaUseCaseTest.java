@@ -1,8 +1,16 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
 
 import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.exceptions.ReservaConflictException;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReservaAgendadaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.listaespera.PromoverListaEsperaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -19,6 +28,14 @@ import static org.mockito.Mockito.*;
 class FecharReservaUseCaseTest {
     @Mock
     ReservaRepository reservaRepository;
+    @Mock
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Mock
+    ControleDeLugares controleDeLugares;
+    @Mock
+    PromoverListaEsperaUseCase promoverListaEsperaUseCase;
+    @Mock
+    OutboxDeEventos outboxDeEventos;
     @InjectMocks
     FecharReservaUseCase fecharReservaUseCase;
 
@@ -39,7 +56,7 @@ class FecharReservaUseCaseTest {
         });
 
 
-        verify(reservaRepository, never()).atualizarStatusReserva(anyLong(), any());
+        verify(reservaRepository, never()).cancelarReservaAberta(anyLong(), any(), any());
     }
 
     @Test
@@ -48,16 +65,169 @@ class FecharReservaUseCaseTest {
         ReservaEntity reservaEntity = new ReservaEntity();
         reservaEntity.setId(1L);
         reservaEntity.setStatusReservaEnum(StatusReservaEnum.ABERTA);
+        reservaEntity.setDataReserva(LocalDateTime.of(2030, 1, 10, 19, 0));
+        reservaEntity.setQuantidadePessoas(4);
+        reservaEntity.setDuracaoMinutos(90);
+        reservaEntity.setRestauranteEntity(restaurante());
+
+
+        when(reservaRepository.findById(1L))
+                .thenReturn(Optional.of(reservaEntity));
+        when(reservaRepository.cancelarReservaAberta(1L, reservaEntity.getDataReserva(),
+                reservaEntity.getDuracaoMinutos()))
+                .thenReturn(1);
+
+        fecharReservaUseCase.fecharReserva(1L);
+
+        assertEquals(StatusReservaEnum.CANCELADA, reservaEntity.getStatusReservaEnum());
+
+        verify(alocacaoMesaRepository).excluirAlocacoesDaReserva(1L);
+        verify(controleDeLugares).liberarLugares(2L, reservaEntity.getDataReserva(),
+                reservaEntity.getDataReserva().plusMinutes(90), 4);
+        verify(outboxDeEventos).registrarReserva(TipoEventoEnum.RESERVA_CANCELADA, reservaEntity);
+    }
+
+    @Test
+    void testFecharReservaPromoveListaEspera() {
+
+        ReservaEntity reservaEntity = new ReservaEntity();
+        reservaEntity.setId(1L);
+        reservaEntity.setStatusReservaEnum(StatusReservaEnum.ABERTA);
+        reservaEntity.setDataReserva(LocalDateTime.of(2030, 1, 10, 19, 0));
+        reservaEntity.setRestauranteEntity(restaurante());
+
+        when(reservaRepository.findById(1L))
+                .thenReturn(Optional.of(reservaEntity));
+        when(reservaRepository.cancelarReservaAberta(1L, reservaEntity.getDataReserva(),
+                reservaEntity.getDuracaoMinutos()))
+                .thenReturn(1);
+        when(promoverListaEsperaUseCase.promoverEspera(2L, reservaEntity.getDataReserva(), reservaEntity.getFimReserva()))
+                .thenReturn(1);
+
+        fecharReservaUseCase.fecharReserva(1L);
+
+        verify(reservaRepository).cancelarReservaAberta(1L, reservaEntity.getDataReserva(),
+                reservaEntity.getDuracaoMinutos());
+
+        // Os lugares voltam ao horário antes da promoção, que os ocupa novamente
+        var ordem = inOrder(alocacaoMesaRepository, controleDeLugares, promoverListaEsperaUseCase);
+        ordem.verify(alocacaoMesaRepository).excluirAlocacoesDaReserva(1L);
+        ordem.verify(controleDeLugares).liberarLugares(2L, reservaEntity.getDataReserva(),
+                reservaEntity.getFimReserva(), 1);
+        ordem.verify(promoverListaEsperaUseCase).promoverEspera(2L, reservaEntity.getDataReserva(),
+                reservaEntity.getFimReserva());
+    }
+
+    @Test
+    void testFecharReservaJaCanceladaNaoDevolveCapacidade() {
+
+        ReservaEntity reservaEntity = new ReservaEntity();
+        reservaEntity.setId(1L);
+        reservaEntity.setStatusReservaEnum(StatusReservaEnum.CANCELADA);
+        reservaEntity.setRestauranteEntity(restaurante());
+
+        when(reservaRepository.findById(1L))
+                .thenReturn(Optional.of(reservaEntity));
+
+        fecharReservaUseCase.fecharReserva(1L);
+
+        verify(reservaRepository, never()).cancelarReservaAberta(anyLong(), any(), any());
+        verifyNoInteractions(alocacaoMesaRepository, controleDeLugares, promoverListaEsperaUseCase,
+                outboxDeEventos);
+    }
+
+    @Test
+    void testFecharReservaCanceladaPorOutraTransacaoNaoDevolveCapacidade() {
+
+        ReservaEntity reservaEntity = new ReservaEntity();
+        reservaEntity.setId(1L);
+        reservaEntity.setStatusReservaEnum(StatusReservaEnum.ABERTA);
+        reservaEntity.setDataReserva(LocalDateTime.of(2030, 1, 10, 19, 0));
+        reservaEntity.setRestauranteEntity(restaurante());
+
+        when(reservaRepository.findById(1L))
+                .thenReturn(Optional.of(reservaEntity));
+        when(reservaRepository.cancelarReservaAberta(1L, reservaEntity.getDataReserva(),
+                reservaEntity.getDuracaoMinutos()))
+                .thenReturn(0);
+        when(reservaRepository.consultarReservaAgendada(1L))
+                .thenReturn(Optional.of(reservaAgendada(StatusReservaEnum.CANCELADA)));
+
+        fecharReservaUseCase.fecharReserva(1L);
+
+        verifyNoInteractions(alocacaoMesaRepository, controleDeLugares, promoverListaEsperaUseCase,
+                outboxDeEventos);
+    }
+
+    @Test
+    void testFecharReservaReagendadaPorOutraTransacaoCancelaNoNovoHorario() {
+
+        ReservaEntity reservaEntity = new ReservaEntity();
+        reservaEntity.setId(1L);
+        reservaEntity.setStatusReservaEnum(StatusReservaEnum.ABERTA);
+        reservaEntity.setDataReserva(LocalDateTime.of(2030, 1, 10, 19, 0));
+        reservaEntity.setRestauranteEntity(restaurante());
 
+        DadosReservaAgendadaDTO reagendada = reservaAgendada(StatusReservaEnum.ABERTA);
 
         when(reservaRepository.findById(1L))
                 .thenReturn(Optional.of(reservaEntity));
+        when(reservaRepository.cancelarReservaAberta(1L, reservaEntity.getDataReserva(),
+                reservaEntity.getDuracaoMinutos()))
+                .thenReturn(0);
+        when(reservaRepository.consultarReservaAgendada(1L))
+                .thenReturn(Optional.of(reagendada));
+        when(reservaRepository.cancelarReservaAberta(1L, reagendada.dataReserva(), reagendada.duracaoMinutos()))
+                .thenReturn(1);
 
         fecharReservaUseCase.fecharReserva(1L);
 
+        // Os lugares são devolvidos ao novo horário, onde a reserva estava aberta
         assertEquals(StatusReservaEnum.CANCELADA, reservaEntity.getStatusReservaEnum());
+        assertEquals(reagendada.dataReserva(), reservaEntity.getDataReserva());
+        verify(alocacaoMesaRepository).excluirAlocacoesDaReserva(1L);
+        verify(controleDeLugares).liberarLugares(2L, reagendada.dataReserva(), reagendada.fimReserva(), 4);
+        verify(promoverListaEsperaUseCase).promoverEspera(2L, reagendada.dataReserva(), reagendada.fimReserva());
+        verify(outboxDeEventos).registrarReserva(TipoEventoEnum.RESERVA_CANCELADA, reservaEntity);
+    }
+
+    @Test
+    void testFecharReservaAlteradaNovamenteDuranteOCancelamento() {
+
+        ReservaEntity reservaEntity = new ReservaEntity();
+        reservaEntity.setId(1L);
+        reservaEntity.setStatusReservaEnum(StatusReservaEnum.ABERTA);
+        reservaEntity.setDataReserva(LocalDateTime.of(2030, 1, 10, 19, 0));
+        reservaEntity.setRestauranteEntity(restaurante());
+
+        when(reservaRepository.findById(1L))
+                .thenReturn(Optional.of(reservaEntity));
+        when(reservaRepository.cancelarReservaAberta(anyLong(), any(), any()))
+                .thenReturn(0);
+        when(reservaRepository.consultarReservaAgendada(1L))
+                .thenReturn(Optional.of(reservaAgendada(StatusReservaEnum.ABERTA)));
+
+        assertThrows(ReservaConflictException.class, () -> fecharReservaUseCase.fecharReserva(1L));
+
+        verify(reservaRepository, times(2)).cancelarReservaAberta(anyLong(), any(), any());
+        assertEquals(StatusReservaEnum.ABERTA, reservaEntity.getStatusReservaEnum());
+        verifyNoInteractions(alocacaoMesaRepository, controleDeLugares, promoverListaEsperaUseCase,
+                outboxDeEventos);
+    }
+
+    private DadosReservaAgendadaDTO reservaAgendada(StatusReservaEnum statusReservaEnum) {
+
+        return new DadosReservaAgendadaDTO(1L, 2L, LocalDateTime.of(2030, 1, 10, 21, 0), 90, 4, 4,
+                statusReservaEnum);
+
+    }
+
+    private RestauranteEntity restaurante() {
+
+        RestauranteEntity restauranteEntity = new RestauranteEntity();
+        restauranteEntity.setId(2L);
 
-        verify(reservaRepository).atualizarStatusReserva(1L, StatusReservaEnum.CANCELADA);
+        return restauranteEntity;
     }
 
 
@@ -7,6 +7,7 @@ import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosConsultaReservasDT
 import br.com.fiap.gerenciadorDeReservas.repositories.ClienteRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.particionamento.GerenciadorDeParticoesDeReserva;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import org.mockito.MockitoAnnotations;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 
@@ -29,6 +31,8 @@ class ListarReservasPorRestauranteUseCaseTest {
     ClienteRepository clienteRepository;
     @Mock
     ReservaAdapter reservaAdapter;
+    @Mock
+    GerenciadorDeParticoesDeReserva gerenciadorDeParticoesDeReserva;
     @InjectMocks
     ListarReservasPorRestauranteUseCase listarReservasPorRestauranteUseCase;
 
@@ -39,7 +43,7 @@ class ListarReservasPorRestauranteUseCaseTest {
 
     @Test
     void testListarReservasPorRestaurante() {
-        when(reservaRepository.findByRestauranteEntityId(anyLong()))
+        when(reservaRepository.findByRestauranteEntityId(1L))
                 .thenReturn(List.of(new ReservaEntity(StatusReservaEnum.ABERTA,
                         LocalDateTime.of(2024, Month.MARCH, 23, 8, 39, 27),
                         null, null)));
@@ -61,4 +65,25 @@ class ListarReservasPorRestauranteUseCaseTest {
         );
     }
 
+    @Test
+    void testListarReservasSemParticionamentoNaoLimitaAData() {
+        when(gerenciadorDeParticoesDeReserva.consultarInicioDasReservasAtivas()).thenReturn(Optional.empty());
+
+        listarReservasPorRestauranteUseCase.listarReservasPorRestaurante(1L);
+
+        verify(reservaRepository).findByRestauranteEntityId(1L);
+        verify(reservaRepository, never()).findByRestauranteEntityIdAndDataReservaGreaterThanEqual(anyLong(), any());
+    }
+
+    @Test
+    void testListarReservasAPartirDoMesSeguinteAoUltimoArquivado() {
+        LocalDateTime inicio = LocalDateTime.of(2024, Month.APRIL, 1, 0, 0);
+        when(gerenciadorDeParticoesDeReserva.consultarInicioDasReservasAtivas()).thenReturn(Optional.of(inicio));
+
+        listarReservasPorRestauranteUseCase.listarReservasPorRestaurante(1L);
+
+        verify(reservaRepository).findByRestauranteEntityIdAndDataReservaGreaterThanEqual(1L, inicio);
+        verify(reservaRepository, never()).findByRestauranteEntityId(anyLong());
+    }
+
 }
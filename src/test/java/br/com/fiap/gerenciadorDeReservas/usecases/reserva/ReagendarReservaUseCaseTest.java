@@ -0,0 +1,148 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva;
+
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.ReservaEntity;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.StatusReservaEnum;
+import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoEventoEnum;
+import br.com.fiap.gerenciadorDeReservas.records.mesa.DadosMesaAlocadaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.outbox.DadosEventoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReagendamentoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosReservaAgendadaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoReagendamentoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.AlocacaoMesaRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.ReservaRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
+import br.com.fiap.gerenciadorDeReservas.usecases.listaespera.PromoverListaEsperaUseCase;
+import br.com.fiap.gerenciadorDeReservas.usecases.metricas.RegistroDeMetricas;
+import br.com.fiap.gerenciadorDeReservas.usecases.outbox.OutboxDeEventos;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ReagendarReservaUseCaseTest {
+    @Mock
+    ReservaRepository reservaRepository;
+    @Mock
+    AlocacaoMesaRepository alocacaoMesaRepository;
+    @Mock
+    ControleDeLugares controleDeLugares;
+    @Mock
+    PromoverListaEsperaUseCase promoverListaEsperaUseCase;
+    @Mock
+    OutboxDeEventos outboxDeEventos;
+    @Mock
+    RegistroDeMetricas registroDeMetricas;
+    @InjectMocks
+    ReagendarReservaUseCase reagendarReservaUseCase;
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+    private static final LocalDateTime NOVO_HORARIO = HORARIO.plusHours(2);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testReagendarReserva() {
+
+        MesaEntity mesaEntity = new MesaEntity(4, null);
+        mesaEntity.setId(3L);
+        ReservaEntity referencia = new ReservaEntity();
+
+        when(reservaRepository.consultarReservaAgendada(1L)).thenReturn(Optional.of(reservaAgendada(StatusReservaEnum.ABERTA)));
+        when(reservaRepository.reagendarReserva(1L, HORARIO, 90, NOVO_HORARIO, 90)).thenReturn(1);
+        when(controleDeLugares.realocarLugares(2L, HORARIO, HORARIO.plusMinutes(90), 4, NOVO_HORARIO,
+                NOVO_HORARIO.plusMinutes(90), 3)).thenReturn(Optional.of(List.of(mesaEntity)));
+        when(reservaRepository.getReferenceById(1L)).thenReturn(referencia);
+        DadosEventoReservaDTO evento = new DadosEventoReservaDTO(1L, 2L, "maria@email.com", "Maria", "Sushi Bar",
+                NOVO_HORARIO, 3);
+        when(reservaRepository.consultarDadosDoEvento(1L)).thenReturn(Optional.of(evento));
+
+        DadosRetornoReagendamentoReservaDTO retorno = reagendarReservaUseCase.reagendarReserva(1L,
+                new DadosReagendamentoReservaDTO(NOVO_HORARIO, null));
+
+        assertEquals(new DadosRetornoReagendamentoReservaDTO(1L, NOVO_HORARIO, NOVO_HORARIO.plusMinutes(90),
+                List.of(new DadosMesaAlocadaDTO(3L, 4))), retorno);
+
+        // As mesas atuais são liberadas antes da escolha, e a espera recebe o horário antigo
+        var ordem = inOrder(reservaRepository, alocacaoMesaRepository, controleDeLugares, promoverListaEsperaUseCase);
+        ordem.verify(reservaRepository).reagendarReserva(1L, HORARIO, 90, NOVO_HORARIO, 90);
+        ordem.verify(alocacaoMesaRepository).excluirAlocacoesDaReserva(1L);
+        ordem.verify(controleDeLugares).realocarLugares(anyLong(), any(), any(), anyInt(), any(), any(), anyInt());
+        ordem.verify(alocacaoMesaRepository).saveAll(argThat(alocacoes -> alocacoes.iterator().next()
+                .getReservaEntity() == referencia));
+        ordem.verify(promoverListaEsperaUseCase).promoverEspera(2L, HORARIO, HORARIO.plusMinutes(90));
+        verify(reservaRepository, never()).findById(any());
+        verify(outboxDeEventos).registrarDadosDaReserva(TipoEventoEnum.RESERVA_REAGENDADA, evento);
+    }
+
+    @Test
+    void testReagendarReservaSemLugaresNoNovoHorario() {
+
+        when(reservaRepository.consultarReservaAgendada(1L)).thenReturn(Optional.of(reservaAgendada(StatusReservaEnum.ABERTA)));
+        when(reservaRepository.reagendarReserva(1L, HORARIO, 90, NOVO_HORARIO, 120)).thenReturn(1);
+        when(controleDeLugares.realocarLugares(anyLong(), any(), any(), anyInt(), any(), any(), anyInt()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> reagendarReservaUseCase.reagendarReserva(1L,
+                new DadosReagendamentoReservaDTO(NOVO_HORARIO, 120)));
+
+        verify(controleDeLugares).realocarLugares(2L, HORARIO, HORARIO.plusMinutes(90), 4, NOVO_HORARIO,
+                NOVO_HORARIO.plusMinutes(120), 3);
+        verify(alocacaoMesaRepository, never()).saveAll(any());
+        verify(registroDeMetricas).incrementar(RegistroDeMetricas.RESERVAS_REJEITADAS, "reagendar");
+        verifyNoInteractions(promoverListaEsperaUseCase, outboxDeEventos);
+    }
+
+    @Test
+    void testReagendarReservaAlteradaPorOutraOperacao() {
+
+        when(reservaRepository.consultarReservaAgendada(1L)).thenReturn(Optional.of(reservaAgendada(StatusReservaEnum.ABERTA)));
+        when(reservaRepository.reagendarReserva(1L, HORARIO, 90, NOVO_HORARIO, 90)).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () -> reagendarReservaUseCase.reagendarReserva(1L,
+                new DadosReagendamentoReservaDTO(NOVO_HORARIO, null)));
+
+        verifyNoInteractions(alocacaoMesaRepository, controleDeLugares, promoverListaEsperaUseCase);
+    }
+
+    @Test
+    void testReagendarReservaCancelada() {
+
+        when(reservaRepository.consultarReservaAgendada(1L)).thenReturn(Optional.of(reservaAgendada(StatusReservaEnum.CANCELADA)));
+
+        assertThrows(IllegalArgumentException.class, () -> reagendarReservaUseCase.reagendarReserva(1L,
+                new DadosReagendamentoReservaDTO(NOVO_HORARIO, null)));
+
+        verify(reservaRepository, never()).reagendarReserva(anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(controleDeLugares);
+    }
+
+    @Test
+    void testReagendarReservaIdInvalido() {
+
+        when(reservaRepository.consultarReservaAgendada(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> reagendarReservaUseCase.reagendarReserva(1L,
+                new DadosReagendamentoReservaDTO(NOVO_HORARIO, null)));
+    }
+
+    private DadosReservaAgendadaDTO reservaAgendada(StatusReservaEnum statusReservaEnum) {
+
+        // Grupo de 3 pessoas numa mesa de 4
+        return new DadosReservaAgendadaDTO(1L, 2L, HORARIO, 90, 3, 4, statusReservaEnum);
+    }
+
+}
@@ -0,0 +1,260 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.admissao;
+
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.usecases.reserva.CriarReservaUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AdmissaoDeReservasTest {
+    @Mock
+    CriarReservaUseCase criarReservaUseCase;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @InjectMocks
+    AdmissaoDeReservas admissaoDeReservas;
+
+    private static final LocalDateTime HORARIO = LocalDateTime.of(2030, 1, 10, 19, 0);
+
+    private final AtomicInteger transacoes = new AtomicInteger();
+    private final AtomicInteger transacaoComFalha = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        doAnswer(invocation -> {
+            int transacao = transacoes.incrementAndGet();
+            ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            if (transacao == transacaoComFalha.get()) {
+                throw new IllegalStateException("Falha no commit");
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            transacoes.incrementAndGet();
+            return ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null);
+        });
+
+        admissaoDeReservas.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        admissaoDeReservas.encerrar();
+    }
+
+    @Test
+    void testPedidosDoRestauranteSaoGravadosPorUmUnicoEscritorEmLotes() throws Exception {
+
+        AtomicInteger emExecucao = new AtomicInteger();
+        AtomicInteger maiorConcorrencia = new AtomicInteger();
+
+        when(criarReservaUseCase.criarReserva(any())).thenAnswer(invocation -> {
+            maiorConcorrencia.accumulateAndGet(emExecucao.incrementAndGet(), Math::max);
+            emExecucao.decrementAndGet();
+            return retorno(invocation.getArgument(0));
+        });
+
+        ExecutorService clientes = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<CompletableFuture<DadosRetornoCriacaoReservaDTO>>> envios = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            DadosCriacaoReservaDTO dados = new DadosCriacaoReservaDTO(HORARIO.plusMinutes(i), 1L, 1L);
+            envios.add(CompletableFuture.supplyAsync(() -> admissaoDeReservas.enviar(dados), clientes));
+        }
+
+        for (int i = 0; i < envios.size(); i++) {
+            assertEquals(HORARIO.plusMinutes(i), envios.get(i).get().get().dataAgendamento());
+        }
+        clientes.shutdown();
+
+        verify(criarReservaUseCase, times(2000)).criarReserva(any());
+        assertEquals(1, maiorConcorrencia.get());
+        // Os pedidos que chegam enquanto um lote é gravado entram no lote seguinte
+        assertTrue(transacoes.get() < 2000, transacoes.get() + " transações");
+    }
+
+    @Test
+    void testCriarReservaAguardaOCommit() throws Exception {
+
+        DadosCriacaoReservaDTO dados = new DadosCriacaoReservaDTO(HORARIO, 1L, 1L);
+        when(criarReservaUseCase.criarReserva(dados)).thenReturn(retorno(dados));
+
+        assertEquals(retorno(dados), admissaoDeReservas.criarReserva(dados));
+        verify(transactionTemplate).executeWithoutResult(any());
+
+        when(criarReservaUseCase.criarReserva(dados)).thenThrow(new IllegalAccessException("Data indisponivel para reserva"));
+
+        assertThrows(IllegalAccessException.class, () -> admissaoDeReservas.criarReserva(dados));
+    }
+
+    @Test
+    void testCriarReservaComChaveDeIdempotenciaGravaAChaveNoLote() throws Exception {
+
+        DadosCriacaoReservaDTO dados = new DadosCriacaoReservaDTO(HORARIO, 1L, 1L);
+        when(criarReservaUseCase.criarReserva(dados, "chave", "impressao")).thenReturn(retorno(dados));
+
+        assertEquals(retorno(dados), admissaoDeReservas.criarReserva(dados, "chave", "impressao"));
+        verify(transactionTemplate).executeWithoutResult(any());
+        verify(criarReservaUseCase, never()).criarReserva(dados);
+    }
+
+    @Test
+    void testPedidoSemLugaresNaoDesfazOLote() throws Exception {
+
+        DadosCriacaoReservaDTO semLugares = new DadosCriacaoReservaDTO(HORARIO, 1L, 1L);
+        DadosCriacaoReservaDTO comLugares = new DadosCriacaoReservaDTO(HORARIO.plusHours(1), 1L, 1L);
+
+        when(criarReservaUseCase.criarReserva(semLugares)).thenThrow(new IllegalAccessException("Data indisponivel para reserva"));
+        when(criarReservaUseCase.criarReserva(comLugares)).thenReturn(retorno(comLugares));
+
+        CompletableFuture<DadosRetornoCriacaoReservaDTO> recusado = admissaoDeReservas.enviar(semLugares);
+        CompletableFuture<DadosRetornoCriacaoReservaDTO> aceito = admissaoDeReservas.enviar(comLugares);
+
+        assertEquals(HORARIO.plusHours(1), aceito.get().dataAgendamento());
+        assertInstanceOf(IllegalAccessException.class, assertThrows(Exception.class, recusado::get).getCause());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void testLoteDesfeitoEGravadoIndividualmente() throws Exception {
+
+        transacaoComFalha.set(2);
+        CountDownLatch primeiroIniciado = new CountDownLatch(1);
+        CountDownLatch liberarPrimeiro = new CountDownLatch(1);
+        DadosCriacaoReservaDTO primeiro = new DadosCriacaoReservaDTO(HORARIO, 1L, 1L);
+
+        when(criarReservaUseCase.criarReserva(any())).thenAnswer(invocation -> retorno(invocation.getArgument(0)));
+        when(criarReservaUseCase.criarReserva(primeiro)).thenAnswer(invocation -> {
+            primeiroIniciado.countDown();
+            liberarPrimeiro.await();
+            return retorno(primeiro);
+        });
+
+        // O primeiro pedido ocupa o escritor enquanto os demais se acumulam num único lote, que falha no commit
+        List<CompletableFuture<DadosRetornoCriacaoReservaDTO>> resultados = new ArrayList<>();
+        resultados.add(admissaoDeReservas.enviar(primeiro));
+        primeiroIniciado.await();
+        for (int i = 1; i < 50; i++) {
+            resultados.add(admissaoDeReservas.enviar(new DadosCriacaoReservaDTO(HORARIO.plusMinutes(i), 1L, 1L)));
+        }
+        liberarPrimeiro.countDown();
+
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(HORARIO.plusMinutes(i), resultados.get(i).get().dataAgendamento());
+        }
+
+        verify(transactionTemplate, times(49)).execute(any());
+        verify(criarReservaUseCase, times(2)).criarReserva(new DadosCriacaoReservaDTO(HORARIO.plusMinutes(1), 1L, 1L));
+    }
+
+    @Test
+    void testPrazoEsgotadoDuranteATransacaoAguardaOCommit() throws Exception {
+
+        admissaoDeReservas.timeoutMs = 20;
+        DadosCriacaoReservaDTO dados = new DadosCriacaoReservaDTO(HORARIO, 1L, 1L);
+
+        // A reserva é gravada depois que o prazo do solicitante terminou
+        when(criarReservaUseCase.criarReserva(dados)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return retorno(dados);
+        });
+
+        assertEquals(retorno(dados), admissaoDeReservas.criarReserva(dados));
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testPrazoEsgotadoAntesDoEscritorCancelaOPedido() throws Exception {
+
+        admissaoDeReservas.timeoutMs = 20;
+        CountDownLatch primeiroIniciado = new CountDownLatch(1);
+        CountDownLatch liberarPrimeiro = new CountDownLatch(1);
+        DadosCriacaoReservaDTO primeiro = new DadosCriacaoReservaDTO(HORARIO, 1L, 1L);
+        DadosCriacaoReservaDTO segundo = new DadosCriacaoReservaDTO(HORARIO.plusHours(1), 1L, 1L);
+
+        when(criarReservaUseCase.criarReserva(primeiro)).thenAnswer(invocation -> {
+            primeiroIniciado.countDown();
+            liberarPrimeiro.await();
+            return retorno(primeiro);
+        });
+
+        // O primeiro pedido ocupa o escritor, e o segundo esgota o prazo ainda na fila
+        CompletableFuture<DadosRetornoCriacaoReservaDTO> resultadoPrimeiro = admissaoDeReservas.enviar(primeiro);
+        primeiroIniciado.await();
+
+        assertThrows(IllegalStateException.class, () -> admissaoDeReservas.criarReserva(segundo));
+
+        // O terceiro pedido só é gravado depois que o escritor passou pelo segundo
+        DadosCriacaoReservaDTO terceiro = new DadosCriacaoReservaDTO(HORARIO.plusHours(2), 1L, 1L);
+        when(criarReservaUseCase.criarReserva(terceiro)).thenReturn(retorno(terceiro));
+        CompletableFuture<DadosRetornoCriacaoReservaDTO> resultadoTerceiro = admissaoDeReservas.enviar(terceiro);
+
+        liberarPrimeiro.countDown();
+        assertEquals(HORARIO, resultadoPrimeiro.get().dataAgendamento());
+        assertEquals(HORARIO.plusHours(2), resultadoTerceiro.get().dataAgendamento());
+
+        verify(criarReservaUseCase, never()).criarReserva(segundo);
+    }
+
+    @Test
+    void testCaixasEsvaziadasSaoRemovidas() throws Exception {
+
+        when(criarReservaUseCase.criarReserva(any())).thenAnswer(invocation -> retorno(invocation.getArgument(0)));
+
+        List<CompletableFuture<DadosRetornoCriacaoReservaDTO>> resultados = new ArrayList<>();
+        for (long restaurante_id = 1; restaurante_id <= 100; restaurante_id++) {
+            resultados.add(admissaoDeReservas.enviar(new DadosCriacaoReservaDTO(HORARIO, 1L, restaurante_id)));
+        }
+        for (CompletableFuture<DadosRetornoCriacaoReservaDTO> resultado : resultados) {
+            assertEquals(HORARIO, resultado.get().dataAgendamento());
+        }
+
+        aguardar(() -> admissaoDeReservas.caixasAbertas() == 0);
+
+        // Um restaurante que volta a receber pedidos ganha uma nova caixa
+        DadosCriacaoReservaDTO dados = new DadosCriacaoReservaDTO(HORARIO.plusHours(1), 1L, 1L);
+        assertEquals(retorno(dados), admissaoDeReservas.criarReserva(dados));
+        aguardar(() -> admissaoDeReservas.caixasAbertas() == 0);
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "Condição não atendida no prazo");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private DadosRetornoCriacaoReservaDTO retorno(DadosCriacaoReservaDTO dados) {
+        return new DadosRetornoCriacaoReservaDTO("nomeRestaurante", null, dados.dataReserva());
+    }
+
+}
@@ -0,0 +1,100 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.idempotencia;
+
+import br.com.fiap.gerenciadorDeReservas.entities.ChaveIdempotenciaEntity;
+import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
+import br.com.fiap.gerenciadorDeReservas.records.reserva.DadosRetornoCriacaoReservaDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ChaveIdempotenciaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ArmazemDeIdempotenciaTest {
+    @Mock
+    ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    @InjectMocks
+    ArmazemDeIdempotencia armazemDeIdempotencia;
+
+    private static final DadosRetornoCriacaoReservaDTO RESPOSTA = new DadosRetornoCriacaoReservaDTO("nome",
+            new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"),
+            LocalDateTime.of(2030, 1, 10, 19, 0));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        armazemDeIdempotencia.criarMemoria();
+    }
+
+    @Test
+    void testRespostaRegistradaEhRepetidaDaMemoria() {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            armazemDeIdempotencia.registrarResposta("chave", "impressao", RESPOSTA);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.afterCommit());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(chaveIdempotenciaRepository).inserirChave(eq("chave"), eq("impressao"), anyString(), any());
+
+        assertEquals(Optional.of(RESPOSTA), armazemDeIdempotencia.buscarResposta("chave", "impressao"));
+        verify(chaveIdempotenciaRepository, never()).findById(any());
+    }
+
+    @Test
+    void testRespostaBuscadaNoBanco() throws Exception {
+
+        String resposta = objectMapper.writeValueAsString(RESPOSTA);
+
+        when(chaveIdempotenciaRepository.findById("chave")).thenReturn(Optional.of(new ChaveIdempotenciaEntity(
+                "chave", "impressao", resposta, LocalDateTime.now().plusHours(1))));
+
+        assertEquals(Optional.of(RESPOSTA), armazemDeIdempotencia.buscarResposta("chave", "impressao"));
+        assertEquals(Optional.of(RESPOSTA), armazemDeIdempotencia.buscarResposta("chave", "impressao"));
+
+        verify(chaveIdempotenciaRepository, times(1)).findById("chave");
+    }
+
+    @Test
+    void testChaveExpiradaNaoEhRepetida() throws Exception {
+
+        String resposta = objectMapper.writeValueAsString(RESPOSTA);
+
+        when(chaveIdempotenciaRepository.findById("chave")).thenReturn(Optional.of(new ChaveIdempotenciaEntity(
+                "chave", "impressao", resposta, LocalDateTime.now().minusMinutes(1))));
+
+        assertTrue(armazemDeIdempotencia.buscarResposta("chave", "impressao").isEmpty());
+    }
+
+    @Test
+    void testChaveUsadaComOutraRequisicao() throws Exception {
+
+        String resposta = objectMapper.writeValueAsString(RESPOSTA);
+
+        when(chaveIdempotenciaRepository.findById("chave")).thenReturn(Optional.of(new ChaveIdempotenciaEntity(
+                "chave", "impressao", resposta, LocalDateTime.now().plusHours(1))));
+
+        assertThrows(IllegalArgumentException.class, () -> armazemDeIdempotencia.buscarResposta("chave", "outra"));
+    }
+
+    @Test
+    void testGerarImpressao() {
+
+        assertEquals(ArmazemDeIdempotencia.gerarImpressao("requisicao"), ArmazemDeIdempotencia.gerarImpressao("requisicao"));
+        assertNotEquals(ArmazemDeIdempotencia.gerarImpressao("requisicao"), ArmazemDeIdempotencia.gerarImpressao("outra"));
+    }
+
+}
@@ -0,0 +1,152 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.particionamento;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes do particionamento e do arquivamento da tb_reserva. O PostgreSQL é simulado pelo JdbcTemplate,
+ * então os testes conferem as instruções enviadas ao banco, e não o seu efeito.
+ */
+class GerenciadorDeParticoesDeReservaTest {
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @InjectMocks
+    GerenciadorDeParticoesDeReserva gerenciadorDeParticoesDeReserva;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testArquivarMes() throws IOException {
+
+        when(jdbcTemplate.queryForList(startsWith("WITH movidas"), eq(String.class), any(), any()))
+                .thenReturn(List.of("{\"id\":1}", "{\"id\":2}"));
+
+        int result = gerenciadorDeParticoesDeReserva.arquivarMes(YearMonth.of(2024, 3));
+
+        assertEquals(2, result);
+
+        // As alocações de mesa das reservas são removidas na mesma instrução
+        verify(jdbcTemplate).queryForList(contains("DELETE FROM tb_alocacao_mesa a USING movidas"), eq(String.class),
+                any(), any());
+
+        ArgumentCaptor<Object> argumentos = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO tb_reserva_arquivo"), argumentos.capture(),
+                argumentos.capture(), argumentos.capture(), argumentos.capture());
+        assertEquals(2, argumentos.getAllValues().get(1));
+
+        byte[] dados = (byte[]) argumentos.getAllValues().get(2);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(dados))) {
+            assertEquals("{\"id\":1}\n{\"id\":2}\n", new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS tb_reserva_2024_03");
+    }
+
+    @Test
+    void testArquivarMesSemReservas() {
+
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of());
+
+        int result = gerenciadorDeParticoesDeReserva.arquivarMes(YearMonth.of(2024, 3));
+
+        assertEquals(0, result);
+        verify(jdbcTemplate, never()).update(anyString(), any(), any(), any(), any());
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS tb_reserva_2024_03");
+    }
+
+    @Test
+    void testConverterParaTabelaParticionada() {
+
+        simularPostgreSQLSemParticionamento(List.of(Map.of("tabela", "tb_alocacao_mesa", "restricao", "fk_alocacao_reserva")));
+
+        gerenciadorDeParticoesDeReserva.inicializar();
+
+        var ordem = inOrder(jdbcTemplate);
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE tb_reserva RENAME TO tb_reserva_nao_particionada");
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE tb_alocacao_mesa DROP CONSTRAINT \"fk_alocacao_reserva\"");
+        ordem.verify(jdbcTemplate).execute("DROP TABLE tb_reserva_nao_particionada");
+        ordem.verify(jdbcTemplate).execute(startsWith("CREATE TRIGGER tg_alocacao_mesa_verificar_reserva"));
+        verify(jdbcTemplate, never()).execute(contains("CASCADE"));
+    }
+
+    @Test
+    void testConverterParaTabelaParticionadaComReferenciaDesconhecida() {
+
+        simularPostgreSQLSemParticionamento(List.of(Map.of("tabela", "tb_pagamento", "restricao", "fk_pagamento_reserva")));
+
+        assertThrows(IllegalStateException.class, () -> gerenciadorDeParticoesDeReserva.inicializar());
+
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE tb_reserva_nao_particionada"));
+        verify(jdbcTemplate, never()).execute(contains("DROP CONSTRAINT"));
+    }
+
+    @Test
+    void testInicioDasReservasAtivasSegueOUltimoMesArquivado() {
+
+        assertEquals(Optional.empty(), gerenciadorDeParticoesDeReserva.consultarInicioDasReservasAtivas());
+
+        simularPostgreSQLSemParticionamento(List.of());
+        when(jdbcTemplate.queryForObject(contains("MAX(mes)"), eq(Date.class)))
+                .thenReturn(Date.valueOf(LocalDate.of(2024, 2, 1)));
+
+        gerenciadorDeParticoesDeReserva.inicializar();
+
+        assertEquals(Optional.of(LocalDateTime.of(2024, 3, 1, 0, 0)),
+                gerenciadorDeParticoesDeReserva.consultarInicioDasReservasAtivas());
+    }
+
+    @Test
+    void testSemMesesArquivadosNaoHaInicioDasReservasAtivas() {
+
+        simularPostgreSQLSemParticionamento(List.of());
+
+        gerenciadorDeParticoesDeReserva.inicializar();
+
+        assertEquals(Optional.empty(), gerenciadorDeParticoesDeReserva.consultarInicioDasReservasAtivas());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void simularPostgreSQLSemParticionamento(List<Map<String, Object>> referencias) {
+
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class), any()))
+                .thenReturn(0);
+        when(jdbcTemplate.queryForList(contains("FROM pg_constraint"))).thenReturn(referencias);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+}
@@ -0,0 +1,138 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.util;
+
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlocadorDeMesasTest {
+
+    @Test
+    void testEscolherMesaDeMelhorEncaixe() {
+        List<MesaEntity> mesas = criarMesas(2, 4, 6);
+
+        assertEquals(List.of(mesas.get(1)), AlocadorDeMesas.escolherMesas(mesas, 3).orElseThrow());
+        assertEquals(List.of(mesas.get(2)), AlocadorDeMesas.escolherMesas(mesas, 5).orElseThrow());
+        assertEquals(List.of(mesas.get(0)), AlocadorDeMesas.escolherMesas(mesas, 1).orElseThrow());
+    }
+
+    @Test
+    void testEscolherCombinacaoDeMesas() {
+        List<MesaEntity> mesas = criarMesas(2, 4, 6);
+
+        List<MesaEntity> escolhidas = AlocadorDeMesas.escolherMesas(mesas, 9).orElseThrow();
+
+        // 4 + 6 sobra um lugar, melhor que 2 + 4 + 6
+        assertEquals(10, somar(escolhidas));
+        assertEquals(2, escolhidas.size());
+    }
+
+    @Test
+    void testEscolherMenosMesasNoEmpate() {
+        List<MesaEntity> mesas = criarMesas(2, 2, 2, 6);
+
+        assertEquals(List.of(mesas.get(3)), AlocadorDeMesas.escolherMesas(mesas, 6).orElseThrow());
+    }
+
+    @Test
+    void testEscolherMesasSemLugaresSuficientes() {
+        List<MesaEntity> mesas = criarMesas(2, 4);
+
+        assertEquals(Optional.empty(), AlocadorDeMesas.escolherMesas(mesas, 7));
+        assertEquals(Optional.empty(), AlocadorDeMesas.escolherMesas(List.of(), 1));
+    }
+
+    @Test
+    void testEscolherMesasIgualAForcaBruta() {
+        Random random = new Random(42);
+        int[] tamanhos = {2, 4, 6};
+
+        for (int rodada = 0; rodada < 300; rodada++) {
+            int[] lugares = new int[1 + random.nextInt(10)];
+            for (int i = 0; i < lugares.length; i++) {
+                lugares[i] = tamanhos[random.nextInt(tamanhos.length)];
+            }
+            List<MesaEntity> mesas = criarMesas(lugares);
+            int quantidadePessoas = 1 + random.nextInt(somar(mesas) + 2);
+
+            Optional<List<MesaEntity>> escolhidas = AlocadorDeMesas.escolherMesas(mesas, quantidadePessoas);
+            int[] esperado = melhorCombinacao(lugares, quantidadePessoas);
+
+            if (esperado == null) {
+                assertTrue(escolhidas.isEmpty());
+            } else {
+                assertEquals(esperado[0], somar(escolhidas.orElseThrow()));
+                assertEquals(esperado[1], escolhidas.get().size());
+                assertEquals(escolhidas.get().size(), escolhidas.get().stream().distinct().count());
+            }
+        }
+    }
+
+    @Test
+    void testEscolherMesasEmSalaoDe60Mesas() {
+        int[] lugares = new int[60];
+        for (int i = 0; i < lugares.length; i++) {
+            lugares[i] = 2 + 2 * (i % 3);
+        }
+        List<MesaEntity> mesas = criarMesas(lugares);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(AlocadorDeMesas.escolherMesas(mesas, 1 + i % 20).isPresent());
+        }
+        long mediaNanos = (System.nanoTime() - inicio) / 1000;
+
+        assertTrue(mediaNanos < 1_000_000, "Média de " + mediaNanos + " ns por alocação");
+    }
+
+    @Test
+    void testLugaresOcupados() {
+        assertEquals(10, AlocadorDeMesas.lugaresOcupados(criarMesas(4, 6), 9));
+        assertEquals(3, AlocadorDeMesas.lugaresOcupados(List.of(), 3));
+        assertEquals(1, AlocadorDeMesas.lugaresOcupados(null, null));
+    }
+
+    /**
+     * @return {soma de lugares, quantidade de mesas} da melhor combinação ou null, caso nenhuma acomode o grupo.
+     */
+    private int[] melhorCombinacao(int[] lugares, int quantidadePessoas) {
+        int[] melhor = null;
+
+        for (int combinacao = 1; combinacao < (1 << lugares.length); combinacao++) {
+            int soma = 0;
+            for (int i = 0; i < lugares.length; i++) {
+                if ((combinacao & (1 << i)) != 0) {
+                    soma += lugares[i];
+                }
+            }
+            int quantidade = Integer.bitCount(combinacao);
+
+            if (soma >= quantidadePessoas && (melhor == null || soma < melhor[0]
+                    || (soma == melhor[0] && quantidade < melhor[1]))) {
+                melhor = new int[]{soma, quantidade};
+            }
+        }
+
+        return melhor;
+    }
+
+    private List<MesaEntity> criarMesas(int... lugares) {
+        List<MesaEntity> mesas = new ArrayList<>();
+        for (int i = 0; i < lugares.length; i++) {
+            MesaEntity mesaEntity = new MesaEntity(lugares[i], null);
+            mesaEntity.setId((long) i + 1);
+            mesas.add(mesaEntity);
+        }
+        return mesas;
+    }
+
+    private int somar(List<MesaEntity> mesas) {
+        return mesas.stream().mapToInt(MesaEntity::getLugares).sum();
+    }
+
+}
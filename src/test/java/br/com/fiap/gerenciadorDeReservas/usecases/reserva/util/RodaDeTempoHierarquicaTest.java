@@ -0,0 +1,80 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.reserva.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RodaDeTempoHierarquicaTest {
+
+    @Test
+    void testExpiraNoTickAgendado() {
+
+        RodaDeTempoHierarquica<String> roda = new RodaDeTempoHierarquica<>(2, 2, 0);
+
+        roda.agendar("a", 3);
+        roda.agendar("b", 5);
+
+        assertTrue(roda.avancar(2).isEmpty());
+        assertEquals(List.of("a"), roda.avancar(3));
+        assertTrue(roda.avancar(4).isEmpty());
+        assertEquals(List.of("b"), roda.avancar(5));
+    }
+
+    @Test
+    void testDesceDeNivelEUsaExcedentes() {
+
+        // 2 níveis de 4 posições cobrem 16 ticks; o tick 40 fica nos excedentes
+        RodaDeTempoHierarquica<Long> roda = new RodaDeTempoHierarquica<>(2, 2, 1);
+
+        roda.agendar(40L, 40);
+        roda.agendar(13L, 13);
+        roda.agendar(7L, 7);
+
+        assertEquals(List.of(7L), roda.avancar(12));
+        assertEquals(List.of(13L), roda.avancar(39));
+        assertEquals(List.of(40L), roda.avancar(40));
+    }
+
+    @Test
+    void testTickJaAlcancadoExpiraNoProximoAvanco() {
+
+        RodaDeTempoHierarquica<String> roda = new RodaDeTempoHierarquica<>(6, 4, 100);
+
+        roda.agendar("vencido", 90);
+
+        assertEquals(List.of("vencido"), roda.avancar(100));
+    }
+
+    @Test
+    void testExpiraTodosNaOrdemDosTicks() {
+
+        RodaDeTempoHierarquica<Long> roda = new RodaDeTempoHierarquica<>(3, 3, 0);
+        Random random = new Random(42);
+        List<Long> esperados = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            long tick = 1 + random.nextInt(3000);
+            roda.agendar(tick, tick);
+            esperados.add(tick);
+        }
+
+        List<Long> expirados = new ArrayList<>();
+        for (long tick = 1; tick <= 3000; tick += 1 + random.nextInt(7)) {
+            for (Long item : roda.avancar(tick)) {
+                assertTrue(item <= tick);
+                assertTrue(item > roda.getTickAtual() - 8);
+                expirados.add(item);
+            }
+        }
+        expirados.addAll(roda.avancar(3000));
+
+        esperados.sort(null);
+        assertEquals(esperados, expirados);
+    }
+
+}
@@ -1,8 +1,9 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.reserva.util;
 
+import br.com.fiap.gerenciadorDeReservas.entities.MesaEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
-import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -12,59 +13,71 @@ import org.mockito.MockitoAnnotations;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
+import java.util.List;
+import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
 
 class ValidadorDeReservasTest {
     @Mock
-    RestauranteRepository restauranteRepository;
+    ControleDeLugares controleDeLugares;
     @InjectMocks
     ValidadorDeReservas validadorDeReservas;
 
+    private static final LocalDateTime FIM = LocalDateTime.of(2024, Month.MAY, 24, 11, 0);
+
+    private RestauranteEntity restauranteEntity;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-    }
 
-    @Test
-    void testIsDataAgendamentoValido() {
-
-        RestauranteEntity restauranteEntity = new RestauranteEntity(
+        restauranteEntity = new RestauranteEntity(
                 "nome",
                 TipoCulinariaEnum.JAPONESA,
                 LocalTime.of(8, 40, 35),
                 LocalTime.of(9, 40, 35),
                 1
         );
+        restauranteEntity.setId(1L);
+    }
 
-        restauranteEntity.setDiasDeOperacao();
+    @Test
+    void testAlocarAgendamento() {
 
         LocalDateTime dataAgendamento = LocalDateTime.of(2024, Month.MAY, 24, 9, 40, 35);
 
-        boolean result = validadorDeReservas.isDataAgendamentoValido(dataAgendamento, restauranteEntity);
+        when(controleDeLugares.ocuparLugares(1L, dataAgendamento, FIM, 1)).thenReturn(Optional.of(List.of()));
+
+        Optional<List<MesaEntity>> result = validadorDeReservas.alocarAgendamento(dataAgendamento, FIM, restauranteEntity, 1);
 
-        assertTrue(result);
+        assertEquals(Optional.of(List.of()), result);
     }
 
     @Test
-    void testIsDataAgendamentoValidoReturnFalse() {
+    void testAlocarAgendamentoDataInvalida() {
 
-        RestauranteEntity restauranteEntity = new RestauranteEntity(
-                "nome",
-                TipoCulinariaEnum.JAPONESA,
-                LocalTime.of(8, 40, 35),
-                LocalTime.of(9, 40, 35),
-                1
-        );
+        LocalDateTime dataAgendamento = LocalDateTime.of(2024, Month.MAY, 24, 9, 20, 35);
 
-        restauranteEntity.setDiasDeOperacao();
+        when(controleDeLugares.ocuparLugares(1L, dataAgendamento, FIM, 1)).thenReturn(Optional.empty());
 
-        LocalDateTime dataAgendamento = LocalDateTime.of(2024, Month.MAY, 24, 9, 20, 35);
+        assertTrue(validadorDeReservas.alocarAgendamento(dataAgendamento, FIM, restauranteEntity, 1).isEmpty());
+    }
+
+    @Test
+    void testAlocarAgendamentoParaGrupo() {
+
+        LocalDateTime dataAgendamento = LocalDateTime.of(2024, Month.MAY, 24, 9, 40, 35);
+        MesaEntity mesaEntity = new MesaEntity(2, restauranteEntity);
 
-        boolean result = validadorDeReservas.isDataAgendamentoValido(dataAgendamento, restauranteEntity);
+        when(controleDeLugares.ocuparLugares(1L, dataAgendamento, FIM, 4)).thenReturn(Optional.empty());
+        when(controleDeLugares.ocuparLugares(1L, dataAgendamento, FIM, 2)).thenReturn(Optional.of(List.of(mesaEntity)));
 
-        assertFalse(result);
+        assertTrue(validadorDeReservas.alocarAgendamento(dataAgendamento, FIM, restauranteEntity, 4).isEmpty());
+        assertEquals(Optional.of(List.of(mesaEntity)),
+                validadorDeReservas.alocarAgendamento(dataAgendamento, FIM, restauranteEntity, 2));
     }
 
 
@@ -1,7 +1,5 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
 
-import br.com.fiap.gerenciadorDeReservas.adapters.restaurante.RestauranteAdapter;
-import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
@@ -19,8 +17,6 @@ import java.util.List;
 import static org.mockito.Mockito.*;
 
 class BuscarRestaurantePorCidadeUseCaseTest {
-    @Mock
-    RestauranteAdapter restauranteAdapter;
     @Mock
     RestauranteRepository restauranteRepository;
     @InjectMocks
@@ -34,7 +30,7 @@ class BuscarRestaurantePorCidadeUseCaseTest {
     @Test
     void deveBuscarRestaurantesPorCidade() {
 
-        when(restauranteAdapter.converterEntityParaDadosConsultaRestauranteDTO(any())).thenReturn(List.of(
+        when(restauranteRepository.consultarPorCidade(anyString())).thenReturn(List.of(
                 new DadosConsultaRestauranteDTO(
                         "nomeRestaurante",
                         new DadosCriacaoEnderecoDTO(
@@ -50,15 +46,6 @@ class BuscarRestaurantePorCidadeUseCaseTest {
                         LocalTime.of(13, 34, 46))
         ));
 
-        when(restauranteRepository.findByEnderecoEntity_CidadeContainingIgnoreCase(anyString())).thenReturn(List.of(
-                new RestauranteEntity(
-                        "nome",
-                        TipoCulinariaEnum.JAPONESA,
-                        LocalTime.of(13, 34, 46),
-                        LocalTime.of(13, 34, 46),
-                        0)
-        ));
-
         List<DadosConsultaRestauranteDTO> result = buscarRestaurantePorCidadeUseCase.buscarRestaurantesPorCidade(
                 "cidadeRestaurante");
 
@@ -1,10 +1,9 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
 
-import br.com.fiap.gerenciadorDeReservas.adapters.restaurante.RestauranteAdapter;
-import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosConsultaRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosMomentoFuncionamentoDTO;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,14 +12,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
 
 class BuscarRestaurantePorNomeUseCaseTest {
-    @Mock
-    RestauranteAdapter restauranteAdapter;
     @Mock
     RestauranteRepository restauranteRepository;
     @InjectMocks
@@ -33,10 +32,31 @@ class BuscarRestaurantePorNomeUseCaseTest {
 
     @Test
     void testBuscarRestaurantesPorNome() {
-        when(restauranteAdapter.converterEntityParaDadosConsultaRestauranteDTO(any())).thenReturn(List.of(new DadosConsultaRestauranteDTO("nomeRestaurante", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 34, 1), LocalTime.of(13, 34, 1))));
-        when(restauranteRepository.findByNomeContainingIgnoreCase(anyString())).thenReturn(List.of(new RestauranteEntity("nome", TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 34, 1), LocalTime.of(13, 34, 1), Integer.valueOf(0))));
+        when(restauranteRepository.consultarPorNome(anyString())).thenReturn(List.of(new DadosConsultaRestauranteDTO("nomeRestaurante", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 34, 1), LocalTime.of(13, 34, 1))));
 
         List<DadosConsultaRestauranteDTO> result = buscarRestaurantePorNomeUseCase.buscarRestaurantesPorNome("nomeRestaurante");
         Assertions.assertEquals(List.of(new DadosConsultaRestauranteDTO("nomeRestaurante", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 34, 1), LocalTime.of(13, 34, 1))), result);
     }
+
+    @Test
+    void testBuscarRestaurantesAbertosPorNome() {
+        // Segunda-feira 01:30: madrugada de um intervalo iniciado no domingo
+        LocalDateTime abertoEm = LocalDateTime.of(2030, 1, 14, 1, 30);
+        DadosMomentoFuncionamentoDTO momento = new DadosMomentoFuncionamentoDTO(
+                LocalDate.of(2030, 1, 14), LocalDate.of(2030, 1, 13), LocalTime.of(1, 30), 90, 0);
+        List<DadosConsultaRestauranteDTO> abertos = List.of(new DadosConsultaRestauranteDTO("nomeRestaurante", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(22, 0), LocalTime.of(3, 0)));
+
+        when(restauranteRepository.consultarPorNomeAbertos("nomeRestaurante", momento)).thenReturn(abertos);
+
+        Assertions.assertEquals(abertos, buscarRestaurantePorNomeUseCase.buscarRestaurantesPorNome("nomeRestaurante", abertoEm));
+        verify(restauranteRepository, never()).consultarPorNome(anyString());
+    }
+
+    @Test
+    void testBuscarRestaurantesPorNomeSemFiltroDeFuncionamento() {
+        when(restauranteRepository.consultarPorNome("nomeRestaurante")).thenReturn(List.of());
+
+        Assertions.assertEquals(List.of(), buscarRestaurantePorNomeUseCase.buscarRestaurantesPorNome("nomeRestaurante", null));
+        verify(restauranteRepository, never()).consultarPorNomeAbertos(anyString(), any());
+    }
 }
@@ -0,0 +1,67 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
+
+import br.com.fiap.gerenciadorDeReservas.records.disponibilidade.DadosFaixasDeCapacidadeDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.CapacidadeEmFaixas;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ConfigurarFaixasDeCapacidadeUseCaseTest {
+    @Mock
+    RestauranteRepository restauranteRepository;
+    @Mock
+    CapacidadeEmFaixas capacidadeEmFaixas;
+    @InjectMocks
+    ConfigurarFaixasDeCapacidadeUseCase configurarFaixasDeCapacidadeUseCase;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testConfigurarFaixas() {
+        when(restauranteRepository.atualizarFaixasDeCapacidade(1L, 8)).thenReturn(1);
+
+        assertEquals(new DadosFaixasDeCapacidadeDTO(1L, 8), configurarFaixasDeCapacidadeUseCase.configurarFaixas(1L, 8));
+
+        verify(capacidadeEmFaixas).configurar(1L, 8);
+    }
+
+    @Test
+    void testDesabilitarFaixas() {
+        when(restauranteRepository.atualizarFaixasDeCapacidade(1L, null)).thenReturn(1);
+
+        configurarFaixasDeCapacidadeUseCase.configurarFaixas(1L, null);
+
+        verify(capacidadeEmFaixas).configurar(1L, null);
+    }
+
+    @Test
+    void testConfigurarFaixasForaDoLimite() {
+        assertThrows(IllegalArgumentException.class, () -> configurarFaixasDeCapacidadeUseCase.configurarFaixas(1L, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> configurarFaixasDeCapacidadeUseCase.configurarFaixas(1L, CapacidadeEmFaixas.MAXIMO_FAIXAS + 1));
+
+        verifyNoInteractions(restauranteRepository, capacidadeEmFaixas);
+    }
+
+    @Test
+    void testConfigurarFaixasRestauranteInexistente() {
+        when(restauranteRepository.atualizarFaixasDeCapacidade(anyLong(), any())).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> configurarFaixasDeCapacidadeUseCase.configurarFaixas(9L, 8));
+
+        verifyNoInteractions(capacidadeEmFaixas);
+    }
+}
@@ -1,11 +1,16 @@
 package br.com.fiap.gerenciadorDeReservas.usecases.restaurente;
 
 import br.com.fiap.gerenciadorDeReservas.adapters.restaurante.RestauranteAdapter;
+import br.com.fiap.gerenciadorDeReservas.entities.HorarioFuncionamentoEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.RestauranteEntity;
 import br.com.fiap.gerenciadorDeReservas.entities.enuns.TipoCulinariaEnum;
 import br.com.fiap.gerenciadorDeReservas.records.endereco.DadosCriacaoEnderecoDTO;
 import br.com.fiap.gerenciadorDeReservas.records.restaurante.DadosCriacaoRestauranteDTO;
+import br.com.fiap.gerenciadorDeReservas.repositories.ExcecaoFuncionamentoRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.HorarioFuncionamentoRepository;
+import br.com.fiap.gerenciadorDeReservas.repositories.MesaRepository;
 import br.com.fiap.gerenciadorDeReservas.repositories.RestauranteRepository;
+import br.com.fiap.gerenciadorDeReservas.usecases.disponibilidade.ControleDeLugares;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,7 +18,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
 
@@ -22,6 +29,14 @@ class CriarRestauranteUseCaseTest {
     RestauranteRepository restauranteRepository;
     @Mock
     RestauranteAdapter restauranteAdapter;
+    @Mock
+    MesaRepository mesaRepository;
+    @Mock
+    HorarioFuncionamentoRepository horarioFuncionamentoRepository;
+    @Mock
+    ExcecaoFuncionamentoRepository excecaoFuncionamentoRepository;
+    @Mock
+    ControleDeLugares controleDeLugares;
     @InjectMocks
     CriarRestauranteUseCase criarRestauranteUseCase;
 
@@ -35,11 +50,18 @@ class CriarRestauranteUseCaseTest {
 
         when(restauranteRepository.save(any())).thenReturn(new RestauranteEntity("nome", TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 11, 16), LocalTime.of(13, 11, 16), 0));
         when(restauranteAdapter.converterParaEntity(any())).thenReturn(new RestauranteEntity("nome", TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 11, 16), LocalTime.of(13, 11, 16), 0));
-        when(restauranteAdapter.converterParaDTO(any())).thenReturn(new DadosCriacaoRestauranteDTO("nome", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 11, 16), LocalTime.of(13, 11, 16), 0));
+        when(restauranteAdapter.converterParaHorariosDeFuncionamento(any(), any())).thenReturn(List.of(
+                new HorarioFuncionamentoEntity(null, DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0))));
+        when(restauranteAdapter.converterParaExcecoesDeFuncionamento(any(), any())).thenReturn(List.of());
+        when(restauranteAdapter.converterParaDTO(any(), any(), any(), any())).thenReturn(new DadosCriacaoRestauranteDTO("nome", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 11, 16), LocalTime.of(13, 11, 16), 0));
 
         DadosCriacaoRestauranteDTO result = criarRestauranteUseCase.criarRestaurante(new DadosCriacaoRestauranteDTO("nome", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 11, 16), LocalTime.of(13, 11, 16), 0));
 
         Assertions.assertEquals(new DadosCriacaoRestauranteDTO("nome", new DadosCriacaoEnderecoDTO("cep", "logradouro", "numero", "complemento", "bairro", "cidade", "uf"), TipoCulinariaEnum.JAPONESA, LocalTime.of(13, 11, 16), LocalTime.of(13, 11, 16), 0), result);
+        verify(mesaRepository).saveAll(any());
+        verify(horarioFuncionamentoRepository).saveAll(argThat(horarios -> horarios.iterator().hasNext()));
+        verify(excecaoFuncionamentoRepository).saveAll(List.of());
+        verify(controleDeLugares).criarHorarios(any(), any());
 
     }
 }
@@ -0,0 +1,144 @@
+package br.com.fiap.gerenciadorDeReservas.usecases.transmissao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class TransmissorDeEventosTest {
+
+    private TransmissorDeTeste transmissor;
+
+    @BeforeEach
+    void setUp() {
+        transmissor = new TransmissorDeTeste();
+        transmissor.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        transmissor.capacidadeAssinante = 4;
+        transmissor.trabalhadores = 1;
+        transmissor.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transmissor.encerrar();
+    }
+
+    @Test
+    void testEntregarEventosApenasAosAssinantesDaChave() throws Exception {
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ControllerDeTeste(transmissor)).build();
+
+        MvcResult assinanteDaChave = mockMvc.perform(get("/eventos/1")).andExpect(request().asyncStarted()).andReturn();
+        MvcResult assinanteDeOutraChave = mockMvc.perform(get("/eventos/2")).andExpect(request().asyncStarted()).andReturn();
+
+        transmissor.publicar(1L, Map.of("lugares", 3));
+
+        // O evento é escrito em partes, então a espera é pelo conteúdo completo
+        String recebido = aguardarConteudo(assinanteDaChave, "data:{\"lugares\":3}");
+        assertTrue(recebido.contains("id:1"));
+        assertTrue(recebido.contains("event:teste"));
+        assertTrue(recebido.contains("data:{\"lugares\":3}"));
+        assertFalse(assinanteDeOutraChave.getResponse().getContentAsString().contains("data:"));
+        assertEquals(2, transmissor.quantidadeAssinantes());
+
+    }
+
+    @Test
+    void testDesconectarAssinanteQueNaoAcompanhaOsEventos() throws Exception {
+
+        // O único trabalhador fica ocupado, então os eventos se acumulam na fila do assinante
+        CountDownLatch liberar = new CountDownLatch(1);
+        transmissor.executor.shutdownNow();
+        transmissor.executor = Executors.newSingleThreadExecutor();
+        transmissor.executor.execute(() -> {
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        transmissor.assinar(1L);
+        transmissor.assinar(1L);
+
+        for (int i = 0; i < transmissor.capacidadeAssinante; i++) {
+            transmissor.publicar(1L, Map.of("evento", i));
+        }
+
+        assertEquals(2, transmissor.quantidadeAssinantes());
+
+        transmissor.publicar(1L, Map.of("evento", "excedente"));
+        liberar.countDown();
+
+        assertEquals(0, transmissor.quantidadeAssinantes());
+        assertEquals(2, transmissor.desconectadosPorLentidao());
+        assertFalse(transmissor.possuiAssinantes(1L));
+
+    }
+
+    @Test
+    void testIgnorarPublicacaoSemAssinantes() {
+
+        assertFalse(transmissor.possuiAssinantes(1L));
+
+        transmissor.publicar(1L, Map.of("lugares", 3));
+
+        assertEquals(0, transmissor.quantidadeAssinantes());
+
+    }
+
+    private static String aguardarConteudo(MvcResult resultado, String trecho) throws Exception {
+
+        long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String conteudo = resultado.getResponse().getContentAsString();
+
+        while (!conteudo.contains(trecho) && System.nanoTime() < prazo) {
+            Thread.sleep(10);
+            conteudo = resultado.getResponse().getContentAsString();
+        }
+
+        return conteudo;
+
+    }
+
+    static class TransmissorDeTeste extends TransmissorDeEventos<Long> {
+
+        TransmissorDeTeste() {
+            super("teste");
+        }
+
+    }
+
+    @RestController
+    static class ControllerDeTeste {
+
+        private final TransmissorDeTeste transmissor;
+
+        ControllerDeTeste(TransmissorDeTeste transmissor) {
+            this.transmissor = transmissor;
+        }
+
+        @GetMapping("/eventos/{chave}")
+        SseEmitter assinar(@PathVariable Long chave) {
+            return transmissor.assinar(chave);
+        }
+
+    }
+
+}